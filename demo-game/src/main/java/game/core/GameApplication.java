@@ -13,6 +13,7 @@ import me.siebe.flux.api.window.WindowMode;
 import me.siebe.flux.api.window.WindowPlatform;
 import me.siebe.flux.core.AppContext;
 import me.siebe.flux.core.FluxApplication;
+import me.siebe.flux.renderer3d.steps.BoundsDebugStep;
 import me.siebe.flux.renderer3d.steps.GltfStep;
 import me.siebe.flux.util.logging.Logger;
 import me.siebe.flux.util.logging.LoggerFactory;
@@ -21,6 +22,8 @@ import java.util.List;
 
 public class GameApplication extends FluxApplication {
     private static final Logger logger = LoggerFactory.getLogger(GameApplication.class, GameCategories.APPLICATION);
+    /** Set this system property to true to draw the bounds of every visible renderable. */
+    private static final String SYSTEM_PROPERTY_DEBUG_BOUNDS = "demo.debug.bounds";
 
     private List<Demo> demos = List.of(
             new CameraControllerDemo(),
@@ -40,6 +43,10 @@ public class GameApplication extends FluxApplication {
                         .build()
         );
         renderer.getPipeline().addStep(new GltfStep());
+        if (Boolean.getBoolean(SYSTEM_PROPERTY_DEBUG_BOUNDS)) {
+            logger.info("System property {} is set, drawing debug bounds", SYSTEM_PROPERTY_DEBUG_BOUNDS);
+            renderer.getPipeline().addStep(new BoundsDebugStep());
+        }
 
         demos.forEach(Demo::init);
     }
@@ -1,5 +1,6 @@
 package game.core.demos.render.terrain;
 
+import me.siebe.flux.api.renderer.culling.Bounds;
 import me.siebe.flux.opengl.shader.ShaderDataType;
 import me.siebe.flux.opengl.vertex.*;
 import me.siebe.flux.renderer3d.model.data.Material;
@@ -164,7 +165,8 @@ public class TerrainGenerator {
         vertexArray.setIndexBuffer(indexBuffer);
 
         Mesh mesh = new Mesh("terrain_mesh");
-        mesh.addPrimitive(new Primitive(vertexArray, new Material(FluxColor.OLIVE)));
+        Bounds bounds = Bounds.fromPositions(vertices, 0, bufferLayout.getComponentCount());
+        mesh.addPrimitive(new Primitive(vertexArray, new Material(FluxColor.OLIVE), bounds));
         Model model = new Model(List.of(mesh), "terrain_model");
 
         return model;
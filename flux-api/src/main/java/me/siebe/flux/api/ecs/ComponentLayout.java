@@ -0,0 +1,203 @@
+package me.siebe.flux.api.ecs;
+
+import me.siebe.flux.util.exceptions.Validator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes the layout of a primitive component: a component made up only of numeric fields.
+ * <p>
+ * Primitive components are not stored as Java objects. Instead, every field of the layout is stored in its own
+ * off-heap column (structure of arrays), see {@link PrimitiveComponents}. This avoids an object header and a pointer
+ * per entity, keeps the data of a field densely packed for iteration, and allows a column to be handed to native code
+ * (such as a GL buffer upload) without copying.
+ * <p>
+ * Layouts are created once, typically as constants, and their {@link Field fields} are used as flyweight accessors:
+ * <pre>{@code
+ * static final ComponentLayout POSITION = ComponentLayout.builder("Position")
+ *         .floatField("x")
+ *         .floatField("y")
+ *         .floatField("z")
+ *         .build();
+ * static final ComponentLayout.Field X = POSITION.getField("x");
+ *
+ * PrimitiveComponents positions = world.getPrimitiveComponents(POSITION);
+ * positions.add(entity);
+ * positions.setFloat(entity, X, 10.0f);
+ * }</pre>
+ * Layouts are compared by identity, so the same layout instance should be used for all accesses.
+ */
+public final class ComponentLayout {
+    private final String name;
+    private final List<Field> fields;
+
+    private ComponentLayout(String name, List<Field> fields) {
+        this.name = name;
+        this.fields = Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * Creates a new builder for a layout with the given name.
+     *
+     * @param name the name of the layout, used for debugging and error messages
+     * @return a new builder
+     */
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets all fields of this layout, in declaration order.
+     *
+     * @return an unmodifiable list of fields
+     */
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * Gets a field by its name.
+     *
+     * @param name the field name
+     * @return the field
+     * @throws IllegalArgumentException if this layout has no field with that name
+     */
+    public Field getField(String name) {
+        for (Field field : fields) {
+            if (field.name().equals(name)) return field;
+        }
+        throw new IllegalArgumentException("Layout " + this.name + " has no field named " + name);
+    }
+
+    /**
+     * Gets the number of bytes one component of this layout occupies across all columns.
+     *
+     * @return the size of one component in bytes
+     */
+    public int getSizeInBytes() {
+        int size = 0;
+        for (Field field : fields) {
+            size += field.type().getSizeInBytes();
+        }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "ComponentLayout[" + name + ", " + fields + "]";
+    }
+
+    /**
+     * The primitive type of a {@link Field}.
+     */
+    public enum FieldType {
+        INT(Integer.BYTES),
+        FLOAT(Float.BYTES),
+        DOUBLE(Double.BYTES);
+
+        private final int sizeInBytes;
+
+        FieldType(int sizeInBytes) {
+            this.sizeInBytes = sizeInBytes;
+        }
+
+        public int getSizeInBytes() {
+            return sizeInBytes;
+        }
+    }
+
+    /**
+     * A single numeric field of a {@link ComponentLayout}.
+     *
+     * @param layout the layout this field belongs to
+     * @param name   the name of the field
+     * @param type   the primitive type of the field
+     * @param index  the position of the field in the layout, also the index of its column
+     */
+    public record Field(ComponentLayout layout, String name, FieldType type, int index) {
+        @Override
+        public String toString() {
+            return name + ":" + type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Field field)) return false;
+            return layout == field.layout && index == field.index;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(layout) + index;
+        }
+    }
+
+    /**
+     * Builder for {@link ComponentLayout} instances.
+     */
+    public static final class Builder {
+        private final String name;
+        private final List<String> fieldNames = new ArrayList<>();
+        private final List<FieldType> fieldTypes = new ArrayList<>();
+
+        private Builder(String name) {
+            this.name = Validator.notNull(name, () -> "Layout name");
+        }
+
+        public Builder intField(String name) {
+            return field(name, FieldType.INT);
+        }
+
+        public Builder floatField(String name) {
+            return field(name, FieldType.FLOAT);
+        }
+
+        public Builder doubleField(String name) {
+            return field(name, FieldType.DOUBLE);
+        }
+
+        /**
+         * Adds a field to the layout.
+         *
+         * @param name the name of the field, unique within the layout
+         * @param type the primitive type of the field
+         * @return this builder for method chaining
+         * @throws IllegalArgumentException if a field with the same name was already added
+         */
+        public Builder field(String name, FieldType type) {
+            Validator.notNull(name, () -> "Field name");
+            Validator.notNull(type, () -> "Field type");
+            if (fieldNames.contains(name)) {
+                throw new IllegalArgumentException("Layout " + this.name + " already has a field named " + name);
+            }
+            fieldNames.add(name);
+            fieldTypes.add(type);
+            return this;
+        }
+
+        /**
+         * Builds the layout.
+         *
+         * @return the new layout
+         * @throws IllegalStateException if no fields were added
+         */
+        public ComponentLayout build() {
+            if (fieldNames.isEmpty()) {
+                throw new IllegalStateException("Layout " + name + " must have at least one field");
+            }
+            List<Field> fields = new ArrayList<>(fieldNames.size());
+            ComponentLayout layout = new ComponentLayout(name, fields);
+            for (int i = 0; i < fieldNames.size(); i++) {
+                fields.add(new Field(layout, fieldNames.get(i), fieldTypes.get(i), i));
+            }
+            return layout;
+        }
+    }
+}
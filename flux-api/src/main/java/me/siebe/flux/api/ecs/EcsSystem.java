@@ -3,6 +3,13 @@ package me.siebe.flux.api.ecs;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Registry of the worlds created through a {@link World.Factory}.
+ * <p>
+ * Registered worlds are owned by the registry and {@link #destroyWorlds() destroyed} on shutdown. Forks are not
+ * registered, see {@link World#fork()}.
+ */
+
 public final class EcsSystem {
     private static final EcsSystem INSTANCE = new EcsSystem();
     private final Map<Integer, World> worlds = new HashMap<>();
@@ -16,6 +23,14 @@ public final class EcsSystem {
         INSTANCE.worlds.put(world.getId(), world);
     }
 
+    /**
+     * Destroys all registered worlds, releasing their off-heap component storage, and unregisters them.
+     */
+    public static void destroyWorlds() {
+        INSTANCE.worlds.values().forEach(World::destroy);
+        INSTANCE.worlds.clear();
+    }
+
     public static World getWorldByEntityId(int id) {
         for (World world : INSTANCE.worlds.values()) {
             if (world.getEntity(id) != null) {
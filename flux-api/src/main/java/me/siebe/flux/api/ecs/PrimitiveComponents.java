@@ -0,0 +1,145 @@
+package me.siebe.flux.api.ecs;
+
+import me.siebe.flux.api.ecs.ComponentLayout.Field;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Off-heap storage for all components of a single {@link ComponentLayout} in a {@link World}.
+ * <p>
+ * Every field of the layout is stored in its own densely packed column of native memory (structure of arrays).
+ * Components are kept contiguous: index {@code 0} to {@link #size()} (exclusive) holds a component, and
+ * {@link #getEntityAt(int)} maps an index back to its entity. Removing a component moves the last component into
+ * the freed slot, so indices are not stable across removals.
+ * <p>
+ * Random access goes through the entity-based getters and setters. Bulk processing should iterate the columns
+ * directly, which is both cache friendly and allocation free:
+ * <pre>{@code
+ * FloatBuffer xs = motion.floatColumn(X);
+ * FloatBuffer dxs = motion.floatColumn(DX);
+ * for (int i = 0; i < motion.size(); i++) {
+ *     xs.put(i, xs.get(i) + dxs.get(i) * dt);
+ * }
+ * }</pre>
+ * Columns are direct buffers in native byte order and can be passed to native APIs (e.g. {@code glBufferSubData})
+ * without copying. A column view only reflects the store until the store grows or the world is restored; after that,
+ * it still points at the old column, so reads return stale values and writes are lost.
+ * <p>
+ * The memory is freed when the owning world is {@link World#destroy() destroyed}; using the storage afterward
+ * throws an {@link IllegalStateException}, and column views must not outlive the world, as their memory is gone.
+ */
+public interface PrimitiveComponents {
+
+    /**
+     * Gets the layout of the components in this storage.
+     *
+     * @return the component layout
+     */
+    ComponentLayout getLayout();
+
+    /**
+     * Gets the number of components stored.
+     *
+     * @return the component count
+     */
+    int size();
+
+    /**
+     * Checks whether the entity has a component in this storage.
+     *
+     * @param entity the entity
+     * @return true if the entity has a component, false otherwise
+     */
+    boolean has(Entity entity);
+
+    /**
+     * Adds a zero-initialized component to the entity.
+     *
+     * @param entity the entity
+     * @return the index of the new component
+     * @throws IllegalArgumentException if the entity already has a component in this storage
+     */
+    int add(Entity entity);
+
+    /**
+     * Removes the entity's component, if it has one.
+     *
+     * @param entity the entity
+     * @return true if a component was removed, false otherwise
+     */
+    boolean remove(Entity entity);
+
+    /**
+     * Gets the index of the entity's component within the columns.
+     *
+     * @param entity the entity
+     * @return the index, or -1 if the entity has no component in this storage
+     */
+    int indexOf(Entity entity);
+
+    /**
+     * Gets the ID of the entity owning the component at the given index.
+     *
+     * @param index the component index
+     * @return the entity ID
+     */
+    int getEntityAt(int index);
+
+    // =================================================================================================================
+    // Field access
+    // =================================================================================================================
+
+    int getInt(Entity entity, Field field);
+
+    void setInt(Entity entity, Field field, int value);
+
+    float getFloat(Entity entity, Field field);
+
+    void setFloat(Entity entity, Field field, float value);
+
+    double getDouble(Entity entity, Field field);
+
+    void setDouble(Entity entity, Field field, double value);
+
+    // =================================================================================================================
+    // Column access
+    // =================================================================================================================
+
+    /**
+     * Gets a view of the raw column of the given field, with its limit set to {@link #size()} components.
+     *
+     * @param field the field
+     * @return a direct, native-ordered byte buffer view of the column
+     */
+    ByteBuffer column(Field field);
+
+    /**
+     * Gets a view of the column of an {@link ComponentLayout.FieldType#INT INT} field.
+     *
+     * @param field the field
+     * @return a direct int buffer with one element per component
+     * @throws IllegalArgumentException if the field is not an INT field of this layout
+     */
+    IntBuffer intColumn(Field field);
+
+    /**
+     * Gets a view of the column of a {@link ComponentLayout.FieldType#FLOAT FLOAT} field.
+     *
+     * @param field the field
+     * @return a direct float buffer with one element per component
+     * @throws IllegalArgumentException if the field is not a FLOAT field of this layout
+     */
+    FloatBuffer floatColumn(Field field);
+
+    /**
+     * Gets a view of the column of a {@link ComponentLayout.FieldType#DOUBLE DOUBLE} field.
+     *
+     * @param field the field
+     * @return a direct double buffer with one element per component
+     * @throws IllegalArgumentException if the field is not a DOUBLE field of this layout
+     */
+    DoubleBuffer doubleColumn(Field field);
+}
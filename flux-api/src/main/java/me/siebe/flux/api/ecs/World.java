@@ -187,6 +187,71 @@ public interface World {
     boolean deleteEntity(Entity entity);
 
 
+    // =================================================================================================================
+    // Primitive component methods
+    // =================================================================================================================
+
+    /**
+     * Gets the off-heap storage for components of the given layout, creating it if it does not exist yet.
+     * <p>
+     * Primitive components live next to regular (object) components: an entity can have both, and deleting an
+     * entity removes its primitive components as well. They are not returned by {@link #findEntitiesWith(Class)};
+     * iterate the {@link PrimitiveComponents} columns instead.
+     *
+     * @param layout the component layout
+     * @return the storage for the layout in this world
+     * @throws IllegalStateException if this world has been destroyed
+     */
+    PrimitiveComponents getPrimitiveComponents(ComponentLayout layout);
+
+    /**
+     * Destroys this world, releasing all off-heap component storage it owns.
+     * <p>
+     * The world and its {@link PrimitiveComponents} must not be used after calling this method.
+     * Calling this method more than once has no effect.
+     */
+    void destroy();
+
+
+    // =================================================================================================================
+    // World snapshot methods
+    // =================================================================================================================
+
+    /**
+     * Creates a fork of this world.
+     * <p>
+     * The fork starts out with the same entities and components as this world, after which both
+     * worlds evolve independently: entities created, deleted or changed in one world are not visible
+     * in the other. This makes forks suitable as snapshots for rollback, or as a scratch world for
+     * speculative simulation.
+     * <p>
+     * Implementations may share storage between a world and its forks and only duplicate the parts
+     * that are written afterward, making a fork much cheaper than a deep copy. Components that are
+     * mutated in place should implement {@link me.siebe.flux.util.memory.Copyable Copyable} so they
+     * can be duplicated when needed; other components are shared between forks and should be treated
+     * as immutable. Component references obtained before forking should not be held on to afterward.
+     * <p>
+     * The fork is owned by the caller and is not registered with {@link EcsSystem}, so it is not destroyed on
+     * shutdown. Call {@link #destroy()} on it when it is no longer needed to release its off-heap storage.
+     *
+     * @return a new World containing the current state of this world
+     */
+    World fork();
+
+    /**
+     * Restores the state of this world to the state of the given snapshot.
+     * <p>
+     * After restoring, this world contains the same entities and components as the snapshot. The
+     * snapshot itself is left untouched and can be restored from again. The snapshot is usually a
+     * world created through {@link #fork()}, but a fork can also be restored into its parent to
+     * commit a speculative simulation.
+     *
+     * @param snapshot the world whose state should be copied into this world
+     * @throws IllegalArgumentException if the snapshot is not compatible with this world
+     */
+    void restore(World snapshot);
+
+
     // =================================================================================================================
     // Entity searching methods
     // =================================================================================================================
@@ -0,0 +1,31 @@
+package me.siebe.flux.api.event;
+
+import me.siebe.flux.api.event.traits.Pooled;
+
+/**
+ * Base class for {@link EventPool} implementations that track whether an event is {@link Event#isInPool() in a pool},
+ * so duplicate releases can be ignored without looking the event up. The flag can only be changed through this class,
+ * not by application code.
+ *
+ * @param <T> the event type (must extend Event and implement Pooled)
+ */
+public abstract class AbstractEventPool<T extends Event & Pooled> implements EventPool<T> {
+    /**
+     * Marks an event as stored in a pool. Of several concurrent calls for the same event, only one succeeds.
+     *
+     * @param event the event
+     * @return true if the event was not in a pool before, false if this is a duplicate release
+     */
+    protected static boolean enterPool(Event event) {
+        return event.enterPool();
+    }
+
+    /**
+     * Marks an event as no longer stored in a pool, when it is acquired or turns out not to fit in the pool.
+     *
+     * @param event the event
+     */
+    protected static void leavePool(Event event) {
+        event.leavePool();
+    }
+}
@@ -0,0 +1,34 @@
+package me.siebe.flux.api.event;
+
+/**
+ * Determines on which thread an {@link EventListener} is invoked.
+ * <p>
+ * Synchronous listeners run first, on the thread that posts (or, for {@link me.siebe.flux.api.event.traits.Queued}
+ * events, flushes) the event. Asynchronous listeners are handed the event afterward and run on the executor of the
+ * event bus. An asynchronous listener receives its events one at a time and in posting order, but may run at the same
+ * time as other listeners and the main thread, so it should not touch OpenGL or unsynchronized game state.
+ * <p>
+ * Whether an asynchronous listener receives a {@link me.siebe.flux.api.event.traits.Cancellable Cancellable} event is
+ * decided once all synchronous listeners are done. Cancelling the event from an asynchronous listener has no effect on
+ * other listeners.
+ *
+ * @see EventListenerRegistry#register(Class, EventListener, int, boolean, DeliveryMode)
+ * @see EventBus#awaitFrameDeliveries()
+ */
+public enum DeliveryMode {
+    /**
+     * The listener is invoked on the posting or flushing thread, before the post or flush returns.
+     */
+    SYNC,
+    /**
+     * The listener is invoked on the event bus executor and may still be running during later frames. Suited for slow
+     * work such as saving or analytics.
+     */
+    ASYNC,
+    /**
+     * The listener is invoked on the event bus executor, and the engine waits for it at the end of the frame through
+     * {@link EventBus#awaitFrameDeliveries()}. Suited for work that must be done before the next frame, such as
+     * preparing path finding results.
+     */
+    ASYNC_FRAME
+}
@@ -1,11 +1,15 @@
 package me.siebe.flux.api.event;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
 /**
  * Base type for all events in the Flux event system.
  * <p>
  * Subclass this class to define application-specific events. Events can optionally implement
  * {@link me.siebe.flux.api.event.traits.Cancellable}, {@link me.siebe.flux.api.event.traits.Pooled}, and
- * {@link me.siebe.flux.api.event.traits.Queued} to enable cancellation, object pooling, or deferred delivery.
+ * {@link me.siebe.flux.api.event.traits.Queued} to enable cancellation, object pooling, or deferred delivery. Queued
+ * events can also implement {@link me.siebe.flux.api.event.traits.Coalescing} to be merged per key before delivery.
  * <p>
  * Events are posted to an {@link EventBus} and delivered to registered {@link EventListener EventListeners}.
  *
@@ -14,6 +18,47 @@ package me.siebe.flux.api.event;
  * @see me.siebe.flux.api.event.traits.Cancellable
  * @see me.siebe.flux.api.event.traits.Pooled
  * @see me.siebe.flux.api.event.traits.Queued
+ * @see me.siebe.flux.api.event.traits.Coalescing
  */
 public abstract class Event {
+    private static final VarHandle IN_POOL;
+
+    static {
+        try {
+            IN_POOL = MethodHandles.lookup().findVarHandle(Event.class, "inPool", boolean.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Whether this event currently sits in an {@link EventPool}, used to ignore duplicate releases. Only changed by
+     * pools, through {@link AbstractEventPool}.
+     */
+    private volatile boolean inPool;
+
+    /**
+     * Returns whether this event is currently stored in an {@link EventPool}.
+     *
+     * @return true if the event is in a pool
+     */
+    public final boolean isInPool() {
+        return inPool;
+    }
+
+    /**
+     * Marks this event as stored in a pool, unless it already is.
+     *
+     * @return true if the event was not in a pool before
+     */
+    boolean enterPool() {
+        return IN_POOL.compareAndSet(this, false, true);
+    }
+
+    /**
+     * Marks this event as taken out of its pool.
+     */
+    void leavePool() {
+        inPool = false;
+    }
 }
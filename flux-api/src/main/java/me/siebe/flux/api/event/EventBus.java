@@ -1,8 +1,10 @@
 package me.siebe.flux.api.event;
 
+import me.siebe.flux.api.event.metrics.EventMetrics;
 import me.siebe.flux.api.event.traits.Pooled;
 
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Central hub for posting events and delivering them to registered listeners.
@@ -10,11 +12,15 @@ import java.util.function.Consumer;
  * Use {@link #getListenerRegistry()} to register and unregister {@link EventListener EventListeners} for event types.
  * Use {@link #post(Event)} to dispatch an event, or {@link #post(Class, Consumer)} for pooled events.
  * Events implementing {@link me.siebe.flux.api.event.traits.Queued} are enqueued until {@link #flush()} is called.
+ * For very high volumes, {@link #createChannel(Class, Supplier, int)} creates a ring buffer of preallocated entries.
+ * Use {@link #getScheduler()} to post events at a later frame or after a delay.
  *
  * @see Event
  * @see EventListener
  * @see EventListenerRegistry
  * @see EventPoolRegistry
+ * @see EventChannel
+ * @see EventScheduler
  * @see me.siebe.flux.api.event.traits.Queued
  */
 public interface EventBus {
@@ -34,6 +40,9 @@ public interface EventBus {
      * <p>
      * The event type must be registered with {@link EventPoolRegistry}. After delivery (or on error),
      * the event is released back to the pool.
+     * <p>
+     * A consumer that captures values is allocated on every call. For high-frequency events, prefer
+     * {@link #acquire(Class)} followed by {@link #publish(Event)}, which does not allocate once the pool is warm.
      *
      * @param eventType the class of the pooled event
      * @param consumer  used to set event fields before posting; must not hold a reference to the event
@@ -41,13 +50,115 @@ public interface EventBus {
      */
     <E extends Event & Pooled> void post(Class<E> eventType, Consumer<E> consumer);
 
+    /**
+     * Acquires a {@link Pooled#reset() reset} pooled event instance to be configured and then passed to
+     * {@link #publish(Event)}.
+     * <pre>{@code
+     * KeyPressEvent event = bus.acquire(KeyPressEvent.class);
+     * event.set(key, modifiers);
+     * bus.publish(event);
+     * }</pre>
+     * The event must be published (or released to the {@link #getEventPoolRegistry() pool registry}) exactly once, and
+     * must not be used after it has been published.
+     *
+     * @param eventType the class of the pooled event
+     * @param <E>       the event type (must extend Event and implement Pooled)
+     * @return the event instance
+     * @throws IllegalStateException if no pool is registered for the event type and the implementation cannot
+     *                               allocate the event another way
+     */
+    default <E extends Event & Pooled> E acquire(Class<E> eventType) {
+        EventPool<E> pool = getEventPoolRegistry().get(eventType);
+        if (pool == null) {
+            throw new IllegalStateException("No event pool registered for event type " + eventType.getName());
+        }
+        return pool.acquire();
+    }
+
+    /**
+     * Posts a pooled event obtained from {@link #acquire(Class)}. The event is released back to its pool after
+     * delivery.
+     *
+     * @param event the event to publish
+     * @param <E>   the event type (must extend Event and implement Pooled)
+     */
+    default <E extends Event & Pooled> void publish(E event) {
+        post(event);
+    }
+
     /**
      * Delivers all queued events to their listeners in order.
      * <p>
      * Only events that implement {@link me.siebe.flux.api.event.traits.Queued} are affected.
+     * Queued events implementing {@link me.siebe.flux.api.event.traits.Coalescing} are first coalesced, so only
+     * one event per class and coalescing key is delivered. Afterward, all {@link EventChannel EventChannels} are
+     * processed.
      */
     void flush();
 
+    /**
+     * Blocks until all deliveries to {@link DeliveryMode#ASYNC_FRAME} listeners that were started so far have finished.
+     * <p>
+     * Called by the engine at the end of every frame. Deliveries to {@link DeliveryMode#ASYNC} listeners are not
+     * waited for. Implementations that deliver all events synchronously return immediately.
+     */
+    void awaitFrameDeliveries();
+
+    /**
+     * Returns the number of {@link me.siebe.flux.api.event.traits.Queued} events waiting for the next {@link #flush()}.
+     * <p>
+     * When events are posted from other threads, the value is only a snapshot.
+     *
+     * @return the current queue depth
+     */
+    int getQueuedEventCount();
+
+    /**
+     * Returns the total number of {@link me.siebe.flux.api.event.traits.Queued} events that were dropped because the
+     * queue was full. Implementations with an unbounded queue always return {@code 0}.
+     *
+     * @return the number of dropped events
+     */
+    long getDroppedEventCount();
+
+    /**
+     * Creates a {@link EventChannel} for the given entry type, preallocating all its entries with the factory.
+     * <p>
+     * The channel is processed on every {@link #flush()}, after the queued events have been delivered.
+     *
+     * @param entryType the entry type, used to look up the channel with {@link #getChannel(Class)}
+     * @param factory   creates the entries, called once per slot
+     * @param capacity  the minimum number of entries, rounded up to the next power of two
+     * @param <E>       the entry type
+     * @return the new channel
+     * @throws IllegalStateException    if a channel already exists for the entry type
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    <E> EventChannel<E> createChannel(Class<E> entryType, Supplier<E> factory, int capacity);
+
+    /**
+     * Returns the channel created for the given entry type.
+     *
+     * @param entryType the entry type
+     * @param <E>       the entry type
+     * @return the channel, or {@code null} if none was created
+     */
+    <E> EventChannel<E> getChannel(Class<E> entryType);
+
+    /**
+     * Returns the scheduler that posts events to this bus at a later frame or after a delay.
+     *
+     * @return the scheduler
+     */
+    EventScheduler getScheduler();
+
+    /**
+     * Returns the metrics of this bus. Recording is disabled until {@link EventMetrics#setEnabled(boolean)} is called.
+     *
+     * @return the metrics
+     */
+    EventMetrics getMetrics();
+
     /**
      * Returns the registry used to register and unregister event listeners.
      *
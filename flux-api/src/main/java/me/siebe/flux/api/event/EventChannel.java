@@ -0,0 +1,122 @@
+package me.siebe.flux.api.event;
+
+/**
+ * A bounded ring buffer of preallocated entries for very high volume events, such as collision contacts or damage
+ * ticks.
+ * <p>
+ * Unlike events posted through {@link EventBus#post(Event)}, channel entries are never allocated, queued or looked up
+ * per event. Producers claim a sequence, write the entry at that sequence in place, and publish it:
+ * <pre>{@code
+ * long sequence = channel.next();
+ * ContactEntry entry = channel.get(sequence);
+ * entry.set(a, b, impulse);
+ * channel.publish(sequence);
+ * }</pre>
+ * Every claimed sequence must be published, since entries after an unpublished sequence are not processed. Several
+ * sequences can be claimed at once with {@link #next(int)} and published together with {@link #publish(long, long)}.
+ * <p>
+ * Producers may run on any thread. {@link EventBus#flush()} hands all published entries to the
+ * {@link #addHandler(EventChannelHandler) handlers} in batches, on the flushing thread. A slot is only reused once all
+ * handlers have processed it, so producers wait in {@link #next()} while the channel is full.
+ *
+ * @param <E> the entry type
+ * @see EventBus#createChannel(Class, java.util.function.Supplier, int)
+ */
+public interface EventChannel<E> {
+    /**
+     * Returns the entry type this channel was created for.
+     *
+     * @return the entry type
+     */
+    Class<E> getEntryType();
+
+    /**
+     * Returns the number of entries in the ring buffer.
+     *
+     * @return the capacity, always a power of two
+     */
+    int getCapacity();
+
+    /**
+     * Claims the next sequence, waiting while the channel is full.
+     * <p>
+     * Must not be called from the thread that flushes the event bus while the channel may be full, since only that
+     * thread can make room. Use {@link #tryNext()} there instead.
+     *
+     * @return the claimed sequence
+     * @throws IllegalStateException if called on the flushing thread while the channel is full
+     */
+    long next();
+
+    /**
+     * Claims the next {@code n} sequences, waiting while the channel does not have room for them.
+     *
+     * @param n the number of sequences to claim, between 1 and the capacity
+     * @return the highest claimed sequence, the lowest being {@code next(n) - n + 1}
+     * @throws IllegalArgumentException if {@code n} is out of range
+     * @throws IllegalStateException    if called on the flushing thread while the channel has no room
+     */
+    long next(int n);
+
+    /**
+     * Claims the next sequence if the channel is not full.
+     *
+     * @return the claimed sequence, or {@code -1} if the channel is full
+     */
+    long tryNext();
+
+    /**
+     * Returns the entry at the given sequence. The entry may only be written between claiming and publishing the
+     * sequence.
+     *
+     * @param sequence the claimed sequence
+     * @return the preallocated entry
+     */
+    E get(long sequence);
+
+    /**
+     * Publishes a claimed sequence, making its entry available to the handlers.
+     *
+     * @param sequence the sequence to publish
+     */
+    void publish(long sequence);
+
+    /**
+     * Publishes a range of claimed sequences.
+     *
+     * @param low  the lowest sequence to publish, inclusive
+     * @param high the highest sequence to publish, inclusive
+     */
+    void publish(long low, long high);
+
+    /**
+     * Adds a handler that processes every entry published from now on.
+     *
+     * @param handler the handler to add
+     */
+    void addHandler(EventChannelHandler<? super E> handler);
+
+    /**
+     * Removes a previously added handler.
+     *
+     * @param handler the handler to remove
+     */
+    void removeHandler(EventChannelHandler<? super E> handler);
+
+    /**
+     * Hands all entries published so far to the handlers, each handler processing the whole batch before the next
+     * one starts. Called by {@link EventBus#flush()}, and must only be called from a single thread.
+     *
+     * @return the number of processed entries
+     */
+    int process();
+
+    /**
+     * Returns the number of claimed entries that have not been processed yet.
+     * <p>
+     * When producers run on other threads, the value is only a snapshot.
+     *
+     * @return the number of pending entries
+     */
+    int getPendingCount();
+}
@@ -0,0 +1,21 @@
+package me.siebe.flux.api.event;
+
+/**
+ * Consumes the entries of an {@link EventChannel}.
+ * <p>
+ * Handlers are invoked for every published entry, in sequence order, when the channel is processed. Entries are owned
+ * by the channel and reused once all handlers have processed them, so a handler must copy any value it needs to keep.
+ *
+ * @param <E> the entry type of the channel
+ */
+@FunctionalInterface
+public interface EventChannelHandler<E> {
+    /**
+     * Called for a published entry of the channel.
+     *
+     * @param entry      the entry, only valid for the duration of the call
+     * @param sequence   the sequence the entry was published at
+     * @param endOfBatch whether this is the last entry of the current batch, useful to flush work done per batch
+     */
+    void onEvent(E entry, long sequence, boolean endOfBatch);
+}
@@ -1,26 +1,127 @@
 package me.siebe.flux.api.event;
 
+import me.siebe.flux.api.event.traits.Keyed;
+
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Registry for event listeners, keyed by event type.
  * <p>
- * Listeners registered for a given event class receive all events of that exact type (and not subclasses
- * unless the implementation supports it). Typically obtained from {@link EventBus#getListenerRegistry()}.
+ * Listeners registered for a given event class receive all events of that type, including events whose class is a
+ * subclass of it. For example, a listener registered for {@code Event.class} receives every event. Typically obtained
+ * from {@link EventBus#getListenerRegistry()}.
  *
  * @see EventBus
  * @see EventListener
  */
 public interface EventListenerRegistry {
+    /**
+     * Registers a listener with {@link EventPriority#NORMAL normal} priority to receive events of the given type.
+     *
+     * @param eventType the event class to listen for
+     * @param listener  the listener to invoke when such events are posted
+     * @param <E>       the event type
+     */
+    default <E extends Event> void register(Class<E> eventType, EventListener<E> listener) {
+        register(eventType, listener, EventPriority.NORMAL, false);
+    }
+
+    /**
+     * Registers a listener with the given priority to receive events of the given type.
+     *
+     * @param eventType the event class to listen for
+     * @param listener  the listener to invoke when such events are posted
+     * @param priority  the priority, listeners with a higher priority are invoked first
+     * @param <E>       the event type
+     * @see EventPriority
+     */
+    default <E extends Event> void register(Class<E> eventType, EventListener<E> listener, int priority) {
+        register(eventType, listener, priority, false);
+    }
+
+    /**
+     * Registers a listener to receive events of the given type.
+     * <p>
+     * Listeners are invoked in order of descending priority, and in registration order for equal priorities. Once a
+     * {@link me.siebe.flux.api.event.traits.Cancellable} event is cancelled, only the remaining listeners registered
+     * with {@code receiveCancelled} set are invoked.
+     *
+     * @param eventType        the event class to listen for
+     * @param listener         the listener to invoke when such events are posted
+     * @param priority         the priority, listeners with a higher priority are invoked first
+     * @param receiveCancelled whether the listener is also invoked for events that were already cancelled
+     * @param <E>              the event type
+     * @see EventPriority
+     */
+    default <E extends Event> void register(Class<E> eventType, EventListener<E> listener, int priority, boolean receiveCancelled) {
+        register(eventType, listener, priority, receiveCancelled, DeliveryMode.SYNC);
+    }
+
+    /**
+     * Registers a listener with {@link EventPriority#NORMAL normal} priority and the given delivery mode.
+     *
+     * @param eventType    the event class to listen for
+     * @param listener     the listener to invoke when such events are posted
+     * @param deliveryMode the thread the listener is invoked on
+     * @param <E>          the event type
+     * @see DeliveryMode
+     */
+    default <E extends Event> void register(Class<E> eventType, EventListener<E> listener, DeliveryMode deliveryMode) {
+        register(eventType, listener, EventPriority.NORMAL, false, deliveryMode);
+    }
+
     /**
      * Registers a listener to receive events of the given type.
+     * <p>
+     * Listeners are invoked in order of descending priority, and in registration order for equal priorities.
+     * Synchronous listeners are all invoked before asynchronous listeners are handed the event, see
+     * {@link DeliveryMode}. Once a {@link me.siebe.flux.api.event.traits.Cancellable} event is cancelled, only the
+     * remaining listeners registered with {@code receiveCancelled} set are invoked.
+     *
+     * @param eventType        the event class to listen for
+     * @param listener         the listener to invoke when such events are posted
+     * @param priority         the priority, listeners with a higher priority are invoked first
+     * @param receiveCancelled whether the listener is also invoked for events that were already cancelled
+     * @param deliveryMode     the thread the listener is invoked on
+     * @param <E>              the event type
+     * @see EventPriority
+     * @see DeliveryMode
+     */
+    <E extends Event> void register(Class<E> eventType, EventListener<E> listener, int priority, boolean receiveCancelled,
+                                    DeliveryMode deliveryMode);
+
+    /**
+     * Registers a listener with {@link EventPriority#NORMAL normal} priority to receive only the events of the given type
+     * whose {@link Keyed#getDispatchKey() key} equals the given key.
      *
      * @param eventType the event class to listen for
+     * @param key       the key to listen for
      * @param listener  the listener to invoke when such events are posted
      * @param <E>       the event type
+     * @param <K>       the key type
+     * @see Keyed
      */
-    <E extends Event> void register(Class<E> eventType, EventListener<E> listener);
+    default <E extends Event & Keyed<K>, K extends Enum<K>> void register(Class<E> eventType, K key, EventListener<E> listener) {
+        register(eventType, key, listener, EventPriority.NORMAL);
+    }
+
+    /**
+     * Registers a listener to receive only the events of the given type whose {@link Keyed#getDispatchKey() key} equals
+     * the given key.
+     * <p>
+     * Keyed listeners are looked up by the ordinal of the event's key, so they cost nothing for events of other keys.
+     * They are ordered by priority together with the listeners registered without a key.
+     *
+     * @param eventType the event class to listen for
+     * @param key       the key to listen for
+     * @param listener  the listener to invoke when such events are posted
+     * @param priority  the priority, listeners with a higher priority are invoked first
+     * @param <E>       the event type
+     * @param <K>       the key type
+     * @see Keyed
+     */
+    <E extends Event & Keyed<K>, K extends Enum<K>> void register(Class<E> eventType, K key, EventListener<E> listener, int priority);
 
     /**
      * Removes a previously registered listener for the given event type.
@@ -32,7 +133,21 @@ public interface EventListenerRegistry {
     <E extends Event> void unregister(Class<E> eventType, EventListener<E> listener);
 
     /**
-     * Returns the list of listeners registered for the given event type, or null if none registered.
+     * Removes a listener previously registered for the given event type and key.
+     *
+     * @param eventType the event class
+     * @param key       the key the listener was registered for
+     * @param listener  the listener to remove
+     * @param <E>       the event type
+     * @param <K>       the key type
+     */
+    <E extends Event & Keyed<K>, K extends Enum<K>> void unregister(Class<E> eventType, K key, EventListener<E> listener);
+
+    /**
+     * Returns the list of listeners registered for exactly the given event type, in invocation order, or null if
+     * none registered.
+     * <p>
+     * Listeners registered for supertypes of the event type, or for a key, are not included.
      *
      * @param eventType the event class
      * @param <E>       the event type
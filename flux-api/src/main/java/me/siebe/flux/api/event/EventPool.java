@@ -5,8 +5,8 @@ import me.siebe.flux.api.event.traits.Pooled;
 /**
  * Object pool for a single pooled event type.
  * <p>
- * Acquired events are reset before being returned. Released events are reset and returned to the
- * pool for reuse. Used by {@link EventPoolRegistry} to manage pooled events.
+ * New events are reset when the pool creates them. Released events are reset and returned to the pool
+ * for reuse, so they are not reset again when acquired. Used by {@link EventPoolRegistry} to manage pooled events.
  *
  * @param <T> the event type (must extend Event and implement Pooled)
  * @see EventPoolRegistry
@@ -15,7 +15,7 @@ import me.siebe.flux.api.event.traits.Pooled;
 public interface EventPool<T extends Event & Pooled> {
     /**
      * Returns an event instance from the pool, or creates a new one if the pool is empty.
-     * The event is {@link Pooled#reset() reset} before being returned.
+     * The event is in its {@link Pooled#reset() reset} state.
      *
      * @return an event instance ready for use
      */
@@ -34,4 +34,26 @@ public interface EventPool<T extends Event & Pooled> {
      * @return the current pool size
      */
     int getPoolSize();
+
+    /**
+     * Returns how often {@link #acquire()} returned a reused instance.
+     *
+     * @return the number of pool hits
+     */
+    long getHitCount();
+
+    /**
+     * Returns how often {@link #acquire()} had to create a new instance because the pool was empty.
+     *
+     * @return the number of pool misses
+     */
+    long getMissCount();
+
+    /**
+     * Returns how often a released event was discarded because the pool already retained the
+     * {@link EventPoolConfig#maxRetained() maximum} number of events.
+     *
+     * @return the number of discarded events
+     */
+    long getDiscardCount();
 }
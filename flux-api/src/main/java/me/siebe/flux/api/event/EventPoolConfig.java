@@ -0,0 +1,34 @@
+package me.siebe.flux.api.event;
+
+/**
+ * Configuration of an {@link EventPool}, passed to {@link EventPoolRegistry#register(Class, java.util.function.Supplier,
+ * EventPoolConfig)}.
+ * <p>
+ * A pool that is prewarmed does not allocate for its first acquisitions, e.g. during the first frames of a level. A
+ * pool with a bounded number of retained events lets a burst of events be garbage collected afterward instead of
+ * keeping every instance alive for the rest of the application.
+ *
+ * @param prewarm     the number of events created when the pool is registered
+ * @param maxRetained the maximum number of released events the pool keeps for reuse; further releases are discarded
+ * @see EventPool
+ */
+public record EventPoolConfig(int prewarm, int maxRetained) {
+    /**
+     * The configuration used when none is given: not prewarmed, and retaining up to 1024 events.
+     */
+    public static final EventPoolConfig DEFAULT = new EventPoolConfig(0, 1024);
+
+    /**
+     * Creates a pool configuration.
+     *
+     * @throws IllegalArgumentException if a value is negative, or if more events are prewarmed than retained
+     */
+    public EventPoolConfig {
+        if (prewarm < 0) {
+            throw new IllegalArgumentException("Prewarm count must not be negative, got " + prewarm);
+        }
+        if (maxRetained < prewarm) {
+            throw new IllegalArgumentException("Max retained (" + maxRetained + ") must be at least the prewarm count (" + prewarm + ")");
+        }
+    }
+}
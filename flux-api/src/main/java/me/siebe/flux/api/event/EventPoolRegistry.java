@@ -17,13 +17,27 @@ import java.util.function.Supplier;
  */
 public interface EventPoolRegistry {
     /**
-     * Registers a pool for the given event type using the supplied factory to create new instances.
+     * Registers a pool for the given event type using the supplied factory to create new instances, with the
+     * {@link EventPoolConfig#DEFAULT default configuration}.
      *
      * @param eventType the event class (must implement {@link Pooled})
      * @param factory   supplier for new event instances when the pool is empty
      * @param <T>       the event type
      */
-    <T extends Event & Pooled> void register(Class<T> eventType, Supplier<T> factory);
+    default <T extends Event & Pooled> void register(Class<T> eventType, Supplier<T> factory) {
+        register(eventType, factory, EventPoolConfig.DEFAULT);
+    }
+
+    /**
+     * Registers a pool for the given event type using the supplied factory to create new instances, prewarmed and
+     * bounded according to the configuration.
+     *
+     * @param eventType the event class (must implement {@link Pooled})
+     * @param factory   supplier for new event instances when the pool is empty
+     * @param config    the number of events to prewarm and the maximum number of events to retain
+     * @param <T>       the event type
+     */
+    <T extends Event & Pooled> void register(Class<T> eventType, Supplier<T> factory, EventPoolConfig config);
 
     /**
      * Returns the pool for the given event type, or null if none is registered.
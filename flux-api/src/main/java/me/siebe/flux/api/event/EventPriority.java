@@ -0,0 +1,30 @@
+package me.siebe.flux.api.event;
+
+/**
+ * Common priorities for {@link EventListener EventListeners}.
+ * <p>
+ * Listeners with a higher priority are invoked before listeners with a lower priority. Listeners with the same
+ * priority are invoked in registration order. Any {@code int} can be used as a priority; these constants only give
+ * the usual levels a name.
+ * <p>
+ * Priorities matter most for {@link me.siebe.flux.api.event.traits.Cancellable} events: a high priority listener can
+ * cancel an event before lower priority listeners see it. A listener registered with {@code receiveCancelled} set is
+ * still invoked for cancelled events, which makes {@link #MONITOR} useful for listeners that only observe the outcome.
+ *
+ * @see EventListenerRegistry#register(Class, EventListener, int, boolean)
+ */
+public final class EventPriority {
+    public static final int HIGHEST = 200;
+    public static final int HIGH = 100;
+    public static final int NORMAL = 0;
+    public static final int LOW = -100;
+    public static final int LOWEST = -200;
+    /**
+     * Runs after all other levels. Intended for listeners that observe the final state of an event without changing
+     * it.
+     */
+    public static final int MONITOR = Integer.MIN_VALUE;
+
+    private EventPriority() {
+    }
+}
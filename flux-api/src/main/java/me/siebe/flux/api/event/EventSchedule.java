@@ -0,0 +1,24 @@
+package me.siebe.flux.api.event;
+
+/**
+ * Handle to an event scheduled with an {@link EventScheduler}, used to cancel it before it is posted.
+ *
+ * @see EventScheduler
+ */
+public interface EventSchedule {
+    /**
+     * Cancels the schedule, so its event is not posted anymore. For a repeating schedule, no further events are
+     * created. A pooled event of a cancelled one-shot schedule is released back to its pool.
+     *
+     * @return {@code true} if the schedule was pending, {@code false} if it was already posted or cancelled
+     */
+    boolean cancel();
+
+    /**
+     * Returns whether the schedule is still waiting to post an event. A repeating schedule stays pending until it is
+     * cancelled.
+     *
+     * @return {@code true} if an event will still be posted
+     */
+    boolean isPending();
+}
@@ -0,0 +1,94 @@
+package me.siebe.flux.api.event;
+
+import me.siebe.flux.util.time.Timer;
+
+import java.util.function.Supplier;
+
+/**
+ * Posts events to the {@link EventBus} at a later frame or after a delay, once or repeatedly.
+ * <p>
+ * Replaces per-action {@link me.siebe.flux.util.time.Delay Delays} for cooldowns, respawns and similar timed actions:
+ * <pre>{@code
+ * EventSchedule respawn = bus.getScheduler().postAfter(5.0, new RespawnEvent(player));
+ * bus.getScheduler().postEvery(1.0, () -> new BuffTickEvent(buff));
+ * }</pre>
+ * The scheduler is driven by the engine, which calls {@link #advance(Timer)} once per frame right before the event
+ * bus is {@link EventBus#flush() flushed}. Due events are then posted with {@link EventBus#post(Event)}, so
+ * {@link me.siebe.flux.api.event.traits.Queued} events are delivered in the same frame. Frames and seconds are those of
+ * the engine {@link Timer}: {@link Timer#getFrameCount()} and {@link Timer#getTotalTime()}.
+ * <p>
+ * Scheduling and cancelling are safe from any thread. Events are posted on the thread that advances the scheduler.
+ *
+ * @see EventSchedule
+ */
+public interface EventScheduler {
+    /**
+     * Schedules the event to be posted once when the given frame is reached. A frame that was already reached posts
+     * the event on the next advance.
+     *
+     * @param frame the frame count to post the event at
+     * @param event the event to post; a pooled event must not be used afterward
+     * @return the handle to cancel the schedule
+     */
+    EventSchedule postAt(long frame, Event event);
+
+    /**
+     * Schedules the event to be posted once after the given delay.
+     *
+     * @param seconds the delay in seconds; zero or less posts the event on the next advance
+     * @param event   the event to post; a pooled event must not be used afterward
+     * @return the handle to cancel the schedule
+     */
+    EventSchedule postAfter(double seconds, Event event);
+
+    /**
+     * Schedules an event created by the factory to be posted every interval, starting one interval from now, until
+     * the schedule is cancelled.
+     * <p>
+     * When a frame spans several intervals, an event is posted for each of them.
+     *
+     * @param intervalSeconds the interval in seconds
+     * @param factory         creates the event to post every interval
+     * @return the handle to cancel the schedule
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    EventSchedule postEvery(double intervalSeconds, Supplier<? extends Event> factory);
+
+    /**
+     * Schedules an event created by the factory to be posted every interval of frames, starting one interval from
+     * now, until the schedule is cancelled.
+     *
+     * @param intervalFrames the interval in frames
+     * @param factory        creates the event to post every interval
+     * @return the handle to cancel the schedule
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    EventSchedule postEveryFrames(long intervalFrames, Supplier<? extends Event> factory);
+
+    /**
+     * Advances the scheduler to the given frame and time, and posts all events that became due. Frames and seconds are
+     * separate clocks, so the events are not merged into one order: first the events scheduled by frame, in order of
+     * their due frame, then the events scheduled by time, in order of their due time.
+     *
+     * @param frame the current frame count
+     * @param time  the current time in seconds
+     */
+    void advance(long frame, double time);
+
+    /**
+     * Advances the scheduler to the current frame and total time of the timer.
+     *
+     * @param timer the engine timer
+     * @see #advance(long, double)
+     */
+    default void advance(Timer timer) {
+        advance(timer.getFrameCount(), timer.getTotalTime());
+    }
+
+    /**
+     * Returns the number of pending schedules.
+     *
+     * @return the number of schedules that will still post an event
+     */
+    int getScheduledCount();
+}
@@ -1,6 +1,7 @@
 package me.siebe.flux.api.event.common;
 
 import me.siebe.flux.api.event.Event;
+import me.siebe.flux.api.event.traits.Coalescing;
 import me.siebe.flux.api.event.traits.Pooled;
 import me.siebe.flux.api.event.traits.Queued;
 
@@ -9,12 +10,16 @@ import me.siebe.flux.api.event.traits.Queued;
  * <p>
  * This may differ from the window size on high-DPI displays. The event is {@link Pooled} and
  * {@link Queued}: use {@link #set(int, int, int, int)} to set dimensions before posting.
+ * <p>
+ * The event is also {@link Coalescing}: when the framebuffer is resized several times before the bus is flushed, listeners
+ * receive a single event going from the size before the first resize to the size after the last one.
  *
  * @see me.siebe.flux.api.event.EventBus
  * @see me.siebe.flux.api.event.traits.Pooled
  * @see me.siebe.flux.api.event.traits.Queued
+ * @see me.siebe.flux.api.event.traits.Coalescing
  */
-public class FramebufferResizeEvent extends Event implements Pooled, Queued {
+public class FramebufferResizeEvent extends Event implements Pooled, Queued, Coalescing<FramebufferResizeEvent> {
     private int oldWidth;
     private int oldHeight;
     private int newWidth;
@@ -24,6 +29,12 @@ public class FramebufferResizeEvent extends Event implements Pooled, Queued {
     public void reset() {
     }
 
+    @Override
+    public void coalesce(FramebufferResizeEvent previous) {
+        this.oldWidth = previous.oldWidth;
+        this.oldHeight = previous.oldHeight;
+    }
+
     /**
      * Sets the old and new framebuffer dimensions for this event.
      *
@@ -1,6 +1,7 @@
 package me.siebe.flux.api.event.common;
 
 import me.siebe.flux.api.event.Event;
+import me.siebe.flux.api.event.traits.Coalescing;
 import me.siebe.flux.api.event.traits.Pooled;
 import me.siebe.flux.api.event.traits.Queued;
 
@@ -10,12 +11,16 @@ import me.siebe.flux.api.event.traits.Queued;
  * This event is {@link Pooled} and {@link Queued}: it is typically acquired from a pool and
  * delivered when the event bus is flushed. Use {@link #set(int, int, int, int)} to configure
  * dimensions before posting.
+ * <p>
+ * The event is also {@link Coalescing}: when the window is resized several times before the bus is flushed, listeners
+ * receive a single event going from the size before the first resize to the size after the last one.
  *
  * @see me.siebe.flux.api.event.EventBus
  * @see me.siebe.flux.api.event.traits.Pooled
  * @see me.siebe.flux.api.event.traits.Queued
+ * @see me.siebe.flux.api.event.traits.Coalescing
  */
-public class WindowResizeEvent extends Event implements Pooled, Queued {
+public class WindowResizeEvent extends Event implements Pooled, Queued, Coalescing<WindowResizeEvent> {
     private int oldWidth;
     private int oldHeight;
     private int newWidth;
@@ -25,6 +30,12 @@ public class WindowResizeEvent extends Event implements Pooled, Queued {
     public void reset() {
     }
 
+    @Override
+    public void coalesce(WindowResizeEvent previous) {
+        this.oldWidth = previous.oldWidth;
+        this.oldHeight = previous.oldHeight;
+    }
+
     /**
      * Sets the old and new window dimensions for this event.
      *
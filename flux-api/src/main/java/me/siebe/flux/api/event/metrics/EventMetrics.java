@@ -0,0 +1,123 @@
+package me.siebe.flux.api.event.metrics;
+
+import me.siebe.flux.api.event.Event;
+import me.siebe.flux.api.event.EventListener;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runtime metrics of an {@link me.siebe.flux.api.event.EventBus}, used to find out which events and listeners are
+ * responsible for a slow frame.
+ * <p>
+ * Recording is disabled by default and costs close to nothing while disabled. Once {@link #setEnabled(boolean)
+ * enabled}, the bus counts posted events per type, records the queue depth at every
+ * {@link me.siebe.flux.api.event.EventBus#flush() flush}, and measures the duration of every listener invocation.
+ * Pool hits, misses and discards are always counted by the pools themselves; allocation rates are only sampled while
+ * enabled.
+ * <pre>{@code
+ * EventMetrics metrics = bus.getMetrics();
+ * metrics.setEnabled(true);
+ * // ... run some frames ...
+ * for (ListenerLatency latency : metrics.getListenerLatencies()) {
+ *     logger.info("{} on {}: p99 {} ns", latency.listener(), latency.eventType().getSimpleName(),
+ *             latency.latency().getValueAtPercentile(99));
+ * }
+ * }</pre>
+ * All query methods return snapshots, which can be taken from any thread.
+ *
+ * @see me.siebe.flux.api.event.EventBus#getMetrics()
+ */
+public interface EventMetrics {
+    /**
+     * Returns whether metrics are being recorded.
+     *
+     * @return true if enabled
+     */
+    boolean isEnabled();
+
+    /**
+     * Starts or stops recording metrics. Metrics recorded so far are kept.
+     *
+     * @param enabled whether to record metrics
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Clears all recorded metrics, except the pool counters which belong to the pools.
+     */
+    void reset();
+
+    /**
+     * Returns the number of events of the given class that were posted while recording.
+     *
+     * @param eventType the concrete event class
+     * @return the post count
+     */
+    long getPostCount(Class<? extends Event> eventType);
+
+    /**
+     * Returns the number of posted events of every class that was posted while recording.
+     *
+     * @return an unmodifiable map of concrete event class to post count
+     */
+    Map<Class<? extends Event>, Long> getPostCounts();
+
+    /**
+     * Returns the number of queued events at the start of each flush.
+     *
+     * @return the queue depth histogram
+     */
+    HistogramSnapshot getFlushQueueDepth();
+
+    /**
+     * Returns the invocation durations of a listener for events of the given class, in nanoseconds.
+     *
+     * @param eventType the concrete event class
+     * @param listener  the listener
+     * @return the latency histogram, or {@code null} if the listener was not invoked for the class while recording
+     */
+    HistogramSnapshot getListenerLatency(Class<? extends Event> eventType, EventListener<?> listener);
+
+    /**
+     * Returns the invocation durations of all listeners invoked while recording, the listener with the most time spent
+     * first.
+     *
+     * @return an unmodifiable list of listener latencies
+     */
+    List<ListenerLatency> getListenerLatencies();
+
+    /**
+     * Returns how often an event of the given pooled type was acquired from its pool without creating a new instance.
+     *
+     * @param eventType the pooled event class
+     * @return the hit count, or {@code 0} if no pool is registered
+     */
+    long getPoolHitCount(Class<? extends Event> eventType);
+
+    /**
+     * Returns how often an event of the given pooled type had to be created because its pool was empty.
+     *
+     * @param eventType the pooled event class
+     * @return the miss count, or {@code 0} if no pool is registered
+     */
+    long getPoolMissCount(Class<? extends Event> eventType);
+
+    /**
+     * Returns how often a released event of the given pooled type was discarded because its pool was full.
+     *
+     * @param eventType the pooled event class
+     * @return the discard count, or {@code 0} if no pool is registered
+     */
+    long getPoolDiscardCount(Class<? extends Event> eventType);
+
+    /**
+     * Returns the steady-state allocation rate of the given pooled type: the number of pool misses per second,
+     * sampled in windows of one second while recording and exponentially smoothed. A rate that stays above zero after
+     * warming up means the pool is too small or events are not released.
+     *
+     * @param eventType the pooled event class
+     * @return the allocations per second, or {@code 0} if no pool is registered or no window was sampled yet
+     */
+    double getPoolAllocationRate(Class<? extends Event> eventType);
+}
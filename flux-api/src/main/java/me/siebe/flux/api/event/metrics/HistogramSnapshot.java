@@ -0,0 +1,48 @@
+package me.siebe.flux.api.event.metrics;
+
+/**
+ * Immutable snapshot of a histogram of recorded values, such as listener latencies in nanoseconds.
+ * <p>
+ * Values are bucketed with a bounded relative error, so percentiles are approximate while the count, total and maximum
+ * are exact.
+ */
+public interface HistogramSnapshot {
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the count
+     */
+    long getCount();
+
+    /**
+     * Returns the sum of all recorded values.
+     *
+     * @return the total
+     */
+    long getTotal();
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return the maximum, or {@code 0} if nothing was recorded
+     */
+    long getMax();
+
+    /**
+     * Returns the mean of all recorded values.
+     *
+     * @return the mean, or {@code 0} if nothing was recorded
+     */
+    default double getMean() {
+        return getCount() == 0 ? 0 : (double) getTotal() / getCount();
+    }
+
+    /**
+     * Returns the value below which the given percentage of the recorded values fall.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the approximate value at the percentile, or {@code 0} if nothing was recorded
+     * @throws IllegalArgumentException if the percentile is out of range
+     */
+    long getValueAtPercentile(double percentile);
+}
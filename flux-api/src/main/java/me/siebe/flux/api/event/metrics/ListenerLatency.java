@@ -0,0 +1,14 @@
+package me.siebe.flux.api.event.metrics;
+
+import me.siebe.flux.api.event.Event;
+import me.siebe.flux.api.event.EventListener;
+
+/**
+ * The time a single listener spent handling events of a single event class.
+ *
+ * @param eventType the concrete event class
+ * @param listener  the listener
+ * @param latency   the duration of each invocation, in nanoseconds
+ */
+public record ListenerLatency(Class<? extends Event> eventType, EventListener<?> listener, HistogramSnapshot latency) {
+}
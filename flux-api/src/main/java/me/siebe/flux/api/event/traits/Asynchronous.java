@@ -0,0 +1,17 @@
+package me.siebe.flux.api.event.traits;
+
+import me.siebe.flux.api.event.DeliveryMode;
+
+/**
+ * Marker for events whose listeners are invoked asynchronously.
+ * <p>
+ * When an event implements this interface, listeners registered with {@link DeliveryMode#SYNC} are delivered as
+ * {@link DeliveryMode#ASYNC_FRAME} instead: they run on the executor of the event bus and finish before the end of the
+ * frame. Listeners registered with {@link DeliveryMode#ASYNC} keep their mode. Use this for event types whose listeners
+ * should never block the main thread.
+ *
+ * @see DeliveryMode
+ * @see me.siebe.flux.api.event.EventBus#awaitFrameDeliveries()
+ */
+public interface Asynchronous {
+}
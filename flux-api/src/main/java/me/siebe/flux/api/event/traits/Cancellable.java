@@ -7,8 +7,10 @@ package me.siebe.flux.api.event.traits;
  * Marker and behavior for events that can be cancelled.
  * <p>
  * When an event implements this interface, the event bus will stop delivering it to further
- * listeners as soon as one listener sets it as cancelled. Listeners that have already been
- * invoked will have had their side effects applied; cancelling does not revert prior handling.
+ * listeners as soon as one listener sets it as cancelled, except to listeners registered to receive
+ * cancelled events. Listeners that have already been invoked will have had their side effects applied;
+ * cancelling does not revert prior handling. Use listener priorities to control which listeners get to
+ * cancel an event first.
  *
  * @see me.siebe.flux.api.event.Event
  * @see me.siebe.flux.api.event.EventBus
@@ -0,0 +1,46 @@
+package me.siebe.flux.api.event.traits;
+
+import me.siebe.flux.api.event.Event;
+
+/**
+ * Marker and behavior for {@link Queued} events of which only the latest one per key needs to be delivered.
+ * <p>
+ * High-rate events such as window resizes can be posted many times within a single frame. When an event implements
+ * this interface (and {@link Queued}), the event bus coalesces all queued events of the same class and
+ * {@link #getCoalescingKey() key} before {@link me.siebe.flux.api.event.EventBus#flush()} delivers them, so listeners
+ * only see one event per key per flush.
+ * <p>
+ * By default, the latest event wins and older ones are discarded. Override {@link #coalesce(Event)} to merge
+ * information of an older event into the newer one, e.g. to keep the size from before the first resize or to add up
+ * movement deltas. Discarded events that are {@link Pooled} are released back to their pool.
+ * <p>
+ * Coalescing has no effect on events that are not {@link Queued}, since those are delivered immediately.
+ *
+ * @param <E> the event type, normally the implementing class itself
+ * @see Queued
+ * @see me.siebe.flux.api.event.EventBus#flush()
+ */
+public interface Coalescing<E extends Event> {
+    /**
+     * Returns the key of this event. Queued events of the same class with equal keys are coalesced.
+     * <p>
+     * Defaults to {@code null}, which coalesces all queued events of the class into one.
+     *
+     * @return the coalescing key, compared with {@link Object#equals(Object)}
+     */
+    default Object getCoalescingKey() {
+        return null;
+    }
+
+    /**
+     * Merges an older queued event with the same key into this event, which replaces it.
+     * <p>
+     * Called in posting order, so after coalescing {@code a}, {@code b} and {@code c}, {@code c} has been called with
+     * {@code b}, which has been called with {@code a} before. The older event must not be referenced afterward.
+     * Does nothing by default, so the latest event wins.
+     *
+     * @param previous the older event that is discarded
+     */
+    default void coalesce(E previous) {
+    }
+}
@@ -0,0 +1,23 @@
+package me.siebe.flux.api.event.traits;
+
+/**
+ * Trait for events that carry an enum key, such as the {@link me.siebe.flux.api.input.enums.Key Key} of a key press.
+ * <p>
+ * Listeners can subscribe to a single key with
+ * {@link me.siebe.flux.api.event.EventListenerRegistry#register(Class, Enum, me.siebe.flux.api.event.EventListener)}:
+ * <pre>{@code
+ * registry.register(KeyPressEvent.class, Key.KEY_SPACE, e -> jump());
+ * }</pre>
+ * The event bus then looks up the listeners of the event's key by its ordinal, so a keyed listener is only invoked for
+ * its own key instead of filtering every event itself.
+ *
+ * @param <K> the enum type of the key
+ */
+public interface Keyed<K extends Enum<K>> {
+    /**
+     * Returns the key keyed listeners are selected by.
+     *
+     * @return the key, or {@code null} to only invoke listeners that were registered without a key
+     */
+    K getDispatchKey();
+}
@@ -17,7 +17,7 @@ public interface Pooled {
     /**
      * Resets this event to a clean state so it can be reused from the pool.
      * <p>
-     * Called by the pool when the event is acquired and when it is released.
+     * Called by the pool once when it creates the event, and every time the event is released.
      */
     void reset();
 }
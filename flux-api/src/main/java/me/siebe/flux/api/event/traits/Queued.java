@@ -12,6 +12,7 @@ import me.siebe.flux.api.event.Event;
  *
  * @see me.siebe.flux.api.event.EventBus#post(me.siebe.flux.api.event.Event)
  * @see me.siebe.flux.api.event.EventBus#flush()
+ * @see Coalescing
  */
 public interface Queued {
 }
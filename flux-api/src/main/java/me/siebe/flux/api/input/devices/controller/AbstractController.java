@@ -1,6 +1,7 @@
 package me.siebe.flux.api.input.devices.controller;
 
 
+import me.siebe.flux.api.event.EventBus;
 import me.siebe.flux.api.input.devices.controller.event.GamepadButtonPressEvent;
 import me.siebe.flux.api.input.devices.controller.event.GamepadButtonReleaseEvent;
 import me.siebe.flux.api.input.enums.GamepadAxis;
@@ -83,7 +84,10 @@ public abstract class AbstractController implements Controller {
         buttonsDown.set(button.ordinal());
         buttonsPressedThisFrame.set(button.ordinal());
 
-        AppContext.get().getEventBus().post(GamepadButtonPressEvent.class, e -> e.set(button));
+        EventBus eventBus = AppContext.get().getEventBus();
+        GamepadButtonPressEvent event = eventBus.acquire(GamepadButtonPressEvent.class);
+        event.set(button);
+        eventBus.publish(event);
     }
 
     /**
@@ -97,7 +101,10 @@ public abstract class AbstractController implements Controller {
         buttonsDown.clear(button.ordinal());
         buttonsReleasedThisFrame.set(button.ordinal());
 
-        AppContext.get().getEventBus().post(GamepadButtonReleaseEvent.class, e -> e.set(button));
+        EventBus eventBus = AppContext.get().getEventBus();
+        GamepadButtonReleaseEvent event = eventBus.acquire(GamepadButtonReleaseEvent.class);
+        event.set(button);
+        eventBus.publish(event);
     }
 
     /**
@@ -1,14 +1,18 @@
 package me.siebe.flux.api.input.devices.controller.event;
 
 import me.siebe.flux.api.event.Event;
+import me.siebe.flux.api.event.traits.Keyed;
 import me.siebe.flux.api.event.traits.Pooled;
 import me.siebe.flux.api.input.enums.GamepadButton;
 
 /**
  * Base for gamepad button events (press, release). Carries the button that triggered the event.
  * Events are pooled; use the getters and do not hold references after handling.
+ * <p>
+ * Register a listener for this type to receive both gamepad button press and release events. To only receive the
+ * events of a single button, register the listener for that {@link GamepadButton}.
  */
-abstract class GamepadButtonEvent extends Event implements Pooled {
+public abstract class GamepadButtonEvent extends Event implements Pooled, Keyed<GamepadButton> {
     private GamepadButton button;
 
     /**
@@ -28,6 +32,12 @@ abstract class GamepadButtonEvent extends Event implements Pooled {
         return button;
     }
 
+    /** {@inheritDoc} Listeners registered for a button are only invoked for events of that button. */
+    @Override
+    public GamepadButton getDispatchKey() {
+        return button;
+    }
+
     /**
      * Returns whether this event was for the given button.
      *
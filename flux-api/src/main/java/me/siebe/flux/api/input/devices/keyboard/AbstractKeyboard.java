@@ -1,5 +1,6 @@
 package me.siebe.flux.api.input.devices.keyboard;
 
+import me.siebe.flux.api.event.EventBus;
 import me.siebe.flux.api.input.devices.keyboard.event.KeyPressEvent;
 import me.siebe.flux.api.input.devices.keyboard.event.KeyReleaseEvent;
 import me.siebe.flux.api.input.enums.Key;
@@ -94,7 +95,10 @@ public abstract class AbstractKeyboard implements Keyboard {
         keysDown.set(key.ordinal());
         keysPressedThisFrame.set(key.ordinal());
 
-        AppContext.get().getEventBus().post(KeyPressEvent.class, e -> e.set(key, modifiers));
+        EventBus eventBus = AppContext.get().getEventBus();
+        KeyPressEvent event = eventBus.acquire(KeyPressEvent.class);
+        event.set(key, modifiers);
+        eventBus.publish(event);
     }
 
     /**
@@ -109,7 +113,10 @@ public abstract class AbstractKeyboard implements Keyboard {
         keysDown.clear(key.ordinal());
         keysReleasedThisFrame.set(key.ordinal());
 
-        AppContext.get().getEventBus().post(KeyReleaseEvent.class, e -> e.set(key, modifiers));
+        EventBus eventBus = AppContext.get().getEventBus();
+        KeyReleaseEvent event = eventBus.acquire(KeyReleaseEvent.class);
+        event.set(key, modifiers);
+        eventBus.publish(event);
     }
 
     /**
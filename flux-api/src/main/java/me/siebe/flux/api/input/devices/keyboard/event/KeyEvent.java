@@ -1,6 +1,7 @@
 package me.siebe.flux.api.input.devices.keyboard.event;
 
 import me.siebe.flux.api.event.Event;
+import me.siebe.flux.api.event.traits.Keyed;
 import me.siebe.flux.api.event.traits.Pooled;
 import me.siebe.flux.api.input.enums.Key;
 import me.siebe.flux.api.input.enums.Modifier;
@@ -10,8 +11,11 @@ import java.util.Set;
 /**
  * Base for keyboard events (press, release). Carries the key and modifier state at the time of the event.
  * Events are pooled; use the getters and do not hold references after handling.
+ * <p>
+ * Register a listener for this type to receive both key press and key release events. To only receive the events of
+ * a single key, register the listener for that {@link Key}.
  */
-abstract class KeyEvent extends Event implements Pooled {
+public abstract class KeyEvent extends Event implements Pooled, Keyed<Key> {
     private Key key;
     private Set<Modifier> modifiers;
 
@@ -34,6 +38,12 @@ abstract class KeyEvent extends Event implements Pooled {
         return key;
     }
 
+    /** {@inheritDoc} Listeners registered for a key are only invoked for events of that key. */
+    @Override
+    public Key getDispatchKey() {
+        return key;
+    }
+
     /** Modifier keys (shift, ctrl, etc.) held at the time of the event. */
     public Set<Modifier> getModifiers() {
         return modifiers;
@@ -1,5 +1,6 @@
 package me.siebe.flux.api.input.devices.mouse;
 
+import me.siebe.flux.api.event.EventBus;
 import me.siebe.flux.api.input.devices.mouse.event.DoubleClickEvent;
 import me.siebe.flux.api.input.devices.mouse.event.MouseClickEvent;
 import me.siebe.flux.api.input.devices.mouse.event.MouseReleaseEvent;
@@ -187,7 +188,10 @@ public abstract class AbstractMouse implements Mouse {
         buttonsDown.set(button.ordinal());
         buttonsPressedThisFrame.set(button.ordinal());
 
-        AppContext.get().getEventBus().post(MouseClickEvent.class, e -> e.set(button, modifiers, x.getCurrentValue(), y.getCurrentValue()));
+        EventBus eventBus = AppContext.get().getEventBus();
+        MouseClickEvent event = eventBus.acquire(MouseClickEvent.class);
+        event.set(button, modifiers, x.getCurrentValue(), y.getCurrentValue());
+        eventBus.publish(event);
 
         if (button == MouseButton.MOUSE_LEFT) {
             tryFireDoubleClick(button, modifiers);
@@ -200,7 +204,10 @@ public abstract class AbstractMouse implements Mouse {
     protected void tryFireDoubleClick(MouseButton button, Set<Modifier> modifiers) {
         double now = AppContext.get().getTimer().getTotalTime();
         if (now - lastLeftClickTime <= DOUBLE_CLICK_THRESHOLD_SECONDS) {
-            AppContext.get().getEventBus().post(DoubleClickEvent.class, e -> e.set(button, modifiers, x.getCurrentValue(), y.getCurrentValue()));
+            EventBus eventBus = AppContext.get().getEventBus();
+            DoubleClickEvent event = eventBus.acquire(DoubleClickEvent.class);
+            event.set(button, modifiers, x.getCurrentValue(), y.getCurrentValue());
+            eventBus.publish(event);
         }
         lastLeftClickTime = now;
     }
@@ -217,7 +224,10 @@ public abstract class AbstractMouse implements Mouse {
         buttonsDown.clear(button.ordinal());
         buttonsReleasedThisFrame.set(button.ordinal());
 
-        AppContext.get().getEventBus().post(MouseReleaseEvent.class, e -> e.set(button, modifiers, x.getCurrentValue(), y.getCurrentValue()));
+        EventBus eventBus = AppContext.get().getEventBus();
+        MouseReleaseEvent event = eventBus.acquire(MouseReleaseEvent.class);
+        event.set(button, modifiers, x.getCurrentValue(), y.getCurrentValue());
+        eventBus.publish(event);
     }
 
     /**
@@ -1,6 +1,7 @@
 package me.siebe.flux.api.input.devices.mouse.event;
 
 import me.siebe.flux.api.event.Event;
+import me.siebe.flux.api.event.traits.Keyed;
 import me.siebe.flux.api.event.traits.Pooled;
 import me.siebe.flux.api.input.enums.Modifier;
 import me.siebe.flux.api.input.enums.MouseButton;
@@ -11,8 +12,11 @@ import java.util.Set;
  * Base for mouse button events (click, release, double-click). Carries the button, modifier keys,
  * and cursor position (normalized 0..1) at the time of the event. Events are pooled; use the getters
  * and do not hold references after handling.
+ * <p>
+ * Register a listener for this type to receive all mouse button events. To only receive the events of a single
+ * button, register the listener for that {@link MouseButton}.
  */
-abstract class MouseButtonEvent extends Event implements Pooled {
+public abstract class MouseButtonEvent extends Event implements Pooled, Keyed<MouseButton> {
     private MouseButton button;
     private Set<Modifier> modifiers;
     private float x;
@@ -41,6 +45,12 @@ abstract class MouseButtonEvent extends Event implements Pooled {
         return button;
     }
 
+    /** {@inheritDoc} Listeners registered for a button are only invoked for events of that button. */
+    @Override
+    public MouseButton getDispatchKey() {
+        return button;
+    }
+
     /** Modifier keys (shift, ctrl, etc.) held at the time of the event. */
     public Set<Modifier> getModifiers() {
         return modifiers;
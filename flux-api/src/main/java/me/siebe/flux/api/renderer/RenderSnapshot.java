@@ -0,0 +1,230 @@
+package me.siebe.flux.api.renderer;
+
+import me.siebe.flux.api.camera.Camera;
+import me.siebe.flux.api.renderer.context.BaseRenderContext;
+import me.siebe.flux.api.renderer.culling.BoundingVolumeHierarchy;
+import me.siebe.flux.api.renderer.culling.FrustumCuller;
+import me.siebe.flux.api.renderer.data.Renderable;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A compact, read-only copy of everything the render pipeline needs to draw a single frame.
+ * <p>
+ * Snapshots are filled during the extraction stage ({@link Renderer#extractSnapshot()}) by copying the camera
+ * matrices and, for every {@link Renderable} in the {@link BaseRenderContext}, a reference to the renderable together
+ * with a copy of its world matrix. Render steps read from the snapshot instead of from live game state, which allows
+ * the next simulation frame to run while the previous snapshot is being rendered.
+ * <p>
+ * The {@link Renderer} keeps two snapshots and swaps them every frame, so the memory of a snapshot is reused and
+ * extraction does not allocate once the snapshot has grown to the number of renderables in the scene. Snapshots can
+ * only be written by the {@link Renderer}; the accessors expose read-only views.
+ * <p>
+ * Extraction also culls the renderables against the view frustum of the camera, using their
+ * {@link Renderable#getBounds() bounds}. Render steps should skip renderables that are not {@link #isVisible(int)
+ * visible}.
+ */
+public final class RenderSnapshot {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Matrix4f viewMatrix = new Matrix4f();
+    private final Matrix4f projectionMatrix = new Matrix4f();
+    private final Matrix4f viewProjectionMatrix = new Matrix4f();
+    private final Vector3f cameraPosition = new Vector3f();
+    private boolean hasCamera;
+
+    private Renderable[] renderables = new Renderable[INITIAL_CAPACITY];
+    private Matrix4f[] worldMatrices = new Matrix4f[INITIAL_CAPACITY];
+    private int size;
+    private long frame = -1;
+
+    private final FrustumCuller culler = new FrustumCuller();
+
+    RenderSnapshot() {
+    }
+
+    // =================================================================================================================
+    // Extraction
+    // =================================================================================================================
+
+    /**
+     * Overwrites this snapshot with the current state of the given render context.
+     *
+     * @param context the render context to copy from
+     * @param frame   the index of the frame this snapshot belongs to
+     */
+    void capture(BaseRenderContext context, long frame) {
+        this.frame = frame;
+
+        Camera camera = context.getCamera();
+        hasCamera = camera != null;
+        if (hasCamera) {
+            viewMatrix.set(camera.getViewMatrix());
+            projectionMatrix.set(camera.getProjectionMatrix());
+            viewProjectionMatrix.set(camera.getViewProjectionMatrix());
+            cameraPosition.set(camera.getPosition());
+        } else {
+            viewMatrix.identity();
+            projectionMatrix.identity();
+            viewProjectionMatrix.identity();
+            cameraPosition.zero();
+        }
+
+        int previousSize = size;
+        size = 0;
+        // Whether this snapshot gets the same renderables as the last time, so the culler can refit its hierarchy
+        boolean renderablesUnchanged = true;
+        culler.clear();
+        List<Renderable> contextRenderables = context.getRenderables();
+        if (contextRenderables != null) {
+            for (Renderable renderable : contextRenderables) {
+                ensureCapacity(size + 1);
+                renderablesUnchanged &= renderables[size] == renderable;
+                renderables[size] = renderable;
+                renderable.getWorldMatrix(worldMatrices[size]);
+                culler.add(renderable.getBounds(), worldMatrices[size]);
+                size++;
+            }
+        }
+
+        culler.setObjectsUnchanged(renderablesUnchanged && size == previousSize);
+        if (hasCamera) {
+            culler.cull(viewProjectionMatrix);
+        } else {
+            culler.cullNothing();
+        }
+
+        // Drop references to renderables that are no longer part of the scene
+        if (previousSize > size) {
+            Arrays.fill(renderables, size, previousSize, null);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > renderables.length) {
+            int newCapacity = renderables.length * 2;
+            renderables = Arrays.copyOf(renderables, newCapacity);
+            worldMatrices = Arrays.copyOf(worldMatrices, newCapacity);
+        }
+        if (worldMatrices[capacity - 1] == null) {
+            worldMatrices[capacity - 1] = new Matrix4f();
+        }
+    }
+
+    // =================================================================================================================
+    // Accessors
+    // =================================================================================================================
+
+    /**
+     * Gets the index of the frame this snapshot was extracted in.
+     *
+     * @return the frame index, or -1 if nothing has been extracted into this snapshot yet
+     */
+    public long getFrame() {
+        return frame;
+    }
+
+    /**
+     * Checks whether the render context had a camera when this snapshot was extracted.
+     * <p>
+     * When there was no camera, all camera matrices are the identity matrix.
+     *
+     * @return true if a camera was captured, false otherwise
+     */
+    public boolean hasCamera() {
+        return hasCamera;
+    }
+
+    public Matrix4fc getViewMatrix() {
+        return viewMatrix;
+    }
+
+    public Matrix4fc getProjectionMatrix() {
+        return projectionMatrix;
+    }
+
+    public Matrix4fc getViewProjectionMatrix() {
+        return viewProjectionMatrix;
+    }
+
+    public Vector3fc getCameraPosition() {
+        return cameraPosition;
+    }
+
+    /**
+     * Gets the number of renderables captured in this snapshot.
+     *
+     * @return the renderable count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the renderable at the given index.
+     *
+     * @param index the index, between 0 (inclusive) and {@link #size()} (exclusive)
+     * @return the renderable
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public Renderable getRenderable(int index) {
+        return renderables[checkIndex(index)];
+    }
+
+    /**
+     * Gets the world matrix of the renderable at the given index, as it was at extraction time.
+     *
+     * @param index the index, between 0 (inclusive) and {@link #size()} (exclusive)
+     * @return a read-only view of the world matrix
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public Matrix4fc getWorldMatrix(int index) {
+        return worldMatrices[checkIndex(index)];
+    }
+
+    /**
+     * Checks whether the renderable at the given index is inside the view frustum of the camera. Renderables without
+     * bounds, and all renderables of a snapshot without a camera, are always visible.
+     *
+     * @param index the index, between 0 (inclusive) and {@link #size()} (exclusive)
+     * @return true if the renderable should be drawn
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public boolean isVisible(int index) {
+        return culler.isVisible(checkIndex(index));
+    }
+
+    /**
+     * Gets the number of renderables that passed frustum culling.
+     *
+     * @return the visible renderable count
+     */
+    public int getVisibleCount() {
+        return culler.getVisibleCount();
+    }
+
+    /**
+     * Finds the first renderable whose world-space bounds are hit by a ray, e.g. to pick the renderable under the
+     * cursor. Renderables without bounds are never hit. Must be called from the thread that reads this snapshot.
+     *
+     * @param origin      the world-space origin of the ray
+     * @param direction   the world-space direction of the ray
+     * @param maxDistance the maximum distance along the ray, in units of the length of the direction
+     * @return the hit, with the index of the renderable in this snapshot, or null if no renderable is hit
+     */
+    public BoundingVolumeHierarchy.RayHit raycast(Vector3fc origin, Vector3fc direction, float maxDistance) {
+        return culler.raycast(origin, direction, maxDistance);
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for snapshot of size " + size);
+        }
+        return index;
+    }
+}
@@ -4,10 +4,28 @@ import me.siebe.flux.api.renderer.context.BaseRenderContext;
 import me.siebe.flux.api.renderer.data.Renderable;
 import me.siebe.flux.api.renderer.pipeline.RenderPipeline;
 
+/**
+ * Renders the scene described by a {@link BaseRenderContext} through a {@link RenderPipeline}.
+ * <p>
+ * Rendering is split into an extraction stage and a render stage, which use two {@link RenderSnapshot}s:
+ * <ol>
+ *     <li>{@link #extractSnapshot()} copies the render-relevant state of the context into the back snapshot.</li>
+ *     <li>{@link #swapSnapshots()} makes the last extracted snapshot the front snapshot.</li>
+ *     <li>{@link #render()} runs the pipeline on the front snapshot.</li>
+ * </ol>
+ * Because {@link #render()} only reads the front snapshot, the next frame can be simulated and extracted into the
+ * back snapshot while the current one is being rendered. {@link #swapSnapshots()} must not be called while either
+ * of the other two is running.
+ */
 public class Renderer {
     private final RenderPipeline pipeline;
     private BaseRenderContext renderContext;
 
+    private RenderSnapshot frontSnapshot = new RenderSnapshot();
+    private RenderSnapshot backSnapshot = new RenderSnapshot();
+    private boolean backSnapshotReady = false;
+    private long extractedFrames = 0;
+
     public Renderer(RenderPipeline pipeline) {
         this.pipeline = pipeline;
         pipeline.init();
@@ -24,10 +42,49 @@ public class Renderer {
         return pipeline;
     }
 
+    /**
+     * Gets the snapshot that is rendered by {@link #render()}.
+     *
+     * @return the front snapshot
+     */
+    public RenderSnapshot getSnapshot() {
+        return frontSnapshot;
+    }
+
+    /**
+     * Copies the render-relevant state of the render context into the back snapshot.
+     * <p>
+     * This can be called from the simulation thread while {@link #render()} runs on the render thread.
+     *
+     * @throws RenderException if no render context has been set
+     */
+    public void extractSnapshot() {
+        if (renderContext == null) {
+            throw RenderException.triedRenderingWithoutContext();
+        }
+        backSnapshot.capture(renderContext, extractedFrames++);
+        backSnapshotReady = true;
+    }
+
+    /**
+     * Makes the most recently extracted snapshot the one used by {@link #render()}.
+     * <p>
+     * Does nothing if no snapshot was extracted since the last swap, so the previous frame is rendered again.
+     */
+    public void swapSnapshots() {
+        if (!backSnapshotReady) return;
+
+        RenderSnapshot previous = frontSnapshot;
+        frontSnapshot = backSnapshot;
+        backSnapshot = previous;
+        backSnapshotReady = false;
+    }
+
     public void render() {
         if (renderContext == null) {
             throw RenderException.triedRenderingWithoutContext();
         }
+        renderContext.setSnapshot(frontSnapshot);
         pipeline.render(renderContext);
     }
 
@@ -1,6 +1,7 @@
 package me.siebe.flux.api.renderer.context;
 
 import me.siebe.flux.api.camera.Camera;
+import me.siebe.flux.api.renderer.RenderSnapshot;
 import me.siebe.flux.api.renderer.data.Renderable;
 
 import java.util.ArrayList;
@@ -11,6 +12,7 @@ public class BaseRenderContext {
     // TODO this should not be stored here, this should just retrieve a copy/reference of the actual list to be used
     //  in the render pipeline
     private List<Renderable> renderables;
+    private RenderSnapshot snapshot;
 
     public Camera getCamera() {
         return camera;
@@ -28,6 +30,28 @@ public class BaseRenderContext {
         this.renderables = renderables;
     }
 
+    /**
+     * Gets the snapshot that is currently being rendered.
+     * <p>
+     * Render steps should read camera matrices and renderables from the snapshot rather than from
+     * {@link #getCamera()} and {@link #getRenderables()}, since the simulation may be updating those concurrently.
+     *
+     * @return the snapshot being rendered, or null outside of {@link me.siebe.flux.api.renderer.Renderer#render()}
+     */
+    public RenderSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Sets the snapshot that is being rendered. This is called by the
+     * {@link me.siebe.flux.api.renderer.Renderer Renderer} before the pipeline runs.
+     *
+     * @param snapshot the snapshot being rendered
+     */
+    public void setSnapshot(RenderSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
     public static class Builder<T extends BaseRenderContext> {
         private Camera camera;
         private List<Renderable> renderables = new ArrayList<>();
@@ -0,0 +1,628 @@
+package me.siebe.flux.api.renderer.culling;
+
+import org.joml.Vector3fc;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounding volume hierarchy over the axis-aligned boxes of a set of objects, used to cull them against a
+ * {@link Frustum} and to cast rays against them in logarithmic instead of linear time.
+ * <p>
+ * The hierarchy is a binary tree built top-down with the surface area heuristic (SAH): every node is split where the
+ * expected cost of testing both children, estimated from their surface area and object count, is lowest. Split
+ * candidates are evaluated at the boundaries of a fixed number of bins per axis. Subtrees of large nodes are built in
+ * parallel on the common fork/join pool.
+ * <p>
+ * When objects move, their boxes can be updated with {@link #setBounds} and the tree {@link #refit() refitted}, which
+ * keeps its structure and only grows the node boxes to fit. This is much cheaper than a rebuild, but the tree gets
+ * less efficient as objects move away from where they were at build time, so it should be rebuilt once in a while.
+ * <p>
+ * The nodes are stored as a structure of arrays, in which a child always has a higher index than its parent. The
+ * objects of every subtree are a contiguous range of an index array, so a subtree that is entirely inside the frustum
+ * is accepted without visiting its nodes.
+ * <p>
+ * Not thread-safe; {@link #build()} uses multiple threads internally.
+ */
+public final class BoundingVolumeHierarchy {
+    /** Nodes with at most this many objects are never split. */
+    static final int MIN_SPLIT_SIZE = 4;
+    /** Nodes with more than this many objects are always split, even if the SAH prefers a leaf. */
+    static final int MAX_LEAF_SIZE = 16;
+    /** Nodes with at least this many objects build their two subtrees in parallel. */
+    static final int PARALLEL_BUILD_THRESHOLD = 4096;
+    private static final int BINS = 16;
+    /** Cost of visiting a node, relative to the cost of testing one object. */
+    private static final float TRAVERSAL_COST = 1.0f;
+    private static final int NO_CHILD = -1;
+    private static final int INITIAL_CAPACITY = 64;
+    /** Returned by {@link #intersect} for a ray that misses a box, never a valid distance. */
+    static final float MISS = -1.0f;
+
+    /**
+     * Result of a ray cast.
+     *
+     * @param index    the index of the hit object
+     * @param distance the distance along the ray at which it enters the box of the object, in units of the length of
+     *                 the ray direction
+     */
+    public record RayHit(int index, float distance) {
+    }
+
+    // Objects
+    private float[] objectMinX = new float[INITIAL_CAPACITY];
+    private float[] objectMinY = new float[INITIAL_CAPACITY];
+    private float[] objectMinZ = new float[INITIAL_CAPACITY];
+    private float[] objectMaxX = new float[INITIAL_CAPACITY];
+    private float[] objectMaxY = new float[INITIAL_CAPACITY];
+    private float[] objectMaxZ = new float[INITIAL_CAPACITY];
+    private int objectCount;
+
+    // Nodes
+    private float[] nodeMinX = new float[0];
+    private float[] nodeMinY = new float[0];
+    private float[] nodeMinZ = new float[0];
+    private float[] nodeMaxX = new float[0];
+    private float[] nodeMaxY = new float[0];
+    private float[] nodeMaxZ = new float[0];
+    /** Index of the left child, the right child directly follows it, or {@link #NO_CHILD} for a leaf. */
+    private int[] nodeChild = new int[0];
+    /** Start of the range of the objects of the subtree in {@link #order}. */
+    private int[] nodeFirst = new int[0];
+    /** Number of objects in the subtree. */
+    private int[] nodeObjects = new int[0];
+    private int nodeCount;
+    /** Object indices, ordered so the objects of every subtree are contiguous. */
+    private int[] order = new int[0];
+    private boolean built = false;
+
+    private int[] stack = new int[64];
+
+    // =================================================================================================================
+    // Objects
+    // =================================================================================================================
+
+    /**
+     * Removes all objects and the tree.
+     */
+    public void clear() {
+        objectCount = 0;
+        nodeCount = 0;
+        built = false;
+    }
+
+    /**
+     * Adds an object. The tree must be {@link #build() built} again before it is used.
+     *
+     * @return the index of the object
+     */
+    public int add(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        if (objectCount == objectMinX.length) {
+            int capacity = objectCount * 2;
+            objectMinX = Arrays.copyOf(objectMinX, capacity);
+            objectMinY = Arrays.copyOf(objectMinY, capacity);
+            objectMinZ = Arrays.copyOf(objectMinZ, capacity);
+            objectMaxX = Arrays.copyOf(objectMaxX, capacity);
+            objectMaxY = Arrays.copyOf(objectMaxY, capacity);
+            objectMaxZ = Arrays.copyOf(objectMaxZ, capacity);
+        }
+        built = false;
+        writeBounds(objectCount, minX, minY, minZ, maxX, maxY, maxZ);
+        return objectCount++;
+    }
+
+    /**
+     * Adds an object with the box of the given bounds. The tree must be {@link #build() built} again before it is used.
+     *
+     * @param bounds the bounds, in the space the hierarchy is queried in
+     * @return the index of the object
+     */
+    public int add(Bounds bounds) {
+        Vector3fc min = bounds.getMin();
+        Vector3fc max = bounds.getMax();
+        return add(min.x(), min.y(), min.z(), max.x(), max.y(), max.z());
+    }
+
+    /**
+     * Replaces the box of an object, e.g. after it moved. Takes effect on the next {@link #refit()} or {@link #build()}.
+     *
+     * @param index the index of the object
+     */
+    public void setBounds(int index, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        if (index < 0 || index >= objectCount) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for hierarchy of size " + objectCount);
+        }
+        writeBounds(index, minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    private void writeBounds(int index, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        objectMinX[index] = minX;
+        objectMinY[index] = minY;
+        objectMinZ[index] = minZ;
+        objectMaxX[index] = maxX;
+        objectMaxY[index] = maxY;
+        objectMaxZ[index] = maxZ;
+    }
+
+    /**
+     * Gets the number of objects.
+     *
+     * @return the object count
+     */
+    public int size() {
+        return objectCount;
+    }
+
+    /**
+     * Gets the number of nodes of the tree.
+     *
+     * @return the node count, 0 if the tree is not built
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Checks if the tree was built after the last object was added.
+     *
+     * @return true if the tree can be queried
+     */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    // =================================================================================================================
+    // Building
+    // =================================================================================================================
+
+    /**
+     * Builds the tree over all objects with the surface area heuristic, in parallel for large object counts.
+     */
+    public void build() {
+        int capacity = Math.max(1, 2 * objectCount - 1);
+        if (nodeChild.length < capacity) {
+            nodeMinX = new float[capacity];
+            nodeMinY = new float[capacity];
+            nodeMinZ = new float[capacity];
+            nodeMaxX = new float[capacity];
+            nodeMaxY = new float[capacity];
+            nodeMaxZ = new float[capacity];
+            nodeChild = new int[capacity];
+            nodeFirst = new int[capacity];
+            nodeObjects = new int[capacity];
+        }
+        if (order.length < objectCount) {
+            order = new int[objectCount];
+        }
+        for (int i = 0; i < objectCount; i++) {
+            order[i] = i;
+        }
+
+        if (objectCount == 0) {
+            nodeCount = 0;
+        } else {
+            AtomicInteger nodesUsed = new AtomicInteger(1);
+            BuildTask root = new BuildTask(nodesUsed, 0, 0, objectCount);
+            if (objectCount >= PARALLEL_BUILD_THRESHOLD) {
+                ForkJoinPool.commonPool().invoke(root);
+            } else {
+                root.compute();
+            }
+            nodeCount = nodesUsed.get();
+        }
+        built = true;
+    }
+
+    /**
+     * Recomputes the boxes of all nodes from the current boxes of the objects, keeping the structure of the tree.
+     *
+     * @throws IllegalStateException if the tree is not built
+     */
+    public void refit() {
+        checkBuilt();
+        // Children always follow their parent, so a reverse pass visits them first
+        for (int node = nodeCount - 1; node >= 0; node--) {
+            int child = nodeChild[node];
+            if (child == NO_CHILD) {
+                fitLeaf(node);
+            } else {
+                nodeMinX[node] = Math.min(nodeMinX[child], nodeMinX[child + 1]);
+                nodeMinY[node] = Math.min(nodeMinY[child], nodeMinY[child + 1]);
+                nodeMinZ[node] = Math.min(nodeMinZ[child], nodeMinZ[child + 1]);
+                nodeMaxX[node] = Math.max(nodeMaxX[child], nodeMaxX[child + 1]);
+                nodeMaxY[node] = Math.max(nodeMaxY[child], nodeMaxY[child + 1]);
+                nodeMaxZ[node] = Math.max(nodeMaxZ[child], nodeMaxZ[child + 1]);
+            }
+        }
+    }
+
+    private void fitLeaf(int node) {
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+        int end = nodeFirst[node] + nodeObjects[node];
+        for (int i = nodeFirst[node]; i < end; i++) {
+            int object = order[i];
+            minX = Math.min(minX, objectMinX[object]);
+            minY = Math.min(minY, objectMinY[object]);
+            minZ = Math.min(minZ, objectMinZ[object]);
+            maxX = Math.max(maxX, objectMaxX[object]);
+            maxY = Math.max(maxY, objectMaxY[object]);
+            maxZ = Math.max(maxZ, objectMaxZ[object]);
+        }
+        nodeMinX[node] = minX;
+        nodeMinY[node] = minY;
+        nodeMinZ[node] = minZ;
+        nodeMaxX[node] = maxX;
+        nodeMaxY[node] = maxY;
+        nodeMaxZ[node] = maxZ;
+    }
+
+    /**
+     * Builds the subtree of one node. Forks its children when the node is large, and otherwise builds them in the
+     * current thread, reusing the bins.
+     */
+    private final class BuildTask extends RecursiveAction {
+        private final AtomicInteger nodesUsed;
+        private final int node;
+        private final int start;
+        private final int end;
+
+        private final int[] binCounts = new int[BINS];
+        private final float[] binBounds = new float[BINS * 6];
+        private final float[] rightCosts = new float[BINS];
+        private final float[] sweepBox = new float[6];
+        /** The SAH cost of the split found by the last {@link #bestSplit()}. */
+        private float splitCost;
+
+        BuildTask(AtomicInteger nodesUsed, int node, int start, int end) {
+            this.nodesUsed = nodesUsed;
+            this.node = node;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            build(node, start, end);
+        }
+
+        private void build(int node, int start, int end) {
+            int count = end - start;
+            nodeFirst[node] = start;
+            nodeObjects[node] = count;
+            nodeChild[node] = NO_CHILD;
+            fitLeaf(node);
+            if (count <= MIN_SPLIT_SIZE) return;
+
+            // Bounds of the object centroids, which are what the split positions are chosen from
+            float centroidMinX = Float.POSITIVE_INFINITY, centroidMinY = Float.POSITIVE_INFINITY, centroidMinZ = Float.POSITIVE_INFINITY;
+            float centroidMaxX = Float.NEGATIVE_INFINITY, centroidMaxY = Float.NEGATIVE_INFINITY, centroidMaxZ = Float.NEGATIVE_INFINITY;
+            for (int i = start; i < end; i++) {
+                int object = order[i];
+                float x = centroid(0, object), y = centroid(1, object), z = centroid(2, object);
+                centroidMinX = Math.min(centroidMinX, x);
+                centroidMinY = Math.min(centroidMinY, y);
+                centroidMinZ = Math.min(centroidMinZ, z);
+                centroidMaxX = Math.max(centroidMaxX, x);
+                centroidMaxY = Math.max(centroidMaxY, y);
+                centroidMaxZ = Math.max(centroidMaxZ, z);
+            }
+            float[] centroidMin = {centroidMinX, centroidMinY, centroidMinZ};
+            float[] centroidMax = {centroidMaxX, centroidMaxY, centroidMaxZ};
+
+            int bestAxis = -1;
+            int bestSplit = -1;
+            float bestCost = Float.POSITIVE_INFINITY;
+            for (int axis = 0; axis < 3; axis++) {
+                float extent = centroidMax[axis] - centroidMin[axis];
+                if (extent <= 0) continue;
+                fillBins(axis, start, end, centroidMin[axis], BINS / extent);
+                int split = bestSplit();
+                if (split >= 0 && splitCost < bestCost) {
+                    bestCost = splitCost;
+                    bestAxis = axis;
+                    bestSplit = split;
+                }
+            }
+
+            int middle;
+            if (bestAxis < 0) {
+                // All centroids are equal, so no position separates them
+                if (count <= MAX_LEAF_SIZE) return;
+                middle = start + count / 2;
+            } else {
+                float leafCost = count;
+                float expectedSplitCost = TRAVERSAL_COST + bestCost / surfaceArea(node);
+                if (expectedSplitCost >= leafCost && count <= MAX_LEAF_SIZE) return;
+                middle = partition(bestAxis, bestSplit, start, end, centroidMin[bestAxis], BINS / (centroidMax[bestAxis] - centroidMin[bestAxis]));
+                if (middle == start || middle == end) {
+                    middle = start + count / 2;
+                }
+            }
+
+            int left = nodesUsed.getAndAdd(2);
+            nodeChild[node] = left;
+            if (count >= PARALLEL_BUILD_THRESHOLD) {
+                invokeAll(
+                        new BuildTask(nodesUsed, left, start, middle),
+                        new BuildTask(nodesUsed, left + 1, middle, end)
+                );
+            } else {
+                build(left, start, middle);
+                build(left + 1, middle, end);
+            }
+        }
+
+        private void fillBins(int axis, int start, int end, float centroidMin, float scale) {
+            Arrays.fill(binCounts, 0);
+            for (int bin = 0; bin < BINS; bin++) {
+                resetBox(binBounds, bin);
+            }
+            for (int i = start; i < end; i++) {
+                int object = order[i];
+                int bin = bin(centroid(axis, object), centroidMin, scale);
+                binCounts[bin]++;
+                int offset = bin * 6;
+                binBounds[offset] = Math.min(binBounds[offset], objectMinX[object]);
+                binBounds[offset + 1] = Math.min(binBounds[offset + 1], objectMinY[object]);
+                binBounds[offset + 2] = Math.min(binBounds[offset + 2], objectMinZ[object]);
+                binBounds[offset + 3] = Math.max(binBounds[offset + 3], objectMaxX[object]);
+                binBounds[offset + 4] = Math.max(binBounds[offset + 4], objectMaxY[object]);
+                binBounds[offset + 5] = Math.max(binBounds[offset + 5], objectMaxZ[object]);
+            }
+        }
+
+        /**
+         * Finds the bin boundary with the lowest SAH cost for the filled bins, and stores that cost in {@link #splitCost}.
+         *
+         * @return the number of bins left of the best boundary, or -1 if there is no boundary with objects on both sides
+         */
+        private int bestSplit() {
+            // Sweep from the right, storing the cost of the objects right of every boundary
+            float[] box = sweepBox;
+            resetBox(box, 0);
+            int rightCount = 0;
+            for (int bin = BINS - 1; bin > 0; bin--) {
+                rightCount += binCounts[bin];
+                growBox(box, binBounds, bin);
+                rightCosts[bin] = rightCount == 0 ? Float.POSITIVE_INFINITY : rightCount * area(box);
+            }
+
+            // Sweep from the left, adding the cost of the objects left of every boundary
+            resetBox(box, 0);
+            int leftCount = 0;
+            int bestSplit = -1;
+            float bestCost = Float.POSITIVE_INFINITY;
+            for (int split = 1; split < BINS; split++) {
+                leftCount += binCounts[split - 1];
+                growBox(box, binBounds, split - 1);
+                if (leftCount == 0) continue;
+                float cost = leftCount * area(box) + rightCosts[split];
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestSplit = split;
+                }
+            }
+            splitCost = bestCost;
+            return bestSplit;
+        }
+
+        private int partition(int axis, int split, int start, int end, float centroidMin, float scale) {
+            int left = start;
+            int right = end - 1;
+            while (left <= right) {
+                if (bin(centroid(axis, order[left]), centroidMin, scale) < split) {
+                    left++;
+                } else {
+                    int swap = order[left];
+                    order[left] = order[right];
+                    order[right] = swap;
+                    right--;
+                }
+            }
+            return left;
+        }
+    }
+
+    private float centroid(int axis, int object) {
+        return switch (axis) {
+            case 0 -> (objectMinX[object] + objectMaxX[object]) * 0.5f;
+            case 1 -> (objectMinY[object] + objectMaxY[object]) * 0.5f;
+            default -> (objectMinZ[object] + objectMaxZ[object]) * 0.5f;
+        };
+    }
+
+    private static int bin(float centroid, float centroidMin, float scale) {
+        return Math.min(BINS - 1, (int) ((centroid - centroidMin) * scale));
+    }
+
+    private float surfaceArea(int node) {
+        float x = nodeMaxX[node] - nodeMinX[node];
+        float y = nodeMaxY[node] - nodeMinY[node];
+        float z = nodeMaxZ[node] - nodeMinZ[node];
+        return Math.max(Float.MIN_NORMAL, x * y + y * z + z * x);
+    }
+
+    private static void resetBox(float[] box, int index) {
+        int offset = index * 6;
+        box[offset] = box[offset + 1] = box[offset + 2] = Float.POSITIVE_INFINITY;
+        box[offset + 3] = box[offset + 4] = box[offset + 5] = Float.NEGATIVE_INFINITY;
+    }
+
+    private static void growBox(float[] box, float[] boxes, int index) {
+        int offset = index * 6;
+        if (boxes[offset] > boxes[offset + 3]) return; // Empty bin
+        for (int i = 0; i < 3; i++) {
+            box[i] = Math.min(box[i], boxes[offset + i]);
+            box[i + 3] = Math.max(box[i + 3], boxes[offset + i + 3]);
+        }
+    }
+
+    /** Half the surface area of a box, which is all the SAH needs as it only compares areas. */
+    private static float area(float[] box) {
+        float x = box[3] - box[0];
+        float y = box[4] - box[1];
+        float z = box[5] - box[2];
+        return x * y + y * z + z * x;
+    }
+
+    // =================================================================================================================
+    // Queries
+    // =================================================================================================================
+
+    /**
+     * Marks the objects whose box is at least partly inside the frustum. Subtrees entirely inside or outside the
+     * frustum are accepted or rejected as a whole.
+     *
+     * @param frustum the frustum
+     * @param visible receives for every object whether it is visible, at least {@link #size()} long
+     * @return the number of visible objects
+     * @throws IllegalStateException if the tree is not built
+     */
+    public int cull(Frustum frustum, boolean[] visible) {
+        checkBuilt();
+        Arrays.fill(visible, 0, objectCount, false);
+        if (nodeCount == 0) return 0;
+
+        int visibleCount = 0;
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int result = frustum.classify(nodeMinX[node], nodeMinY[node], nodeMinZ[node], nodeMaxX[node], nodeMaxY[node], nodeMaxZ[node]);
+            if (result == Frustum.OUTSIDE) continue;
+
+            int first = nodeFirst[node];
+            int end = first + nodeObjects[node];
+            if (result == Frustum.INSIDE) {
+                for (int i = first; i < end; i++) {
+                    visible[order[i]] = true;
+                }
+                visibleCount += end - first;
+            } else if (nodeChild[node] == NO_CHILD) {
+                for (int i = first; i < end; i++) {
+                    int object = order[i];
+                    if (frustum.classify(objectMinX[object], objectMinY[object], objectMinZ[object],
+                            objectMaxX[object], objectMaxY[object], objectMaxZ[object]) != Frustum.OUTSIDE) {
+                        visible[object] = true;
+                        visibleCount++;
+                    }
+                }
+            } else {
+                top = push(top, nodeChild[node]);
+                top = push(top, nodeChild[node] + 1);
+            }
+        }
+        return visibleCount;
+    }
+
+    /**
+     * Finds the first object whose box is hit by a ray, visiting the nearest child of every node first and skipping
+     * nodes that are farther away than the nearest hit so far.
+     *
+     * @param origin      the origin of the ray
+     * @param direction   the direction of the ray, not necessarily normalized
+     * @param maxDistance the maximum distance along the ray, in units of the length of the direction
+     * @return the nearest hit, or null if no object is hit within the maximum distance
+     * @throws IllegalStateException if the tree is not built
+     */
+    public RayHit raycast(Vector3fc origin, Vector3fc direction, float maxDistance) {
+        checkBuilt();
+        if (nodeCount == 0) return null;
+
+        float originX = origin.x(), originY = origin.y(), originZ = origin.z();
+        float inverseX = 1.0f / direction.x(), inverseY = 1.0f / direction.y(), inverseZ = 1.0f / direction.z();
+        float nearest = maxDistance;
+        int hit = -1;
+
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (intersectNode(node, originX, originY, originZ, inverseX, inverseY, inverseZ, nearest) == MISS) continue;
+
+            int child = nodeChild[node];
+            if (child == NO_CHILD) {
+                int end = nodeFirst[node] + nodeObjects[node];
+                for (int i = nodeFirst[node]; i < end; i++) {
+                    int object = order[i];
+                    float distance = intersect(objectMinX[object], objectMinY[object], objectMinZ[object],
+                            objectMaxX[object], objectMaxY[object], objectMaxZ[object],
+                            originX, originY, originZ, inverseX, inverseY, inverseZ, nearest);
+                    if (distance != MISS) {
+                        nearest = distance;
+                        hit = object;
+                    }
+                }
+            } else {
+                float left = intersectNode(child, originX, originY, originZ, inverseX, inverseY, inverseZ, nearest);
+                float right = intersectNode(child + 1, originX, originY, originZ, inverseX, inverseY, inverseZ, nearest);
+                // Push the farther child first, so the nearer one is visited first
+                if (right == MISS || left != MISS && left <= right) {
+                    if (right != MISS) top = push(top, child + 1);
+                    if (left != MISS) top = push(top, child);
+                } else {
+                    if (left != MISS) top = push(top, child);
+                    top = push(top, child + 1);
+                }
+            }
+        }
+        return hit < 0 ? null : new RayHit(hit, nearest);
+    }
+
+    private float intersectNode(int node, float originX, float originY, float originZ,
+                                float inverseX, float inverseY, float inverseZ, float maxDistance) {
+        return intersect(nodeMinX[node], nodeMinY[node], nodeMinZ[node], nodeMaxX[node], nodeMaxY[node], nodeMaxZ[node],
+                originX, originY, originZ, inverseX, inverseY, inverseZ, maxDistance);
+    }
+
+    /**
+     * Intersects a ray with a box using the slab method.
+     *
+     * @return the distance at which the ray enters the box, 0 if it starts inside, or {@link #MISS} if it misses the
+     * box within the maximum distance. A box that is only reached at an infinite distance is a miss, so an infinite
+     * maximum distance is allowed.
+     */
+    static float intersect(float minX, float minY, float minZ, float maxX, float maxY, float maxZ,
+                           float originX, float originY, float originZ,
+                           float inverseX, float inverseY, float inverseZ, float maxDistance) {
+        float enter = 0.0f;
+        float exit = maxDistance;
+
+        float t1 = (minX - originX) * inverseX, t2 = (maxX - originX) * inverseX;
+        // Comparisons instead of Math.min/max, so the NaN of a ray in the plane of a slab is ignored
+        if (t1 > t2) { float swap = t1; t1 = t2; t2 = swap; }
+        if (t1 > enter) enter = t1;
+        if (t2 < exit) exit = t2;
+
+        t1 = (minY - originY) * inverseY;
+        t2 = (maxY - originY) * inverseY;
+        if (t1 > t2) { float swap = t1; t1 = t2; t2 = swap; }
+        if (t1 > enter) enter = t1;
+        if (t2 < exit) exit = t2;
+
+        t1 = (minZ - originZ) * inverseZ;
+        t2 = (maxZ - originZ) * inverseZ;
+        if (t1 > t2) { float swap = t1; t1 = t2; t2 = swap; }
+        if (t1 > enter) enter = t1;
+        if (t2 < exit) exit = t2;
+
+        return enter <= exit && enter < Float.POSITIVE_INFINITY ? enter : MISS;
+    }
+
+    private int push(int top, int node) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[top] = node;
+        return top + 1;
+    }
+
+    private void checkBuilt() {
+        if (!built) {
+            throw new IllegalStateException("Bounding volume hierarchy must be built after adding objects");
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package me.siebe.flux.api.renderer.culling;
+
+import org.joml.Matrix4fc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+/**
+ * Immutable bounding volume of a piece of geometry, consisting of an axis-aligned bounding box and a bounding sphere.
+ * <p>
+ * Both volumes enclose the same geometry, but neither is always tighter than the other: the box fits flat and long
+ * shapes better, the sphere fits round shapes and stays tight under rotation. The {@link FrustumCuller} tests both and
+ * culls an object when either is outside the frustum.
+ * <p>
+ * Bounds are computed once, in the local space of the geometry, e.g. when a model is loaded. They are transformed to
+ * world space during culling.
+ */
+public final class Bounds {
+    private final Vector3f min;
+    private final Vector3f max;
+    private final Vector3f sphereCenter;
+    private final float sphereRadius;
+
+    /**
+     * Creates bounds from a box. The sphere is the smallest sphere around the box.
+     *
+     * @param min the minimum corner of the box
+     * @param max the maximum corner of the box
+     * @throws IllegalArgumentException if a component of {@code min} is greater than that of {@code max}
+     */
+    public Bounds(Vector3fc min, Vector3fc max) {
+        this(new Vector3f(min), new Vector3f(max),
+                new Vector3f(min).add(max).mul(0.5f), min.distance(max) * 0.5f);
+    }
+
+    private Bounds(Vector3f min, Vector3f max, Vector3f sphereCenter, float sphereRadius) {
+        if (min.x > max.x || min.y > max.y || min.z > max.z) {
+            throw new IllegalArgumentException("Bounds minimum " + min + " is greater than maximum " + max);
+        }
+        this.min = min;
+        this.max = max;
+        this.sphereCenter = sphereCenter;
+        this.sphereRadius = sphereRadius;
+    }
+
+    /**
+     * Computes the bounds of a set of vertex positions. The sphere is centered on the box, with the distance to the
+     * farthest position as radius, which is never larger than the sphere around the box.
+     *
+     * @param vertexData the vertex data, with 3 position components per vertex
+     * @param offset     the index of the first position component
+     * @param stride     the number of floats between the positions of consecutive vertices, at least 3
+     * @return the bounds
+     * @throws IllegalArgumentException if the data contains no position, or the stride is smaller than 3
+     */
+    public static Bounds fromPositions(float[] vertexData, int offset, int stride) {
+        if (stride < 3) {
+            throw new IllegalArgumentException("Vertex stride must be at least 3, got " + stride);
+        }
+        if (offset < 0 || offset + 3 > vertexData.length) {
+            throw new IllegalArgumentException("Vertex data contains no position at offset " + offset);
+        }
+
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+        for (int i = offset; i + 2 < vertexData.length; i += stride) {
+            minX = Math.min(minX, vertexData[i]);
+            minY = Math.min(minY, vertexData[i + 1]);
+            minZ = Math.min(minZ, vertexData[i + 2]);
+            maxX = Math.max(maxX, vertexData[i]);
+            maxY = Math.max(maxY, vertexData[i + 1]);
+            maxZ = Math.max(maxZ, vertexData[i + 2]);
+        }
+        Vector3f min = new Vector3f(minX, minY, minZ);
+        Vector3f max = new Vector3f(maxX, maxY, maxZ);
+
+        Vector3f center = new Vector3f(min).add(max).mul(0.5f);
+        float radiusSquared = 0.0f;
+        for (int i = offset; i + 2 < vertexData.length; i += stride) {
+            radiusSquared = Math.max(radiusSquared, center.distanceSquared(vertexData[i], vertexData[i + 1], vertexData[i + 2]));
+        }
+        return new Bounds(min, max, center, (float) Math.sqrt(radiusSquared));
+    }
+
+    public Vector3fc getMin() {
+        return min;
+    }
+
+    public Vector3fc getMax() {
+        return max;
+    }
+
+    public Vector3fc getSphereCenter() {
+        return sphereCenter;
+    }
+
+    public float getSphereRadius() {
+        return sphereRadius;
+    }
+
+    /**
+     * Creates bounds that enclose both these bounds and the given ones.
+     *
+     * @param other the other bounds
+     * @return the combined bounds
+     */
+    public Bounds union(Bounds other) {
+        Vector3f unionMin = new Vector3f(min).min(other.min);
+        Vector3f unionMax = new Vector3f(max).max(other.max);
+
+        // Smallest sphere around both spheres, unless one already contains the other
+        float distance = sphereCenter.distance(other.sphereCenter);
+        if (distance + other.sphereRadius <= sphereRadius) {
+            return new Bounds(unionMin, unionMax, new Vector3f(sphereCenter), sphereRadius);
+        }
+        if (distance + sphereRadius <= other.sphereRadius) {
+            return new Bounds(unionMin, unionMax, new Vector3f(other.sphereCenter), other.sphereRadius);
+        }
+        float radius = (distance + sphereRadius + other.sphereRadius) * 0.5f;
+        Vector3f center = new Vector3f(other.sphereCenter).sub(sphereCenter)
+                .mul((radius - sphereRadius) / distance)
+                .add(sphereCenter);
+        return new Bounds(unionMin, unionMax, center, radius);
+    }
+
+    /**
+     * Transforms these bounds by an affine matrix, e.g. from the local space of a mesh to the space of its model.
+     * The box is the axis-aligned box around the transformed box, so it may be larger than the transformed geometry.
+     *
+     * @param matrix the affine transformation
+     * @return the transformed bounds
+     */
+    public Bounds transform(Matrix4fc matrix) {
+        Vector3f center = new Vector3f(min).add(max).mul(0.5f);
+        Vector3f extent = new Vector3f(max).sub(min).mul(0.5f);
+        Vector3f worldCenter = matrix.transformPosition(center, new Vector3f());
+        Vector3f worldExtent = transformExtent(matrix, extent.x, extent.y, extent.z, new Vector3f());
+        return new Bounds(
+                new Vector3f(worldCenter).sub(worldExtent),
+                new Vector3f(worldCenter).add(worldExtent),
+                matrix.transformPosition(sphereCenter, new Vector3f()),
+                sphereRadius * maxScale(matrix)
+        );
+    }
+
+    /**
+     * Transforms the half-extent of a box by the absolute values of the linear part of a matrix, giving the half-extent
+     * of the axis-aligned box around the transformed box.
+     */
+    static Vector3f transformExtent(Matrix4fc matrix, float x, float y, float z, Vector3f dest) {
+        return dest.set(
+                Math.abs(matrix.m00()) * x + Math.abs(matrix.m10()) * y + Math.abs(matrix.m20()) * z,
+                Math.abs(matrix.m01()) * x + Math.abs(matrix.m11()) * y + Math.abs(matrix.m21()) * z,
+                Math.abs(matrix.m02()) * x + Math.abs(matrix.m12()) * y + Math.abs(matrix.m22()) * z
+        );
+    }
+
+    /**
+     * Gets the largest factor by which a matrix scales a length, which is the length of its longest basis vector.
+     */
+    static float maxScale(Matrix4fc matrix) {
+        float x = matrix.m00() * matrix.m00() + matrix.m01() * matrix.m01() + matrix.m02() * matrix.m02();
+        float y = matrix.m10() * matrix.m10() + matrix.m11() * matrix.m11() + matrix.m12() * matrix.m12();
+        float z = matrix.m20() * matrix.m20() + matrix.m21() * matrix.m21() + matrix.m22() * matrix.m22();
+        return (float) Math.sqrt(Math.max(x, Math.max(y, z)));
+    }
+
+    @Override
+    public String toString() {
+        return "Bounds{min=" + min + ", max=" + max + ", sphereCenter=" + sphereCenter + ", sphereRadius=" + sphereRadius + "}";
+    }
+}
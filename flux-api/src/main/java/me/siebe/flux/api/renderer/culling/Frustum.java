@@ -0,0 +1,70 @@
+package me.siebe.flux.api.renderer.culling;
+
+import org.joml.Matrix4fc;
+
+/**
+ * The six planes of the view frustum of a camera, extracted from its view-projection matrix.
+ * <p>
+ * Each plane is stored as an inward-pointing unit normal {@code n} and distance {@code w}, so a point {@code p} is on
+ * the inner side of the plane when {@code n·p + w >= 0}. The planes are kept in separate arrays per component, which
+ * is the layout the batched tests of {@link FrustumCuller} read them in.
+ */
+public final class Frustum {
+    /** The box is entirely outside the frustum. */
+    public static final int OUTSIDE = 0;
+    /** The box is partly inside the frustum. */
+    public static final int INTERSECTING = 1;
+    /** The box is entirely inside the frustum. */
+    public static final int INSIDE = 2;
+
+    static final int PLANES = 6;
+
+    final float[] planeX = new float[PLANES];
+    final float[] planeY = new float[PLANES];
+    final float[] planeZ = new float[PLANES];
+    final float[] planeW = new float[PLANES];
+
+    /**
+     * Extracts the frustum planes from the rows of a view-projection matrix (Gribb and Hartmann), with an OpenGL clip
+     * space depth range of -1 to 1, and normalizes them so plane tests give distances.
+     *
+     * @param m the view-projection matrix
+     * @return this frustum
+     */
+    public Frustum set(Matrix4fc m) {
+        setPlane(0, m.m03() + m.m00(), m.m13() + m.m10(), m.m23() + m.m20(), m.m33() + m.m30()); // Left
+        setPlane(1, m.m03() - m.m00(), m.m13() - m.m10(), m.m23() - m.m20(), m.m33() - m.m30()); // Right
+        setPlane(2, m.m03() + m.m01(), m.m13() + m.m11(), m.m23() + m.m21(), m.m33() + m.m31()); // Bottom
+        setPlane(3, m.m03() - m.m01(), m.m13() - m.m11(), m.m23() - m.m21(), m.m33() - m.m31()); // Top
+        setPlane(4, m.m03() + m.m02(), m.m13() + m.m12(), m.m23() + m.m22(), m.m33() + m.m32()); // Near
+        setPlane(5, m.m03() - m.m02(), m.m13() - m.m12(), m.m23() - m.m22(), m.m33() - m.m32()); // Far
+        return this;
+    }
+
+    /**
+     * Classifies an axis-aligned box against the frustum.
+     *
+     * @return {@link #OUTSIDE}, {@link #INTERSECTING} or {@link #INSIDE}
+     */
+    public int classify(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+        float centerX = (minX + maxX) * 0.5f, centerY = (minY + maxY) * 0.5f, centerZ = (minZ + maxZ) * 0.5f;
+        float extentX = (maxX - minX) * 0.5f, extentY = (maxY - minY) * 0.5f, extentZ = (maxZ - minZ) * 0.5f;
+        int result = INSIDE;
+        for (int p = 0; p < PLANES; p++) {
+            float distance = planeX[p] * centerX + planeY[p] * centerY + planeZ[p] * centerZ + planeW[p];
+            float radius = Math.abs(planeX[p]) * extentX + Math.abs(planeY[p]) * extentY + Math.abs(planeZ[p]) * extentZ;
+            if (distance + radius < 0) return OUTSIDE;
+            if (distance - radius < 0) result = INTERSECTING;
+        }
+        return result;
+    }
+
+    private void setPlane(int plane, float x, float y, float z, float w) {
+        float length = (float) Math.sqrt(x * x + y * y + z * z);
+        float inverseLength = length > 0.0f ? 1.0f / length : 0.0f;
+        planeX[plane] = x * inverseLength;
+        planeY[plane] = y * inverseLength;
+        planeZ[plane] = z * inverseLength;
+        planeW[plane] = w * inverseLength;
+    }
+}
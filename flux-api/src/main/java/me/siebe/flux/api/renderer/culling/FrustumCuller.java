@@ -0,0 +1,316 @@
+package me.siebe.flux.api.renderer.culling;
+
+import org.joml.Matrix4fc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Decides which objects are inside the view frustum of a camera, by testing their world-space {@link Bounds} against
+ * the six planes of the frustum.
+ * <p>
+ * The world-space volumes of all objects are stored as a structure of arrays, one array per component, and each plane
+ * is tested against a whole batch of objects in a single loop without branches. This keeps the data of a batch in
+ * cache and lets the JIT vectorize the loop. Large sets of objects are split into batches that are culled in parallel
+ * on the common fork/join pool. The culler only does math, so it does not need a GL context.
+ * <p>
+ * From {@link #HIERARCHY_THRESHOLD} objects, the boxes are put in a {@link BoundingVolumeHierarchy} instead, so
+ * whole groups of objects are accepted or rejected at once. When the same objects are added every frame, which the
+ * caller declares with {@link #setObjectsUnchanged(boolean)}, the hierarchy is refitted to the new boxes instead of
+ * rebuilt, and only rebuilt every {@link #REBUILD_INTERVAL} frames to undo the loss of quality from refitting. The
+ * same hierarchy answers {@link #raycast} queries for picking.
+ * <pre>{@code
+ * culler.clear();
+ * for (...) culler.add(bounds, worldMatrix);
+ * culler.cull(camera.getViewProjectionMatrix());
+ * if (culler.isVisible(i)) ...
+ * }</pre>
+ * A culler is filled and culled by one thread at a time.
+ */
+public final class FrustumCuller {
+    /** The number of objects culled together in one loop over the planes. */
+    static final int BATCH_SIZE = 1024;
+    /** The number of objects from which batches are culled in parallel. */
+    static final int PARALLEL_THRESHOLD = 4 * BATCH_SIZE;
+    /** The number of objects from which they are culled through a bounding volume hierarchy. */
+    static final int HIERARCHY_THRESHOLD = 16 * BATCH_SIZE;
+    /** The number of times the hierarchy is refitted before it is rebuilt. */
+    static final int REBUILD_INTERVAL = 60;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Frustum frustum = new Frustum();
+    private final BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy();
+    /** The object index of every object in the hierarchy, which only contains objects with bounds. */
+    private int[] hierarchyObjects = new int[INITIAL_CAPACITY];
+    private boolean[] hierarchyVisible = new boolean[INITIAL_CAPACITY];
+    /** Whether the hierarchy was updated for the objects added since the last clear. */
+    private boolean hierarchyCurrent = false;
+    /** Whether the hierarchy was updated for the objects of the previous frame. */
+    private boolean hierarchyOfPreviousFrame = false;
+    private boolean objectsUnchanged = false;
+    private int refitsSinceBuild = 0;
+
+    // World-space box as center and half-extent, and world-space sphere, per object
+    private float[] boxCenterX = new float[INITIAL_CAPACITY];
+    private float[] boxCenterY = new float[INITIAL_CAPACITY];
+    private float[] boxCenterZ = new float[INITIAL_CAPACITY];
+    private float[] boxExtentX = new float[INITIAL_CAPACITY];
+    private float[] boxExtentY = new float[INITIAL_CAPACITY];
+    private float[] boxExtentZ = new float[INITIAL_CAPACITY];
+    private float[] sphereX = new float[INITIAL_CAPACITY];
+    private float[] sphereY = new float[INITIAL_CAPACITY];
+    private float[] sphereZ = new float[INITIAL_CAPACITY];
+    private float[] sphereRadius = new float[INITIAL_CAPACITY];
+    /** Objects without bounds, which are never culled. */
+    private boolean[] unbounded = new boolean[INITIAL_CAPACITY];
+    private boolean[] visible = new boolean[INITIAL_CAPACITY];
+    private int size;
+    private int visibleCount;
+
+    private final Vector3f scratch = new Vector3f();
+
+    /**
+     * Removes all objects, keeping the allocated arrays for the next frame.
+     */
+    public void clear() {
+        size = 0;
+        visibleCount = 0;
+        objectsUnchanged = false;
+        hierarchyOfPreviousFrame = hierarchyCurrent;
+        hierarchyCurrent = false;
+    }
+
+    /**
+     * Declares whether the objects added since the last {@link #clear()} are the same objects, in the same order, as
+     * those of the previous {@link #cull}, possibly with different bounds or world matrices. If so, the hierarchy of
+     * the previous cull can be refitted instead of rebuilt. Reset by {@link #clear()}.
+     *
+     * @param unchanged true if the same objects were added in the same order
+     */
+    public void setObjectsUnchanged(boolean unchanged) {
+        this.objectsUnchanged = unchanged;
+    }
+
+    /**
+     * Gets the number of added objects.
+     *
+     * @return the object count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds an object, transforming its bounds to world space. The object is visible until the next {@link #cull}.
+     *
+     * @param localBounds the bounds of the object in its local space, or null if the object must never be culled
+     * @param worldMatrix the affine world matrix of the object
+     * @return the index of the object
+     */
+    public int add(Bounds localBounds, Matrix4fc worldMatrix) {
+        int index = size;
+        ensureCapacity(index + 1);
+        size++;
+        hierarchyCurrent = false;
+        visible[index] = true;
+        visibleCount++;
+        unbounded[index] = localBounds == null;
+        if (localBounds == null) return index;
+
+        Vector3fc min = localBounds.getMin();
+        Vector3fc max = localBounds.getMax();
+        worldMatrix.transformPosition(scratch.set(min).add(max).mul(0.5f));
+        boxCenterX[index] = scratch.x;
+        boxCenterY[index] = scratch.y;
+        boxCenterZ[index] = scratch.z;
+        Bounds.transformExtent(worldMatrix, (max.x() - min.x()) * 0.5f, (max.y() - min.y()) * 0.5f, (max.z() - min.z()) * 0.5f, scratch);
+        boxExtentX[index] = scratch.x;
+        boxExtentY[index] = scratch.y;
+        boxExtentZ[index] = scratch.z;
+
+        worldMatrix.transformPosition(localBounds.getSphereCenter(), scratch);
+        sphereX[index] = scratch.x;
+        sphereY[index] = scratch.y;
+        sphereZ[index] = scratch.z;
+        sphereRadius[index] = localBounds.getSphereRadius() * Bounds.maxScale(worldMatrix);
+        return index;
+    }
+
+    /**
+     * Culls all objects against the frustum of the given view-projection matrix, with an OpenGL clip space depth range
+     * of -1 to 1.
+     *
+     * @param viewProjection the view-projection matrix of the camera
+     * @return the number of visible objects
+     */
+    public int cull(Matrix4fc viewProjection) {
+        frustum.set(viewProjection);
+        if (size >= HIERARCHY_THRESHOLD) {
+            cullHierarchy();
+        } else {
+            int batches = (size + BATCH_SIZE - 1) / BATCH_SIZE;
+            if (size >= PARALLEL_THRESHOLD) {
+                IntStream.range(0, batches).parallel().forEach(this::cullBatch);
+            } else {
+                for (int batch = 0; batch < batches; batch++) {
+                    cullBatch(batch);
+                }
+            }
+        }
+
+        visibleCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (visible[i]) visibleCount++;
+        }
+        return visibleCount;
+    }
+
+    /**
+     * Marks every object as visible, e.g. when there is no camera to cull against.
+     */
+    public void cullNothing() {
+        Arrays.fill(visible, 0, size, true);
+        visibleCount = size;
+    }
+
+    /**
+     * Checks if an object was inside the frustum in the last {@link #cull}.
+     *
+     * @param index the index returned by {@link #add}
+     * @return true if the object is visible
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public boolean isVisible(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for culler of size " + size);
+        }
+        return visible[index];
+    }
+
+    /**
+     * Gets the number of visible objects after the last {@link #cull}.
+     *
+     * @return the visible count
+     */
+    public int getVisibleCount() {
+        return visibleCount;
+    }
+
+    private void cullBatch(int batch) {
+        int from = batch * BATCH_SIZE;
+        int to = Math.min(from + BATCH_SIZE, size);
+        for (int i = from; i < to; i++) {
+            visible[i] = true;
+        }
+        for (int p = 0; p < Frustum.PLANES; p++) {
+            float nx = frustum.planeX[p], ny = frustum.planeY[p], nz = frustum.planeZ[p], w = frustum.planeW[p];
+            float ax = Math.abs(nx), ay = Math.abs(ny), az = Math.abs(nz);
+            for (int i = from; i < to; i++) {
+                // Outside when the box or the sphere is entirely behind the plane
+                float boxDistance = nx * boxCenterX[i] + ny * boxCenterY[i] + nz * boxCenterZ[i] + w;
+                float boxRadius = ax * boxExtentX[i] + ay * boxExtentY[i] + az * boxExtentZ[i];
+                float sphereDistance = nx * sphereX[i] + ny * sphereY[i] + nz * sphereZ[i] + w;
+                visible[i] &= (boxDistance + boxRadius >= 0) & (sphereDistance + sphereRadius[i] >= 0);
+            }
+        }
+        for (int i = from; i < to; i++) {
+            visible[i] |= unbounded[i];
+        }
+    }
+
+    /**
+     * Culls the boxes of the objects through the hierarchy. Objects without bounds are not in the hierarchy, and are
+     * always visible.
+     */
+    private void cullHierarchy() {
+        updateHierarchy();
+        hierarchy.cull(frustum, hierarchyVisible);
+        for (int i = 0; i < size; i++) {
+            visible[i] = unbounded[i];
+        }
+        for (int i = 0; i < hierarchy.size(); i++) {
+            if (hierarchyVisible[i]) visible[hierarchyObjects[i]] = true;
+        }
+    }
+
+    /**
+     * Finds the first object whose world-space box is hit by a ray, e.g. to pick the object under the cursor. Objects
+     * without bounds are never hit. Uses the hierarchy, which is built on first use if the last {@link #cull} did not
+     * use it.
+     *
+     * @param origin      the origin of the ray
+     * @param direction   the direction of the ray
+     * @param maxDistance the maximum distance along the ray, in units of the length of the direction
+     * @return the hit, with the object index returned by {@link #add}, or null if no object is hit
+     */
+    public BoundingVolumeHierarchy.RayHit raycast(Vector3fc origin, Vector3fc direction, float maxDistance) {
+        updateHierarchy();
+        BoundingVolumeHierarchy.RayHit hit = hierarchy.raycast(origin, direction, maxDistance);
+        return hit == null ? null : new BoundingVolumeHierarchy.RayHit(hierarchyObjects[hit.index()], hit.distance());
+    }
+
+    /**
+     * Brings the hierarchy up to date with the current objects. Refits it if it holds the same objects as in the
+     * previous frame, otherwise rebuilds it.
+     */
+    private void updateHierarchy() {
+        if (hierarchyCurrent) return;
+        hierarchyCurrent = true;
+        if (objectsUnchanged && hierarchyOfPreviousFrame && refitsSinceBuild < REBUILD_INTERVAL && refitHierarchy()) {
+            refitsSinceBuild++;
+            return;
+        }
+
+        hierarchy.clear();
+        for (int i = 0; i < size; i++) {
+            if (unbounded[i]) continue;
+            hierarchyObjects[hierarchy.add(
+                    boxCenterX[i] - boxExtentX[i], boxCenterY[i] - boxExtentY[i], boxCenterZ[i] - boxExtentZ[i],
+                    boxCenterX[i] + boxExtentX[i], boxCenterY[i] + boxExtentY[i], boxCenterZ[i] + boxExtentZ[i]
+            )] = i;
+        }
+        hierarchy.build();
+        refitsSinceBuild = 0;
+    }
+
+    /**
+     * Refits the hierarchy to the current boxes of the objects.
+     *
+     * @return false if the objects with bounds differ from those in the hierarchy, so it must be rebuilt
+     */
+    private boolean refitHierarchy() {
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            if (unbounded[i]) continue;
+            if (next >= hierarchy.size() || hierarchyObjects[next] != i) return false;
+            hierarchy.setBounds(next++,
+                    boxCenterX[i] - boxExtentX[i], boxCenterY[i] - boxExtentY[i], boxCenterZ[i] - boxExtentZ[i],
+                    boxCenterX[i] + boxExtentX[i], boxCenterY[i] + boxExtentY[i], boxCenterZ[i] + boxExtentZ[i]
+            );
+        }
+        if (next != hierarchy.size()) return false;
+        hierarchy.refit();
+        return true;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= visible.length) return;
+        int newCapacity = Math.max(capacity, visible.length * 2);
+        boxCenterX = Arrays.copyOf(boxCenterX, newCapacity);
+        boxCenterY = Arrays.copyOf(boxCenterY, newCapacity);
+        boxCenterZ = Arrays.copyOf(boxCenterZ, newCapacity);
+        boxExtentX = Arrays.copyOf(boxExtentX, newCapacity);
+        boxExtentY = Arrays.copyOf(boxExtentY, newCapacity);
+        boxExtentZ = Arrays.copyOf(boxExtentZ, newCapacity);
+        sphereX = Arrays.copyOf(sphereX, newCapacity);
+        sphereY = Arrays.copyOf(sphereY, newCapacity);
+        sphereZ = Arrays.copyOf(sphereZ, newCapacity);
+        sphereRadius = Arrays.copyOf(sphereRadius, newCapacity);
+        unbounded = Arrays.copyOf(unbounded, newCapacity);
+        visible = Arrays.copyOf(visible, newCapacity);
+        hierarchyObjects = Arrays.copyOf(hierarchyObjects, newCapacity);
+        hierarchyVisible = Arrays.copyOf(hierarchyVisible, newCapacity);
+    }
+}
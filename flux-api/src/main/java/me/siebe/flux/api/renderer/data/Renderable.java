@@ -1,9 +1,51 @@
 package me.siebe.flux.api.renderer.data;
 
+import me.siebe.flux.api.renderer.culling.Bounds;
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+
 public interface Renderable {
     default void init() {}
 
     void render();
 
+    /**
+     * Renders this renderable using a world matrix captured in a {@link me.siebe.flux.api.renderer.RenderSnapshot}.
+     * <p>
+     * This is called by render steps that draw from a snapshot, possibly while the simulation is already updating
+     * the live state of this renderable. Implementations should therefore take their world transform from the given
+     * matrix instead of from their own (mutable) transform. The default implementation ignores the matrix and calls
+     * {@link #render()}.
+     *
+     * @param worldMatrix the world matrix captured during extraction
+     */
+    default void render(Matrix4fc worldMatrix) {
+        render();
+    }
+
+    /**
+     * Copies the current world matrix of this renderable into {@code dest}.
+     * <p>
+     * This is called during the extraction stage. The default implementation stores the identity matrix.
+     *
+     * @param dest the matrix to store the world matrix in
+     * @return {@code dest}
+     */
+    default Matrix4f getWorldMatrix(Matrix4f dest) {
+        return dest.identity();
+    }
+
+    /**
+     * Gets the bounds of this renderable in its local space, which are transformed by its world matrix to cull it
+     * against the view frustum during extraction.
+     * <p>
+     * The default implementation returns null, meaning the renderable is never culled.
+     *
+     * @return the local-space bounds, or null if unknown
+     */
+    default Bounds getBounds() {
+        return null;
+    }
+
     default void destroy() {}
 }
@@ -0,0 +1,56 @@
+package me.siebe.flux.api.ecs;
+
+import me.siebe.flux.api.ecs.ComponentLayout.Field;
+import me.siebe.flux.api.ecs.ComponentLayout.FieldType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComponentLayoutTest {
+
+    @Test
+    void build_ShouldKeepFieldOrderAndTypes() {
+        ComponentLayout layout = ComponentLayout.builder("Body")
+                .floatField("x")
+                .intField("flags")
+                .doubleField("mass")
+                .build();
+
+        assertEquals("Body", layout.getName());
+        assertEquals(3, layout.getFields().size());
+
+        Field flags = layout.getField("flags");
+        assertEquals(FieldType.INT, flags.type());
+        assertEquals(1, flags.index());
+        assertSame(layout, flags.layout());
+        assertEquals(4 + 4 + 8, layout.getSizeInBytes());
+    }
+
+    @Test
+    void build_WithoutFields_ShouldThrowException() {
+        assertThrows(IllegalStateException.class, () -> ComponentLayout.builder("Empty").build());
+    }
+
+    @Test
+    void field_WithDuplicateName_ShouldThrowException() {
+        ComponentLayout.Builder builder = ComponentLayout.builder("Position").floatField("x");
+
+        assertThrows(IllegalArgumentException.class, () -> builder.floatField("x"));
+    }
+
+    @Test
+    void getField_WithUnknownName_ShouldThrowException() {
+        ComponentLayout layout = ComponentLayout.builder("Position").floatField("x").build();
+
+        assertThrows(IllegalArgumentException.class, () -> layout.getField("y"));
+    }
+
+    @Test
+    void fields_FromDifferentLayouts_ShouldNotBeEqual() {
+        ComponentLayout first = ComponentLayout.builder("Position").floatField("x").build();
+        ComponentLayout second = ComponentLayout.builder("Position").floatField("x").build();
+
+        assertNotEquals(first.getField("x"), second.getField("x"));
+        assertEquals(first.getField("x"), first.getField("x"));
+    }
+}
@@ -0,0 +1,238 @@
+package me.siebe.flux.api.renderer;
+
+import me.siebe.flux.api.camera.Camera;
+import me.siebe.flux.api.renderer.context.BaseRenderContext;
+import me.siebe.flux.api.renderer.culling.Bounds;
+import me.siebe.flux.api.renderer.data.Renderable;
+import me.siebe.flux.api.renderer.pipeline.RenderPipeline;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RendererTest {
+    private RenderPipeline pipeline;
+    private Renderer renderer;
+    private BaseRenderContext context;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = Mockito.mock(RenderPipeline.class);
+        renderer = new Renderer(pipeline);
+        context = new BaseRenderContext.Builder<>()
+                .emptyRenderables()
+                .build();
+        renderer.setRenderContext(context);
+    }
+
+    private static class MovingRenderable implements Renderable {
+        final Vector3f position = new Vector3f();
+
+        @Override
+        public void render() {
+        }
+
+        @Override
+        public Matrix4f getWorldMatrix(Matrix4f dest) {
+            return dest.translation(position);
+        }
+    }
+
+    private static class BoundedRenderable extends MovingRenderable {
+        @Override
+        public Bounds getBounds() {
+            return new Bounds(new Vector3f(-1), new Vector3f(1));
+        }
+    }
+
+    // =================================================================================================================
+    // Extraction
+    // =================================================================================================================
+
+    @Test
+    void extractSnapshot_ShouldCopyWorldMatrices() {
+        MovingRenderable renderable = new MovingRenderable();
+        renderable.position.set(1, 2, 3);
+        context.getRenderables().add(renderable);
+
+        renderer.extractSnapshot();
+        renderer.swapSnapshots();
+        renderable.position.set(10, 20, 30);
+
+        RenderSnapshot snapshot = renderer.getSnapshot();
+        assertEquals(1, snapshot.size());
+        assertSame(renderable, snapshot.getRenderable(0));
+        assertEquals(new Vector3f(1, 2, 3), snapshot.getWorldMatrix(0).getTranslation(new Vector3f()));
+    }
+
+    @Test
+    void extractSnapshot_ShouldCopyCameraMatrices() {
+        Matrix4f viewProjection = new Matrix4f().perspective(1.0f, 1.0f, 0.1f, 100f);
+        Vector3f position = new Vector3f(0, 5, 10);
+        Camera camera = Mockito.mock(Camera.class);
+        when(camera.getViewMatrix()).thenReturn(new Matrix4f());
+        when(camera.getProjectionMatrix()).thenReturn(new Matrix4f());
+        when(camera.getViewProjectionMatrix()).thenReturn(viewProjection);
+        when(camera.getPosition()).thenReturn(position);
+        context.setCamera(camera);
+
+        renderer.extractSnapshot();
+        renderer.swapSnapshots();
+        Matrix4f expected = new Matrix4f(viewProjection);
+        viewProjection.identity();
+        position.set(100, 100, 100);
+
+        RenderSnapshot snapshot = renderer.getSnapshot();
+        assertTrue(snapshot.hasCamera());
+        assertEquals(expected, new Matrix4f(snapshot.getViewProjectionMatrix()));
+        assertEquals(new Vector3f(0, 5, 10), new Vector3f(snapshot.getCameraPosition()));
+    }
+
+    @Test
+    void extractSnapshot_WithoutCamera_ShouldUseIdentity() {
+        renderer.extractSnapshot();
+        renderer.swapSnapshots();
+
+        RenderSnapshot snapshot = renderer.getSnapshot();
+        assertFalse(snapshot.hasCamera());
+        assertEquals(new Matrix4f(), new Matrix4f(snapshot.getViewProjectionMatrix()));
+    }
+
+    @Test
+    void extractSnapshot_WithCamera_ShouldCullRenderablesOutsideFrustum() {
+        Camera camera = Mockito.mock(Camera.class);
+        when(camera.getViewMatrix()).thenReturn(new Matrix4f());
+        when(camera.getProjectionMatrix()).thenReturn(new Matrix4f());
+        when(camera.getViewProjectionMatrix()).thenReturn(new Matrix4f().perspective(1.0f, 1.0f, 0.1f, 100f));
+        when(camera.getPosition()).thenReturn(new Vector3f());
+        context.setCamera(camera);
+        MovingRenderable inFront = new BoundedRenderable();
+        inFront.position.set(0, 0, -10);
+        MovingRenderable behind = new BoundedRenderable();
+        behind.position.set(0, 0, 10);
+        MovingRenderable unbounded = new MovingRenderable();
+        unbounded.position.set(0, 0, 10);
+        context.getRenderables().addAll(List.of(inFront, behind, unbounded));
+
+        renderer.extractSnapshot();
+        renderer.swapSnapshots();
+
+        RenderSnapshot snapshot = renderer.getSnapshot();
+        assertTrue(snapshot.isVisible(0));
+        assertFalse(snapshot.isVisible(1));
+        assertTrue(snapshot.isVisible(2));
+        assertEquals(2, snapshot.getVisibleCount());
+    }
+
+    @Test
+    void extractSnapshot_WithoutCamera_ShouldNotCull() {
+        BoundedRenderable renderable = new BoundedRenderable();
+        renderable.position.set(0, 0, 1000);
+        context.getRenderables().add(renderable);
+
+        renderer.extractSnapshot();
+        renderer.swapSnapshots();
+
+        assertTrue(renderer.getSnapshot().isVisible(0));
+    }
+
+    @Test
+    void extractSnapshot_WithoutContext_ShouldThrowException() {
+        renderer.setRenderContext(null);
+
+        assertThrows(RenderException.class, () -> renderer.extractSnapshot());
+    }
+
+    @Test
+    void extractSnapshot_WithFewerRenderables_ShouldShrink() {
+        List<Renderable> renderables = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            renderables.add(new MovingRenderable());
+        }
+        context.setRenderables(renderables);
+        renderer.extractSnapshot();
+        renderer.swapSnapshots();
+        renderer.extractSnapshot();
+        renderer.swapSnapshots();
+
+        renderables.subList(1, renderables.size()).clear();
+        renderer.extractSnapshot();
+        renderer.swapSnapshots();
+
+        RenderSnapshot snapshot = renderer.getSnapshot();
+        assertEquals(1, snapshot.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getRenderable(1));
+    }
+
+    // =================================================================================================================
+    // Double buffering
+    // =================================================================================================================
+
+    @Test
+    void extractSnapshot_ShouldNotChangeFrontSnapshot() {
+        MovingRenderable renderable = new MovingRenderable();
+        context.getRenderables().add(renderable);
+        renderer.extractSnapshot();
+        renderer.swapSnapshots();
+        RenderSnapshot front = renderer.getSnapshot();
+
+        renderable.position.set(5, 0, 0);
+        renderer.extractSnapshot();
+
+        assertSame(front, renderer.getSnapshot());
+        assertEquals(0, front.getWorldMatrix(0).m30());
+        assertEquals(0, front.getFrame());
+    }
+
+    @Test
+    void swapSnapshots_ShouldAlternateBetweenTwoSnapshots() {
+        renderer.extractSnapshot();
+        renderer.swapSnapshots();
+        RenderSnapshot first = renderer.getSnapshot();
+
+        renderer.extractSnapshot();
+        renderer.swapSnapshots();
+        RenderSnapshot second = renderer.getSnapshot();
+
+        renderer.extractSnapshot();
+        renderer.swapSnapshots();
+
+        assertNotSame(first, second);
+        assertSame(first, renderer.getSnapshot());
+        assertEquals(2, renderer.getSnapshot().getFrame());
+    }
+
+    @Test
+    void swapSnapshots_WithoutNewExtraction_ShouldKeepFrontSnapshot() {
+        renderer.extractSnapshot();
+        renderer.swapSnapshots();
+        RenderSnapshot front = renderer.getSnapshot();
+
+        renderer.swapSnapshots();
+
+        assertSame(front, renderer.getSnapshot());
+    }
+
+    // =================================================================================================================
+    // Rendering
+    // =================================================================================================================
+
+    @Test
+    void render_ShouldExposeFrontSnapshotToPipeline() {
+        renderer.extractSnapshot();
+        renderer.swapSnapshots();
+
+        renderer.render();
+
+        assertSame(renderer.getSnapshot(), context.getSnapshot());
+        verify(pipeline).render(context);
+    }
+}
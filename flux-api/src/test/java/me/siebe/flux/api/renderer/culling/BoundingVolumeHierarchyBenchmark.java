@@ -0,0 +1,121 @@
+package me.siebe.flux.api.renderer.culling;
+
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
+import java.util.Random;
+
+/**
+ * Micro benchmark for building, refitting and querying a {@link BoundingVolumeHierarchy} over an open world of small
+ * static objects.
+ * <p>
+ * Not run as part of the test suite. Run the {@link #main(String[])} method from the IDE or with
+ * {@code java -cp <test-classpath> me.siebe.flux.api.renderer.culling.BoundingVolumeHierarchyBenchmark}. Each scenario
+ * is warmed up before it is measured. Culling through the hierarchy is compared with testing every object against the
+ * frustum, and ray casts are reported as nanoseconds per ray.
+ */
+public final class BoundingVolumeHierarchyBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int RAYS_PER_ROUND = 10_000;
+    private static final float WORLD_SIZE = 10_000;
+
+    private static long sink;
+
+    private BoundingVolumeHierarchyBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        for (int objectCount : new int[]{10_000, 100_000, 500_000}) {
+            run(objectCount);
+        }
+        System.out.println("(sink " + sink + ")");
+    }
+
+    private static void run(int objectCount) {
+        Random random = new Random(objectCount);
+        float[] boxes = new float[objectCount * 6];
+        for (int i = 0; i < objectCount; i++) {
+            float x = (random.nextFloat() - 0.5f) * WORLD_SIZE;
+            float y = random.nextFloat() * 50;
+            float z = (random.nextFloat() - 0.5f) * WORLD_SIZE;
+            float size = 1 + random.nextFloat() * 10;
+            int offset = i * 6;
+            boxes[offset] = x;
+            boxes[offset + 1] = y;
+            boxes[offset + 2] = z;
+            boxes[offset + 3] = x + size;
+            boxes[offset + 4] = y + size;
+            boxes[offset + 5] = z + size;
+        }
+
+        // Camera above the world, looking along it with a far plane of a tenth of the world size
+        Frustum frustum = new Frustum().set(new Matrix4f()
+                .perspective((float) Math.toRadians(70), 16.0f / 9.0f, 0.1f, WORLD_SIZE / 10)
+                .lookAt(0, 20, 0, 1, 10, -1, 0, 1, 0));
+        Vector3f[] origins = new Vector3f[RAYS_PER_ROUND];
+        Vector3f[] directions = new Vector3f[RAYS_PER_ROUND];
+        for (int i = 0; i < RAYS_PER_ROUND; i++) {
+            origins[i] = new Vector3f((random.nextFloat() - 0.5f) * WORLD_SIZE, 30, (random.nextFloat() - 0.5f) * WORLD_SIZE);
+            directions[i] = new Vector3f(random.nextFloat() - 0.5f, -0.2f, random.nextFloat() - 0.5f).normalize();
+        }
+
+        BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy();
+        boolean[] visible = new boolean[objectCount];
+        long build = 0;
+        long refit = 0;
+        long hierarchyCull = 0;
+        long flatCull = 0;
+        long raycast = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            hierarchy.clear();
+            for (int i = 0; i < objectCount; i++) {
+                int offset = i * 6;
+                hierarchy.add(boxes[offset], boxes[offset + 1], boxes[offset + 2], boxes[offset + 3], boxes[offset + 4], boxes[offset + 5]);
+            }
+            hierarchy.build();
+            long built = System.nanoTime();
+
+            for (int i = 0; i < objectCount; i++) {
+                int offset = i * 6;
+                hierarchy.setBounds(i, boxes[offset], boxes[offset + 1] + 0.01f, boxes[offset + 2],
+                        boxes[offset + 3], boxes[offset + 4] + 0.01f, boxes[offset + 5]);
+            }
+            hierarchy.refit();
+            long refitted = System.nanoTime();
+
+            sink += hierarchy.cull(frustum, visible);
+            long culled = System.nanoTime();
+
+            for (int i = 0; i < objectCount; i++) {
+                int offset = i * 6;
+                if (frustum.classify(boxes[offset], boxes[offset + 1], boxes[offset + 2], boxes[offset + 3], boxes[offset + 4], boxes[offset + 5]) != Frustum.OUTSIDE) {
+                    sink++;
+                }
+            }
+            long flatCulled = System.nanoTime();
+
+            for (int i = 0; i < RAYS_PER_ROUND; i++) {
+                BoundingVolumeHierarchy.RayHit hit = hierarchy.raycast(origins[i], directions[i], WORLD_SIZE);
+                if (hit != null) sink += hit.index();
+            }
+            long end = System.nanoTime();
+
+            if (round >= WARMUP_ROUNDS) {
+                build += built - start;
+                refit += refitted - built;
+                hierarchyCull += culled - refitted;
+                flatCull += flatCulled - culled;
+                raycast += end - flatCulled;
+            }
+        }
+
+        System.out.printf("%,9d objects, %,9d nodes%n", objectCount, hierarchy.getNodeCount());
+        System.out.printf("  build          : %10.3f ms%n", build / 1e6 / MEASURED_ROUNDS);
+        System.out.printf("  refit          : %10.3f ms%n", refit / 1e6 / MEASURED_ROUNDS);
+        System.out.printf("  hierarchy cull : %10.3f ms%n", hierarchyCull / 1e6 / MEASURED_ROUNDS);
+        System.out.printf("  flat cull      : %10.3f ms%n", flatCull / 1e6 / MEASURED_ROUNDS);
+        System.out.printf("  raycast        : %10.1f ns/ray%n", (double) raycast / MEASURED_ROUNDS / RAYS_PER_ROUND);
+    }
+}
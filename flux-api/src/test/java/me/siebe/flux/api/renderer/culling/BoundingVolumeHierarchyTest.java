@@ -0,0 +1,258 @@
+package me.siebe.flux.api.renderer.culling;
+
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundingVolumeHierarchyTest {
+    private static final Bounds UNIT_CUBE = new Bounds(new Vector3f(-0.5f), new Vector3f(0.5f));
+
+    /** Camera at the origin looking down -Z, seeing from 0.1 to 100 units. */
+    private static Matrix4f viewProjection() {
+        return new Matrix4f().perspective((float) Math.toRadians(90), 1.0f, 0.1f, 100.0f);
+    }
+
+    /** Adds small random boxes spread over a cube of 300 units around the origin. */
+    private static void addRandomBoxes(BoundingVolumeHierarchy hierarchy, int count, long seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < count; i++) {
+            float x = random.nextFloat() * 300 - 150, y = random.nextFloat() * 300 - 150, z = random.nextFloat() * 300 - 150;
+            float size = random.nextFloat() * 4;
+            hierarchy.add(x, y, z, x + size, y + size, z + size);
+        }
+    }
+
+    private static void assertCullMatchesBruteForce(BoundingVolumeHierarchy hierarchy, float[][] boxes, Frustum frustum) {
+        boolean[] visible = new boolean[hierarchy.size()];
+        int visibleCount = hierarchy.cull(frustum, visible);
+
+        int expectedCount = 0;
+        for (int i = 0; i < boxes.length; i++) {
+            float[] box = boxes[i];
+            boolean expected = frustum.classify(box[0], box[1], box[2], box[3], box[4], box[5]) != Frustum.OUTSIDE;
+            assertEquals(expected, visible[i], "Object " + i);
+            if (expected) expectedCount++;
+        }
+        assertEquals(expectedCount, visibleCount);
+    }
+
+    private static float[][] randomBoxes(int count, long seed) {
+        Random random = new Random(seed);
+        float[][] boxes = new float[count][];
+        for (int i = 0; i < count; i++) {
+            float x = random.nextFloat() * 300 - 150, y = random.nextFloat() * 300 - 150, z = random.nextFloat() * 300 - 150;
+            float size = random.nextFloat() * 4;
+            boxes[i] = new float[]{x, y, z, x + size, y + size, z + size};
+        }
+        return boxes;
+    }
+
+    // =================================================================================================================
+    // Building and culling
+    // =================================================================================================================
+
+    @Test
+    void cull_ShouldMatchTestingEveryObject() {
+        BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy();
+        addRandomBoxes(hierarchy, 1000, 42);
+        hierarchy.build();
+
+        assertCullMatchesBruteForce(hierarchy, randomBoxes(1000, 42), new Frustum().set(viewProjection()));
+        assertTrue(hierarchy.getNodeCount() < 2 * hierarchy.size());
+    }
+
+    @Test
+    void cull_WithParallelBuild_ShouldMatchTestingEveryObject() {
+        int count = BoundingVolumeHierarchy.PARALLEL_BUILD_THRESHOLD * 4 + 3;
+        BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy();
+        addRandomBoxes(hierarchy, count, 7);
+        hierarchy.build();
+
+        assertCullMatchesBruteForce(hierarchy, randomBoxes(count, 7), new Frustum().set(viewProjection()));
+    }
+
+    @Test
+    void build_WithIdenticalBoxes_ShouldStillSplitLargeNodes() {
+        BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy();
+        Bounds behindCamera = UNIT_CUBE.transform(new Matrix4f().translation(0, 0, 10));
+        for (int i = 0; i < 100; i++) {
+            hierarchy.add(behindCamera);
+        }
+        hierarchy.build();
+
+        assertTrue(hierarchy.getNodeCount() > 1);
+        boolean[] visible = new boolean[100];
+        assertEquals(0, hierarchy.cull(new Frustum().set(viewProjection()), visible));
+    }
+
+    @Test
+    void build_WithoutObjects_ShouldFindNothing() {
+        BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy();
+        hierarchy.build();
+
+        assertEquals(0, hierarchy.getNodeCount());
+        assertEquals(0, hierarchy.cull(new Frustum().set(viewProjection()), new boolean[0]));
+        assertNull(hierarchy.raycast(new Vector3f(), new Vector3f(0, 0, -1), 100));
+    }
+
+    @Test
+    void refit_AfterMovingObjects_ShouldCullAtNewPositions() {
+        BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy();
+        float[][] boxes = randomBoxes(500, 3);
+        for (float[] box : boxes) {
+            hierarchy.add(box[0], box[1], box[2], box[3], box[4], box[5]);
+        }
+        hierarchy.build();
+
+        // Move every object to the mirrored position, so each one ends up in a different part of the tree
+        for (int i = 0; i < boxes.length; i++) {
+            float[] box = boxes[i];
+            boxes[i] = new float[]{-box[3], -box[4], -box[5], -box[0], -box[1], -box[2]};
+            hierarchy.setBounds(i, boxes[i][0], boxes[i][1], boxes[i][2], boxes[i][3], boxes[i][4], boxes[i][5]);
+        }
+        hierarchy.refit();
+
+        assertCullMatchesBruteForce(hierarchy, boxes, new Frustum().set(viewProjection()));
+    }
+
+    @Test
+    void add_AfterBuild_ShouldRequireNewBuild() {
+        BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy();
+        hierarchy.add(UNIT_CUBE);
+        hierarchy.build();
+        hierarchy.add(UNIT_CUBE);
+
+        assertFalse(hierarchy.isBuilt());
+        assertThrows(IllegalStateException.class, hierarchy::refit);
+        assertThrows(IllegalStateException.class, () -> hierarchy.cull(new Frustum(), new boolean[2]));
+        assertThrows(IllegalStateException.class, () -> hierarchy.raycast(new Vector3f(), new Vector3f(1, 0, 0), 1));
+    }
+
+    @Test
+    void setBounds_WithInvalidIndex_ShouldThrow() {
+        BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy();
+        hierarchy.add(UNIT_CUBE);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> hierarchy.setBounds(1, 0, 0, 0, 1, 1, 1));
+    }
+
+    // =================================================================================================================
+    // Ray casts
+    // =================================================================================================================
+
+    @Test
+    void raycast_ShouldReturnNearestHit() {
+        BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy();
+        for (int i = 0; i < 200; i++) {
+            // A row of cubes along -Z, and a column of cubes along +X
+            hierarchy.add(UNIT_CUBE.transform(new Matrix4f().translation(0, 0, -5 - i * 2)));
+            hierarchy.add(UNIT_CUBE.transform(new Matrix4f().translation(5 + i * 2, 0, 0)));
+        }
+        hierarchy.build();
+
+        BoundingVolumeHierarchy.RayHit hit = hierarchy.raycast(new Vector3f(), new Vector3f(0, 0, -1), 1000);
+        assertNotNull(hit);
+        assertEquals(0, hit.index());
+        assertEquals(4.5f, hit.distance(), 1e-5f);
+
+        hit = hierarchy.raycast(new Vector3f(100, 0, 0), new Vector3f(-2, 0, 0), 1000);
+        assertNotNull(hit);
+        assertEquals(2 * 47 + 1, hit.index());
+        assertEquals(0.25f, hit.distance(), 1e-5f);
+    }
+
+    @Test
+    void raycast_WhenMissingOrTooShort_ShouldReturnNull() {
+        BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy();
+        hierarchy.add(UNIT_CUBE.transform(new Matrix4f().translation(0, 0, -10)));
+        hierarchy.build();
+
+        assertNull(hierarchy.raycast(new Vector3f(), new Vector3f(0, 1, 0), 1000));
+        assertNull(hierarchy.raycast(new Vector3f(), new Vector3f(0, 0, 1), 1000));
+        assertNull(hierarchy.raycast(new Vector3f(), new Vector3f(0, 0, -1), 5));
+    }
+
+    @Test
+    void raycast_WithInfiniteMaxDistance_ShouldOnlyReturnFiniteHits() {
+        BoundingVolumeHierarchy hierarchy = new BoundingVolumeHierarchy();
+        for (int i = 0; i < 50; i++) {
+            hierarchy.add(UNIT_CUBE.transform(new Matrix4f().translation(0, 0, -10 - i * 2)));
+        }
+        hierarchy.build();
+
+        assertNull(hierarchy.raycast(new Vector3f(), new Vector3f(0, 1, 0), Float.POSITIVE_INFINITY));
+        assertNull(hierarchy.raycast(new Vector3f(), new Vector3f(0, 0, 1), Float.POSITIVE_INFINITY));
+        // Parallel to the row but beside it, so every slab test of X gives infinities of equal sign
+        assertNull(hierarchy.raycast(new Vector3f(5, 0, 0), new Vector3f(0, 0, -1), Float.POSITIVE_INFINITY));
+
+        BoundingVolumeHierarchy.RayHit hit = hierarchy.raycast(new Vector3f(), new Vector3f(0, 0, -1), Float.POSITIVE_INFINITY);
+        assertNotNull(hit);
+        assertEquals(0, hit.index());
+        assertEquals(9.5f, hit.distance(), 1e-5f);
+    }
+
+    // =================================================================================================================
+    // Frustum culler
+    // =================================================================================================================
+
+    @Test
+    void frustumCuller_WithManyObjects_ShouldCullThroughHierarchyWithSameResult() {
+        int count = FrustumCuller.HIERARCHY_THRESHOLD + 5;
+        FrustumCuller culler = new FrustumCuller();
+        FrustumCuller flat = new FrustumCuller();
+        Random random = new Random(11);
+        Matrix4f world = new Matrix4f();
+        for (int i = 0; i < count; i++) {
+            world.translation(random.nextFloat() * 300 - 150, random.nextFloat() * 300 - 150, random.nextFloat() * 300 - 150);
+            Bounds bounds = i % 100 == 0 ? null : UNIT_CUBE;
+            culler.add(bounds, world);
+            if (i < FrustumCuller.HIERARCHY_THRESHOLD - 1) flat.add(bounds, world);
+        }
+
+        culler.cull(viewProjection());
+        flat.cull(viewProjection());
+
+        for (int i = 0; i < flat.size(); i++) {
+            assertEquals(flat.isVisible(i), culler.isVisible(i), "Object " + i);
+        }
+        assertTrue(culler.isVisible(0));
+    }
+
+    @Test
+    void frustumCuller_WithUnchangedObjects_ShouldRefitHierarchyToMovedObjects() {
+        int count = FrustumCuller.HIERARCHY_THRESHOLD;
+        FrustumCuller culler = new FrustumCuller();
+        for (int i = 0; i < count; i++) {
+            culler.add(UNIT_CUBE, new Matrix4f().translation(0, 0, 10 + i));
+        }
+        assertEquals(0, culler.cull(viewProjection()));
+
+        // Same objects, all moved in front of the camera
+        culler.clear();
+        for (int i = 0; i < count; i++) {
+            culler.add(UNIT_CUBE, new Matrix4f().translation(0, 0, -10 - (i % 50)));
+        }
+        culler.setObjectsUnchanged(true);
+
+        assertEquals(count, culler.cull(viewProjection()));
+    }
+
+    @Test
+    void frustumCuller_Raycast_ShouldReturnObjectIndexAndSkipUnboundedObjects() {
+        FrustumCuller culler = new FrustumCuller();
+        culler.add(null, new Matrix4f());
+        culler.add(UNIT_CUBE, new Matrix4f().translation(0, 0, -20));
+        int nearest = culler.add(UNIT_CUBE, new Matrix4f().translation(0, 0, -10));
+
+        BoundingVolumeHierarchy.RayHit hit = culler.raycast(new Vector3f(), new Vector3f(0, 0, -1), 1000);
+
+        assertNotNull(hit);
+        assertEquals(nearest, hit.index());
+        assertEquals(9.5f, hit.distance(), 1e-5f);
+        assertNull(culler.raycast(new Vector3f(), new Vector3f(0, 1, 0), Float.POSITIVE_INFINITY));
+    }
+}
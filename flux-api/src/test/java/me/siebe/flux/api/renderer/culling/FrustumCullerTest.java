@@ -0,0 +1,152 @@
+package me.siebe.flux.api.renderer.culling;
+
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrustumCullerTest {
+    private static final Bounds UNIT_CUBE = new Bounds(new Vector3f(-0.5f), new Vector3f(0.5f));
+
+    /** Camera at the origin looking down -Z, seeing from 0.1 to 100 units. */
+    private static Matrix4f viewProjection() {
+        return new Matrix4f().perspective((float) Math.toRadians(90), 1.0f, 0.1f, 100.0f);
+    }
+
+    // =================================================================================================================
+    // Bounds
+    // =================================================================================================================
+
+    @Test
+    void fromPositions_ShouldEncloseAllPositionsWithTightSphere() {
+        float[] vertexData = {
+                // x, y, z, u, v
+                -1, 0, 0, 9, 9,
+                1, 0, 0, 9, 9,
+                0, 2, 0, 9, 9
+        };
+
+        Bounds bounds = Bounds.fromPositions(vertexData, 0, 5);
+
+        assertEquals(new Vector3f(-1, 0, 0), bounds.getMin());
+        assertEquals(new Vector3f(1, 2, 0), bounds.getMax());
+        assertEquals(new Vector3f(0, 1, 0), bounds.getSphereCenter());
+        assertEquals((float) Math.sqrt(2), bounds.getSphereRadius(), 1e-6f);
+    }
+
+    @Test
+    void fromPositions_WithoutPositions_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> Bounds.fromPositions(new float[0], 0, 3));
+        assertThrows(IllegalArgumentException.class, () -> Bounds.fromPositions(new float[6], 0, 2));
+    }
+
+    @Test
+    void union_ShouldEncloseBothBounds() {
+        Bounds left = new Bounds(new Vector3f(-3, -1, -1), new Vector3f(-1, 1, 1));
+        Bounds right = new Bounds(new Vector3f(1, -1, -1), new Vector3f(3, 1, 1));
+
+        Bounds union = left.union(right);
+
+        assertEquals(new Vector3f(-3, -1, -1), union.getMin());
+        assertEquals(new Vector3f(3, 1, 1), union.getMax());
+        assertEquals(0, union.getSphereCenter().x(), 1e-6f);
+        assertEquals(2 + left.getSphereRadius(), union.getSphereRadius(), 1e-5f);
+        assertEquals(left.getSphereRadius(), left.union(new Bounds(new Vector3f(-2, 0, 0), new Vector3f(-2, 0, 0))).getSphereRadius());
+    }
+
+    @Test
+    void transform_ShouldTranslateAndScale() {
+        Bounds transformed = UNIT_CUBE.transform(new Matrix4f().translation(10, 0, 0).scale(2, 1, 1));
+
+        assertEquals(new Vector3f(9, -0.5f, -0.5f), transformed.getMin());
+        assertEquals(new Vector3f(11, 0.5f, 0.5f), transformed.getMax());
+        assertEquals(new Vector3f(10, 0, 0), transformed.getSphereCenter());
+        assertEquals(UNIT_CUBE.getSphereRadius() * 2, transformed.getSphereRadius(), 1e-6f);
+    }
+
+    // =================================================================================================================
+    // Culling
+    // =================================================================================================================
+
+    @Test
+    void cull_ShouldKeepObjectsInFrontAndRejectObjectsOutside() {
+        FrustumCuller culler = new FrustumCuller();
+        int inFront = culler.add(UNIT_CUBE, new Matrix4f().translation(0, 0, -10));
+        int behind = culler.add(UNIT_CUBE, new Matrix4f().translation(0, 0, 10));
+        int left = culler.add(UNIT_CUBE, new Matrix4f().translation(-50, 0, -10));
+        int beyondFar = culler.add(UNIT_CUBE, new Matrix4f().translation(0, 0, -200));
+        int crossingEdge = culler.add(UNIT_CUBE, new Matrix4f().translation(-10.4f, 0, -10));
+
+        assertEquals(2, culler.cull(viewProjection()));
+
+        assertTrue(culler.isVisible(inFront));
+        assertFalse(culler.isVisible(behind));
+        assertFalse(culler.isVisible(left));
+        assertFalse(culler.isVisible(beyondFar));
+        assertTrue(culler.isVisible(crossingEdge));
+    }
+
+    @Test
+    void cull_WithoutBounds_ShouldNeverCull() {
+        FrustumCuller culler = new FrustumCuller();
+        int index = culler.add(null, new Matrix4f().translation(0, 0, 10));
+
+        culler.cull(viewProjection());
+
+        assertTrue(culler.isVisible(index));
+    }
+
+    @Test
+    void cull_WithScaledObject_ShouldUseWorldSizeOfBounds() {
+        FrustumCuller culler = new FrustumCuller();
+        // Center is behind the camera, but the scaled cube reaches in front of it
+        int index = culler.add(UNIT_CUBE, new Matrix4f().translation(0, 0, 5).scale(20));
+
+        culler.cull(viewProjection());
+
+        assertTrue(culler.isVisible(index));
+    }
+
+    @Test
+    void cull_WithManyObjects_ShouldCullInParallelBatchesWithSameResult() {
+        FrustumCuller culler = new FrustumCuller();
+        int count = FrustumCuller.PARALLEL_THRESHOLD * 2 + 7;
+        for (int i = 0; i < count; i++) {
+            // Alternate between in front of and behind the camera
+            culler.add(UNIT_CUBE, new Matrix4f().translation(0, 0, i % 2 == 0 ? -10 : 10));
+        }
+
+        assertEquals((count + 1) / 2, culler.cull(viewProjection()));
+        for (int i = 0; i < count; i++) {
+            assertEquals(i % 2 == 0, culler.isVisible(i));
+        }
+    }
+
+    @Test
+    void clear_ShouldReuseCullerForNextFrame() {
+        FrustumCuller culler = new FrustumCuller();
+        culler.add(UNIT_CUBE, new Matrix4f().translation(0, 0, 10));
+        culler.cull(viewProjection());
+
+        culler.clear();
+        int index = culler.add(UNIT_CUBE, new Matrix4f().translation(0, 0, -10));
+        culler.cull(viewProjection());
+
+        assertEquals(1, culler.size());
+        assertTrue(culler.isVisible(index));
+        assertThrows(IndexOutOfBoundsException.class, () -> culler.isVisible(1));
+    }
+
+    @Test
+    void cullNothing_ShouldMarkEveryObjectVisible() {
+        FrustumCuller culler = new FrustumCuller();
+        culler.add(UNIT_CUBE, new Matrix4f().translation(0, 0, 10));
+        culler.cull(viewProjection());
+
+        culler.cullNothing();
+
+        assertTrue(culler.isVisible(0));
+        assertEquals(1, culler.getVisibleCount());
+    }
+}
@@ -1,5 +1,6 @@
 package me.siebe.flux.core;
 
+import me.siebe.flux.api.ecs.EcsSystem;
 import me.siebe.flux.api.event.common.FramebufferResizeEvent;
 import me.siebe.flux.api.event.common.WindowResizeEvent;
 import me.siebe.flux.api.input.Input;
@@ -18,6 +19,11 @@ import me.siebe.flux.util.memory.NativeTracker;
 import me.siebe.flux.util.system.ProvidableSystem;
 import me.siebe.flux.util.time.Timer;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * The base class for all Flux applications.
  * <p>
@@ -130,16 +136,28 @@ public abstract class FluxApplication implements ProvidableSystem {
      *   <li>Continuously loops until the window signals closure.</li>
      *   <li>Executes the game update logic via {@link #gameUpdate(AppContext)}</li>
      *   <li>Executes the engine update logic via {@link #engineUpdate(AppContext)}</li>
+     *   <li>Extracts a {@link me.siebe.flux.api.renderer.RenderSnapshot RenderSnapshot} and renders it</li>
      * </ol>
+     * <p>
+     * When {@link #isSimulationPipelined()} returns true, the game update and extraction of the next frame run on a
+     * separate simulation thread while the current frame is rendered, see {@link #runPipelined(AppContext)}.
      */
     final void run() {
         try {
             AppContext.withContextNoReturn(ctx -> {
+                if (isSimulationPipelined()) {
+                    runPipelined(ctx);
+                    return;
+                }
+
                 while (!ctx.getWindow().shouldClose()) {
                     gameUpdate(ctx);
                     engineUpdate(ctx);
 
-                    ctx.getRenderer().render();
+                    Renderer renderer = ctx.getRenderer();
+                    renderer.extractSnapshot();
+                    renderer.swapSnapshots();
+                    renderer.render();
                 }
             });
         } catch (Exception e) {
@@ -147,6 +165,83 @@ public abstract class FluxApplication implements ProvidableSystem {
         }
     }
 
+    /**
+     * Runs the main application loop with simulation and rendering overlapping.
+     * <p>
+     * Each iteration the main thread updates the engine, swaps in the snapshot extracted by the previous simulation
+     * step and starts simulating the next frame on the simulation thread. It then renders the swapped-in snapshot and
+     * waits for the simulation step to finish. Engine updates, such as input handling, window events and the event
+     * bus flush, therefore never run at the same time as {@link #gameUpdate(AppContext)}.
+     *
+     * @param ctx the current application context containing engine state
+     */
+    private void runPipelined(final AppContext ctx) {
+        logger.info("Running with pipelined simulation and rendering");
+        Renderer renderer = ctx.getRenderer();
+
+        ExecutorService simulationThread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "flux-simulation");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            gameUpdate(ctx);
+            renderer.extractSnapshot();
+
+            while (!ctx.getWindow().shouldClose()) {
+                engineUpdate(ctx);
+                renderer.swapSnapshots();
+
+                Future<?> simulation = simulationThread.submit(() -> {
+                    gameUpdate(ctx);
+                    renderer.extractSnapshot();
+                });
+                renderer.render();
+
+                awaitSimulation(simulation);
+            }
+        } finally {
+            simulationThread.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for a simulation step to finish, rethrowing any exception it threw on the calling thread.
+     *
+     * @param simulation the simulation step to wait for
+     */
+    private void awaitSimulation(Future<?> simulation) {
+        try {
+            simulation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for simulation step", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Simulation step failed", e.getCause());
+        }
+    }
+
+    /**
+     * Determines whether the simulation of the next frame runs in parallel with rendering the current frame.
+     * <p>
+     * When enabled, {@link #gameUpdate(AppContext)} runs on a dedicated simulation thread while the main thread
+     * renders the {@link me.siebe.flux.api.renderer.RenderSnapshot RenderSnapshot} of the previous frame. Game code
+     * must then only hand render state to the renderer through the render context (camera, renderables and their
+     * transforms), and must not call into OpenGL or change GPU resources such as materials from
+     * {@link #gameUpdate(AppContext)}.
+     * <p>
+     * Disabled by default.
+     *
+     * @return true to overlap simulation and rendering, false to run them one after the other
+     */
+    protected boolean isSimulationPipelined() {
+        return false;
+    }
+
     /**
      * Performs engine-side per-frame updates.
      * <p>
@@ -154,6 +249,9 @@ public abstract class FluxApplication implements ProvidableSystem {
      * <ul>
      *   <li>Updating the global timer</li>
      *   <li>Updating the window</li>
+     *   <li>Posting scheduled events that became due</li>
+     *   <li>Flushing queued events</li>
+     *   <li>Waiting for asynchronous event deliveries of the frame</li>
      * </ul>
      * <p>
      * This method is called once per frame after the game update logic has been executed, this way systems such as rendering are guaranteed to have access to the latest game state.
@@ -170,10 +268,14 @@ public abstract class FluxApplication implements ProvidableSystem {
         ctx.getWindow().update();
         Input.beginFrame();
 
+        ctx.getEventBus().getScheduler().advance(ctx.getTimer());
         ctx.getEventBus().flush();
 
         // MUST BE LAST UPDATE!!
         ctx.getSystemManager().update();
+
+        // Asynchronous frame listeners ran alongside the systems, they must be done before the next frame starts
+        ctx.getEventBus().awaitFrameDeliveries();
     }
 
     /**
@@ -224,6 +326,7 @@ public abstract class FluxApplication implements ProvidableSystem {
         ctx.getRenderer().destroy();
 
         ctx.getSystemManager().destroy();
+        EcsSystem.destroyWorlds();
         EngineResources.cleanup();
     }
 
@@ -22,6 +22,31 @@ final class ComponentRegistry {
         this.maxEntities = maxEntities;
     }
 
+    /**
+     * Creates a copy-on-write fork of this registry.
+     * <p>
+     * Every component store is forked, see {@link ComponentStore#fork()}. Component types
+     * registered after forking are only visible in the registry they were registered in.
+     *
+     * @return the forked registry
+     */
+    ComponentRegistry fork() {
+        ComponentRegistry fork = new ComponentRegistry(maxEntities);
+        for (Map.Entry<Class<?>, ComponentStore<?>> entry : componentStores.entrySet()) {
+            fork.componentStores.put(entry.getKey(), entry.getValue().fork());
+        }
+        return fork;
+    }
+
+    /**
+     * Gets the maximum number of entities the stores in this registry can hold.
+     *
+     * @return the maximum entity count
+     */
+    int getMaxEntities() {
+        return maxEntities;
+    }
+
     /**
      * Gets the component store for the specified component type.
      *
@@ -77,11 +102,7 @@ final class ComponentRegistry {
      * @param entity the entity ID
      */
     void removeComponents(int entity) {
-        Object[] components = getComponents(entity);
-        for (Object component : components) {
-            Class<?> type = component.getClass();
-            ComponentStore<?> store = getComponentStore(type);
-            if (store == null) continue;
+        for (ComponentStore<?> store : componentStores.values()) {
             store.remove(entity);
         }
     }
@@ -1,5 +1,7 @@
 package me.siebe.flux.ecs;
 
+import me.siebe.flux.util.memory.Copyable;
+
 import java.util.Arrays;
 
 /**
@@ -13,30 +15,92 @@ import java.util.Arrays;
  * maintained in a sparse array. This design provides good cache locality for
  * iteration while maintaining fast random access.
  * <p>
+ * Both arrays are split into fixed-size pages so that a store can be {@link #fork() forked}
+ * in time proportional to the number of pages rather than the number of components. A forked
+ * store shares all of its pages with its parent, and whichever side writes to a shared page
+ * first duplicates it (copy-on-write). Sparse pages are only allocated once an entity in
+ * their range receives a component.
+ * <p>
+ * Java cannot detect writes to the fields of a component, so handing out a component from a
+ * shared page counts as a write when the component type implements {@link Copyable}: the page
+ * is duplicated and its components are copied. Components that do not implement
+ * {@link Copyable} are shared by reference between forks and should be treated as immutable.
+ * <p>
  * This is an internal implementation class and should not be used directly
  *
  * @param <T> the component type
  */
 final class ComponentStore<T> {
-    private static final int INITIAL_COMPONENT_CAPACITY = 16;
+    private static final int DENSE_PAGE_SHIFT = 8;
+    private static final int DENSE_PAGE_SIZE = 1 << DENSE_PAGE_SHIFT;
+    private static final int DENSE_PAGE_MASK = DENSE_PAGE_SIZE - 1;
+    private static final int SPARSE_PAGE_SHIFT = 10;
+    private static final int SPARSE_PAGE_SIZE = 1 << SPARSE_PAGE_SHIFT;
+    private static final int SPARSE_PAGE_MASK = SPARSE_PAGE_SIZE - 1;
+    private static final int INITIAL_DENSE_PAGE_COUNT = 4;
+
+    private final int maxEntities;
+
+    // Dense storage: component and owning entity per index
+    private Object[][] componentPages;
+    private int[][] indexToEntityPages;
+    private boolean[] densePageOwned;
+
+    // Sparse storage: dense index per entity, null pages mean "no components in this range"
+    private int[][] entityToIndexPages;
+    private boolean[] sparsePageOwned;
 
-    private T[] components;
-    private int[] entityToIndex;
-    private int[] indexToEntity;
     private int size;
+    private boolean copyOnAccess;
 
     /**
      * Creates a new ComponentStore with the specified maximum entity count.
      *
      * @param maxEntities the maximum number of entities that can have components
      */
-    @SuppressWarnings("unchecked")
     ComponentStore(int maxEntities) {
-        components = (T[]) new Object[INITIAL_COMPONENT_CAPACITY];
-        entityToIndex = new int[maxEntities];
-        indexToEntity = new int[INITIAL_COMPONENT_CAPACITY];
-        Arrays.fill(entityToIndex, -1);
-        size = 0;
+        this.maxEntities = maxEntities;
+        this.componentPages = new Object[INITIAL_DENSE_PAGE_COUNT][];
+        this.indexToEntityPages = new int[INITIAL_DENSE_PAGE_COUNT][];
+        this.densePageOwned = new boolean[INITIAL_DENSE_PAGE_COUNT];
+
+        int sparsePageCount = (maxEntities + SPARSE_PAGE_SIZE - 1) >>> SPARSE_PAGE_SHIFT;
+        this.entityToIndexPages = new int[sparsePageCount][];
+        this.sparsePageOwned = new boolean[sparsePageCount];
+        this.size = 0;
+    }
+
+    /**
+     * Creates a copy-on-write fork of the given store.
+     * <p>
+     * Only the page tables are copied; every page is marked as shared in both stores.
+     *
+     * @param source the store to fork
+     */
+    private ComponentStore(ComponentStore<T> source) {
+        this.maxEntities = source.maxEntities;
+        this.componentPages = source.componentPages.clone();
+        this.indexToEntityPages = source.indexToEntityPages.clone();
+        this.densePageOwned = new boolean[source.densePageOwned.length];
+        this.entityToIndexPages = source.entityToIndexPages.clone();
+        this.sparsePageOwned = new boolean[source.sparsePageOwned.length];
+        this.size = source.size;
+        this.copyOnAccess = source.copyOnAccess;
+
+        Arrays.fill(source.densePageOwned, false);
+        Arrays.fill(source.sparsePageOwned, false);
+    }
+
+    /**
+     * Creates a copy-on-write fork of this store.
+     * <p>
+     * After forking, writes to either store are not visible in the other. The cost of forking
+     * is proportional to the number of pages, not the number of components.
+     *
+     * @return the forked store
+     */
+    ComponentStore<T> fork() {
+        return new ComponentStore<>(this);
     }
 
     /**
@@ -46,7 +110,7 @@ final class ComponentStore<T> {
      * @return true if the entity has a component in this store, false otherwise
      */
     boolean has(int entity) {
-        return entityToIndex[entity] != -1;
+        return indexOf(entity) != -1;
     }
 
     /**
@@ -56,9 +120,9 @@ final class ComponentStore<T> {
      * @return the component, or null if the entity doesn't have one in this store
      */
     T get(int entity) {
-        int index = entityToIndex[entity];
+        int index = indexOf(entity);
         if (index == -1) return null;
-        return components[index];
+        return getComponentAt(index);
     }
 
     /**
@@ -72,12 +136,18 @@ final class ComponentStore<T> {
         if (has(entity)) {
             throw new IllegalArgumentException("Entity already has component");
         }
+        if (size == 0) {
+            copyOnAccess = component instanceof Copyable<?>;
+        }
 
         ensureCapacity(size + 1);
 
-        components[size] = component;
-        indexToEntity[size] = entity;
-        entityToIndex[entity] = size;
+        int page = size >>> DENSE_PAGE_SHIFT;
+        int offset = size & DENSE_PAGE_MASK;
+        writableDensePage(page);
+        componentPages[page][offset] = component;
+        indexToEntityPages[page][offset] = entity;
+        writableSparsePage(entity)[entity & SPARSE_PAGE_MASK] = size;
         size++;
     }
 
@@ -90,22 +160,30 @@ final class ComponentStore<T> {
      * @param entity the entity ID for which the component should be removed
      */
     void remove(int entity) {
-        int index = entityToIndex[entity];
+        int index = indexOf(entity);
         if (index == -1) return;
 
         int lastIndex = size - 1;
-        int lastEntity = indexToEntity[lastIndex];
+        int lastPage = lastIndex >>> DENSE_PAGE_SHIFT;
+        int lastOffset = lastIndex & DENSE_PAGE_MASK;
+        // Own the last page before reading from it, so a copy-on-access component moved out of it is this store's copy
+        // rather than the instance still shared with a fork
+        writableDensePage(lastPage);
+        int lastEntity = indexToEntityPages[lastPage][lastOffset];
 
         // Move last element into removed slot (if it's not already the last element)
-        if (index !=  lastIndex) {
-            components[index] = components[lastIndex];
-            indexToEntity[index] = lastEntity;
-            entityToIndex[lastEntity] = index;
+        if (index != lastIndex) {
+            int page = index >>> DENSE_PAGE_SHIFT;
+            int offset = index & DENSE_PAGE_MASK;
+            writableDensePage(page);
+            componentPages[page][offset] = componentPages[lastPage][lastOffset];
+            indexToEntityPages[page][offset] = lastEntity;
+            writableSparsePage(lastEntity)[lastEntity & SPARSE_PAGE_MASK] = index;
         }
 
         // Clear last slot
-        components[lastIndex] = null;
-        entityToIndex[entity] = -1;
+        componentPages[lastPage][lastOffset] = null;
+        writableSparsePage(entity)[entity & SPARSE_PAGE_MASK] = -1;
         size--;
     }
 
@@ -127,7 +205,7 @@ final class ComponentStore<T> {
      * @return the entity ID
      */
     int getEntityAt(int index) {
-        return indexToEntity[index];
+        return indexToEntityPages[index >>> DENSE_PAGE_SHIFT][index & DENSE_PAGE_MASK];
     }
 
     /**
@@ -137,22 +215,98 @@ final class ComponentStore<T> {
      *
      * @param index the component index
      */
+    @SuppressWarnings("unchecked")
     T getComponentAt(int index) {
-        return components[index];
+        int page = index >>> DENSE_PAGE_SHIFT;
+        if (copyOnAccess) {
+            writableDensePage(page);
+        }
+        return (T) componentPages[page][index & DENSE_PAGE_MASK];
+    }
+
+    /**
+     * Looks up the dense index of an entity's component.
+     *
+     * @param entity the entity ID
+     * @return the dense index, or -1 if the entity has no component in this store
+     */
+    private int indexOf(int entity) {
+        if (entity >= maxEntities) {
+            throw new ArrayIndexOutOfBoundsException("Entity " + entity + " exceeds max entities " + maxEntities);
+        }
+        int[] page = entityToIndexPages[entity >>> SPARSE_PAGE_SHIFT];
+        return page == null ? -1 : page[entity & SPARSE_PAGE_MASK];
+    }
+
+    /**
+     * Makes sure the dense page at the given position is owned by this store, duplicating it
+     * if it is still shared with a fork.
+     * <p>
+     * When the component type implements {@link Copyable}, the components on a duplicated page
+     * are copied as well so that mutations do not leak into the other store.
+     *
+     * @param page the dense page number
+     */
+    private void writableDensePage(int page) {
+        if (densePageOwned[page]) return;
+
+        Object[] components = componentPages[page];
+        if (components == null) {
+            componentPages[page] = new Object[DENSE_PAGE_SIZE];
+            indexToEntityPages[page] = new int[DENSE_PAGE_SIZE];
+        } else {
+            components = components.clone();
+            if (copyOnAccess) {
+                for (int i = 0; i < components.length; i++) {
+                    if (components[i] instanceof Copyable<?> copyable) {
+                        components[i] = copyable.copy();
+                    }
+                }
+            }
+            componentPages[page] = components;
+            indexToEntityPages[page] = indexToEntityPages[page].clone();
+        }
+        densePageOwned[page] = true;
+    }
+
+    /**
+     * Returns the sparse page containing the given entity, allocating or duplicating it
+     * if it does not exist yet or is still shared with a fork.
+     *
+     * @param entity the entity ID
+     * @return the writable sparse page
+     */
+    private int[] writableSparsePage(int entity) {
+        int page = entity >>> SPARSE_PAGE_SHIFT;
+        int[] indices = entityToIndexPages[page];
+        if (sparsePageOwned[page]) return indices;
+
+        if (indices == null) {
+            indices = new int[SPARSE_PAGE_SIZE];
+            Arrays.fill(indices, -1);
+        } else {
+            indices = indices.clone();
+        }
+        entityToIndexPages[page] = indices;
+        sparsePageOwned[page] = true;
+        return indices;
     }
 
     /**
-     * Ensures the internal arrays have sufficient capacity.
+     * Ensures the internal page tables have sufficient capacity.
      * <p>
-     * When capacity is exceeded, arrays are doubled in size.
+     * When capacity is exceeded, the page tables are doubled in size. Pages themselves are
+     * allocated lazily when they are first written to.
      *
      * @param capacity the required capacity
      */
     private void ensureCapacity(int capacity) {
-        if (capacity <= components.length) return;
+        int requiredPages = (capacity + DENSE_PAGE_SIZE - 1) >>> DENSE_PAGE_SHIFT;
+        if (requiredPages <= componentPages.length) return;
 
-        int newCapacity = components.length * 2;
-        components = Arrays.copyOf(components, newCapacity);
-        indexToEntity = Arrays.copyOf(indexToEntity, newCapacity);
+        int newPageCount = componentPages.length * 2;
+        componentPages = Arrays.copyOf(componentPages, newPageCount);
+        indexToEntityPages = Arrays.copyOf(indexToEntityPages, newPageCount);
+        densePageOwned = Arrays.copyOf(densePageOwned, newPageCount);
     }
 }
@@ -0,0 +1,368 @@
+package me.siebe.flux.ecs;
+
+import me.siebe.flux.api.ecs.ComponentLayout;
+import me.siebe.flux.api.ecs.ComponentLayout.Field;
+import me.siebe.flux.api.ecs.ComponentLayout.FieldType;
+import me.siebe.flux.api.ecs.Entity;
+import me.siebe.flux.api.ecs.PrimitiveComponents;
+import me.siebe.flux.util.exceptions.Validator;
+import me.siebe.flux.util.memory.DirectBuffers;
+import me.siebe.flux.util.memory.NativeTracker;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores components of a single {@link ComponentLayout} in off-heap columns.
+ * <p>
+ * Each field of the layout gets its own direct {@link ByteBuffer} column, so the values of a field are densely packed
+ * and can be iterated or uploaded without touching the other fields. Like {@link ComponentStore}, a sparse
+ * entity-to-index mapping gives O(1) lookups and removals use swap-and-pop to keep the columns dense. The sparse
+ * mapping is split into pages that are allocated when the first entity in their range gets a component.
+ * <p>
+ * Columns grow by doubling. The old buffers are left to the garbage collector when a column grows, since column views
+ * taken before may still point at them. All buffers are freed right away when the store is {@link #release()
+ * released}, after which every access throws an {@link IllegalStateException} and column views must not be used.
+ * <p>
+ * This is an internal implementation class and should not be used directly
+ */
+final class PrimitiveComponentStore implements PrimitiveComponents {
+    private static final String NATIVE_TAG = "PrimitiveComponentStore";
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int SPARSE_PAGE_SHIFT = 10;
+    private static final int SPARSE_PAGE_SIZE = 1 << SPARSE_PAGE_SHIFT;
+    private static final int SPARSE_PAGE_MASK = SPARSE_PAGE_SIZE - 1;
+
+    private final ComponentLayout layout;
+    private final List<Field> fields;
+    private final int maxEntities;
+
+    private ByteBuffer[] columns;
+    private int[] indexToEntity;
+    private final int[][] entityToIndexPages;
+    private int capacity;
+    private int size;
+    private boolean released;
+
+    /**
+     * Creates a new, empty store for the given layout.
+     *
+     * @param layout      the layout of the stored components
+     * @param maxEntities the maximum number of entities that can have components
+     */
+    PrimitiveComponentStore(ComponentLayout layout, int maxEntities) {
+        this.layout = Validator.notNull(layout, () -> "Component layout");
+        this.fields = layout.getFields();
+        this.maxEntities = maxEntities;
+        this.capacity = INITIAL_CAPACITY;
+        this.columns = new ByteBuffer[fields.size()];
+        for (Field field : fields) {
+            columns[field.index()] = allocateColumn(field, capacity);
+        }
+        this.indexToEntity = new int[capacity];
+        this.entityToIndexPages = new int[(maxEntities + SPARSE_PAGE_SIZE - 1) >>> SPARSE_PAGE_SHIFT][];
+        NativeTracker.alloc(NATIVE_TAG);
+    }
+
+    /**
+     * Creates a copy of this store with its own columns.
+     * <p>
+     * Unlike {@link ComponentStore#fork()}, this copies all component data, since the columns have to stay
+     * contiguous to be handed to native code. The copy is a bulk memory copy of each column.
+     *
+     * @return the copy
+     */
+    PrimitiveComponentStore copy() {
+        ensureNotReleased();
+        PrimitiveComponentStore copy = new PrimitiveComponentStore(layout, maxEntities);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Replaces the contents of this store with the contents of another store of the same layout.
+     *
+     * @param source the store to copy from
+     */
+    void copyFrom(PrimitiveComponentStore source) {
+        ensureNotReleased();
+        source.ensureNotReleased();
+
+        if (capacity < source.size) {
+            grow(source.capacity);
+        }
+        for (int i = 0; i < columns.length; i++) {
+            int bytes = source.size * fields.get(i).type().getSizeInBytes();
+            columns[i].put(0, source.columns[i], 0, bytes);
+        }
+        System.arraycopy(source.indexToEntity, 0, indexToEntity, 0, source.size);
+        for (int page = 0; page < entityToIndexPages.length; page++) {
+            int[] sourcePage = source.entityToIndexPages[page];
+            if (sourcePage == null) {
+                if (entityToIndexPages[page] != null) Arrays.fill(entityToIndexPages[page], -1);
+            } else if (entityToIndexPages[page] == null) {
+                entityToIndexPages[page] = sourcePage.clone();
+            } else {
+                System.arraycopy(sourcePage, 0, entityToIndexPages[page], 0, SPARSE_PAGE_SIZE);
+            }
+        }
+        size = source.size;
+    }
+
+    /**
+     * Removes all components from this store, keeping its memory.
+     */
+    void clear() {
+        ensureNotReleased();
+        for (int i = 0; i < size; i++) {
+            int entity = indexToEntity[i];
+            entityToIndexPages[entity >>> SPARSE_PAGE_SHIFT][entity & SPARSE_PAGE_MASK] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Frees the columns of this store. The store, and every column view obtained from it, cannot be used afterward.
+     */
+    void release() {
+        if (released) return;
+        released = true;
+        for (ByteBuffer column : columns) {
+            DirectBuffers.free(column);
+        }
+        Arrays.fill(columns, null);
+        size = 0;
+        NativeTracker.free(NATIVE_TAG);
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Removes the component of the entity with the given ID, if it has one.
+     *
+     * @param entity the entity ID
+     * @return true if a component was removed, false otherwise
+     */
+    boolean remove(int entity) {
+        ensureNotReleased();
+        int index = indexOf(entity);
+        if (index == -1) return false;
+
+        int lastIndex = size - 1;
+        if (index != lastIndex) {
+            // Move last element into removed slot
+            for (int i = 0; i < columns.length; i++) {
+                int bytes = fields.get(i).type().getSizeInBytes();
+                columns[i].put(index * bytes, columns[i], lastIndex * bytes, bytes);
+            }
+            int lastEntity = indexToEntity[lastIndex];
+            indexToEntity[index] = lastEntity;
+            entityToIndexPages[lastEntity >>> SPARSE_PAGE_SHIFT][lastEntity & SPARSE_PAGE_MASK] = index;
+        }
+
+        entityToIndexPages[entity >>> SPARSE_PAGE_SHIFT][entity & SPARSE_PAGE_MASK] = -1;
+        size--;
+        return true;
+    }
+
+    private int indexOf(int entity) {
+        if (entity < 0 || entity >= maxEntities) {
+            throw new ArrayIndexOutOfBoundsException("Entity " + entity + " exceeds max entities " + maxEntities);
+        }
+        int[] page = entityToIndexPages[entity >>> SPARSE_PAGE_SHIFT];
+        return page == null ? -1 : page[entity & SPARSE_PAGE_MASK];
+    }
+
+
+    // =================================================================================================================
+    // PrimitiveComponents implementation
+    // =================================================================================================================
+
+    /** {@inheritDoc} */
+    @Override
+    public ComponentLayout getLayout() {
+        return layout;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean has(Entity entity) {
+        ensureNotReleased();
+        return indexOf(entity.getId()) != -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the columns are full, they are reallocated with double the capacity, invalidating existing column views.
+     */
+    @Override
+    public int add(Entity entity) {
+        ensureNotReleased();
+        int id = entity.getId();
+        if (indexOf(id) != -1) {
+            throw new IllegalArgumentException("Entity already has component of layout " + layout.getName());
+        }
+        if (size == capacity) {
+            grow(capacity * 2);
+        }
+
+        int index = size++;
+        for (Field field : fields) {
+            ByteBuffer column = columns[field.index()];
+            switch (field.type()) {
+                case INT, FLOAT -> column.putInt(index * Integer.BYTES, 0);
+                case DOUBLE -> column.putLong(index * Long.BYTES, 0L);
+            }
+        }
+        indexToEntity[index] = id;
+
+        int[] page = entityToIndexPages[id >>> SPARSE_PAGE_SHIFT];
+        if (page == null) {
+            page = new int[SPARSE_PAGE_SIZE];
+            Arrays.fill(page, -1);
+            entityToIndexPages[id >>> SPARSE_PAGE_SHIFT] = page;
+        }
+        page[id & SPARSE_PAGE_MASK] = index;
+        return index;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean remove(Entity entity) {
+        return remove(entity.getId());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int indexOf(Entity entity) {
+        ensureNotReleased();
+        return indexOf(entity.getId());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getEntityAt(int index) {
+        ensureNotReleased();
+        return indexToEntity[index];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getInt(Entity entity, Field field) {
+        return columnFor(field, FieldType.INT).getInt(requireIndex(entity) * Integer.BYTES);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setInt(Entity entity, Field field, int value) {
+        columnFor(field, FieldType.INT).putInt(requireIndex(entity) * Integer.BYTES, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public float getFloat(Entity entity, Field field) {
+        return columnFor(field, FieldType.FLOAT).getFloat(requireIndex(entity) * Float.BYTES);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setFloat(Entity entity, Field field, float value) {
+        columnFor(field, FieldType.FLOAT).putFloat(requireIndex(entity) * Float.BYTES, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getDouble(Entity entity, Field field) {
+        return columnFor(field, FieldType.DOUBLE).getDouble(requireIndex(entity) * Double.BYTES);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setDouble(Entity entity, Field field, double value) {
+        columnFor(field, FieldType.DOUBLE).putDouble(requireIndex(entity) * Double.BYTES, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ByteBuffer column(Field field) {
+        ByteBuffer column = columnFor(field, field.type());
+        return column.slice(0, size * field.type().getSizeInBytes()).order(ByteOrder.nativeOrder());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public IntBuffer intColumn(Field field) {
+        return columnFor(field, FieldType.INT).slice(0, size * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public FloatBuffer floatColumn(Field field) {
+        return columnFor(field, FieldType.FLOAT).slice(0, size * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleBuffer doubleColumn(Field field) {
+        return columnFor(field, FieldType.DOUBLE).slice(0, size * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+
+
+    // =================================================================================================================
+    // Internal helpers
+    // =================================================================================================================
+
+    private ByteBuffer columnFor(Field field, FieldType expectedType) {
+        ensureNotReleased();
+        if (field.layout() != layout) {
+            throw new IllegalArgumentException("Field " + field + " does not belong to layout " + layout.getName());
+        }
+        if (field.type() != expectedType) {
+            throw new IllegalArgumentException("Field " + field + " is not of type " + expectedType);
+        }
+        return columns[field.index()];
+    }
+
+    private int requireIndex(Entity entity) {
+        int index = indexOf(entity.getId());
+        if (index == -1) {
+            throw new IllegalArgumentException("Entity " + entity.getId() + " has no component of layout " + layout.getName());
+        }
+        return index;
+    }
+
+    private void grow(int newCapacity) {
+        for (Field field : fields) {
+            ByteBuffer grown = allocateColumn(field, newCapacity);
+            grown.put(0, columns[field.index()], 0, size * field.type().getSizeInBytes());
+            // Not freed, as column views handed out before growing may still point at it; they keep it reachable
+            columns[field.index()] = grown;
+        }
+        indexToEntity = Arrays.copyOf(indexToEntity, newCapacity);
+        capacity = newCapacity;
+    }
+
+    private void ensureNotReleased() {
+        if (released) {
+            throw new IllegalStateException("Primitive components of layout " + layout.getName() + " have been released");
+        }
+    }
+
+    private static ByteBuffer allocateColumn(Field field, int capacity) {
+        return DirectBuffers.allocate(capacity * field.type().getSizeInBytes());
+    }
+}
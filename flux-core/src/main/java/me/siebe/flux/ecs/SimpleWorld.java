@@ -1,13 +1,16 @@
 package me.siebe.flux.ecs;
 
+import me.siebe.flux.api.ecs.ComponentLayout;
 import me.siebe.flux.api.ecs.EcsSystem;
 import me.siebe.flux.api.ecs.Entity;
+import me.siebe.flux.api.ecs.PrimitiveComponents;
 import me.siebe.flux.api.ecs.Results;
 import me.siebe.flux.api.ecs.World;
+import me.siebe.flux.util.exceptions.Validator;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.Map;
-import java.util.Stack;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -17,22 +20,47 @@ import java.util.concurrent.atomic.AtomicInteger;
  * and their components. Entity IDs are recycled when entities are deleted to
  * improve memory efficiency.
  * <p>
+ * Worlds can be {@link #fork() forked} cheaply: entity bookkeeping and component storage are split
+ * into pages that are shared copy-on-write between a world and its forks, so only the pages that are
+ * written after forking are duplicated.
+ * <p>
  * This is the default implementation provided by the Flux engine.
  */
 public class SimpleWorld implements World {
+    private static final int ENTITY_PAGE_SHIFT = 10;
+    private static final int ENTITY_PAGE_SIZE = 1 << ENTITY_PAGE_SHIFT;
+    private static final int ENTITY_PAGE_MASK = ENTITY_PAGE_SIZE - 1;
+
     private final int id;
     private final String name;
+    private final int maxEntities;
+
+    private ComponentRegistry componentRegistry;
+    // Off-heap stores are owned by this world and copied rather than shared on fork
+    private final Map<ComponentLayout, PrimitiveComponentStore> primitiveStores = new IdentityHashMap<>();
+    private boolean destroyed = false;
 
-    private final Map<Integer, Entity> entityMap = new HashMap<>();
-    private final ComponentRegistry componentRegistry;
+    // Copy-on-write bitset of alive entity IDs, shared with forks
+    private long[][] alivePages;
+    private boolean[] alivePageOwned;
+    // Entity handles always belong to this world and are never shared with forks
+    private final SimpleEntity[][] entityPages;
 
-    private final AtomicInteger nextEntityId = new AtomicInteger(0);
-    private final Stack<Integer> recycledEntityIds = new Stack<>();
+    private int nextEntityId = 0;
+    private int[] recycledEntityIds = new int[16];
+    private int recycledEntityCount = 0;
+    private boolean recycledEntityIdsShared = false;
 
     private SimpleWorld(String name, int id, int maxEntities) {
         this.name = name;
         this.id = id;
+        this.maxEntities = maxEntities;
         this.componentRegistry = new ComponentRegistry(maxEntities);
+
+        int pageCount = (maxEntities + ENTITY_PAGE_SIZE - 1) >>> ENTITY_PAGE_SHIFT;
+        this.alivePages = new long[pageCount][];
+        this.alivePageOwned = new boolean[pageCount];
+        this.entityPages = new SimpleEntity[pageCount][];
     }
 
     /** {@inheritDoc} */
@@ -60,9 +88,10 @@ public class SimpleWorld implements World {
      */
     @Override
     public Entity createEntity(Object... components) {
-        int id = recycledEntityIds.isEmpty() ? nextEntityId.getAndIncrement() : recycledEntityIds.pop();
-        SimpleEntity entity = new SimpleEntity(id, this);
-        entityMap.put(id, entity);
+        ensureNotDestroyed();
+        int id = recycledEntityCount == 0 ? allocateEntityId() : popRecycledEntityId();
+        setAlive(id, true);
+        SimpleEntity entity = getEntityHandle(id);
 
         for (Object component : components) {
             if (component == null) continue;
@@ -74,7 +103,8 @@ public class SimpleWorld implements World {
     /** {@inheritDoc} */
     @Override
     public Entity getEntity(int id) {
-        return entityMap.get(id);
+        if (!isAlive(id)) return null;
+        return getEntityHandle(id);
     }
 
     /**
@@ -85,15 +115,205 @@ public class SimpleWorld implements World {
      */
     @Override
     public boolean deleteEntity(Entity entity) {
-        if (!entityMap.containsKey(entity.getId())) return false;
+        if (!isAlive(entity.getId())) return false;
 
         componentRegistry.removeComponents(entity.getId());
-        entityMap.remove(entity.getId());
-        recycledEntityIds.push(entity.getId());
+        for (PrimitiveComponentStore store : primitiveStores.values()) {
+            store.remove(entity.getId());
+        }
+        setAlive(entity.getId(), false);
+        pushRecycledEntityId(entity.getId());
         return true;
     }
 
 
+    // =================================================================================================================
+    // Primitive component methods
+    // =================================================================================================================
+
+    /** {@inheritDoc} */
+    @Override
+    public PrimitiveComponents getPrimitiveComponents(ComponentLayout layout) {
+        Validator.notNull(layout, () -> "Component layout");
+        ensureNotDestroyed();
+        return primitiveStores.computeIfAbsent(layout, l -> new PrimitiveComponentStore(l, maxEntities));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The columns of all primitive component stores are freed, so column views obtained from this world must not
+     * be used afterward. Forks own their own copies and are not affected.
+     * Registered worlds are destroyed on shutdown by {@link EcsSystem#destroyWorlds()}.
+     */
+    @Override
+    public void destroy() {
+        if (destroyed) return;
+        destroyed = true;
+        primitiveStores.values().forEach(PrimitiveComponentStore::release);
+        primitiveStores.clear();
+    }
+
+    private void ensureNotDestroyed() {
+        if (destroyed) {
+            throw new IllegalStateException("World '" + name + "' has been destroyed");
+        }
+    }
+
+
+    // =================================================================================================================
+    // World snapshot methods
+    // =================================================================================================================
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The fork keeps the name of this world but gets a new ID, and is not registered with
+     * {@link EcsSystem}. Forking only copies page tables, so its cost grows with the maximum
+     * entity count and the number of component types, not with the number of entities.
+     * <p>
+     * Primitive components are the exception: their off-heap columns are copied in bulk, see
+     * {@link #getPrimitiveComponents(ComponentLayout)}. The fork owns these copies, so it has to be
+     * {@link #destroy() destroyed} once it is no longer needed, e.g. when a rollback snapshot is dropped.
+     * Forks that are never destroyed are reported as leaks by {@link me.siebe.flux.util.memory.NativeTracker}.
+     */
+    @Override
+    public World fork() {
+        ensureNotDestroyed();
+        SimpleWorld fork = new SimpleWorld(name, Factory.counter.getAndIncrement(), maxEntities);
+        fork.shareStateWith(this);
+        primitiveStores.forEach((layout, store) -> fork.primitiveStores.put(layout, store.copy()));
+        return fork;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The snapshot must be a SimpleWorld with the same maximum entity count as this world.
+     * Restoring shares the snapshot's pages copy-on-write, just like {@link #fork()}, so the
+     * snapshot stays untouched and can be restored from again.
+     * <p>
+     * Primitive component data is copied into the existing stores of this world, so {@link PrimitiveComponents}
+     * obtained from this world stay usable after restoring.
+     *
+     * @throws IllegalArgumentException if the snapshot is not a compatible SimpleWorld
+     */
+    @Override
+    public void restore(World snapshot) {
+        Validator.notNull(snapshot, () -> "Snapshot");
+        if (!(snapshot instanceof SimpleWorld source)) {
+            throw new IllegalArgumentException("Cannot restore from world of type " + snapshot.getClass().getName());
+        }
+        if (source.maxEntities != maxEntities) {
+            throw new IllegalArgumentException("Cannot restore from world with max entities " + source.maxEntities + " into world with max entities " + maxEntities);
+        }
+        if (source == this) return;
+        ensureNotDestroyed();
+        source.ensureNotDestroyed();
+        shareStateWith(source);
+
+        for (Map.Entry<ComponentLayout, PrimitiveComponentStore> entry : primitiveStores.entrySet()) {
+            if (!source.primitiveStores.containsKey(entry.getKey())) {
+                entry.getValue().clear();
+            }
+        }
+        source.primitiveStores.forEach((layout, sourceStore) -> {
+            PrimitiveComponentStore store = primitiveStores.get(layout);
+            if (store == null) {
+                primitiveStores.put(layout, sourceStore.copy());
+            } else {
+                store.copyFrom(sourceStore);
+            }
+        });
+    }
+
+    /**
+     * Replaces the entity and component state of this world with a copy-on-write view of the
+     * given world's state. Pages are marked as shared in both worlds.
+     *
+     * @param source the world to share state with
+     */
+    private void shareStateWith(SimpleWorld source) {
+        componentRegistry = source.componentRegistry.fork();
+
+        alivePages = source.alivePages.clone();
+        alivePageOwned = new boolean[alivePages.length];
+        Arrays.fill(source.alivePageOwned, false);
+
+        nextEntityId = source.nextEntityId;
+        recycledEntityIds = source.recycledEntityIds;
+        recycledEntityCount = source.recycledEntityCount;
+        recycledEntityIdsShared = true;
+        source.recycledEntityIdsShared = true;
+    }
+
+
+    // =================================================================================================================
+    // Entity bookkeeping
+    // =================================================================================================================
+
+    private int allocateEntityId() {
+        if (nextEntityId >= maxEntities) {
+            throw new IllegalStateException("World '" + name + "' has reached its maximum of " + maxEntities + " entities");
+        }
+        return nextEntityId++;
+    }
+
+    private int popRecycledEntityId() {
+        // Popping only moves this world's own count, so a shared array does not need to be copied
+        return recycledEntityIds[--recycledEntityCount];
+    }
+
+    private void pushRecycledEntityId(int id) {
+        if (recycledEntityCount == recycledEntityIds.length) {
+            recycledEntityIds = Arrays.copyOf(recycledEntityIds, recycledEntityIds.length * 2);
+            recycledEntityIdsShared = false;
+        } else if (recycledEntityIdsShared) {
+            recycledEntityIds = recycledEntityIds.clone();
+            recycledEntityIdsShared = false;
+        }
+        recycledEntityIds[recycledEntityCount++] = id;
+    }
+
+    private boolean isAlive(int id) {
+        if (id < 0 || id >= maxEntities) return false;
+        long[] page = alivePages[id >>> ENTITY_PAGE_SHIFT];
+        if (page == null) return false;
+        int bit = id & ENTITY_PAGE_MASK;
+        return (page[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private void setAlive(int id, boolean alive) {
+        int pageIndex = id >>> ENTITY_PAGE_SHIFT;
+        long[] page = alivePages[pageIndex];
+        if (!alivePageOwned[pageIndex]) {
+            page = page == null ? new long[ENTITY_PAGE_SIZE >>> 6] : page.clone();
+            alivePages[pageIndex] = page;
+            alivePageOwned[pageIndex] = true;
+        }
+        int bit = id & ENTITY_PAGE_MASK;
+        if (alive) {
+            page[bit >>> 6] |= 1L << bit;
+        } else {
+            page[bit >>> 6] &= ~(1L << bit);
+        }
+    }
+
+    private SimpleEntity getEntityHandle(int id) {
+        SimpleEntity[] page = entityPages[id >>> ENTITY_PAGE_SHIFT];
+        if (page == null) {
+            page = new SimpleEntity[ENTITY_PAGE_SIZE];
+            entityPages[id >>> ENTITY_PAGE_SHIFT] = page;
+        }
+        SimpleEntity entity = page[id & ENTITY_PAGE_MASK];
+        if (entity == null) {
+            entity = new SimpleEntity(id, this);
+            page[id & ENTITY_PAGE_MASK] = entity;
+        }
+        return entity;
+    }
+
+
     // =================================================================================================================
     // Entity searching methods
     // =================================================================================================================
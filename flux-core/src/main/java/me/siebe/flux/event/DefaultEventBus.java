@@ -1,50 +1,131 @@
 package me.siebe.flux.event;
 
 import me.siebe.flux.api.event.*;
+import me.siebe.flux.api.event.metrics.EventMetrics;
 import me.siebe.flux.api.event.traits.Cancellable;
+import me.siebe.flux.api.event.traits.Coalescing;
+import me.siebe.flux.api.event.traits.Keyed;
 import me.siebe.flux.api.event.traits.Pooled;
 import me.siebe.flux.api.event.traits.Queued;
 import me.siebe.flux.util.logging.Logger;
 import me.siebe.flux.util.logging.LoggerFactory;
 import me.siebe.flux.util.logging.config.LoggingCategories;
 
-import java.util.ConcurrentModificationException;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Queue;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static me.siebe.flux.util.exceptions.Validator.notNull;
 
 /**
  * Default implementation of {@link EventBus}.
  * <p>
- * Dispatches events to listeners registered via {@link #getListenerRegistry()}. Events implementing
- * {@link Queued} are enqueued until {@link #flush()} is called; others are delivered immediately.
- * Pooled events are acquired from and released to {@link #getEventPoolRegistry()}. For
- * {@link Cancellable} events, delivery stops once a listener cancels the event.
+ * Dispatches events to listeners registered via {@link #getListenerRegistry()} for the event's class or any of its
+ * supertypes, in order of descending priority. Events implementing {@link Queued} are enqueued until {@link #flush()}
+ * is called; others are delivered immediately. Pooled events are acquired from and released to
+ * {@link #getEventPoolRegistry()}. For {@link Cancellable} events, once a listener cancels the event only the
+ * remaining listeners registered to receive cancelled events are invoked.
+ * <p>
+ * Queued events are stored in a bounded lock-free queue, so they can be posted from any thread (e.g. an asset loading
+ * thread). {@link #flush()} must only be called from a single thread, normally the main thread. When the queue is full,
+ * further queued events are dropped and counted in {@link #getDroppedEventCount()}. Before a flush delivers the queued
+ * events, {@link Coalescing} events are coalesced so that only one event per class and key is delivered.
+ * <p>
+ * Listeners registered with an asynchronous {@link DeliveryMode} are handed the event after all synchronous listeners
+ * ran, and are invoked on the asynchronous executor, by default one virtual thread per delivery batch. Each listener
+ * has its own lane, so it receives its events one at a time and in order. Pooled events are released once the last
+ * asynchronous listener is done with them.
+ * <p>
+ * {@link EventChannel EventChannels} created with {@link #createChannel(Class, Supplier, int)} are lock-free ring
+ * buffers that are processed at the end of every flush.
+ * <p>
+ * The {@link #getScheduler() scheduler} keeps scheduled events in timing wheels and posts them to this bus when it is
+ * advanced.
+ * <p>
+ * When {@link #getMetrics() metrics} are enabled, posts, queue depths and listener durations are recorded. While they
+ * are disabled, the only cost is reading a flag per post and dispatch.
  */
 public class DefaultEventBus implements EventBus {
     private static final Logger logger = LoggerFactory.getLogger(DefaultEventBus.class, LoggingCategories.EVENT);
 
-    private final EventListenerRegistry listenerRegistry;
-    private final Queue<Event> eventQueue;
+    /**
+     * The default capacity of the queue for {@link Queued} events.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+    private final DefaultEventListenerRegistry listenerRegistry;
+    private final MpscEventQueue eventQueue;
     private final EventPoolRegistry poolRegistry;
+    private final DefaultEventMetrics metrics;
+    private final DefaultEventScheduler scheduler;
+    private final EventCoalescer coalescer = new EventCoalescer();
+    private final Executor asyncExecutor;
+    /** Number of {@link DeliveryMode#ASYNC_FRAME} deliveries that have not finished yet. */
+    private final AtomicInteger pendingFrameDeliveries = new AtomicInteger();
+    private final Object frameDeliveriesLock = new Object();
+    private final Map<Class<?>, RingBufferEventChannel<?>> channels = new ConcurrentHashMap<>();
+    /** Snapshot of all channels, processed on every flush. */
+    private volatile RingBufferEventChannel<?>[] channelArray = new RingBufferEventChannel<?>[0];
+    /** The thread that last flushed, which processes the channels and so must not wait on a full one. */
+    private volatile Thread flushThread;
+    /** Reused by {@link #flush()} to hold the batch of queued events being delivered. */
+    private Event[] flushBuffer;
 
     /**
      * Creates a new event bus with a default listener registry, event queue, and pool registry.
      */
     public DefaultEventBus() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates a new event bus with a default listener registry and pool registry, and an event queue that can hold at
+     * least the given number of queued events.
+     *
+     * @param queueCapacity the minimum capacity of the queue, rounded up to the next power of two
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public DefaultEventBus(int queueCapacity) {
+        this(queueCapacity, Thread::startVirtualThread);
+    }
+
+    /**
+     * Creates a new event bus with a default listener registry and pool registry, an event queue that can hold at
+     * least the given number of queued events, and the given executor for asynchronous listeners.
+     *
+     * @param queueCapacity the minimum capacity of the queue, rounded up to the next power of two
+     * @param asyncExecutor the executor to invoke asynchronous listeners on
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public DefaultEventBus(int queueCapacity, Executor asyncExecutor) {
+        notNull(asyncExecutor, () -> "Async executor");
+        this.asyncExecutor = asyncExecutor;
         listenerRegistry = new DefaultEventListenerRegistry();
-        eventQueue = new LinkedList<>();
-        poolRegistry = new DefaultEventPoolRegistry();
+        eventQueue = new MpscEventQueue(queueCapacity);
+        DefaultEventPoolRegistry pools = new DefaultEventPoolRegistry();
+        poolRegistry = pools;
+        metrics = new DefaultEventMetrics(pools);
+        scheduler = new DefaultEventScheduler(this);
     }
 
     @Override
     public <E extends Event> void post(E event) {
         if (event == null) return;
+        if (metrics.enabled) metrics.recordPost(event.getClass());
 
         if (event instanceof Queued) {
-            logger.trace("Queued event {}", event);
-            eventQueue.offer(event);
+            if (eventQueue.offer(event)) {
+                if (logger.isTraceEnabled()) logger.trace("Queued event {}", event);
+            } else {
+                logger.warn("Event queue is full (capacity {}), dropping event {}", eventQueue.capacity(), event);
+                if (event instanceof Pooled) {
+                    poolRegistry.release(event);
+                }
+            }
         } else {
             fire(event);
         }
@@ -61,27 +142,76 @@ public class DefaultEventBus implements EventBus {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Never throws for a missing or failing pool: the failure is logged, and a new event is allocated through the
+     * no-argument constructor of the event type instead, so callbacks that post input events keep working.
+     *
+     * @throws IllegalStateException if the pool fails and the event type has no accessible no-argument constructor
+     */
+    @Override
+    public <E extends Event & Pooled> E acquire(Class<E> eventType) {
+        EventPool<E> pool = poolRegistry.get(eventType);
+        if (pool == null) {
+            logger.error("No event pool registered for event type {}, allocating a new event", eventType.getName());
+            return allocate(eventType);
+        }
+        try {
+            E event = pool.acquire();
+            if (event != null) return event;
+            logger.error("Event pool for event type {} returned no event, allocating a new event", eventType.getName());
+        } catch (Exception e) {
+            logger.error("Failed to acquire pooled event for event type {}, allocating a new event", eventType.getName(), e);
+        }
+        return allocate(eventType);
+    }
+
+    private static <E extends Event> E allocate(Class<E> eventType) {
+        try {
+            E event = eventType.getDeclaredConstructor().newInstance();
+            ((Pooled) event).reset();
+            return event;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot allocate event of type " + eventType.getName()
+                    + " without its pool, it has no accessible no-argument constructor", e);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private <E extends Event> void fire(E event) {
         if (event == null) return;
-        Class<E> eventType = (Class<E>) event.getClass();
+        Class<? extends Event> eventType = event.getClass();
+        boolean recording = metrics.enabled;
 
         try {
-            List<EventListener<E>> listeners = listenerRegistry.get(eventType);
-            if (listeners == null || listeners.isEmpty()) return;
-
-            for (EventListener<E> listener : listeners) {
-                if (event instanceof Cancellable cancellable && cancellable.isCancelled()) break;
+            DefaultEventListenerRegistry.Dispatch dispatch = event instanceof Keyed<?> keyed
+                    ? listenerRegistry.getDispatch(eventType, keyed.getDispatchKey())
+                    : listenerRegistry.getDispatch(eventType);
+            EventListener<?>[] listeners = dispatch.listeners();
+            boolean[] receiveCancelled = dispatch.receiveCancelled();
+            ListenerLane[] lanes = dispatch.lanes();
+            Cancellable cancellable = event instanceof Cancellable c ? c : null;
+            for (int i = 0; i < listeners.length; i++) {
+                if (lanes != null && lanes[i] != null) continue;
+                if (cancellable != null && cancellable.isCancelled() && !receiveCancelled[i]) continue;
 
                 try {
-                    listener.onEvent(event);
+                    if (recording) {
+                        long start = System.nanoTime();
+                        ((EventListener<E>) listeners[i]).onEvent(event);
+                        metrics.recordListener(eventType, listeners[i], System.nanoTime() - start);
+                    } else {
+                        ((EventListener<E>) listeners[i]).onEvent(event);
+                    }
                 } catch (Exception e) {
-                    logger.error("Exception in listener {} while handling event {}", listener, eventType.getName(), e);
+                    logger.error("Exception in listener {} while handling event {}", listeners[i], eventType.getName(), e);
                 }
             }
-        } catch (ConcurrentModificationException e) {
-            logger.error("Concurrent modification error occurred while firing event {} to the listeners. \n" +
-                    "This is likely due to an event listener registering/unregistering a listener", eventType.getName(), e);
+
+            if (lanes != null && fireAsync(event, dispatch, cancellable != null && cancellable.isCancelled())) {
+                return; // Released by the last asynchronous delivery
+            }
         } catch (Exception e) {
             logger.error("Exception while handling event {}", eventType.getName(), e);
         }
@@ -91,17 +221,176 @@ public class DefaultEventBus implements EventBus {
         }
     }
 
+    /**
+     * Hands the event to all asynchronous listeners of the dispatch.
+     *
+     * @return whether any listener received the event, in which case the last one to finish releases it
+     */
+    private <E extends Event> boolean fireAsync(E event, DefaultEventListenerRegistry.Dispatch dispatch, boolean cancelled) {
+        EventListener<?>[] listeners = dispatch.listeners();
+        boolean[] receiveCancelled = dispatch.receiveCancelled();
+        ListenerLane[] lanes = dispatch.lanes();
+        boolean[] frameBound = dispatch.frameBound();
+
+        int deliveries = 0;
+        for (int i = 0; i < listeners.length; i++) {
+            if (lanes[i] != null && (!cancelled || receiveCancelled[i])) deliveries++;
+        }
+        if (deliveries == 0) return false;
+
+        // Counted down by every delivery, so it must be complete before the first one is submitted
+        AtomicInteger remaining = new AtomicInteger(deliveries);
+        for (int i = 0; i < listeners.length; i++) {
+            if (lanes[i] == null || (cancelled && !receiveCancelled[i])) continue;
+
+            EventListener<?> listener = listeners[i];
+            boolean frame = frameBound[i];
+            if (frame) pendingFrameDeliveries.incrementAndGet();
+            lanes[i].submit(() -> deliver(event, listener, remaining, frame), asyncExecutor);
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends Event> void deliver(E event, EventListener<?> listener, AtomicInteger remaining, boolean frame) {
+        try {
+            if (metrics.enabled) {
+                long start = System.nanoTime();
+                ((EventListener<E>) listener).onEvent(event);
+                metrics.recordListener(event.getClass(), listener, System.nanoTime() - start);
+            } else {
+                ((EventListener<E>) listener).onEvent(event);
+            }
+        } catch (Exception e) {
+            logger.error("Exception in asynchronous listener {} while handling event {}", listener, event.getClass().getName(), e);
+        }
+
+        if (remaining.decrementAndGet() == 0 && event instanceof Pooled) {
+            poolRegistry.release(event);
+        }
+        if (frame && pendingFrameDeliveries.decrementAndGet() == 0) {
+            synchronized (frameDeliveriesLock) {
+                frameDeliveriesLock.notifyAll();
+            }
+        }
+    }
+
     @Override
     public void flush() {
+        Thread current = Thread.currentThread();
+        if (current != flushThread) {
+            // Before listeners run, so they cannot wait on a full channel that only this thread drains
+            flushThread = current;
+            for (RingBufferEventChannel<?> channel : channelArray) {
+                channel.setConsumerThread(current);
+            }
+        }
+        if (metrics.enabled) metrics.recordFlush(eventQueue.size());
+        flushQueue();
+
+        for (RingBufferEventChannel<?> channel : channelArray) {
+            int processed = channel.process();
+            if (processed > 0 && logger.isTraceEnabled()) {
+                logger.trace("Processed {} entries of channel {}", processed, channel.getEntryType().getName());
+            }
+        }
+    }
+
+    private void flushQueue() {
         if (eventQueue.isEmpty()) return;
 
-        logger.trace("Flushing {} events in queue", eventQueue.size());
         int batchSize = eventQueue.size();
+        if (logger.isTraceEnabled()) logger.trace("Flushing {} events in queue", batchSize);
 
-        for (int i = 0; i < batchSize; i++) {
+        // Take the buffer out of the field, so a listener that flushes again gets its own buffer
+        Event[] batch = flushBuffer;
+        flushBuffer = null;
+        if (batch == null || batch.length < batchSize) {
+            batch = new Event[Math.max(batchSize, batch == null ? 16 : batch.length * 2)];
+        }
+
+        // Only deliver the events present at the start, events queued by listeners are delivered on the next flush
+        int count = 0;
+        boolean hasCoalescing = false;
+        while (count < batchSize) {
             Event event = eventQueue.poll();
-            fire(event);
+            if (event == null) break; // Claimed by a producer that has not published it yet
+            hasCoalescing |= event instanceof Coalescing;
+            batch[count++] = event;
+        }
+
+        if (hasCoalescing) {
+            int discarded = coalescer.coalesce(batch, count, poolRegistry);
+            if (logger.isTraceEnabled()) logger.trace("Coalesced {} queued events", discarded);
+        }
+
+        for (int i = 0; i < count; i++) {
+            Event event = batch[i];
+            batch[i] = null;
+            if (event != null) fire(event);
         }
+        flushBuffer = batch;
+    }
+
+    @Override
+    public void awaitFrameDeliveries() {
+        if (pendingFrameDeliveries.get() == 0) return;
+
+        synchronized (frameDeliveriesLock) {
+            while (pendingFrameDeliveries.get() > 0) {
+                try {
+                    frameDeliveriesLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    logger.warn("Interrupted while waiting for {} asynchronous deliveries", pendingFrameDeliveries.get());
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public <E> EventChannel<E> createChannel(Class<E> entryType, Supplier<E> factory, int capacity) {
+        notNull(entryType, () -> "Entry type");
+        synchronized (channels) {
+            if (channels.containsKey(entryType)) {
+                throw new IllegalStateException("A channel already exists for entry type " + entryType.getName());
+            }
+            RingBufferEventChannel<E> channel = new RingBufferEventChannel<>(entryType, factory, capacity);
+            channel.setConsumerThread(flushThread);
+            channels.put(entryType, channel);
+            RingBufferEventChannel<?>[] updated = Arrays.copyOf(channelArray, channelArray.length + 1);
+            updated[updated.length - 1] = channel;
+            channelArray = updated;
+            logger.debug("Created channel for entry type {} with capacity {}", entryType.getName(), channel.getCapacity());
+            return channel;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> EventChannel<E> getChannel(Class<E> entryType) {
+        return (EventChannel<E>) channels.get(entryType);
+    }
+
+    @Override
+    public int getQueuedEventCount() {
+        return eventQueue.size();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return eventQueue.getDroppedCount();
+    }
+
+    @Override
+    public EventScheduler getScheduler() {
+        return scheduler;
+    }
+
+    @Override
+    public EventMetrics getMetrics() {
+        return metrics;
     }
 
     @Override
@@ -1,62 +1,368 @@
 package me.siebe.flux.event;
 
+import me.siebe.flux.api.event.DeliveryMode;
 import me.siebe.flux.api.event.Event;
 import me.siebe.flux.api.event.EventListener;
 import me.siebe.flux.api.event.EventListenerRegistry;
+import me.siebe.flux.api.event.traits.Asynchronous;
+import me.siebe.flux.api.event.traits.Keyed;
 import me.siebe.flux.util.logging.Logger;
 import me.siebe.flux.util.logging.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static me.siebe.flux.util.exceptions.Validator.notNull;
 
 /**
  * Default implementation of {@link EventListenerRegistry} using a concurrent map keyed by event
- * type and copy-on-write lists for thread-safe registration and iteration.
+ * type and immutable, priority-sorted arrays of listener registrations.
+ * <p>
+ * Registration changes are rare compared to dispatches, so every change replaces the array of the affected type with
+ * a new sorted copy. Readers never lock and always see a consistent snapshot.
+ * <p>
+ * Listeners registered for a type also receive events of all its subtypes, e.g. a listener for
+ * {@link me.siebe.flux.api.input.devices.keyboard.event.KeyEvent KeyEvent} receives both key press and key release
+ * events. For dispatch, each concrete event class is resolved once to a flattened {@link Dispatch} containing the
+ * listeners of the class itself and those of its supertypes and interfaces, sorted by priority. These dispatch tables
+ * are cached per class and invalidated whenever a listener is registered or unregistered.
+ * <p>
+ * Every listener with an asynchronous registration gets one {@link ListenerLane}, shared by all its registrations, so
+ * its deliveries stay ordered even across event types.
+ * <p>
+ * Listeners registered for a key of a {@link Keyed} event type are kept in an array indexed by key ordinal. Dispatches
+ * of keyed events are cached per class and key ordinal, so events of a key only reach the listeners of that key.
  */
 public class DefaultEventListenerRegistry implements EventListenerRegistry {
     private static final Logger logger = LoggerFactory.getLogger(DefaultEventListenerRegistry.class);
+    private static final Registration[] NO_REGISTRATIONS = new Registration[0];
+    private static final Comparator<Registration> BY_PRIORITY = Comparator.comparingInt(Registration::priority).reversed();
+    private static final Comparator<Registration> BY_PRIORITY_AND_ORDER = BY_PRIORITY.thenComparingInt(Registration::order);
 
-    private final Map<Class<? extends Event>, List<? extends EventListener<? extends Event>>> listenersMap = new ConcurrentHashMap<>();
+    private final Map<Class<? extends Event>, Registration[]> listenersMap = new ConcurrentHashMap<>();
+    /** Registrations for a single key, indexed by event type and then by key ordinal. Replaced on every change. */
+    private final Map<Class<? extends Event>, Registration[][]> keyedListenersMap = new ConcurrentHashMap<>();
+    /** Number of registrations so far, orders keyed and unkeyed registrations of equal priority. Guarded by listenersMap. */
+    private int registrationCount;
+    /** Lane of every listener with asynchronous registrations, shared by all its registrations. Guarded by listenersMap. */
+    private final Map<EventListener<?>, ListenerLane> lanes = new IdentityHashMap<>();
+
+    /** Incremented on every registration change, dispatch tables built for an older version are stale. */
+    private final AtomicInteger version = new AtomicInteger();
+    private final ClassValue<DispatchTable> dispatchTables = new ClassValue<>() {
+        @Override
+        protected DispatchTable computeValue(Class<?> type) {
+            return new DispatchTable();
+        }
+    };
+
+    @Override
+    public <E extends Event> void register(Class<E> eventType, EventListener<E> listener, int priority, boolean receiveCancelled,
+                                           DeliveryMode deliveryMode) {
+        notNull(eventType, () -> "Event type");
+        notNull(listener, () -> "Event Listener");
+        notNull(deliveryMode, () -> "Delivery mode");
+        logger.debug("Registering {} event listener {} for event {} with priority {}", deliveryMode, listener, eventType.getName(), priority);
+
+        synchronized (listenersMap) {
+            Registration registration = new Registration(listener, priority, receiveCancelled, deliveryMode, registrationCount++);
+            listenersMap.put(eventType, insert(listenersMap.getOrDefault(eventType, NO_REGISTRATIONS), registration));
+            version.incrementAndGet();
+        }
+    }
 
     @Override
-    public <E extends Event> void register(Class<E> eventType, EventListener<E> listener) {
+    public <E extends Event & Keyed<K>, K extends Enum<K>> void register(Class<E> eventType, K key, EventListener<E> listener, int priority) {
         notNull(eventType, () -> "Event type");
+        notNull(key, () -> "Key");
         notNull(listener, () -> "Event Listener");
-        logger.debug("Registering event listener {} for event {}", listener, eventType.getName());
+        logger.debug("Registering event listener {} for event {} with key {} and priority {}", listener, eventType.getName(), key, priority);
 
-        List<EventListener<E>> listeners = get(eventType);
-        if (listeners == null) {
-            listeners = new CopyOnWriteArrayList<>();
-            listenersMap.put(eventType, listeners);
+        synchronized (listenersMap) {
+            Registration[][] current = keyedListenersMap.get(eventType);
+            Registration[][] updated = current != null
+                    ? current.clone()
+                    : new Registration[key.getDeclaringClass().getEnumConstants().length][];
+            Registration[] registrations = updated[key.ordinal()];
+            Registration registration = new Registration(listener, priority, false, DeliveryMode.SYNC, registrationCount++);
+            updated[key.ordinal()] = insert(registrations != null ? registrations : NO_REGISTRATIONS, registration);
+            keyedListenersMap.put(eventType, updated);
+            version.incrementAndGet();
         }
-        listeners.add(listener);
     }
 
     @Override
     public <E extends Event> void unregister(Class<E> eventType, EventListener<E> listener) {
         logger.debug("Unregistering event listener {} for event {}", listener, eventType.getName());
 
-        var listeners = listenersMap.get(eventType);
-        if (listeners != null) {
-            listeners.remove(listener);
-            if (listeners.isEmpty()) {
+        synchronized (listenersMap) {
+            Registration[] current = listenersMap.get(eventType);
+            if (current == null) return;
+
+            Registration[] updated = remove(current, listener);
+            if (updated == current) return;
+            if (updated.length == 0) {
                 listenersMap.remove(eventType);
+            } else {
+                listenersMap.put(eventType, updated);
+            }
+            if (!isRegistered(listener)) {
+                lanes.remove(listener);
             }
+            version.incrementAndGet();
         }
     }
 
+    @Override
+    public <E extends Event & Keyed<K>, K extends Enum<K>> void unregister(Class<E> eventType, K key, EventListener<E> listener) {
+        logger.debug("Unregistering event listener {} for event {} with key {}", listener, eventType.getName(), key);
+
+        synchronized (listenersMap) {
+            Registration[][] current = keyedListenersMap.get(eventType);
+            if (current == null || current[key.ordinal()] == null) return;
+
+            Registration[] registrations = remove(current[key.ordinal()], listener);
+            if (registrations == current[key.ordinal()]) return;
+            Registration[][] updated = current.clone();
+            updated[key.ordinal()] = registrations.length == 0 ? null : registrations;
+            if (Arrays.stream(updated).allMatch(Objects::isNull)) {
+                keyedListenersMap.remove(eventType);
+            } else {
+                keyedListenersMap.put(eventType, updated);
+            }
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns a copy of the array with the registration inserted after all registrations with the same or a higher
+     * priority, which keeps registration order for ties.
+     */
+    private static Registration[] insert(Registration[] current, Registration registration) {
+        int index = current.length;
+        while (index > 0 && current[index - 1].priority() < registration.priority()) {
+            index--;
+        }
+
+        Registration[] updated = new Registration[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, index);
+        updated[index] = registration;
+        System.arraycopy(current, index, updated, index + 1, current.length - index);
+        return updated;
+    }
+
+    /**
+     * Returns a copy of the array without the first registration of the listener, or the array itself if the listener
+     * is not registered.
+     */
+    private static Registration[] remove(Registration[] current, EventListener<?> listener) {
+        for (int i = 0; i < current.length; i++) {
+            if (!current[i].listener().equals(listener)) continue;
+
+            Registration[] updated = new Registration[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, i);
+            System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+            return updated;
+        }
+        return current;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <E extends Event> List<EventListener<E>> get(Class<E> eventType) {
-        var listenerList = listenersMap.get(eventType);
-        if (listenerList != null) {
-            return (List<EventListener<E>>) listenerList;
-        } else {
-            return null;
+        Registration[] registrations = listenersMap.get(eventType);
+        if (registrations == null) return null;
+
+        List<EventListener<E>> listeners = new ArrayList<>(registrations.length);
+        for (Registration registration : registrations) {
+            listeners.add((EventListener<E>) registration.listener());
+        }
+        return Collections.unmodifiableList(listeners);
+    }
+
+    /**
+     * Gets all listeners that should receive an event of the given concrete class, including the listeners of its
+     * supertypes and interfaces, sorted by priority.
+     * <p>
+     * The returned dispatch is shared and its arrays must not be modified. It is a snapshot: listeners registered or
+     * unregistered afterward are reflected by the next call.
+     *
+     * @param eventType the concrete event class
+     * @return the dispatch for the class, with empty arrays if there are no listeners
+     */
+    Dispatch getDispatch(Class<?> eventType) {
+        DispatchTable table = dispatchTables.get(eventType);
+        int currentVersion = version.get();
+        Dispatch dispatch = table.dispatch;
+        if (dispatch == null || dispatch.version() != currentVersion) {
+            dispatch = buildDispatch(eventType, currentVersion, -1);
+            table.dispatch = dispatch;
         }
+        return dispatch;
+    }
+
+    /**
+     * Gets all listeners that should receive a {@link Keyed} event of the given concrete class and key: the listeners
+     * registered without a key, and those registered for the key, including the listeners of supertypes.
+     *
+     * @param eventType the concrete event class
+     * @param key       the key of the event, or {@code null} to only get the listeners registered without a key
+     * @return the dispatch for the class and key, with empty arrays if there are no listeners
+     */
+    Dispatch getDispatch(Class<?> eventType, Enum<?> key) {
+        if (key == null || keyedListenersMap.isEmpty()) return getDispatch(eventType);
+
+        DispatchTable table = dispatchTables.get(eventType);
+        int currentVersion = version.get();
+        Dispatch[] keyed = table.keyed;
+        if (keyed == null) {
+            keyed = new Dispatch[key.getDeclaringClass().getEnumConstants().length];
+            table.keyed = keyed;
+        }
+        // Dispatches only have final fields, so reading one from a plain array element is safe
+        Dispatch dispatch = keyed[key.ordinal()];
+        if (dispatch == null || dispatch.version() != currentVersion) {
+            dispatch = buildDispatch(eventType, currentVersion, key.ordinal());
+            keyed[key.ordinal()] = dispatch;
+        }
+        return dispatch;
+    }
+
+    private boolean isRegistered(EventListener<?> listener) {
+        for (Registration[] registrations : listenersMap.values()) {
+            for (Registration registration : registrations) {
+                if (registration.listener() == listener) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the registrations of exactly the given type, merged with its registrations for the key ordinal if it is not
+     * negative.
+     */
+    private Registration[] getRegistrations(Class<?> type, int keyOrdinal) {
+        Registration[] registrations = listenersMap.get(type);
+        Registration[][] keyed = keyOrdinal >= 0 ? keyedListenersMap.get(type) : null;
+        if (keyed == null || keyOrdinal >= keyed.length || keyed[keyOrdinal] == null) return registrations;
+        if (registrations == null) return keyed[keyOrdinal];
+
+        Registration[] merged = Arrays.copyOf(registrations, registrations.length + keyed[keyOrdinal].length);
+        System.arraycopy(keyed[keyOrdinal], 0, merged, registrations.length, keyed[keyOrdinal].length);
+        Arrays.sort(merged, BY_PRIORITY_AND_ORDER);
+        return merged;
+    }
+
+    private Dispatch buildDispatch(Class<?> eventType, int version, int keyOrdinal) {
+        List<Registration> result = new ArrayList<>();
+        Set<EventListener<?>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Class<?> type : getTypeHierarchy(eventType)) {
+            Registration[] registrations = getRegistrations(type, keyOrdinal);
+            if (registrations == null) continue;
+            int typeStart = result.size();
+            for (Registration registration : registrations) {
+                // A listener registered for several types of the hierarchy is only invoked once
+                if (!seen.contains(registration.listener())) {
+                    result.add(registration);
+                }
+            }
+            for (int i = typeStart; i < result.size(); i++) {
+                seen.add(result.get(i).listener());
+            }
+        }
+        // Stable sort, so equal priorities keep the subtype before supertype and registration order
+        result.sort(BY_PRIORITY);
+
+        boolean asynchronousType = Asynchronous.class.isAssignableFrom(eventType);
+        EventListener<?>[] listeners = new EventListener<?>[result.size()];
+        boolean[] receiveCancelled = new boolean[result.size()];
+        ListenerLane[] listenerLanes = new ListenerLane[result.size()];
+        boolean[] frameBound = new boolean[result.size()];
+        boolean hasAsync = false;
+        for (int i = 0; i < result.size(); i++) {
+            Registration registration = result.get(i);
+            listeners[i] = registration.listener();
+            receiveCancelled[i] = registration.receiveCancelled();
+
+            DeliveryMode mode = registration.deliveryMode();
+            if (mode == DeliveryMode.SYNC && asynchronousType) {
+                mode = DeliveryMode.ASYNC_FRAME;
+            }
+            if (mode != DeliveryMode.SYNC) {
+                listenerLanes[i] = getLane(registration.listener());
+                frameBound[i] = mode == DeliveryMode.ASYNC_FRAME;
+                hasAsync = true;
+            }
+        }
+        return new Dispatch(version, listeners, receiveCancelled, hasAsync ? listenerLanes : null, frameBound);
+    }
+
+    private ListenerLane getLane(EventListener<?> listener) {
+        synchronized (listenersMap) {
+            return lanes.computeIfAbsent(listener, l -> new ListenerLane());
+        }
+    }
+
+    /**
+     * Gets the given class followed by all its supertypes and interfaces, breadth first, without duplicates.
+     */
+    private static List<Class<?>> getTypeHierarchy(Class<?> eventType) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        Set<Class<?>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(eventType);
+        while (!pending.isEmpty()) {
+            Class<?> type = pending.poll();
+            if (!visited.add(type)) continue;
+            hierarchy.add(type);
+            if (type.getSuperclass() != null && type.getSuperclass() != Object.class) {
+                pending.add(type.getSuperclass());
+            }
+            Collections.addAll(pending, type.getInterfaces());
+        }
+        return hierarchy;
+    }
+
+    /**
+     * A single listener registration for one event type.
+     */
+    private record Registration(EventListener<?> listener, int priority, boolean receiveCancelled,
+                                DeliveryMode deliveryMode, int order) {
+    }
+
+    /**
+     * Flattened, priority-sorted listeners of a single event class. {@code receiveCancelled[i]} tells whether
+     * {@code listeners[i]} is also invoked for cancelled events. Asynchronous listeners have a lane in {@code lanes[i]},
+     * and {@code frameBound[i]} tells whether the frame end waits for their delivery.
+     *
+     * @param version          the registry version the dispatch was built for
+     * @param listeners        the listeners in invocation order
+     * @param receiveCancelled the receive cancelled flag of each listener
+     * @param lanes            the lane of each asynchronous listener, {@code null} for synchronous listeners, or
+     *                         {@code null} altogether if all listeners are synchronous
+     * @param frameBound       whether each listener is delivered with {@link DeliveryMode#ASYNC_FRAME}
+     */
+    record Dispatch(int version, EventListener<?>[] listeners, boolean[] receiveCancelled, ListenerLane[] lanes,
+                    boolean[] frameBound) {
+    }
+
+    /**
+     * Cached dispatch of a single event class.
+     */
+    private static final class DispatchTable {
+        private volatile Dispatch dispatch;
+        /** Dispatches of {@link Keyed} events, indexed by key ordinal. */
+        private volatile Dispatch[] keyed;
     }
 }
@@ -0,0 +1,220 @@
+package me.siebe.flux.event;
+
+import me.siebe.flux.api.event.Event;
+import me.siebe.flux.api.event.EventListener;
+import me.siebe.flux.api.event.EventPool;
+import me.siebe.flux.api.event.metrics.EventMetrics;
+import me.siebe.flux.api.event.metrics.HistogramSnapshot;
+import me.siebe.flux.api.event.metrics.ListenerLatency;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default implementation of {@link EventMetrics}, recorded by {@link DefaultEventBus}.
+ * <p>
+ * While disabled, the bus only reads the {@link #enabled} flag once per dispatch. While enabled, statistics are kept
+ * per concrete event class, and per listener within that class, in concurrent maps so that events dispatched on any
+ * thread can be recorded.
+ * <p>
+ * Pool allocation rates are sampled by the flushing thread at most once per {@link #SAMPLE_INTERVAL_NANOS sample
+ * interval}, by comparing the miss count of every pool with that of the previous sample.
+ */
+final class DefaultEventMetrics implements EventMetrics {
+    private static final Comparator<ListenerLatency> BY_TOTAL_TIME =
+            Comparator.comparingLong((ListenerLatency l) -> l.latency().getTotal()).reversed();
+
+    /** The minimum time between two samples of the pool allocation rates. */
+    static final long SAMPLE_INTERVAL_NANOS = 1_000_000_000L;
+    /** Weight of the latest window in the smoothed allocation rate. */
+    private static final double RATE_SMOOTHING = 0.5;
+
+    private final DefaultEventPoolRegistry poolRegistry;
+    /** Checked by the bus on every post and dispatch. */
+    volatile boolean enabled;
+
+    private final Map<Class<? extends Event>, TypeMetrics> types = new ConcurrentHashMap<>();
+    private volatile LogLinearHistogram flushQueueDepth = new LogLinearHistogram();
+    private final Map<Class<?>, AllocationSample> allocations = new ConcurrentHashMap<>();
+    /** Only accessed by the flushing thread. */
+    private long nextSampleNanos = System.nanoTime();
+
+    DefaultEventMetrics(DefaultEventPoolRegistry poolRegistry) {
+        this.poolRegistry = poolRegistry;
+    }
+
+    /**
+     * Records a posted event. Must only be called while enabled.
+     */
+    void recordPost(Class<? extends Event> eventType) {
+        getTypeMetrics(eventType).posted.increment();
+    }
+
+    /**
+     * Records the number of queued events at the start of a flush. Must only be called while enabled.
+     */
+    void recordFlush(int queueDepth) {
+        flushQueueDepth.record(queueDepth);
+        long now = System.nanoTime();
+        if (now - nextSampleNanos >= 0) {
+            samplePools(now);
+            nextSampleNanos = now + SAMPLE_INTERVAL_NANOS;
+        }
+    }
+
+    /**
+     * Samples the miss counts of all pools and updates their allocation rates with the window since the previous
+     * sample. The first sample of a pool only sets its baseline.
+     *
+     * @param now the current {@link System#nanoTime()}
+     */
+    void samplePools(long now) {
+        poolRegistry.getPools().forEach((type, pool) -> {
+            long misses = pool.getMissCount();
+            AllocationSample sample = allocations.get(type);
+            if (sample == null) {
+                allocations.put(type, new AllocationSample(now, misses));
+                return;
+            }
+            if (now == sample.nanos) return;
+
+            double window = (misses - sample.misses) * 1e9 / (now - sample.nanos);
+            sample.rate = sample.sampled ? sample.rate + (window - sample.rate) * RATE_SMOOTHING : window;
+            sample.sampled = true;
+            sample.nanos = now;
+            sample.misses = misses;
+        });
+    }
+
+    /**
+     * Records the duration of a listener invocation. Must only be called while enabled.
+     */
+    void recordListener(Class<? extends Event> eventType, EventListener<?> listener, long nanos) {
+        Map<EventListener<?>, LogLinearHistogram> listeners = getTypeMetrics(eventType).listeners;
+        LogLinearHistogram histogram = listeners.get(listener);
+        if (histogram == null) {
+            histogram = listeners.computeIfAbsent(listener, l -> new LogLinearHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    private TypeMetrics getTypeMetrics(Class<? extends Event> eventType) {
+        TypeMetrics metrics = types.get(eventType);
+        return metrics != null ? metrics : types.computeIfAbsent(eventType, t -> new TypeMetrics());
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        // Windows must not span the time recording was disabled
+        if (enabled && !this.enabled) allocations.clear();
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void reset() {
+        types.clear();
+        allocations.clear();
+        flushQueueDepth = new LogLinearHistogram();
+    }
+
+    @Override
+    public long getPostCount(Class<? extends Event> eventType) {
+        TypeMetrics metrics = types.get(eventType);
+        return metrics == null ? 0 : metrics.posted.sum();
+    }
+
+    @Override
+    public Map<Class<? extends Event>, Long> getPostCounts() {
+        Map<Class<? extends Event>, Long> counts = new HashMap<>();
+        types.forEach((type, metrics) -> {
+            long posted = metrics.posted.sum();
+            if (posted > 0) counts.put(type, posted);
+        });
+        return Collections.unmodifiableMap(counts);
+    }
+
+    @Override
+    public HistogramSnapshot getFlushQueueDepth() {
+        return flushQueueDepth.snapshot();
+    }
+
+    @Override
+    public HistogramSnapshot getListenerLatency(Class<? extends Event> eventType, EventListener<?> listener) {
+        TypeMetrics metrics = types.get(eventType);
+        if (metrics == null) return null;
+        LogLinearHistogram histogram = metrics.listeners.get(listener);
+        return histogram == null ? null : histogram.snapshot();
+    }
+
+    @Override
+    public List<ListenerLatency> getListenerLatencies() {
+        List<ListenerLatency> latencies = new ArrayList<>();
+        types.forEach((type, metrics) -> metrics.listeners.forEach(
+                (listener, histogram) -> latencies.add(new ListenerLatency(type, listener, histogram.snapshot()))));
+        latencies.sort(BY_TOTAL_TIME);
+        return Collections.unmodifiableList(latencies);
+    }
+
+    @Override
+    public long getPoolHitCount(Class<? extends Event> eventType) {
+        EventPool<?> pool = getPool(eventType);
+        return pool == null ? 0 : pool.getHitCount();
+    }
+
+    @Override
+    public long getPoolMissCount(Class<? extends Event> eventType) {
+        EventPool<?> pool = getPool(eventType);
+        return pool == null ? 0 : pool.getMissCount();
+    }
+
+    @Override
+    public long getPoolDiscardCount(Class<? extends Event> eventType) {
+        EventPool<?> pool = getPool(eventType);
+        return pool == null ? 0 : pool.getDiscardCount();
+    }
+
+    @Override
+    public double getPoolAllocationRate(Class<? extends Event> eventType) {
+        AllocationSample sample = allocations.get(eventType);
+        return sample == null ? 0 : sample.rate;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private EventPool<?> getPool(Class<? extends Event> eventType) {
+        return poolRegistry.get((Class) eventType);
+    }
+
+    /**
+     * Metrics of a single concrete event class.
+     */
+    private static final class TypeMetrics {
+        private final LongAdder posted = new LongAdder();
+        private final Map<EventListener<?>, LogLinearHistogram> listeners = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Allocation rate of a single pool, with the miss count and time of its previous sample.
+     */
+    private static final class AllocationSample {
+        private long nanos;
+        private long misses;
+        private boolean sampled;
+        private volatile double rate;
+
+        private AllocationSample(long nanos, long misses) {
+            this.nanos = nanos;
+            this.misses = misses;
+        }
+    }
+}
@@ -1,68 +1,251 @@
 package me.siebe.flux.event;
 
+import me.siebe.flux.api.event.AbstractEventPool;
 import me.siebe.flux.api.event.Event;
 import me.siebe.flux.api.event.EventPool;
+import me.siebe.flux.api.event.EventPoolConfig;
 import me.siebe.flux.api.event.traits.Pooled;
 
 import java.util.ArrayDeque;
-import java.util.Collections;
-import java.util.IdentityHashMap;
-import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
+import static me.siebe.flux.util.exceptions.Validator.notNull;
+
 /**
- * Default implementation of {@link EventPool} using an {@link ArrayDeque} for storage and
- * identity-based tracking to avoid duplicate releases. New instances are created via the supplied
- * factory when the pool is empty.
+ * Default implementation of {@link EventPool} that can be used from any thread.
+ * <p>
+ * Every platform thread acquires from and releases to its own magazine, a small FIFO buffer of events, without any
+ * locking. Only when its magazine runs empty or full does a thread exchange it for a full or empty one at the shared
+ * depot, so events released on one thread can be acquired on another. Virtual threads are usually short-lived, so
+ * they share a single magazine that is guarded by the depot lock instead.
+ * <p>
+ * The depot holds at most {@link EventPoolConfig#maxRetained()} events; releases beyond that are discarded and counted
+ * in {@link #getDiscardCount()}. Each thread keeps at most one magazine of events on top of that, which is left to the
+ * garbage collector when the thread terminates. Prewarmed events are created up front and put in the depot.
+ * <p>
+ * Duplicate releases are detected with the {@link Event#isInPool() in-pool flag} of the event itself, so acquiring and
+ * releasing never hash or allocate once the pool is warm. New instances are created via the supplied factory when the
+ * pool is empty. Every event is reset once when it is created and once on every release, so reused events are handed
+ * out without resetting them again.
  *
  * @param <E> the pooled event type
  */
-public final class DefaultEventPool<E extends Event & Pooled> implements EventPool<E> {
-    /** Stores released events available for reuse. */
-    private final ArrayDeque<E> pool = new ArrayDeque<>();
-
-    /**
-     * Tracks which events are currently in the pool for O(1) duplicate-release checks
-     * (instead of O(N) with {@link ArrayDeque#contains(Object)}).
-     */
-    private final Set<E> inPool = Collections.newSetFromMap(new IdentityHashMap<>());
+public final class DefaultEventPool<E extends Event & Pooled> extends AbstractEventPool<E> {
+    /** The maximum number of events in a single magazine. */
+    static final int MAGAZINE_SIZE = 32;
 
     /** Creates new event instances when the pool is empty. */
     private final Supplier<E> factory;
+    private final int maxRetained;
+    private final int magazineSize;
+
+    private final ThreadLocal<Cache<E>> caches;
+    /** Full magazines that can be swapped for an empty one, guarded by the depot itself. */
+    private final ArrayDeque<Magazine<E>> depot = new ArrayDeque<>();
+    /** Empty magazines that can be swapped for a full one. Guarded by the depot. */
+    private final ArrayDeque<Magazine<E>> emptyMagazines = new ArrayDeque<>();
+    /** Number of events in the full magazines of the depot. Guarded by the depot. */
+    private int depotSize;
+    /** Cache shared by all virtual threads. Guarded by the depot. */
+    private final Cache<E> sharedCache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder discards = new LongAdder();
 
     /**
-     * Creates a new pool that uses the given factory to allocate events when the pool is empty.
+     * Creates a new pool with the {@link EventPoolConfig#DEFAULT default configuration} that uses the given factory to
+     * allocate events when the pool is empty.
      *
      * @param factory supplier for new event instances; must not return null
      */
     public DefaultEventPool(Supplier<E> factory) {
+        this(factory, EventPoolConfig.DEFAULT);
+    }
+
+    /**
+     * Creates a new pool that uses the given factory to allocate events when the pool is empty, and to prewarm the
+     * number of events given by the configuration.
+     *
+     * @param factory supplier for new event instances; must not return null
+     * @param config  the number of events to prewarm and the maximum number of events to retain
+     */
+    public DefaultEventPool(Supplier<E> factory, EventPoolConfig config) {
+        notNull(config, () -> "Event pool config");
         this.factory = factory;
+        this.maxRetained = config.maxRetained();
+        this.magazineSize = Math.min(MAGAZINE_SIZE, maxRetained);
+        this.caches = ThreadLocal.withInitial(() -> new Cache<>(new Magazine<>(magazineSize)));
+        this.sharedCache = new Cache<>(new Magazine<>(magazineSize));
+
+        Magazine<E> magazine = null;
+        for (int i = 0; i < config.prewarm(); i++) {
+            if (magazine == null || magazine.isFull()) {
+                magazine = new Magazine<>(magazineSize);
+                depot.addLast(magazine);
+            }
+            E event = factory.get();
+            enterPool(event);
+            event.reset();
+            magazine.offer(event);
+            depotSize++;
+        }
     }
 
     /** {@inheritDoc} */
     @Override
     public E acquire() {
-        E event = pool.pollFirst();
+        E event;
+        if (Thread.currentThread().isVirtual()) {
+            synchronized (depot) {
+                event = take(sharedCache);
+            }
+        } else {
+            event = take(caches.get());
+        }
+
         if (event != null) {
-            inPool.remove(event);
+            leavePool(event);
+            hits.increment();
         } else {
             event = factory.get();
+            event.reset();
+            misses.increment();
         }
-        event.reset();
         return event;
     }
 
     /** {@inheritDoc} Duplicate releases for the same instance are ignored. */
     @Override
     public void release(E event) {
-        if (!inPool.add(event)) return; // Already in pool, ignore duplicate releases
+        if (!enterPool(event)) return; // Already in pool, ignore duplicate releases
         event.reset();
-        pool.addLast(event);
+
+        boolean stored;
+        if (Thread.currentThread().isVirtual()) {
+            synchronized (depot) {
+                stored = put(sharedCache, event);
+            }
+        } else {
+            stored = put(caches.get(), event);
+        }
+        if (!stored) {
+            leavePool(event);
+            discards.increment();
+        }
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Counts the events in the depot and in the magazine of the calling thread; the magazines of other platform
+     * threads are not included.
+     */
     @Override
     public int getPoolSize() {
-        return pool.size();
+        int size = Thread.currentThread().isVirtual() ? 0 : caches.get().loaded.count;
+        synchronized (depot) {
+            return size + depotSize + sharedCache.loaded.count;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getDiscardCount() {
+        return discards.sum();
+    }
+
+    /**
+     * Takes an event from the loaded magazine of the cache, swapping it for a full magazine of the depot when empty.
+     *
+     * @return the event, or {@code null} if both the magazine and the depot are empty
+     */
+    private E take(Cache<E> cache) {
+        Magazine<E> magazine = cache.loaded;
+        if (magazine.count == 0) {
+            synchronized (depot) {
+                Magazine<E> full = depot.pollFirst();
+                if (full == null) return null;
+                depotSize -= full.count;
+                emptyMagazines.addLast(magazine);
+                cache.loaded = magazine = full;
+            }
+        }
+        return magazine.poll();
+    }
+
+    /**
+     * Puts an event in the loaded magazine of the cache, swapping it for an empty magazine when full.
+     *
+     * @return {@code false} if the event was discarded because the depot cannot take the full magazine
+     */
+    private boolean put(Cache<E> cache, E event) {
+        Magazine<E> magazine = cache.loaded;
+        if (magazine.isFull()) {
+            synchronized (depot) {
+                if (magazine.count == 0 || depotSize + magazine.count > maxRetained) return false;
+                depot.addLast(magazine);
+                depotSize += magazine.count;
+                Magazine<E> empty = emptyMagazines.pollFirst();
+                cache.loaded = magazine = empty != null ? empty : new Magazine<>(magazineSize);
+            }
+        }
+        magazine.offer(event);
+        return true;
+    }
+
+    /**
+     * The magazine currently loaded by a thread.
+     */
+    private static final class Cache<E> {
+        private Magazine<E> loaded;
+
+        private Cache(Magazine<E> loaded) {
+            this.loaded = loaded;
+        }
+    }
+
+    /**
+     * Fixed-size FIFO ring buffer of pooled events.
+     */
+    private static final class Magazine<E> {
+        private final Object[] events;
+        private int head;
+        private int count;
+
+        private Magazine(int capacity) {
+            this.events = new Object[capacity];
+        }
+
+        private boolean isFull() {
+            return count == events.length;
+        }
+
+        private void offer(E event) {
+            events[(head + count) % events.length] = event;
+            count++;
+        }
+
+        @SuppressWarnings("unchecked")
+        private E poll() {
+            E event = (E) events[head];
+            events[head] = null;
+            head = (head + 1) % events.length;
+            count--;
+            return event;
+        }
     }
 }
@@ -2,34 +2,40 @@ package me.siebe.flux.event;
 
 import me.siebe.flux.api.event.Event;
 import me.siebe.flux.api.event.EventPool;
+import me.siebe.flux.api.event.EventPoolConfig;
 import me.siebe.flux.api.event.EventPoolRegistry;
 import me.siebe.flux.api.event.traits.Pooled;
 import me.siebe.flux.util.logging.Logger;
 import me.siebe.flux.util.logging.LoggerFactory;
 import me.siebe.flux.util.logging.config.LoggingCategories;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
+import static me.siebe.flux.util.exceptions.Validator.notNull;
+
 /**
  * Default implementation of {@link EventPoolRegistry} that creates a {@link DefaultEventPool}
- * per registered event type, using the supplied factory when the pool is empty.
+ * per registered event type, using the supplied factory when the pool is empty. Pools can be looked up from any thread.
  */
 public class DefaultEventPoolRegistry implements EventPoolRegistry {
     private static final Logger logger = LoggerFactory.getLogger(DefaultEventPoolRegistry.class, LoggingCategories.EVENT);
 
-    private final Map<Class<? extends Pooled>, DefaultEventPool<? extends Pooled>> pools = new HashMap<>();
+    private final Map<Class<? extends Pooled>, DefaultEventPool<? extends Pooled>> pools = new ConcurrentHashMap<>();
 
     @Override
     public <T extends Event & Pooled> void register(
             Class<T> eventType,
-            Supplier<T> factory
+            Supplier<T> factory,
+            EventPoolConfig config
     ) {
+        notNull(config, () -> "Event pool config");
         if (pools.containsKey(eventType)) {
             logger.warn("Event type {} has already been registered, overriding...", eventType);
         }
-        pools.put(eventType, new DefaultEventPool<>(factory));
+        pools.put(eventType, new DefaultEventPool<>(factory, config));
     }
 
     @Override
@@ -42,4 +48,13 @@ public class DefaultEventPoolRegistry implements EventPoolRegistry {
     public <T extends Event & Pooled> boolean hasPool(Class<T> eventType) {
         return pools.containsKey(eventType);
     }
+
+    /**
+     * Returns all registered pools by event type, used to sample allocation rates.
+     *
+     * @return an unmodifiable view of the pools
+     */
+    Map<Class<? extends Pooled>, DefaultEventPool<? extends Pooled>> getPools() {
+        return Collections.unmodifiableMap(pools);
+    }
 }
@@ -0,0 +1,160 @@
+package me.siebe.flux.event;
+
+import me.siebe.flux.api.event.Event;
+import me.siebe.flux.api.event.EventBus;
+import me.siebe.flux.api.event.EventSchedule;
+import me.siebe.flux.api.event.EventScheduler;
+import me.siebe.flux.api.event.traits.Pooled;
+import me.siebe.flux.util.logging.Logger;
+import me.siebe.flux.util.logging.LoggerFactory;
+import me.siebe.flux.util.logging.config.LoggingCategories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static me.siebe.flux.util.exceptions.Validator.notNull;
+
+/**
+ * Default implementation of {@link EventScheduler}, used by {@link DefaultEventBus}.
+ * <p>
+ * Schedules are kept in two {@link TimingWheel TimingWheels}: one ticking per frame, and one ticking per millisecond
+ * for delays in seconds. Scheduling and cancelling are O(1), and advancing only costs work for the schedules that
+ * become due. All state is guarded by the scheduler itself; due events are posted after the lock is released, so
+ * listeners can schedule and cancel freely.
+ */
+final class DefaultEventScheduler implements EventScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(DefaultEventScheduler.class, LoggingCategories.EVENT);
+    private static final double TICKS_PER_SECOND = 1000.0;
+
+    private final EventBus eventBus;
+    private final TimingWheel frameWheel = new TimingWheel(0);
+    private final TimingWheel timeWheel = new TimingWheel(0);
+    /** Schedules that became due during the current advance, posted once the lock is released. */
+    private final List<Schedule> due = new ArrayList<>();
+    private final Consumer<TimingWheel.Entry> onFrameDue = entry -> onDue((Schedule) entry, frameWheel);
+    private final Consumer<TimingWheel.Entry> onTimeDue = entry -> onDue((Schedule) entry, timeWheel);
+
+    DefaultEventScheduler(EventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    @Override
+    public EventSchedule postAt(long frame, Event event) {
+        notNull(event, () -> "Event");
+        return schedule(frameWheel, frame, 0, event, null);
+    }
+
+    @Override
+    public EventSchedule postAfter(double seconds, Event event) {
+        notNull(event, () -> "Event");
+        synchronized (this) {
+            return schedule(timeWheel, timeWheel.getNow() + toTicks(seconds), 0, event, null);
+        }
+    }
+
+    @Override
+    public EventSchedule postEvery(double intervalSeconds, Supplier<? extends Event> factory) {
+        notNull(factory, () -> "Event factory");
+        if (!(intervalSeconds > 0)) {
+            throw new IllegalArgumentException("Interval must be positive, got " + intervalSeconds);
+        }
+        long interval = Math.max(1, toTicks(intervalSeconds));
+        synchronized (this) {
+            return schedule(timeWheel, timeWheel.getNow() + interval, interval, null, factory);
+        }
+    }
+
+    @Override
+    public EventSchedule postEveryFrames(long intervalFrames, Supplier<? extends Event> factory) {
+        notNull(factory, () -> "Event factory");
+        if (intervalFrames <= 0) {
+            throw new IllegalArgumentException("Interval must be positive, got " + intervalFrames);
+        }
+        synchronized (this) {
+            return schedule(frameWheel, frameWheel.getNow() + intervalFrames, intervalFrames, null, factory);
+        }
+    }
+
+    @Override
+    public void advance(long frame, double time) {
+        Schedule[] batch;
+        synchronized (this) {
+            // The frame wheel first, so its due events are posted before those of the time wheel
+            frameWheel.advance(frame, onFrameDue);
+            timeWheel.advance((long) Math.floor(time * TICKS_PER_SECOND), onTimeDue);
+            if (due.isEmpty()) return;
+            batch = due.toArray(new Schedule[0]);
+            due.clear();
+        }
+
+        for (Schedule schedule : batch) {
+            Event event = schedule.event;
+            try {
+                if (event == null) event = schedule.factory.get();
+                eventBus.post(event);
+            } catch (Exception e) {
+                logger.error("Failed to post scheduled event {}", event != null ? event.getClass().getName() : schedule.factory, e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized int getScheduledCount() {
+        return frameWheel.size() + timeWheel.size();
+    }
+
+    private synchronized Schedule schedule(TimingWheel wheel, long deadline, long interval, Event event,
+                                           Supplier<? extends Event> factory) {
+        Schedule schedule = new Schedule(wheel, interval, event, factory);
+        schedule.deadline = deadline;
+        wheel.schedule(schedule);
+        return schedule;
+    }
+
+    private void onDue(Schedule schedule, TimingWheel wheel) {
+        due.add(schedule);
+        if (schedule.interval > 0) {
+            // Repeat relative to the previous deadline, which catches up when a frame spans several intervals
+            schedule.deadline += schedule.interval;
+            wheel.schedule(schedule);
+        }
+    }
+
+    private static long toTicks(double seconds) {
+        return (long) Math.ceil(seconds * TICKS_PER_SECOND);
+    }
+
+    private final class Schedule extends TimingWheel.Entry implements EventSchedule {
+        private final TimingWheel wheel;
+        private final long interval;
+        private final Event event;
+        private final Supplier<? extends Event> factory;
+
+        private Schedule(TimingWheel wheel, long interval, Event event, Supplier<? extends Event> factory) {
+            this.wheel = wheel;
+            this.interval = interval;
+            this.event = event;
+            this.factory = factory;
+        }
+
+        @Override
+        public boolean cancel() {
+            synchronized (DefaultEventScheduler.this) {
+                if (!wheel.cancel(this)) return false;
+            }
+            if (event instanceof Pooled) {
+                eventBus.getEventPoolRegistry().release(event);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isPending() {
+            synchronized (DefaultEventScheduler.this) {
+                return isScheduled();
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package me.siebe.flux.event;
+
+import me.siebe.flux.api.event.Event;
+import me.siebe.flux.api.event.EventPoolRegistry;
+import me.siebe.flux.api.event.traits.Coalescing;
+import me.siebe.flux.api.event.traits.Pooled;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Coalesces a batch of queued events in place before it is delivered by {@link DefaultEventBus#flush()}.
+ * <p>
+ * For every {@link Coalescing} event, the index of the latest event per class and key is tracked. When a newer event
+ * with the same class and key is found, it absorbs the older one through {@link Coalescing#coalesce(Event)} and the
+ * older slot is cleared. The indices are kept in an open-addressing table of parallel arrays, which is reused between
+ * flushes, so coalescing a steady stream of events neither boxes indices nor allocates entries. Only used by the
+ * thread flushing the bus.
+ */
+final class EventCoalescer {
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Slot s holds the latest index of the events of class types[s] and key keys[s], and is free if its type is null
+    private Class<?>[] types = new Class<?>[INITIAL_CAPACITY];
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    private int[] indices = new int[INITIAL_CAPACITY];
+    /** The occupied slots, in order of first use, so clearing the table only touches those. */
+    private int[] usedSlots = new int[INITIAL_CAPACITY / 2];
+    private int usedCount;
+
+    /**
+     * Coalesces the events in the batch. Replaced events are set to {@code null} in the batch and released to their pool
+     * if they are {@link Pooled}.
+     *
+     * @param batch        the queued events in posting order
+     * @param count        the number of events in the batch
+     * @param poolRegistry the registry to release discarded pooled events to
+     * @return the number of discarded events
+     */
+    @SuppressWarnings("unchecked")
+    int coalesce(Event[] batch, int count, EventPoolRegistry poolRegistry) {
+        int discarded = 0;
+        for (int i = 0; i < count; i++) {
+            Event event = batch[i];
+            if (!(event instanceof Coalescing<?> coalescing)) continue;
+
+            int previousIndex = putIndex(event.getClass(), coalescing.getCoalescingKey(), i);
+            if (previousIndex < 0) continue;
+
+            Event previous = batch[previousIndex];
+            batch[previousIndex] = null;
+            ((Coalescing<Event>) coalescing).coalesce(previous);
+            if (previous instanceof Pooled) {
+                poolRegistry.release(previous);
+            }
+            discarded++;
+        }
+
+        for (int u = 0; u < usedCount; u++) {
+            types[usedSlots[u]] = null;
+            keys[usedSlots[u]] = null;
+        }
+        usedCount = 0;
+        return discarded;
+    }
+
+    /**
+     * Records the index of the latest event of a class and key.
+     *
+     * @return the index recorded before for the class and key, or -1 if none
+     */
+    private int putIndex(Class<?> type, Object key, int index) {
+        int mask = types.length - 1;
+        int slot = hash(type, key) & mask;
+        while (types[slot] != null) {
+            if (types[slot] == type && Objects.equals(keys[slot], key)) {
+                int previous = indices[slot];
+                indices[slot] = index;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        types[slot] = type;
+        keys[slot] = key;
+        indices[slot] = index;
+        usedSlots[usedCount++] = slot;
+        // Keep the table at most half full, so probe sequences stay short
+        if (usedCount == usedSlots.length) {
+            grow();
+        }
+        return -1;
+    }
+
+    private void grow() {
+        Class<?>[] oldTypes = types;
+        Object[] oldKeys = keys;
+        int[] oldIndices = indices;
+        int[] oldUsedSlots = usedSlots;
+        int capacity = oldTypes.length * 2;
+        types = new Class<?>[capacity];
+        keys = new Object[capacity];
+        indices = new int[capacity];
+        usedSlots = Arrays.copyOf(oldUsedSlots, capacity / 2);
+
+        int mask = capacity - 1;
+        for (int u = 0; u < usedCount; u++) {
+            int oldSlot = oldUsedSlots[u];
+            int slot = hash(oldTypes[oldSlot], oldKeys[oldSlot]) & mask;
+            while (types[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            types[slot] = oldTypes[oldSlot];
+            keys[slot] = oldKeys[oldSlot];
+            indices[slot] = oldIndices[oldSlot];
+            usedSlots[u] = slot;
+        }
+    }
+
+    private static int hash(Class<?> type, Object key) {
+        int h = System.identityHashCode(type) * 31 + Objects.hashCode(key);
+        // Spread the high bits, as the table is indexed by the low bits
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,50 @@
+package me.siebe.flux.event;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serializes the asynchronous deliveries to a single listener.
+ * <p>
+ * Deliveries are run one at a time, in submission order, by at most one task on the executor at any time. The task
+ * drains all pending deliveries before it finishes, so a busy listener does not occupy more than one thread and never
+ * sees two events concurrently. Deliveries of different lanes run in parallel.
+ */
+final class ListenerLane {
+    private final Queue<Runnable> deliveries = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Adds a delivery to the lane, scheduling the lane on the executor if it is not already running.
+     * <p>
+     * If the executor rejects the lane, the pending deliveries run on the calling thread instead, so that they are
+     * never lost.
+     *
+     * @param delivery the delivery, must not throw
+     * @param executor the executor to run the lane on
+     */
+    void submit(Runnable delivery, Executor executor) {
+        deliveries.add(delivery);
+        if (!scheduled.compareAndSet(false, true)) return;
+
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        do {
+            Runnable delivery;
+            while ((delivery = deliveries.poll()) != null) {
+                delivery.run();
+            }
+            scheduled.set(false);
+            // A delivery may have been added after the queue was found empty, but before the flag was cleared
+        } while (!deliveries.isEmpty() && scheduled.compareAndSet(false, true));
+    }
+}
@@ -0,0 +1,108 @@
+package me.siebe.flux.event;
+
+import me.siebe.flux.api.event.metrics.HistogramSnapshot;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent histogram of non-negative values with a bounded relative error, in the style of an HDR histogram.
+ * <p>
+ * Values below {@value #SUB_BUCKETS} have their own bucket. Larger values are grouped by their highest set bit, and
+ * each power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, which bounds the relative error to about
+ * 3%. Values of {@code 2^40} and above (about 18 minutes in nanoseconds) share the last bucket. Recording a value is a
+ * few bit operations and atomic increments, and never allocates.
+ */
+final class LogLinearHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 40;
+    private static final int BUCKET_COUNT = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value. Negative values are recorded as {@code 0}.
+     *
+     * @param value the value
+     */
+    void record(long value) {
+        if (value < 0) value = 0;
+        counts.incrementAndGet(indexOf(value));
+        total.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Takes an immutable snapshot of the values recorded so far. Values recorded concurrently may be partially
+     * included.
+     *
+     * @return the snapshot
+     */
+    HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        // Counted from the copied buckets, so the count always matches the buckets the percentiles are taken from
+        long snapshotCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            snapshotCount += copy[i];
+        }
+        return new Snapshot(copy, snapshotCount, total.get(), max.get());
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude > MAX_MAGNITUDE) return BUCKET_COUNT - 1;
+        // The top SUB_BUCKET_BITS + 1 bits of the value, of which the highest is always set
+        int top = (int) (value >>> (magnitude - SUB_BUCKET_BITS));
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + top - SUB_BUCKETS;
+    }
+
+    /**
+     * Returns the highest value that is recorded in the bucket at the given index.
+     */
+    static long highestValueAt(int index) {
+        if (index < SUB_BUCKETS) return index;
+
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    private record Snapshot(long[] counts, long count, long total, long max) implements HistogramSnapshot {
+        @Override
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public long getTotal() {
+            return total;
+        }
+
+        @Override
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public long getValueAtPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100, but was " + percentile);
+            }
+            if (count == 0) return 0;
+
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(highestValueAt(i), max);
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package me.siebe.flux.event;
+
+import me.siebe.flux.api.event.Event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, lock-free, array-based multi-producer/single-consumer queue used for {@link me.siebe.flux.api.event.traits.Queued}
+ * events.
+ * <p>
+ * Any thread may {@link #offer(Event)} events concurrently. Only a single thread (the thread calling
+ * {@link DefaultEventBus#flush()}) may {@link #poll()}. The backing array is allocated once, so offering and polling do
+ * not allocate.
+ * <p>
+ * A producer first claims a sequence number by advancing the tail with a compare-and-set, and then publishes the event
+ * into the slot of that sequence. The consumer only takes an event once its slot has been published, so an event that is
+ * claimed but not yet published is left for the next poll instead of being waited for. When the queue is full, offered
+ * events are rejected and counted as dropped.
+ */
+final class MpscEventQueue {
+    private final AtomicReferenceArray<Event> slots;
+    private final int mask;
+    private final int capacity;
+
+    /** Sequence of the next slot to be claimed by a producer. */
+    private final AtomicLong tail = new AtomicLong();
+    /** Sequence of the next slot to be polled by the consumer. Only written by the consumer. */
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Creates a new queue.
+     *
+     * @param capacity the minimum capacity of the queue, rounded up to the next power of two
+     * @throws IllegalArgumentException if the capacity is not positive or too large
+     */
+    MpscEventQueue(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Queue capacity must be between 1 and 2^30, but was " + capacity);
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    /**
+     * Adds an event to the tail of the queue. Safe to call from any thread.
+     *
+     * @param event the event, must not be null
+     * @return true if the event was added, false if the queue was full and the event was dropped
+     */
+    boolean offer(Event event) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() >= capacity) {
+                dropped.increment();
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        slots.setRelease((int) sequence & mask, event);
+        return true;
+    }
+
+    /**
+     * Removes the event at the head of the queue. Must only be called by the consumer thread.
+     *
+     * @return the event, or null if the queue is empty or the head event has not been published yet
+     */
+    Event poll() {
+        long sequence = head.get();
+        int index = (int) sequence & mask;
+        Event event = slots.getAcquire(index);
+        if (event == null) return null;
+
+        // Clear the slot before advancing the head, so producers that see the new head also see the empty slot
+        slots.setRelease(index, null);
+        head.setRelease(sequence + 1);
+        return event;
+    }
+
+    /**
+     * Gets the number of events claimed but not yet polled. The value is a snapshot and may be stale when producers
+     * are active.
+     *
+     * @return the number of queued events
+     */
+    int size() {
+        long currentHead = head.get();
+        long currentTail = tail.get();
+        return (int) Math.max(0, currentTail - currentHead);
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the total number of events rejected because the queue was full.
+     *
+     * @return the number of dropped events
+     */
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,210 @@
+package me.siebe.flux.event;
+
+import me.siebe.flux.api.event.EventChannel;
+import me.siebe.flux.api.event.EventChannelHandler;
+import me.siebe.flux.util.logging.Logger;
+import me.siebe.flux.util.logging.LoggerFactory;
+import me.siebe.flux.util.logging.config.LoggingCategories;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import static me.siebe.flux.util.exceptions.Validator.notNull;
+
+/**
+ * Multi-producer ring buffer implementation of {@link EventChannel}, in the style of the LMAX Disruptor.
+ * <p>
+ * All entries are created up front. Producers claim sequences by advancing the cursor with a compare-and-set, gated by
+ * the consumed sequence so that unprocessed entries are never overwritten. Publishing a sequence stores it in the
+ * availability array at the index of its slot, which lets the consumer find the highest contiguous published sequence
+ * without locking, even when producers publish out of order. The consumer hands each batch to all handlers and then
+ * advances the consumed sequence, which frees the slots for the producers.
+ * <p>
+ * Only the consumer thread can free slots, so it must never wait for them. Claiming on the consumer thread while the
+ * channel is full, e.g. from a handler or from an event listener during the flush, throws instead of waiting forever.
+ * The consumer thread is the one that last called {@link #process()}, or the flushing thread set by the event bus.
+ *
+ * @param <E> the entry type
+ */
+final class RingBufferEventChannel<E> implements EventChannel<E> {
+    private static final Logger logger = LoggerFactory.getLogger(RingBufferEventChannel.class, LoggingCategories.EVENT);
+    @SuppressWarnings("rawtypes")
+    private static final EventChannelHandler[] NO_HANDLERS = new EventChannelHandler[0];
+
+    private final Class<E> entryType;
+    private final Object[] entries;
+    private final int mask;
+    /** The sequence last published at each slot, {@code -1} if none. */
+    private final AtomicLongArray published;
+
+    /** The highest claimed sequence. */
+    private final AtomicLong cursor = new AtomicLong(-1);
+    /** The highest sequence processed by all handlers. Only written by the consumer. */
+    private final AtomicLong consumed = new AtomicLong(-1);
+    /** The thread that processes the channel, null until known. */
+    private volatile Thread consumerThread;
+
+    @SuppressWarnings("unchecked")
+    private volatile EventChannelHandler<? super E>[] handlers = NO_HANDLERS;
+
+    /**
+     * Creates a new channel, preallocating all entries.
+     *
+     * @param entryType the entry type
+     * @param factory   creates the entries, called once per slot
+     * @param capacity  the minimum capacity, rounded up to the next power of two
+     * @throws IllegalArgumentException if the capacity is not positive or too large
+     */
+    RingBufferEventChannel(Class<E> entryType, Supplier<E> factory, int capacity) {
+        notNull(entryType, () -> "Entry type");
+        notNull(factory, () -> "Entry factory");
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Channel capacity must be between 1 and 2^30, but was " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+
+        this.entryType = entryType;
+        this.entries = new Object[size];
+        this.mask = size - 1;
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            entries[i] = notNull(factory.get(), () -> "Channel entry");
+            published.set(i, -1);
+        }
+    }
+
+    @Override
+    public Class<E> getEntryType() {
+        return entryType;
+    }
+
+    @Override
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    @Override
+    public long next() {
+        return next(1);
+    }
+
+    @Override
+    public long next(int n) {
+        if (n < 1 || n > entries.length) {
+            throw new IllegalArgumentException("Can only claim between 1 and " + entries.length + " sequences, but was " + n);
+        }
+        while (true) {
+            long current = cursor.get();
+            long next = current + n;
+            if (next - entries.length > consumed.get()) {
+                if (Thread.currentThread() == consumerThread) {
+                    throw new IllegalStateException("Channel for " + entryType.getName() + " is full and cannot be drained by its own consumer thread, use tryNext() there");
+                }
+                // Full, wait for the consumer to process the oldest entries
+                Thread.onSpinWait();
+                continue;
+            }
+            if (cursor.compareAndSet(current, next)) return next;
+        }
+    }
+
+    @Override
+    public long tryNext() {
+        long current;
+        do {
+            current = cursor.get();
+            if (current + 1 - entries.length > consumed.get()) return -1;
+        } while (!cursor.compareAndSet(current, current + 1));
+        return current + 1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) entries[(int) sequence & mask];
+    }
+
+    @Override
+    public void publish(long sequence) {
+        published.setRelease((int) sequence & mask, sequence);
+    }
+
+    @Override
+    public void publish(long low, long high) {
+        for (long sequence = low; sequence <= high; sequence++) {
+            published.setRelease((int) sequence & mask, sequence);
+        }
+    }
+
+    @Override
+    public void addHandler(EventChannelHandler<? super E> handler) {
+        notNull(handler, () -> "Channel handler");
+        synchronized (this) {
+            EventChannelHandler<? super E>[] current = handlers;
+            EventChannelHandler<? super E>[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = handler;
+            handlers = updated;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void removeHandler(EventChannelHandler<? super E> handler) {
+        synchronized (this) {
+            EventChannelHandler<? super E>[] current = handlers;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] != handler) continue;
+
+                EventChannelHandler<? super E>[] updated = new EventChannelHandler[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                handlers = updated;
+                return;
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int process() {
+        Thread current = Thread.currentThread();
+        if (consumerThread != current) consumerThread = current;
+
+        long low = consumed.get() + 1;
+        long limit = cursor.get();
+        // Stop at the first sequence that is claimed but not published yet, it is processed by a later call
+        long high = low - 1;
+        while (high < limit && published.getAcquire((int) (high + 1) & mask) == high + 1) {
+            high++;
+        }
+        if (high < low) return 0;
+
+        for (EventChannelHandler<? super E> handler : handlers) {
+            for (long sequence = low; sequence <= high; sequence++) {
+                try {
+                    handler.onEvent((E) entries[(int) sequence & mask], sequence, sequence == high);
+                } catch (Exception e) {
+                    logger.error("Exception in channel handler {} while handling {} entry", handler, entryType.getName(), e);
+                }
+            }
+        }
+        consumed.setRelease(high);
+        return (int) (high - low + 1);
+    }
+
+    /**
+     * Sets the thread that processes this channel, before it first calls {@link #process()}.
+     *
+     * @param thread the consumer thread
+     */
+    void setConsumerThread(Thread thread) {
+        consumerThread = thread;
+    }
+
+    @Override
+    public int getPendingCount() {
+        return (int) (cursor.get() - consumed.get());
+    }
+}
@@ -0,0 +1,197 @@
+package me.siebe.flux.event;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel of {@link Entry entries} due at an integer tick, such as a frame or a millisecond.
+ * <p>
+ * The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots. Level {@code i} holds the entries whose deadline
+ * differs from the current tick in the {@code i}-th group of six bits and above, in the slot given by that group of
+ * the deadline. Whenever the current tick enters a new block of a level, the entries of that block's slot are
+ * cascaded to lower levels, and the entries of a level-0 slot expire when its tick is reached.
+ * <p>
+ * Each slot is an intrusive doubly linked list, so inserting and removing an entry is O(1). A bitmap of occupied
+ * slots per level lets {@link #advance(long, Consumer)} jump over empty ticks, so advancing costs a constant per
+ * {@value #SLOTS} ticks plus the work for the entries that cascade or expire. Deadlines further away than the wheel
+ * covers are kept in the top level and cascaded again until they are in range.
+ * <p>
+ * Not thread-safe.
+ */
+final class TimingWheel {
+    private static final int BITS = 6;
+    static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    static final int LEVELS = 6;
+
+    private final Entry[][] slots = new Entry[LEVELS][SLOTS];
+    /** Per level, bit {@code s} is set when slot {@code s} holds an entry. */
+    private final long[] occupied = new long[LEVELS];
+    private long now;
+    private int size;
+
+    /**
+     * Creates an empty wheel at the given tick.
+     *
+     * @param now the current tick
+     */
+    TimingWheel(long now) {
+        this.now = now;
+    }
+
+    /**
+     * Schedules the entry at its {@link Entry#deadline deadline}. A deadline that is not after the current tick is
+     * moved to the next tick.
+     *
+     * @param entry the entry, which must not be scheduled already
+     */
+    void schedule(Entry entry) {
+        if (entry.deadline <= now) entry.deadline = now + 1;
+        insert(entry);
+        size++;
+    }
+
+    /**
+     * Removes the entry from the wheel.
+     *
+     * @param entry the entry
+     * @return {@code true} if the entry was scheduled
+     */
+    boolean cancel(Entry entry) {
+        if (entry.level < 0) return false;
+        unlink(entry);
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the target tick, passing every entry that expires on the way to the consumer, in order of
+     * their deadlines. Entries may be scheduled again from the consumer, and expire in the same call when their new
+     * deadline is not after the target.
+     *
+     * @param target  the tick to advance to
+     * @param expired receives the expired entries, which are no longer scheduled
+     */
+    void advance(long target, Consumer<Entry> expired) {
+        while (now < target) {
+            // Jump to the next occupied level-0 slot of the current rotation, or else to the start of the next one
+            long pending = occupied[0] & (-2L << (now & MASK));
+            long next = pending != 0
+                    ? (now & ~MASK) + Long.numberOfTrailingZeros(pending)
+                    : (now | MASK) + 1;
+            if (next > target) {
+                now = target;
+                return;
+            }
+
+            now = next;
+            if ((now & MASK) == 0) cascade();
+            expire(expired);
+        }
+    }
+
+    /**
+     * Returns the current tick.
+     *
+     * @return the tick the wheel was last advanced to
+     */
+    long getNow() {
+        return now;
+    }
+
+    /**
+     * Returns the number of scheduled entries.
+     *
+     * @return the size
+     */
+    int size() {
+        return size;
+    }
+
+    private void cascade() {
+        // Cascade from the highest level whose block starts at this tick, so entries can move down several levels
+        int highest = 1;
+        while (highest < LEVELS - 1 && (now & ((1L << (BITS * (highest + 1))) - 1)) == 0) {
+            highest++;
+        }
+        for (int level = highest; level >= 1; level--) {
+            int slot = (int) ((now >>> (BITS * level)) & MASK);
+            Entry entry = detach(level, slot);
+            while (entry != null) {
+                Entry next = entry.next;
+                insert(entry);
+                entry = next;
+            }
+        }
+    }
+
+    private void expire(Consumer<Entry> expired) {
+        Entry entry = detach(0, (int) (now & MASK));
+        while (entry != null) {
+            Entry next = entry.next;
+            size--;
+            expired.accept(entry);
+            entry = next;
+        }
+    }
+
+    private void insert(Entry entry) {
+        // The highest group of bits in which the deadline differs from the current tick determines the level
+        long diff = entry.deadline ^ now;
+        int level = diff == 0 ? 0 : Math.min(LEVELS - 1, (63 - Long.numberOfLeadingZeros(diff)) / BITS);
+        int slot = (int) ((entry.deadline >>> (BITS * level)) & MASK);
+
+        Entry head = slots[level][slot];
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) head.prev = entry;
+        slots[level][slot] = entry;
+        occupied[level] |= 1L << slot;
+        entry.level = level;
+        entry.slot = slot;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            slots[entry.level][entry.slot] = entry.next;
+            if (entry.next == null) occupied[entry.level] &= ~(1L << entry.slot);
+        }
+        if (entry.next != null) entry.next.prev = entry.prev;
+        entry.prev = null;
+        entry.next = null;
+        entry.level = -1;
+    }
+
+    /** Empties the slot and returns its former list of entries, which are marked as not scheduled. */
+    private Entry detach(int level, int slot) {
+        Entry head = slots[level][slot];
+        slots[level][slot] = null;
+        occupied[level] &= ~(1L << slot);
+        for (Entry entry = head; entry != null; entry = entry.next) {
+            entry.level = -1;
+        }
+        return head;
+    }
+
+    /**
+     * Node of a slot list. Subclasses add the payload.
+     */
+    abstract static class Entry {
+        /** The tick the entry is due at. */
+        long deadline;
+        private Entry prev;
+        private Entry next;
+        private int level = -1;
+        private int slot;
+
+        /**
+         * Returns whether the entry is in a wheel.
+         *
+         * @return {@code true} if scheduled
+         */
+        boolean isScheduled() {
+            return level >= 0;
+        }
+    }
+}
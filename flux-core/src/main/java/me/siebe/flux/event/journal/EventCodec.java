@@ -0,0 +1,32 @@
+package me.siebe.flux.event.journal;
+
+import me.siebe.flux.api.event.Event;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes events of a single type to and reads them from the binary {@link EventJournalWriter event journal}.
+ * <p>
+ * A codec only has to write the fields that listeners depend on. {@link #read(ByteBuffer)} must read exactly what
+ * {@link #write(Event, ByteBuffer)} wrote.
+ *
+ * @param <E> the event type
+ * @see EventCodecs
+ */
+public interface EventCodec<E extends Event> {
+    /**
+     * Writes the fields of the event.
+     *
+     * @param event  the event to write
+     * @param buffer the buffer to write to; an overflowing buffer is grown and the write retried
+     */
+    void write(E event, ByteBuffer buffer);
+
+    /**
+     * Creates a new event from the fields written by {@link #write(Event, ByteBuffer)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the new event
+     */
+    E read(ByteBuffer buffer);
+}
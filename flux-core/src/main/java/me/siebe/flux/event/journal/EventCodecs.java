@@ -0,0 +1,208 @@
+package me.siebe.flux.event.journal;
+
+import me.siebe.flux.api.event.Event;
+import me.siebe.flux.api.event.common.FramebufferResizeEvent;
+import me.siebe.flux.api.event.common.WindowResizeEvent;
+import me.siebe.flux.api.input.devices.controller.event.GamepadButtonEvent;
+import me.siebe.flux.api.input.devices.controller.event.GamepadButtonPressEvent;
+import me.siebe.flux.api.input.devices.controller.event.GamepadButtonReleaseEvent;
+import me.siebe.flux.api.input.devices.keyboard.event.KeyEvent;
+import me.siebe.flux.api.input.devices.keyboard.event.KeyPressEvent;
+import me.siebe.flux.api.input.devices.keyboard.event.KeyReleaseEvent;
+import me.siebe.flux.api.input.devices.mouse.event.DoubleClickEvent;
+import me.siebe.flux.api.input.devices.mouse.event.MouseButtonEvent;
+import me.siebe.flux.api.input.devices.mouse.event.MouseClickEvent;
+import me.siebe.flux.api.input.devices.mouse.event.MouseReleaseEvent;
+import me.siebe.flux.api.input.enums.GamepadButton;
+import me.siebe.flux.api.input.enums.Key;
+import me.siebe.flux.api.input.enums.Modifier;
+import me.siebe.flux.api.input.enums.MouseButton;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The set of event types that are written to an event journal, each with its {@link EventCodec}.
+ * <p>
+ * Only events of exactly a registered class are journaled; events of other classes are ignored by the journal. The
+ * journal refers to types by class name, so the same codecs must be registered for writing and replaying.
+ * {@link #engineDefaults()} contains codecs for the input and window events posted by the engine.
+ */
+public final class EventCodecs {
+    private final Map<Class<?>, EventCodec<?>> codecs = new HashMap<>();
+    private final Map<String, Class<? extends Event>> types = new HashMap<>();
+
+    /**
+     * Creates codecs for all input and window events posted by the engine.
+     *
+     * @return a new, modifiable set of codecs
+     */
+    public static EventCodecs engineDefaults() {
+        return new EventCodecs()
+                .register(KeyPressEvent.class, keyCodec(KeyPressEvent::new))
+                .register(KeyReleaseEvent.class, keyCodec(KeyReleaseEvent::new))
+                .register(MouseClickEvent.class, mouseButtonCodec(MouseClickEvent::new))
+                .register(MouseReleaseEvent.class, mouseButtonCodec(MouseReleaseEvent::new))
+                .register(DoubleClickEvent.class, mouseButtonCodec(DoubleClickEvent::new))
+                .register(GamepadButtonPressEvent.class, gamepadButtonCodec(GamepadButtonPressEvent::new))
+                .register(GamepadButtonReleaseEvent.class, gamepadButtonCodec(GamepadButtonReleaseEvent::new))
+                .register(WindowResizeEvent.class, new EventCodec<>() {
+                    @Override
+                    public void write(WindowResizeEvent event, ByteBuffer buffer) {
+                        buffer.putInt(event.getOldWidth()).putInt(event.getOldHeight())
+                                .putInt(event.getNewWidth()).putInt(event.getNewHeight());
+                    }
+
+                    @Override
+                    public WindowResizeEvent read(ByteBuffer buffer) {
+                        WindowResizeEvent event = new WindowResizeEvent();
+                        event.set(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+                        return event;
+                    }
+                })
+                .register(FramebufferResizeEvent.class, new EventCodec<>() {
+                    @Override
+                    public void write(FramebufferResizeEvent event, ByteBuffer buffer) {
+                        buffer.putInt(event.getOldWidth()).putInt(event.getOldHeight())
+                                .putInt(event.getNewWidth()).putInt(event.getNewHeight());
+                    }
+
+                    @Override
+                    public FramebufferResizeEvent read(ByteBuffer buffer) {
+                        FramebufferResizeEvent event = new FramebufferResizeEvent();
+                        event.set(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+                        return event;
+                    }
+                });
+    }
+
+    /**
+     * Registers the codec for an event class, replacing any previous codec of the class.
+     *
+     * @param eventType the concrete event class
+     * @param codec     the codec
+     * @param <E>       the event type
+     * @return this, for chaining
+     */
+    public <E extends Event> EventCodecs register(Class<E> eventType, EventCodec<E> codec) {
+        codecs.put(eventType, codec);
+        types.put(eventType.getName(), eventType);
+        return this;
+    }
+
+    /**
+     * Returns whether events of the given concrete class are journaled.
+     *
+     * @param eventType the concrete event class
+     * @return true if a codec is registered
+     */
+    public boolean supports(Class<?> eventType) {
+        return codecs.containsKey(eventType);
+    }
+
+    /**
+     * Returns the codec of the given concrete class.
+     *
+     * @param eventType the concrete event class
+     * @param <E>       the event type
+     * @return the codec, or {@code null} if none is registered
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Event> EventCodec<E> get(Class<E> eventType) {
+        return (EventCodec<E>) codecs.get(eventType);
+    }
+
+    /**
+     * Returns the registered class with the given name, or {@code null} if none is registered.
+     */
+    Class<? extends Event> getType(String name) {
+        return types.get(name);
+    }
+
+    // =================================================================================================================
+    // Engine event codecs
+    // =================================================================================================================
+
+    private static <E extends KeyEvent> EventCodec<E> keyCodec(Supplier<E> factory) {
+        return new EventCodec<>() {
+            @Override
+            public void write(E event, ByteBuffer buffer) {
+                putEnum(buffer, event.getKey());
+                buffer.putShort(toBits(event.getModifiers()));
+            }
+
+            @Override
+            public E read(ByteBuffer buffer) {
+                E event = factory.get();
+                event.set(getEnum(buffer, Key.class), toModifiers(buffer.getShort()));
+                return event;
+            }
+        };
+    }
+
+    private static <E extends MouseButtonEvent> EventCodec<E> mouseButtonCodec(Supplier<E> factory) {
+        return new EventCodec<>() {
+            @Override
+            public void write(E event, ByteBuffer buffer) {
+                putEnum(buffer, event.getButton());
+                buffer.putShort(toBits(event.getModifiers()));
+                buffer.putFloat(event.getX()).putFloat(event.getY());
+            }
+
+            @Override
+            public E read(ByteBuffer buffer) {
+                E event = factory.get();
+                event.set(getEnum(buffer, MouseButton.class), toModifiers(buffer.getShort()), buffer.getFloat(), buffer.getFloat());
+                return event;
+            }
+        };
+    }
+
+    private static <E extends GamepadButtonEvent> EventCodec<E> gamepadButtonCodec(Supplier<E> factory) {
+        return new EventCodec<>() {
+            @Override
+            public void write(E event, ByteBuffer buffer) {
+                putEnum(buffer, event.getButton());
+            }
+
+            @Override
+            public E read(ByteBuffer buffer) {
+                E event = factory.get();
+                event.set(getEnum(buffer, GamepadButton.class));
+                return event;
+            }
+        };
+    }
+
+    private static void putEnum(ByteBuffer buffer, Enum<?> value) {
+        buffer.putShort(value == null ? -1 : (short) value.ordinal());
+    }
+
+    private static <T extends Enum<T>> T getEnum(ByteBuffer buffer, Class<T> type) {
+        short ordinal = buffer.getShort();
+        return ordinal < 0 ? null : type.getEnumConstants()[ordinal];
+    }
+
+    private static short toBits(Set<Modifier> modifiers) {
+        int bits = 0;
+        if (modifiers != null) {
+            for (Modifier modifier : modifiers) {
+                bits |= 1 << modifier.ordinal();
+            }
+        }
+        return (short) bits;
+    }
+
+    private static Set<Modifier> toModifiers(short bits) {
+        Set<Modifier> modifiers = EnumSet.noneOf(Modifier.class);
+        for (Modifier modifier : Modifier.values()) {
+            if ((bits & (1 << modifier.ordinal())) != 0) modifiers.add(modifier);
+        }
+        return Collections.unmodifiableSet(modifiers);
+    }
+}
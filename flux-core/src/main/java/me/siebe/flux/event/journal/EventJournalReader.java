@@ -0,0 +1,135 @@
+package me.siebe.flux.event.journal;
+
+import me.siebe.flux.api.event.Event;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static me.siebe.flux.event.journal.JournalFormat.*;
+
+/**
+ * Reads the events of a binary event journal written by {@link EventJournalWriter}, in the order they were appended.
+ * <p>
+ * Events of types without a codec in the given {@link EventCodecs} are skipped.
+ *
+ * @see ReplayEventBus
+ */
+public final class EventJournalReader implements AutoCloseable {
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final EventCodecs codecs;
+    private final Map<Short, EventCodec<?>> codecsById = new HashMap<>();
+
+    /** Frame of the next event, or -1 once all events have been read. */
+    private int nextFrame = -1;
+    private short nextTypeId;
+    private int nextLength;
+
+    /**
+     * Opens a journal for reading.
+     *
+     * @param file   the journal file
+     * @param codecs the codecs of the event types to read
+     * @throws UncheckedIOException     if the file cannot be read
+     * @throws IllegalArgumentException if the file is not an event journal of a supported version
+     */
+    public EventJournalReader(Path file, EventCodecs codecs) {
+        this.codecs = codecs;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open event journal " + file, e);
+        }
+        if (mapped.remaining() < FILE_HEADER_SIZE || mapped.getLong() != MAGIC) {
+            throw new IllegalArgumentException(file + " is not an event journal");
+        }
+        int version = mapped.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported event journal version " + version + " in " + file);
+        }
+        advance();
+    }
+
+    /**
+     * Returns whether there are more events to read.
+     *
+     * @return true if {@link #next()} returns another event
+     */
+    public boolean hasNext() {
+        return nextFrame >= 0;
+    }
+
+    /**
+     * Returns the frame of the next event without reading it.
+     *
+     * @return the frame, or {@code -1} if there are no more events
+     */
+    public int peekFrame() {
+        return nextFrame;
+    }
+
+    /**
+     * Reads the next event.
+     *
+     * @return a newly created event
+     * @throws NoSuchElementException if there are no more events
+     */
+    public Event next() {
+        if (!hasNext()) throw new NoSuchElementException("No more events in journal");
+
+        ByteBuffer payload = mapped.slice(mapped.position(), nextLength);
+        mapped.position(mapped.position() + nextLength);
+        Event event = codecsById.get(nextTypeId).read(payload);
+        advance();
+        return event;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close event journal", e);
+        }
+    }
+
+    /**
+     * Moves to the next event record with a known codec, handling type definitions on the way.
+     */
+    private void advance() {
+        while (mapped.remaining() >= RECORD_HEADER_SIZE) {
+            int frame = mapped.getInt();
+            short typeId = mapped.getShort();
+            int length = mapped.getInt();
+            if (typeId == END) break;
+
+            if (typeId == DEFINE_TYPE) {
+                short definedId = mapped.getShort();
+                byte[] name = new byte[mapped.getShort()];
+                mapped.get(name);
+                Class<? extends Event> eventType = codecs.getType(new String(name, StandardCharsets.UTF_8));
+                if (eventType != null) {
+                    codecsById.put(definedId, codecs.get(eventType));
+                }
+            } else if (codecsById.containsKey(typeId)) {
+                nextFrame = frame;
+                nextTypeId = typeId;
+                nextLength = length;
+                return;
+            } else {
+                mapped.position(mapped.position() + length);
+            }
+        }
+        nextFrame = -1;
+    }
+}
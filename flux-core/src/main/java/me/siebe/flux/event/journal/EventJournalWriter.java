@@ -0,0 +1,183 @@
+package me.siebe.flux.event.journal;
+
+import me.siebe.flux.api.event.Event;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import static me.siebe.flux.event.journal.JournalFormat.*;
+
+/**
+ * Appends events to a binary, memory-mapped event journal file.
+ * <p>
+ * Records are written straight into a mapped region of the file, which is doubled whenever it is full, so appending an
+ * event costs about as much as encoding it. Events whose class has no codec in the {@link EventCodecs} are skipped.
+ * <p>
+ * All methods are synchronized, as events are appended from every thread that posts to the
+ * {@link JournalingEventBus}. The file is not trimmed on {@link #close()}, since a mapped file cannot be truncated on
+ * every platform; the zero-filled rest of the mapped region reads as the end of the journal.
+ *
+ * @see EventJournalReader
+ * @see JournalingEventBus
+ */
+public final class EventJournalWriter implements AutoCloseable {
+    private static final int INITIAL_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final EventCodecs codecs;
+    private final Map<Class<?>, Short> typeIds = new HashMap<>();
+    private MappedByteBuffer mapped;
+    private ByteBuffer scratch = ByteBuffer.allocate(256);
+    private int frame;
+    private long eventCount;
+
+    /**
+     * Creates a new journal, replacing the file if it exists.
+     *
+     * @param file   the journal file
+     * @param codecs the codecs of the event types to journal
+     * @throws UncheckedIOException if the file cannot be created
+     */
+    public EventJournalWriter(Path file, EventCodecs codecs) {
+        this.codecs = codecs;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create event journal " + file, e);
+        }
+        mapped.putLong(MAGIC).putInt(VERSION);
+    }
+
+    /**
+     * Sets the frame that subsequently appended events belong to.
+     *
+     * @param frame the frame number
+     */
+    public synchronized void setFrame(int frame) {
+        this.frame = frame;
+    }
+
+    /**
+     * Returns the frame that appended events belong to.
+     *
+     * @return the frame number
+     */
+    public synchronized int getFrame() {
+        return frame;
+    }
+
+    /**
+     * Appends an event to the journal at the current frame.
+     *
+     * @param event the event
+     * @return true if the event was written, false if its class has no codec
+     */
+    public synchronized boolean append(Event event) {
+        Class<? extends Event> eventType = event.getClass();
+        EventCodec<Event> codec = codecs.get(castType(eventType));
+        if (codec == null) return false;
+
+        Short typeId = typeIds.get(eventType);
+        if (typeId == null) {
+            typeId = (short) (typeIds.size() + 1);
+            typeIds.put(eventType, typeId);
+            defineType(typeId, eventType.getName());
+        }
+
+        while (true) {
+            scratch.clear();
+            try {
+                codec.write(event, scratch);
+                break;
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+        scratch.flip();
+        writeRecord(typeId, scratch);
+        eventCount++;
+        return true;
+    }
+
+    /**
+     * Returns the number of events appended so far.
+     *
+     * @return the event count
+     */
+    public synchronized long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Returns the number of bytes written so far, including the file header.
+     *
+     * @return the journal size in bytes
+     */
+    public synchronized long getSize() {
+        return mapped.position();
+    }
+
+    /**
+     * Writes all records to disk and closes the file.
+     *
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    @Override
+    public synchronized void close() {
+        if (!channel.isOpen()) return;
+        try {
+            mapped.force();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close event journal", e);
+        }
+    }
+
+    private void defineType(short typeId, String name) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(Short.BYTES + Short.BYTES + nameBytes.length);
+        payload.putShort(typeId).putShort((short) nameBytes.length).put(nameBytes).flip();
+        writeRecord(DEFINE_TYPE, payload);
+    }
+
+    private void writeRecord(short typeId, ByteBuffer payload) {
+        ensureRemaining(RECORD_HEADER_SIZE + payload.remaining());
+        mapped.putInt(frame).putShort(typeId).putInt(payload.remaining()).put(payload);
+    }
+
+    private void ensureRemaining(int bytes) {
+        if (mapped.remaining() >= bytes) return;
+
+        long size = mapped.capacity();
+        while (size - mapped.position() < bytes) {
+            size *= 2;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Event journal cannot grow beyond 2 GiB");
+        }
+        try {
+            int position = mapped.position();
+            mapped.force();
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            mapped.position(position);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to grow event journal", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<Event> castType(Class<? extends Event> eventType) {
+        return (Class<Event>) eventType;
+    }
+}
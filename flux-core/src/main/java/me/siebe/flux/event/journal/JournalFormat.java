@@ -0,0 +1,23 @@
+package me.siebe.flux.event.journal;
+
+/**
+ * Layout of the binary event journal.
+ * <p>
+ * The file starts with the {@link #MAGIC} and {@link #VERSION}, followed by records. Every record starts with the
+ * frame (int), the type id (short) and the payload length (int), followed by the payload. Type ids are assigned in
+ * order of first use, starting at 1. Before the first event of a type, a record with type id {@link #DEFINE_TYPE}
+ * maps the id to the class name. A type id of {@code 0} marks the end of the journal, which is where the unused rest
+ * of the mapped file is still zero-filled.
+ */
+final class JournalFormat {
+    static final long MAGIC = 0x464C55584A524E4CL; // "FLUXJRNL"
+    static final int VERSION = 1;
+    static final int FILE_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+    static final int RECORD_HEADER_SIZE = Integer.BYTES + Short.BYTES + Integer.BYTES;
+
+    static final short END = 0;
+    static final short DEFINE_TYPE = -1;
+
+    private JournalFormat() {
+    }
+}
@@ -0,0 +1,107 @@
+package me.siebe.flux.event.journal;
+
+import me.siebe.flux.api.event.Event;
+import me.siebe.flux.api.event.EventBus;
+import me.siebe.flux.api.event.EventChannel;
+import me.siebe.flux.api.event.EventListenerRegistry;
+import me.siebe.flux.api.event.EventPoolRegistry;
+import me.siebe.flux.api.event.EventScheduler;
+import me.siebe.flux.api.event.metrics.EventMetrics;
+import me.siebe.flux.api.event.traits.Pooled;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Wraps an {@link EventBus} and appends every posted event with a codec to an {@link EventJournalWriter}.
+ * <p>
+ * The frame of an event is the number of {@link #flush() flushes} started before it was posted. Since the engine
+ * flushes once per frame, this matches the engine frame, and {@link ReplayEventBus} uses the same count to re-inject
+ * the events. Events are journaled before they are delivered, so pooled events are written before they are released.
+ */
+public final class JournalingEventBus implements EventBus {
+    private final EventBus delegate;
+    private final EventJournalWriter journal;
+
+    public JournalingEventBus(EventBus delegate, EventJournalWriter journal) {
+        this.delegate = delegate;
+        this.journal = journal;
+    }
+
+    @Override
+    public <E extends Event> void post(E event) {
+        if (event != null) {
+            journal.append(event);
+        }
+        delegate.post(event);
+    }
+
+    @Override
+    public <E extends Event & Pooled> void post(Class<E> eventType, Consumer<E> consumer) {
+        // Acquired here instead of in the delegate, so the configured event can be journaled
+        E event;
+        try {
+            event = delegate.getEventPoolRegistry().acquire(eventType);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to post pooled event: " + eventType.getSimpleName(), e);
+        }
+        consumer.accept(event);
+        post(event);
+    }
+
+    @Override
+    public <E extends Event & Pooled> E acquire(Class<E> eventType) {
+        return delegate.acquire(eventType);
+    }
+
+    @Override
+    public void flush() {
+        journal.setFrame(journal.getFrame() + 1);
+        delegate.flush();
+    }
+
+    @Override
+    public void awaitFrameDeliveries() {
+        delegate.awaitFrameDeliveries();
+    }
+
+    @Override
+    public int getQueuedEventCount() {
+        return delegate.getQueuedEventCount();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return delegate.getDroppedEventCount();
+    }
+
+    @Override
+    public <E> EventChannel<E> createChannel(Class<E> entryType, Supplier<E> factory, int capacity) {
+        return delegate.createChannel(entryType, factory, capacity);
+    }
+
+    @Override
+    public <E> EventChannel<E> getChannel(Class<E> entryType) {
+        return delegate.getChannel(entryType);
+    }
+
+    @Override
+    public EventScheduler getScheduler() {
+        return delegate.getScheduler();
+    }
+
+    @Override
+    public EventMetrics getMetrics() {
+        return delegate.getMetrics();
+    }
+
+    @Override
+    public EventListenerRegistry getListenerRegistry() {
+        return delegate.getListenerRegistry();
+    }
+
+    @Override
+    public EventPoolRegistry getEventPoolRegistry() {
+        return delegate.getEventPoolRegistry();
+    }
+}
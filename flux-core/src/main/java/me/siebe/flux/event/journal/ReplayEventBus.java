@@ -0,0 +1,128 @@
+package me.siebe.flux.event.journal;
+
+import me.siebe.flux.api.event.Event;
+import me.siebe.flux.api.event.EventBus;
+import me.siebe.flux.api.event.EventChannel;
+import me.siebe.flux.api.event.EventListenerRegistry;
+import me.siebe.flux.api.event.EventPoolRegistry;
+import me.siebe.flux.api.event.EventScheduler;
+import me.siebe.flux.api.event.metrics.EventMetrics;
+import me.siebe.flux.api.event.traits.Pooled;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Wraps an {@link EventBus} and re-injects the events of an event journal at the frames they were recorded at.
+ * <p>
+ * At the start of every {@link #flush()}, all journaled events of the current frame are posted to the delegate before it
+ * flushes. Since the engine flushes once per frame, an application with a fixed timestep receives the same events at
+ * the same frames as during the recording. Events posted within a frame are re-injected at the start of that frame's
+ * flush, in their original order.
+ * <p>
+ * Live posts of journaled event types, such as input from real devices, are dropped so they cannot interfere with the
+ * replay. Other events are passed on to the delegate.
+ *
+ * @see JournalingEventBus
+ */
+public final class ReplayEventBus implements EventBus {
+    private final EventBus delegate;
+    private final EventJournalReader journal;
+    private final EventCodecs codecs;
+    private int frame;
+    private long replayedCount;
+
+    public ReplayEventBus(EventBus delegate, EventJournalReader journal, EventCodecs codecs) {
+        this.delegate = delegate;
+        this.journal = journal;
+        this.codecs = codecs;
+    }
+
+    /**
+     * Returns whether all journaled events have been re-injected.
+     *
+     * @return true if the replay is finished
+     */
+    public boolean isFinished() {
+        return !journal.hasNext();
+    }
+
+    /**
+     * Returns the number of journaled events re-injected so far.
+     *
+     * @return the replayed event count
+     */
+    public long getReplayedCount() {
+        return replayedCount;
+    }
+
+    @Override
+    public <E extends Event> void post(E event) {
+        if (event != null && codecs.supports(event.getClass())) {
+            delegate.getEventPoolRegistry().release(event);
+            return;
+        }
+        delegate.post(event);
+    }
+
+    @Override
+    public <E extends Event & Pooled> void post(Class<E> eventType, Consumer<E> consumer) {
+        if (codecs.supports(eventType)) return;
+        delegate.post(eventType, consumer);
+    }
+
+    @Override
+    public void flush() {
+        while (journal.hasNext() && journal.peekFrame() <= frame) {
+            delegate.post(journal.next());
+            replayedCount++;
+        }
+        frame++;
+        delegate.flush();
+    }
+
+    @Override
+    public void awaitFrameDeliveries() {
+        delegate.awaitFrameDeliveries();
+    }
+
+    @Override
+    public int getQueuedEventCount() {
+        return delegate.getQueuedEventCount();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return delegate.getDroppedEventCount();
+    }
+
+    @Override
+    public <E> EventChannel<E> createChannel(Class<E> entryType, Supplier<E> factory, int capacity) {
+        return delegate.createChannel(entryType, factory, capacity);
+    }
+
+    @Override
+    public <E> EventChannel<E> getChannel(Class<E> entryType) {
+        return delegate.getChannel(entryType);
+    }
+
+    @Override
+    public EventScheduler getScheduler() {
+        return delegate.getScheduler();
+    }
+
+    @Override
+    public EventMetrics getMetrics() {
+        return delegate.getMetrics();
+    }
+
+    @Override
+    public EventListenerRegistry getListenerRegistry() {
+        return delegate.getListenerRegistry();
+    }
+
+    @Override
+    public EventPoolRegistry getEventPoolRegistry() {
+        return delegate.getEventPoolRegistry();
+    }
+}
@@ -294,4 +294,117 @@ public class ComponentStoreTest {
         assertTrue(velocityStore.has(0)); // Velocity should still exist
         assertFalse(positionStore.has(0));
     }
+
+
+    // =================================================================================================================
+    // Forking
+    // =================================================================================================================
+
+    @Test
+    void fork_ShouldContainSameComponents() {
+        store.add(3, new TestComponents.Position(1, 2));
+        store.add(7, new TestComponents.Position(3, 4));
+
+        ComponentStore<TestComponents.Position> fork = store.fork();
+
+        assertEquals(2, fork.size());
+        assertEquals(new TestComponents.Position(1, 2), fork.get(3));
+        assertEquals(new TestComponents.Position(3, 4), fork.get(7));
+    }
+
+    @Test
+    void fork_AddAndRemove_ShouldNotAffectOriginal() {
+        store.add(0, new TestComponents.Position(1, 1));
+        store.add(1, new TestComponents.Position(2, 2));
+        ComponentStore<TestComponents.Position> fork = store.fork();
+
+        fork.remove(0);
+        fork.add(50, new TestComponents.Position(3, 3));
+
+        assertEquals(2, store.size());
+        assertTrue(store.has(0));
+        assertFalse(store.has(50));
+        assertEquals(0, store.getEntityAt(0));
+
+        assertEquals(2, fork.size());
+        assertFalse(fork.has(0));
+        assertTrue(fork.has(50));
+    }
+
+    @Test
+    void fork_OriginalWrites_ShouldNotAffectFork() {
+        store.add(0, new TestComponents.Position(1, 1));
+        ComponentStore<TestComponents.Position> fork = store.fork();
+
+        store.remove(0);
+        store.add(1, new TestComponents.Position(2, 2));
+
+        assertTrue(fork.has(0));
+        assertFalse(fork.has(1));
+        assertEquals(1, fork.size());
+    }
+
+    @Test
+    void fork_WithCopyableComponents_ShouldCopyOnAccess() {
+        ComponentStore<TestComponents.Counter> counters = new ComponentStore<>(MAX_ENTITIES);
+        TestComponents.Counter counter = new TestComponents.Counter(1);
+        counters.add(0, counter);
+
+        ComponentStore<TestComponents.Counter> fork = counters.fork();
+        fork.get(0).increment();
+
+        assertEquals(2, fork.get(0).count);
+        assertEquals(1, counters.get(0).count);
+        assertNotSame(fork.get(0), counters.get(0));
+    }
+
+    @Test
+    void fork_WithNonCopyableComponents_ShouldShareInstances() {
+        TestComponents.Position pos = new TestComponents.Position(1, 1);
+        store.add(0, pos);
+
+        ComponentStore<TestComponents.Position> fork = store.fork();
+
+        assertSame(pos, fork.get(0));
+    }
+
+    @Test
+    void fork_AcrossManyPages_ShouldKeepStoresIndependent() {
+        int maxEntities = 5_000;
+        ComponentStore<TestComponents.Counter> counters = new ComponentStore<>(maxEntities);
+        for (int i = 0; i < maxEntities; i++) {
+            counters.add(i, new TestComponents.Counter(i));
+        }
+
+        ComponentStore<TestComponents.Counter> fork = counters.fork();
+        for (int i = 0; i < maxEntities; i += 2) {
+            fork.remove(i);
+        }
+
+        assertEquals(maxEntities, counters.size());
+        assertEquals(maxEntities / 2, fork.size());
+        for (int i = 0; i < maxEntities; i++) {
+            assertEquals(i, counters.get(i).count);
+            assertEquals(i % 2 == 1, fork.has(i));
+        }
+    }
+
+    @Test
+    void fork_RemoveAcrossDensePages_ShouldNotAffectForkValues() {
+        ComponentStore<TestComponents.Counter> counters = new ComponentStore<>(300);
+        for (int i = 0; i < 300; i++) {
+            counters.add(i, new TestComponents.Counter(i));
+        }
+        ComponentStore<TestComponents.Counter> fork = counters.fork();
+
+        // Moves the last component, on the second dense page, into the slot of entity 0 on the first page
+        counters.remove(0);
+        counters.get(299).increment();
+
+        assertEquals(300, counters.get(299).count);
+        assertEquals(300, fork.size());
+        for (int i = 0; i < 300; i++) {
+            assertEquals(i, fork.get(i).count);
+        }
+    }
 }
@@ -0,0 +1,254 @@
+package me.siebe.flux.ecs;
+
+import me.siebe.flux.api.ecs.ComponentLayout;
+import me.siebe.flux.api.ecs.ComponentLayout.Field;
+import me.siebe.flux.api.ecs.Entity;
+import me.siebe.flux.api.ecs.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveComponentStoreTest {
+    private static final int MAX_ENTITIES = 1_000;
+
+    private static final ComponentLayout BODY = ComponentLayout.builder("Body")
+            .floatField("x")
+            .floatField("y")
+            .intField("flags")
+            .doubleField("mass")
+            .build();
+    private static final Field X = BODY.getField("x");
+    private static final Field Y = BODY.getField("y");
+    private static final Field FLAGS = BODY.getField("flags");
+    private static final Field MASS = BODY.getField("mass");
+
+    private World world;
+    private PrimitiveComponentStore store;
+
+    @BeforeEach
+    void setUp() {
+        world = World.create("primitive-world", MAX_ENTITIES);
+        store = new PrimitiveComponentStore(BODY, MAX_ENTITIES);
+    }
+
+    // =================================================================================================================
+    // Basic operations
+    // =================================================================================================================
+
+    @Test
+    void add_ShouldStoreZeroInitializedComponent() {
+        Entity entity = world.createEntity();
+
+        store.add(entity);
+
+        assertTrue(store.has(entity));
+        assertEquals(1, store.size());
+        assertEquals(0f, store.getFloat(entity, X));
+        assertEquals(0, store.getInt(entity, FLAGS));
+        assertEquals(0.0, store.getDouble(entity, MASS));
+    }
+
+    @Test
+    void add_WithDuplicateEntity_ShouldThrowException() {
+        Entity entity = world.createEntity();
+        store.add(entity);
+
+        assertThrows(IllegalArgumentException.class, () -> store.add(entity));
+    }
+
+    @Test
+    void setAndGet_ShouldRoundTripAllFieldTypes() {
+        Entity entity = world.createEntity();
+        store.add(entity);
+
+        store.setFloat(entity, X, 1.5f);
+        store.setFloat(entity, Y, -2.5f);
+        store.setInt(entity, FLAGS, 42);
+        store.setDouble(entity, MASS, 80.25);
+
+        assertEquals(1.5f, store.getFloat(entity, X));
+        assertEquals(-2.5f, store.getFloat(entity, Y));
+        assertEquals(42, store.getInt(entity, FLAGS));
+        assertEquals(80.25, store.getDouble(entity, MASS));
+    }
+
+    @Test
+    void getFloat_WithWrongFieldType_ShouldThrowException() {
+        Entity entity = world.createEntity();
+        store.add(entity);
+
+        assertThrows(IllegalArgumentException.class, () -> store.getFloat(entity, FLAGS));
+    }
+
+    @Test
+    void getFloat_WithFieldOfOtherLayout_ShouldThrowException() {
+        ComponentLayout other = ComponentLayout.builder("Other").floatField("x").build();
+        Entity entity = world.createEntity();
+        store.add(entity);
+
+        assertThrows(IllegalArgumentException.class, () -> store.getFloat(entity, other.getField("x")));
+    }
+
+    @Test
+    void getFloat_WithoutComponent_ShouldThrowException() {
+        Entity entity = world.createEntity();
+
+        assertThrows(IllegalArgumentException.class, () -> store.getFloat(entity, X));
+    }
+
+    @Test
+    void remove_ShouldSwapLastComponentIntoGap() {
+        Entity first = world.createEntity();
+        Entity second = world.createEntity();
+        Entity third = world.createEntity();
+        store.add(first);
+        store.add(second);
+        store.add(third);
+        store.setFloat(third, X, 3f);
+
+        assertTrue(store.remove(first));
+
+        assertFalse(store.has(first));
+        assertEquals(2, store.size());
+        assertEquals(0, store.indexOf(third));
+        assertEquals(third.getId(), store.getEntityAt(0));
+        assertEquals(3f, store.getFloat(third, X));
+    }
+
+    @Test
+    void remove_WithoutComponent_ShouldReturnFalse() {
+        assertFalse(store.remove(world.createEntity()));
+    }
+
+    @Test
+    void add_BeyondInitialCapacity_ShouldKeepValues() {
+        for (int i = 0; i < 500; i++) {
+            Entity entity = world.createEntity();
+            store.add(entity);
+            store.setFloat(entity, X, i);
+            store.setDouble(entity, MASS, i * 2.0);
+        }
+
+        assertEquals(500, store.size());
+        for (int i = 0; i < 500; i++) {
+            Entity entity = world.getEntity(i);
+            assertEquals(i, store.getFloat(entity, X));
+            assertEquals(i * 2.0, store.getDouble(entity, MASS));
+        }
+    }
+
+    // =================================================================================================================
+    // Column access
+    // =================================================================================================================
+
+    @Test
+    void floatColumn_ShouldExposeDenseValues() {
+        for (int i = 0; i < 10; i++) {
+            Entity entity = world.createEntity();
+            store.add(entity);
+            store.setFloat(entity, X, i);
+        }
+
+        FloatBuffer xs = store.floatColumn(X);
+
+        assertTrue(xs.isDirect());
+        assertEquals(10, xs.remaining());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, xs.get(i));
+        }
+    }
+
+    @Test
+    void floatColumn_Writes_ShouldBeVisibleThroughAccessors() {
+        Entity entity = world.createEntity();
+        store.add(entity);
+
+        store.floatColumn(Y).put(0, 7f);
+
+        assertEquals(7f, store.getFloat(entity, Y));
+    }
+
+    @Test
+    void floatColumn_HeldAcrossGrow_ShouldStayReadableWithoutAffectingStore() {
+        Entity entity = world.createEntity();
+        store.add(entity);
+        store.setFloat(entity, X, 1f);
+        FloatBuffer stale = store.floatColumn(X);
+
+        for (int i = 0; i < 500; i++) {
+            store.add(world.createEntity());
+        }
+        store.setFloat(entity, X, 42f);
+        stale.put(0, 3f);
+
+        assertEquals(3f, stale.get(0));
+        assertEquals(42f, store.getFloat(entity, X));
+        assertEquals(42f, store.floatColumn(X).get(0));
+    }
+
+    @Test
+    void column_ShouldBeNativeOrderedAndSizedInBytes() {
+        store.add(world.createEntity());
+        store.add(world.createEntity());
+
+        ByteBuffer column = store.column(MASS);
+
+        assertEquals(ByteOrder.nativeOrder(), column.order());
+        assertEquals(2 * Double.BYTES, column.remaining());
+    }
+
+    // =================================================================================================================
+    // Copying and releasing
+    // =================================================================================================================
+
+    @Test
+    void copy_ShouldBeIndependent() {
+        Entity entity = world.createEntity();
+        store.add(entity);
+        store.setFloat(entity, X, 1f);
+
+        PrimitiveComponentStore copy = store.copy();
+        copy.setFloat(entity, X, 2f);
+        copy.add(world.createEntity());
+
+        assertEquals(1f, store.getFloat(entity, X));
+        assertEquals(1, store.size());
+        assertEquals(2f, copy.getFloat(entity, X));
+        assertEquals(2, copy.size());
+    }
+
+    @Test
+    void copyFrom_ShouldReplaceContents() {
+        Entity kept = world.createEntity();
+        Entity dropped = world.createEntity();
+        store.add(kept);
+        store.setInt(kept, FLAGS, 1);
+        PrimitiveComponentStore snapshot = store.copy();
+
+        store.setInt(kept, FLAGS, 2);
+        store.add(dropped);
+        store.copyFrom(snapshot);
+
+        assertEquals(1, store.size());
+        assertEquals(1, store.getInt(kept, FLAGS));
+        assertFalse(store.has(dropped));
+    }
+
+    @Test
+    void release_ShouldRejectFurtherAccess() {
+        Entity entity = world.createEntity();
+        store.add(entity);
+
+        store.release();
+
+        assertTrue(store.isReleased());
+        assertThrows(IllegalStateException.class, () -> store.has(entity));
+        assertThrows(IllegalStateException.class, () -> store.floatColumn(X));
+        assertDoesNotThrow(() -> store.release());
+    }
+}
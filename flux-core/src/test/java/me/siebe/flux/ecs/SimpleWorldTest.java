@@ -1,7 +1,9 @@
 package me.siebe.flux.ecs;
 
+import me.siebe.flux.api.ecs.ComponentLayout;
 import me.siebe.flux.api.ecs.EcsSystem;
 import me.siebe.flux.api.ecs.Entity;
+import me.siebe.flux.api.ecs.PrimitiveComponents;
 import me.siebe.flux.api.ecs.World;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -400,4 +402,228 @@ public class SimpleWorldTest {
             assertEquals(i, entity.get(TestComponents.Position.class).x);
         }
     }
+
+
+    // =================================================================================================================
+    // Forking and restoring
+    // =================================================================================================================
+
+    @Test
+    void fork_ShouldContainSameEntitiesAndComponents() {
+        Entity entity = world.createEntity(new TestComponents.Position(1, 2), new TestComponents.Counter(3));
+
+        World fork = world.fork();
+
+        Entity forked = fork.getEntity(entity.getId());
+        assertNotNull(forked);
+        assertEquals(new TestComponents.Position(1, 2), forked.get(TestComponents.Position.class));
+        assertEquals(3, forked.get(TestComponents.Counter.class).count);
+    }
+
+    @Test
+    void fork_ShouldHaveNewIdAndSameName() {
+        World fork = world.fork();
+
+        assertNotEquals(world.getId(), fork.getId());
+        assertEquals(world.getName(), fork.getName());
+        assertNotEquals(world, fork);
+    }
+
+    @Test
+    void fork_MutatingCopyableComponent_ShouldNotAffectParent() {
+        Entity entity = world.createEntity(new TestComponents.Counter(0));
+        World fork = world.fork();
+
+        fork.getEntity(entity.getId()).get(TestComponents.Counter.class).increment();
+
+        assertEquals(1, fork.getEntity(entity.getId()).get(TestComponents.Counter.class).count);
+        assertEquals(0, entity.get(TestComponents.Counter.class).count);
+    }
+
+    @Test
+    void fork_MutatingCopyableComponentInParent_ShouldNotAffectFork() {
+        Entity entity = world.createEntity(new TestComponents.Counter(0));
+        World fork = world.fork();
+
+        entity.get(TestComponents.Counter.class).increment();
+
+        assertEquals(0, fork.getEntity(entity.getId()).get(TestComponents.Counter.class).count);
+    }
+
+    @Test
+    void fork_CreatingAndDeletingEntities_ShouldNotAffectParent() {
+        Entity kept = world.createEntity(new TestComponents.Position(1, 1));
+        Entity deleted = world.createEntity(new TestComponents.Position(2, 2));
+        World fork = world.fork();
+
+        assertTrue(fork.deleteEntity(fork.getEntity(deleted.getId())));
+        Entity created = fork.createEntity(new TestComponents.Velocity(1, 1));
+        fork.getEntity(kept.getId()).add(new TestComponents.Health());
+
+        assertNotNull(world.getEntity(deleted.getId()));
+        assertEquals(deleted.getId(), created.getId());
+        assertFalse(deleted.has(TestComponents.Velocity.class));
+        assertFalse(kept.has(TestComponents.Health.class));
+        assertEquals(0, world.findEntitiesWith(TestComponents.Velocity.class).stream().count());
+        assertEquals(2, world.findEntitiesWith(TestComponents.Position.class).stream().count());
+    }
+
+    @Test
+    void fork_WithManyEntities_ShouldOnlyDifferWhereWritten() {
+        World large = World.create("large-world", 10_000);
+        for (int i = 0; i < 10_000; i++) {
+            large.createEntity(new TestComponents.Counter(i));
+        }
+
+        World fork = large.fork();
+        fork.getEntity(5_000).get(TestComponents.Counter.class).count = -1;
+
+        assertEquals(5_000, large.getEntity(5_000).get(TestComponents.Counter.class).count);
+        assertEquals(-1, fork.getEntity(5_000).get(TestComponents.Counter.class).count);
+        assertEquals(9_999, fork.getEntity(9_999).get(TestComponents.Counter.class).count);
+    }
+
+    @Test
+    void restore_ShouldRollBackToSnapshot() {
+        Entity entity = world.createEntity(new TestComponents.Counter(0));
+        World snapshot = world.fork();
+
+        entity.get(TestComponents.Counter.class).increment();
+        Entity speculative = world.createEntity(new TestComponents.Position());
+        world.restore(snapshot);
+
+        assertEquals(0, entity.get(TestComponents.Counter.class).count);
+        assertNull(world.getEntity(speculative.getId()));
+        assertEquals(0, world.findEntitiesWith(TestComponents.Position.class).stream().count());
+    }
+
+    @Test
+    void restore_ShouldKeepSnapshotReusable() {
+        Entity entity = world.createEntity(new TestComponents.Counter(0));
+        World snapshot = world.fork();
+
+        for (int frame = 0; frame < 3; frame++) {
+            entity.get(TestComponents.Counter.class).increment();
+            world.restore(snapshot);
+        }
+
+        assertEquals(0, entity.get(TestComponents.Counter.class).count);
+        assertEquals(0, snapshot.getEntity(entity.getId()).get(TestComponents.Counter.class).count);
+    }
+
+    @Test
+    void restore_ShouldKeepEntityIdAllocationConsistent() {
+        Entity first = world.createEntity();
+        world.createEntity();
+        world.deleteEntity(first);
+        World snapshot = world.fork();
+
+        Entity reused = world.createEntity();
+        world.restore(snapshot);
+
+        assertEquals(first.getId(), reused.getId());
+        assertEquals(first.getId(), world.createEntity().getId());
+        assertEquals(first.getId(), snapshot.createEntity().getId());
+    }
+
+    @Test
+    void restore_WithDifferentMaxEntities_ShouldThrowException() {
+        World other = World.create("other-world", 200);
+
+        assertThrows(IllegalArgumentException.class, () -> world.restore(other));
+    }
+
+    @Test
+    void restore_WithNullSnapshot_ShouldThrowException() {
+        assertThrows(NullPointerException.class, () -> world.restore(null));
+    }
+
+    // =================================================================================================================
+    // Primitive components
+    // =================================================================================================================
+
+    private static final ComponentLayout POSITION = ComponentLayout.builder("Position")
+            .floatField("x")
+            .floatField("y")
+            .build();
+    private static final ComponentLayout.Field POSITION_X = POSITION.getField("x");
+
+    @Test
+    void getPrimitiveComponents_ShouldReturnSameStoreForLayout() {
+        PrimitiveComponents first = world.getPrimitiveComponents(POSITION);
+        PrimitiveComponents second = world.getPrimitiveComponents(POSITION);
+
+        assertSame(first, second);
+        assertSame(POSITION, first.getLayout());
+    }
+
+    @Test
+    void deleteEntity_ShouldRemovePrimitiveComponents() {
+        PrimitiveComponents positions = world.getPrimitiveComponents(POSITION);
+        Entity entity = world.createEntity();
+        positions.add(entity);
+
+        world.deleteEntity(entity);
+
+        assertEquals(0, positions.size());
+    }
+
+    @Test
+    void fork_ShouldCopyPrimitiveComponents() {
+        PrimitiveComponents positions = world.getPrimitiveComponents(POSITION);
+        Entity entity = world.createEntity();
+        positions.add(entity);
+        positions.setFloat(entity, POSITION_X, 1f);
+
+        World fork = world.fork();
+        PrimitiveComponents forkedPositions = fork.getPrimitiveComponents(POSITION);
+        forkedPositions.setFloat(fork.getEntity(entity.getId()), POSITION_X, 2f);
+
+        assertNotSame(positions, forkedPositions);
+        assertEquals(1f, positions.getFloat(entity, POSITION_X));
+        assertEquals(2f, forkedPositions.getFloat(fork.getEntity(entity.getId()), POSITION_X));
+    }
+
+    @Test
+    void restore_ShouldRestorePrimitiveComponentsInPlace() {
+        PrimitiveComponents positions = world.getPrimitiveComponents(POSITION);
+        Entity entity = world.createEntity();
+        positions.add(entity);
+        World snapshot = world.fork();
+
+        positions.setFloat(entity, POSITION_X, 5f);
+        positions.add(world.createEntity());
+        world.restore(snapshot);
+
+        assertSame(positions, world.getPrimitiveComponents(POSITION));
+        assertEquals(1, positions.size());
+        assertEquals(0f, positions.getFloat(entity, POSITION_X));
+    }
+
+    @Test
+    void destroy_ShouldReleasePrimitiveComponents() {
+        PrimitiveComponents positions = world.getPrimitiveComponents(POSITION);
+        World fork = world.fork();
+
+        world.destroy();
+
+        assertThrows(IllegalStateException.class, () -> positions.floatColumn(POSITION_X));
+        assertThrows(IllegalStateException.class, () -> world.getPrimitiveComponents(POSITION));
+        assertThrows(IllegalStateException.class, () -> world.createEntity());
+        assertDoesNotThrow(() -> fork.getPrimitiveComponents(POSITION).size());
+        assertDoesNotThrow(() -> world.destroy());
+    }
+
+    @Test
+    void destroyWorlds_ShouldDestroyRegisteredWorldsButNotForks() {
+        PrimitiveComponents positions = world.getPrimitiveComponents(POSITION);
+        World fork = world.fork();
+
+        EcsSystem.destroyWorlds();
+
+        assertNull(EcsSystem.getWorld(world.getId()));
+        assertThrows(IllegalStateException.class, () -> positions.floatColumn(POSITION_X));
+        assertDoesNotThrow(() -> fork.getPrimitiveComponents(POSITION).size());
+        fork.destroy();
+    }
 }
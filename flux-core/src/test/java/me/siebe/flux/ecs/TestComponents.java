@@ -1,5 +1,7 @@
 package me.siebe.flux.ecs;
 
+import me.siebe.flux.util.memory.Copyable;
+
 import java.util.Objects;
 
 /**
@@ -140,8 +142,10 @@ public class TestComponents {
 
     /**
      * Component with mutable state for testing modifications.
+     * <p>
+     * Implements {@link Copyable} so forked worlds do not share instances.
      */
-    public static class Counter {
+    public static class Counter implements Copyable<Counter> {
         public int count;
 
         public Counter() {
@@ -155,6 +159,11 @@ public class TestComponents {
         public void increment() {
             count++;
         }
+
+        @Override
+        public Counter copy() {
+            return new Counter(count);
+        }
     }
 
 
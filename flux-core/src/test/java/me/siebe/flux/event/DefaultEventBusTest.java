@@ -1,12 +1,30 @@
 package me.siebe.flux.event;
 
+import me.siebe.flux.api.event.DeliveryMode;
+import me.siebe.flux.api.event.Event;
 import me.siebe.flux.api.event.EventBus;
+import me.siebe.flux.api.event.EventListener;
 import me.siebe.flux.api.event.EventPool;
+import me.siebe.flux.api.event.EventPoolConfig;
+import me.siebe.flux.api.event.EventPriority;
+import me.siebe.flux.api.event.EventSchedule;
+import me.siebe.flux.api.event.common.WindowResizeEvent;
+import me.siebe.flux.api.event.metrics.EventMetrics;
+import me.siebe.flux.api.event.metrics.HistogramSnapshot;
+import me.siebe.flux.api.input.enums.Key;
+import me.siebe.flux.api.input.devices.keyboard.event.KeyEvent;
+import me.siebe.flux.api.input.devices.keyboard.event.KeyPressEvent;
+import me.siebe.flux.api.input.devices.keyboard.event.KeyReleaseEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -411,4 +429,812 @@ public class DefaultEventBusTest {
             eventBus.flush();
         });
     }
+
+    @Test
+    void getQueuedEventCount_ShouldReflectQueueDepth() {
+        eventBus.post(new TestEvents.QueuedEvent(1));
+        eventBus.post(new TestEvents.QueuedEvent(2));
+        eventBus.post(new TestEvents.SimpleEvent());
+
+        assertEquals(2, eventBus.getQueuedEventCount());
+
+        eventBus.flush();
+
+        assertEquals(0, eventBus.getQueuedEventCount());
+    }
+
+    @Test
+    void postQueuedEvent_WhenQueueIsFull_ShouldDropAndCount() {
+        EventBus boundedBus = new DefaultEventBus(2);
+        List<Integer> received = new ArrayList<>();
+        boundedBus.getListenerRegistry().register(TestEvents.QueuedEvent.class, e -> received.add(e.getOrder()));
+
+        for (int i = 0; i < 5; i++) {
+            boundedBus.post(new TestEvents.QueuedEvent(i));
+        }
+        boundedBus.flush();
+
+        assertEquals(List.of(0, 1), received);
+        assertEquals(3, boundedBus.getDroppedEventCount());
+    }
+
+    @Test
+    void postPooledQueuedEvent_WhenQueueIsFull_ShouldReleaseDroppedEvent() {
+        EventBus boundedBus = new DefaultEventBus(1);
+        boundedBus.getEventPoolRegistry().register(TestEvents.PooledQueuedEvent.class, TestEvents.PooledQueuedEvent::new);
+        EventPool<TestEvents.PooledQueuedEvent> pool = boundedBus.getEventPoolRegistry().get(TestEvents.PooledQueuedEvent.class);
+
+        boundedBus.post(TestEvents.PooledQueuedEvent.class, e -> e.setData("kept"));
+        boundedBus.post(TestEvents.PooledQueuedEvent.class, e -> e.setData("dropped"));
+
+        assertEquals(1, boundedBus.getDroppedEventCount());
+        assertEquals(1, pool.getPoolSize());
+    }
+
+    @Test
+    void postQueuedEvent_FromOtherThreads_ShouldBeDeliveredOnFlush() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        eventBus.getListenerRegistry().register(TestEvents.QueuedEvent.class, e -> count.incrementAndGet());
+
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    eventBus.post(new TestEvents.QueuedEvent(i));
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertEquals(2000, eventBus.getQueuedEventCount());
+        assertEquals(0, count.get());
+
+        eventBus.flush();
+
+        assertEquals(2000, count.get());
+        assertEquals(0, eventBus.getDroppedEventCount());
+    }
+
+    @Test
+    void postEvent_ShouldInvokeListenersOfSupertypes() {
+        List<String> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.BaseEvent.class, e -> received.add("base"));
+        eventBus.getListenerRegistry().register(Event.class, e -> received.add("event"));
+        eventBus.getListenerRegistry().register(TestEvents.ChildEvent.class, e -> received.add("child"));
+
+        eventBus.post(new TestEvents.ChildEvent());
+        eventBus.post(new TestEvents.OtherChildEvent());
+
+        assertEquals(List.of("child", "base", "event", "base", "event"), received);
+    }
+
+    @Test
+    void postCancellableEvent_CancelledBySubtypeListener_ShouldNotReachSupertypeListeners() {
+        AtomicInteger supertypeCount = new AtomicInteger();
+        eventBus.getListenerRegistry().register(Event.class, e -> supertypeCount.incrementAndGet());
+        eventBus.getListenerRegistry().register(TestEvents.CancellableEvent.class, TestEvents.CancellableEvent::cancel);
+
+        eventBus.post(new TestEvents.CancellableEvent());
+
+        assertEquals(0, supertypeCount.get());
+    }
+
+    @Test
+    void postPooledEvent_WithNoListeners_ShouldReleaseEvent() {
+        eventBus.getEventPoolRegistry().register(TestEvents.PooledEvent.class, TestEvents.PooledEvent::new);
+        EventPool<TestEvents.PooledEvent> pool = eventBus.getEventPoolRegistry().get(TestEvents.PooledEvent.class);
+
+        eventBus.post(TestEvents.PooledEvent.class, e -> e.setValue(1));
+
+        assertEquals(1, pool.getPoolSize());
+    }
+
+    @Test
+    void postEvent_ShouldInvokeListenersInPriorityOrder() {
+        List<String> order = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.SimpleEvent.class, e -> order.add("normal"));
+        eventBus.getListenerRegistry().register(TestEvents.SimpleEvent.class, e -> order.add("lowest"), EventPriority.LOWEST);
+        eventBus.getListenerRegistry().register(TestEvents.SimpleEvent.class, e -> order.add("highest"), EventPriority.HIGHEST);
+
+        eventBus.post(new TestEvents.SimpleEvent());
+
+        assertEquals(List.of("highest", "normal", "lowest"), order);
+    }
+
+    @Test
+    void postCancellableEvent_CancelledByHigherPriority_ShouldOnlyReachListenersReceivingCancelled() {
+        List<String> order = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.CancellableEvent.class, e -> order.add("normal"));
+        eventBus.getListenerRegistry().register(TestEvents.CancellableEvent.class, e -> {
+            order.add("high");
+            e.cancel();
+        }, EventPriority.HIGH);
+        eventBus.getListenerRegistry().register(TestEvents.CancellableEvent.class,
+                e -> order.add("monitor:" + e.isCancelled()), EventPriority.MONITOR, true);
+
+        eventBus.post(new TestEvents.CancellableEvent());
+
+        assertEquals(List.of("high", "monitor:true"), order);
+    }
+
+    @Test
+    void postCancellableEvent_WhenCancelledBeforePost_ShouldOnlyInvokeListenersReceivingCancelled() {
+        AtomicInteger normalCount = new AtomicInteger();
+        AtomicInteger receivingCount = new AtomicInteger();
+        eventBus.getListenerRegistry().register(TestEvents.CancellableEvent.class, e -> normalCount.incrementAndGet());
+        eventBus.getListenerRegistry().register(TestEvents.CancellableEvent.class,
+                e -> receivingCount.incrementAndGet(), EventPriority.NORMAL, true);
+
+        TestEvents.CancellableEvent event = new TestEvents.CancellableEvent();
+        event.cancel();
+        eventBus.post(event);
+
+        assertEquals(0, normalCount.get());
+        assertEquals(1, receivingCount.get());
+    }
+
+    @Test
+    void acquireAndPublish_ShouldDeliverAndReleaseEvent() {
+        eventBus.getEventPoolRegistry().register(TestEvents.PooledEvent.class, TestEvents.PooledEvent::new);
+        List<Integer> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.PooledEvent.class, e -> received.add(e.getValue()));
+
+        TestEvents.PooledEvent event = eventBus.acquire(TestEvents.PooledEvent.class);
+        event.setValue(7);
+        eventBus.publish(event);
+
+        assertEquals(List.of(7), received);
+        assertTrue(event.isInPool());
+        assertSame(event, eventBus.acquire(TestEvents.PooledEvent.class));
+    }
+
+    @Test
+    void acquire_WithNoPool_ShouldLogErrorAndAllocateNewEvent() {
+        List<Integer> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.PooledEvent.class, e -> received.add(e.getValue()));
+
+        TestEvents.PooledEvent event = assertDoesNotThrow(() -> eventBus.acquire(TestEvents.PooledEvent.class));
+        assertNotNull(event);
+        assertNotSame(event, eventBus.acquire(TestEvents.PooledEvent.class));
+        event.setValue(7);
+        eventBus.publish(event);
+
+        assertEquals(List.of(7), received);
+    }
+
+    @Test
+    void acquire_WhenPoolFactoryThrows_ShouldLogErrorAndAllocateNewEvent() {
+        eventBus.getEventPoolRegistry().register(TestEvents.PooledEvent.class, () -> {
+            throw new IllegalStateException("Pool exhausted");
+        });
+
+        TestEvents.PooledEvent event = assertDoesNotThrow(() -> eventBus.acquire(TestEvents.PooledEvent.class));
+
+        assertNotNull(event);
+        assertTrue(event.wasResetCalled());
+    }
+
+    @Test
+    void acquireAndPublish_AtSteadyState_ShouldNotAllocate() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean)
+                || !threadBean.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        eventBus.getEventPoolRegistry().register(TestEvents.PooledEvent.class, TestEvents.PooledEvent::new);
+        int[] sum = new int[1];
+        eventBus.getListenerRegistry().register(TestEvents.PooledEvent.class, e -> sum[0] += e.getValue());
+
+        for (int i = 0; i < 20_000; i++) {
+            postPooledValue(i);
+        }
+        long threadId = Thread.currentThread().threadId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            postPooledValue(i);
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+        // Allocating even a single object per post would take at least 1.6 MB
+        assertTrue(allocated < 64 * 1024, "Allocated " + allocated + " bytes");
+    }
+
+    private void postPooledValue(int value) {
+        TestEvents.PooledEvent event = eventBus.acquire(TestEvents.PooledEvent.class);
+        event.setValue(value);
+        eventBus.publish(event);
+    }
+
+    @Test
+    void flush_WithCoalescingEvents_ShouldDeliverLatestPerKey() {
+        List<Integer> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.LatestWinsEvent.class, e -> received.add(e.getValue()));
+
+        for (int i = 0; i < 50; i++) {
+            eventBus.post(new TestEvents.LatestWinsEvent(i));
+        }
+        eventBus.flush();
+
+        assertEquals(List.of(49), received);
+    }
+
+    @Test
+    void flush_WithCoalescingEvents_ShouldMergePerKeyInPostingOrder() {
+        List<String> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.CoalescingEvent.class,
+                e -> received.add(e.getChannel() + ":" + e.getDelta() + "x" + e.getCoalescedCount()));
+
+        eventBus.post(new TestEvents.CoalescingEvent(1, 1));
+        eventBus.post(new TestEvents.CoalescingEvent(2, 10));
+        eventBus.post(new TestEvents.CoalescingEvent(1, 2));
+        eventBus.post(new TestEvents.QueuedEvent(0));
+        eventBus.post(new TestEvents.CoalescingEvent(1, 3));
+        eventBus.flush();
+
+        assertEquals(List.of("2:10x0", "1:6x2"), received);
+    }
+
+    @Test
+    void flush_WithCoalescingEvents_ShouldKeepOtherQueuedEventsInOrder() {
+        List<String> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.QueuedEvent.class, e -> received.add("queued" + e.getOrder()));
+        eventBus.getListenerRegistry().register(TestEvents.LatestWinsEvent.class, e -> received.add("latest" + e.getValue()));
+
+        eventBus.post(new TestEvents.QueuedEvent(1));
+        eventBus.post(new TestEvents.LatestWinsEvent(1));
+        eventBus.post(new TestEvents.QueuedEvent(2));
+        eventBus.post(new TestEvents.LatestWinsEvent(2));
+        eventBus.flush();
+
+        assertEquals(List.of("queued1", "queued2", "latest2"), received);
+    }
+
+    @Test
+    void flush_WithPooledCoalescingEvents_ShouldReleaseDiscardedEvents() {
+        eventBus.getEventPoolRegistry().register(TestEvents.CoalescingEvent.class, TestEvents.CoalescingEvent::new);
+        EventPool<TestEvents.CoalescingEvent> pool = eventBus.getEventPoolRegistry().get(TestEvents.CoalescingEvent.class);
+
+        for (int i = 0; i < 5; i++) {
+            TestEvents.CoalescingEvent event = eventBus.acquire(TestEvents.CoalescingEvent.class);
+            event.set(1, i);
+            eventBus.publish(event);
+        }
+        eventBus.flush();
+
+        assertEquals(5, pool.getPoolSize());
+    }
+
+    @Test
+    void flush_WithCoalescingEvents_ShouldNotCoalesceAcrossFlushes() {
+        List<Integer> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.LatestWinsEvent.class, e -> received.add(e.getValue()));
+
+        eventBus.post(new TestEvents.LatestWinsEvent(1));
+        eventBus.flush();
+        eventBus.post(new TestEvents.LatestWinsEvent(2));
+        eventBus.flush();
+
+        assertEquals(List.of(1, 2), received);
+    }
+
+    @Test
+    void flush_WithManyCoalescingKeys_ShouldMergeEachKeyOnceAcrossFlushes() {
+        int channels = 500;
+        List<String> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.CoalescingEvent.class,
+                e -> received.add(e.getChannel() + ":" + e.getDelta() + "x" + e.getCoalescedCount()));
+
+        for (int flush = 0; flush < 2; flush++) {
+            received.clear();
+            for (int round = 1; round <= 3; round++) {
+                for (int channel = 0; channel < channels; channel++) {
+                    eventBus.post(new TestEvents.CoalescingEvent(channel, round));
+                }
+            }
+            eventBus.post(new TestEvents.LatestWinsEvent(7));
+            eventBus.flush();
+
+            assertEquals(channels, received.size());
+            for (int channel = 0; channel < channels; channel++) {
+                assertEquals(channel + ":6x2", received.get(channel));
+            }
+        }
+    }
+
+    @Test
+    void flush_WithWindowResizeEvents_ShouldSpanFirstOldSizeToLastNewSize() {
+        List<String> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(WindowResizeEvent.class,
+                e -> received.add(e.getOldWidth() + "x" + e.getOldHeight() + "->" + e.getNewWidth() + "x" + e.getNewHeight()));
+
+        WindowResizeEvent first = new WindowResizeEvent();
+        first.set(800, 600, 810, 605);
+        WindowResizeEvent second = new WindowResizeEvent();
+        second.set(810, 605, 1024, 768);
+        eventBus.post(first);
+        eventBus.post(second);
+        eventBus.flush();
+
+        assertEquals(List.of("800x600->1024x768"), received);
+    }
+
+    // =================================================================================================================
+    // Asynchronous delivery
+    // =================================================================================================================
+
+    @Test
+    void postEvent_WithAsyncListener_ShouldInvokeListenerOffPostingThreadAfterSyncListeners() {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        Thread[] asyncThread = new Thread[1];
+        eventBus.getListenerRegistry().register(TestEvents.SimpleEvent.class, e -> {
+            asyncThread[0] = Thread.currentThread();
+            order.add("async");
+        }, EventPriority.HIGHEST, false, DeliveryMode.ASYNC_FRAME);
+        eventBus.getListenerRegistry().register(TestEvents.SimpleEvent.class, e -> order.add("sync"), EventPriority.LOWEST);
+
+        eventBus.post(new TestEvents.SimpleEvent("test"));
+        eventBus.awaitFrameDeliveries();
+
+        assertEquals(List.of("sync", "async"), order);
+        assertNotSame(Thread.currentThread(), asyncThread[0]);
+    }
+
+    @Test
+    void postEvents_WithAsyncListener_ShouldDeliverInPostingOrder() {
+        List<Integer> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.QueuedEvent.class, e -> received.add(e.getOrder()),
+                DeliveryMode.ASYNC_FRAME);
+
+        for (int i = 0; i < 1000; i++) {
+            eventBus.post(new TestEvents.QueuedEvent(i));
+        }
+        eventBus.flush();
+        eventBus.awaitFrameDeliveries();
+
+        assertEquals(1000, received.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, received.get(i));
+        }
+    }
+
+    @Test
+    void awaitFrameDeliveries_ShouldWaitForAsyncFrameListeners() {
+        AtomicInteger delivered = new AtomicInteger();
+        eventBus.getListenerRegistry().register(TestEvents.SimpleEvent.class, e -> {
+            sleep(20);
+            delivered.incrementAndGet();
+        }, DeliveryMode.ASYNC_FRAME);
+
+        eventBus.post(new TestEvents.SimpleEvent("first"));
+        eventBus.post(new TestEvents.SimpleEvent("second"));
+        eventBus.awaitFrameDeliveries();
+
+        assertEquals(2, delivered.get());
+    }
+
+    @Test
+    void awaitFrameDeliveries_ShouldNotWaitForAsyncListeners() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        eventBus.getListenerRegistry().register(TestEvents.SimpleEvent.class, e -> {
+            await(release);
+            done.countDown();
+        }, DeliveryMode.ASYNC);
+
+        eventBus.post(new TestEvents.SimpleEvent("test"));
+        eventBus.awaitFrameDeliveries();
+
+        assertEquals(1, done.getCount());
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void postCancellableEvent_WhenCancelledBySyncListener_ShouldOnlyDeliverToAsyncListenersReceivingCancelled() {
+        eventBus = new DefaultEventBus(DefaultEventBus.DEFAULT_QUEUE_CAPACITY, Runnable::run);
+        List<String> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.CancellableEvent.class, e -> received.add("async"),
+                EventPriority.HIGHEST, false, DeliveryMode.ASYNC);
+        eventBus.getListenerRegistry().register(TestEvents.CancellableEvent.class, e -> received.add("async-cancelled"),
+                EventPriority.HIGHEST, true, DeliveryMode.ASYNC);
+        eventBus.getListenerRegistry().register(TestEvents.CancellableEvent.class, e -> e.setCancelled(true), EventPriority.LOWEST);
+
+        eventBus.post(new TestEvents.CancellableEvent());
+
+        assertEquals(List.of("async-cancelled"), received);
+    }
+
+    @Test
+    void postPooledEvent_WithAsyncListener_ShouldReleaseAfterDelivery() throws InterruptedException {
+        eventBus.getEventPoolRegistry().register(TestEvents.PooledEvent.class, TestEvents.PooledEvent::new);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        int[] value = new int[1];
+        eventBus.getListenerRegistry().register(TestEvents.PooledEvent.class, e -> {
+            await(release);
+            value[0] = e.getValue();
+            done.countDown();
+        }, DeliveryMode.ASYNC);
+
+        TestEvents.PooledEvent event = eventBus.acquire(TestEvents.PooledEvent.class);
+        event.setValue(42);
+        eventBus.publish(event);
+        assertFalse(event.isInPool());
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        eventBus.awaitFrameDeliveries();
+        assertEquals(42, value[0]);
+        // The release happens right after the listener returns
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!event.isInPool() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(event.isInPool());
+    }
+
+    @Test
+    void postAsynchronousEvent_WithSyncListener_ShouldDeliverAsFrameBound() {
+        Thread[] listenerThread = new Thread[1];
+        AtomicInteger sum = new AtomicInteger();
+        eventBus.getListenerRegistry().register(TestEvents.AsynchronousEvent.class, e -> {
+            listenerThread[0] = Thread.currentThread();
+            sleep(20);
+            sum.addAndGet(e.getValue());
+        });
+
+        eventBus.post(new TestEvents.AsynchronousEvent(5));
+        eventBus.awaitFrameDeliveries();
+
+        assertEquals(5, sum.get());
+        assertNotSame(Thread.currentThread(), listenerThread[0]);
+    }
+
+    @Test
+    void postEvent_WithThrowingAsyncListener_ShouldKeepDeliveringToLane() {
+        List<String> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.SimpleEvent.class, e -> {
+            if (e.getMessage().equals("fail")) throw new RuntimeException("Test exception");
+            received.add(e.getMessage());
+        }, DeliveryMode.ASYNC_FRAME);
+
+        eventBus.post(new TestEvents.SimpleEvent("fail"));
+        eventBus.post(new TestEvents.SimpleEvent("ok"));
+        eventBus.awaitFrameDeliveries();
+
+        assertEquals(List.of("ok"), received);
+    }
+
+    // =================================================================================================================
+    // Keyed listeners
+    // =================================================================================================================
+
+    @Test
+    void postKeyedEvent_WithKeyedListener_ShouldOnlyInvokeListenerForItsKey() {
+        List<Key> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(KeyPressEvent.class, Key.KEY_W, e -> received.add(e.getKey()));
+
+        eventBus.post(keyPress(Key.KEY_SPACE));
+        eventBus.post(keyPress(Key.KEY_W));
+        eventBus.post(keyPress(Key.KEY_ESCAPE));
+
+        assertEquals(List.of(Key.KEY_W), received);
+    }
+
+    @Test
+    void postKeyedEvent_WithKeyedAndUnkeyedListeners_ShouldInvokeInPriorityAndRegistrationOrder() {
+        List<String> order = new ArrayList<>();
+        var registry = eventBus.getListenerRegistry();
+        registry.register(KeyPressEvent.class, e -> order.add("unkeyed-normal"));
+        registry.register(KeyPressEvent.class, Key.KEY_W, e -> order.add("keyed-normal"));
+        registry.register(KeyPressEvent.class, Key.KEY_W, e -> order.add("keyed-high"), EventPriority.HIGH);
+        registry.register(KeyPressEvent.class, e -> order.add("unkeyed-low"), EventPriority.LOW);
+
+        eventBus.post(keyPress(Key.KEY_W));
+        eventBus.post(keyPress(Key.KEY_SPACE));
+
+        assertEquals(List.of("keyed-high", "unkeyed-normal", "keyed-normal", "unkeyed-low", "unkeyed-normal", "unkeyed-low"), order);
+    }
+
+    @Test
+    void postKeyedEvent_WithKeyedListenerOnSupertype_ShouldInvokeListener() {
+        List<Class<?>> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(KeyEvent.class, Key.KEY_W, e -> received.add(e.getClass()));
+
+        eventBus.post(keyPress(Key.KEY_W));
+        KeyReleaseEvent release = new KeyReleaseEvent();
+        release.set(Key.KEY_W, Set.of());
+        eventBus.post(release);
+        eventBus.post(keyPress(Key.KEY_SPACE));
+
+        assertEquals(List.of(KeyPressEvent.class, KeyReleaseEvent.class), received);
+    }
+
+    @Test
+    void unregisterKeyedListener_ShouldStopInvokingListener() {
+        List<Key> received = new ArrayList<>();
+        EventListener<KeyPressEvent> listener = e -> received.add(e.getKey());
+        eventBus.getListenerRegistry().register(KeyPressEvent.class, Key.KEY_W, listener);
+        eventBus.getListenerRegistry().register(KeyPressEvent.class, Key.KEY_SPACE, listener);
+
+        eventBus.post(keyPress(Key.KEY_W));
+        eventBus.getListenerRegistry().unregister(KeyPressEvent.class, Key.KEY_W, listener);
+        eventBus.post(keyPress(Key.KEY_W));
+        eventBus.post(keyPress(Key.KEY_SPACE));
+
+        assertEquals(List.of(Key.KEY_W, Key.KEY_SPACE), received);
+    }
+
+    @Test
+    void unregisterUnkeyedListener_ShouldNotRemoveKeyedRegistration() {
+        List<Key> received = new ArrayList<>();
+        EventListener<KeyPressEvent> listener = e -> received.add(e.getKey());
+        eventBus.getListenerRegistry().register(KeyPressEvent.class, Key.KEY_W, listener);
+
+        eventBus.getListenerRegistry().unregister(KeyPressEvent.class, listener);
+        eventBus.post(keyPress(Key.KEY_W));
+
+        assertEquals(List.of(Key.KEY_W), received);
+    }
+
+    // =================================================================================================================
+    // Scheduler
+    // =================================================================================================================
+
+    @Test
+    void postAt_ShouldPostEventWhenFrameIsReached() {
+        List<String> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.SimpleEvent.class, e -> received.add(e.getMessage()));
+
+        eventBus.getScheduler().postAt(3, new TestEvents.SimpleEvent("frame 3"));
+        eventBus.getScheduler().advance(2, 0.0);
+        assertTrue(received.isEmpty());
+        eventBus.getScheduler().advance(3, 0.0);
+
+        assertEquals(List.of("frame 3"), received);
+        assertEquals(0, eventBus.getScheduler().getScheduledCount());
+    }
+
+    @Test
+    void postAfter_ShouldPostEventsInOrderOfTheirDelay() {
+        List<String> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.SimpleEvent.class, e -> received.add(e.getMessage()));
+
+        eventBus.getScheduler().postAfter(2.0, new TestEvents.SimpleEvent("late"));
+        eventBus.getScheduler().postAfter(0.5, new TestEvents.SimpleEvent("early"));
+        eventBus.getScheduler().advance(1, 0.4);
+        assertTrue(received.isEmpty());
+        eventBus.getScheduler().advance(2, 5.0);
+
+        assertEquals(List.of("early", "late"), received);
+    }
+
+    @Test
+    void advance_WithFrameAndTimeSchedules_ShouldPostFrameSchedulesFirstEachInDueOrder() {
+        List<String> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.SimpleEvent.class, e -> received.add(e.getMessage()));
+
+        eventBus.getScheduler().postAfter(0.2, new TestEvents.SimpleEvent("time 0.2"));
+        eventBus.getScheduler().postAt(2, new TestEvents.SimpleEvent("frame 2"));
+        eventBus.getScheduler().postAfter(0.1, new TestEvents.SimpleEvent("time 0.1"));
+        eventBus.getScheduler().postAt(1, new TestEvents.SimpleEvent("frame 1"));
+        eventBus.getScheduler().advance(2, 1.0);
+
+        assertEquals(List.of("frame 1", "frame 2", "time 0.1", "time 0.2"), received);
+    }
+
+    @Test
+    void postAfter_WithQueuedEvent_ShouldDeliverOnNextFlush() {
+        List<Integer> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.QueuedEvent.class, e -> received.add(e.getOrder()));
+
+        eventBus.getScheduler().postAfter(0.1, new TestEvents.QueuedEvent(1));
+        eventBus.getScheduler().advance(1, 0.1);
+        assertTrue(received.isEmpty());
+        eventBus.flush();
+
+        assertEquals(List.of(1), received);
+    }
+
+    @Test
+    void postEvery_ShouldPostOncePerIntervalUntilCancelled() {
+        AtomicInteger count = new AtomicInteger();
+        eventBus.getListenerRegistry().register(TestEvents.SimpleEvent.class, e -> count.incrementAndGet());
+
+        EventSchedule schedule = eventBus.getScheduler().postEvery(0.25, () -> new TestEvents.SimpleEvent("tick"));
+        eventBus.getScheduler().advance(1, 0.3);
+        assertEquals(1, count.get());
+        // A long frame catches up on every interval it spans
+        eventBus.getScheduler().advance(2, 1.0);
+        assertEquals(4, count.get());
+
+        assertTrue(schedule.cancel());
+        eventBus.getScheduler().advance(3, 2.0);
+
+        assertEquals(4, count.get());
+        assertFalse(schedule.isPending());
+        assertEquals(0, eventBus.getScheduler().getScheduledCount());
+    }
+
+    @Test
+    void postEveryFrames_ShouldPostEveryIntervalOfFrames() {
+        List<Long> frames = new ArrayList<>();
+        long[] frame = new long[1];
+        eventBus.getListenerRegistry().register(TestEvents.SimpleEvent.class, e -> frames.add(frame[0]));
+
+        eventBus.getScheduler().postEveryFrames(2, () -> new TestEvents.SimpleEvent("tick"));
+        for (frame[0] = 1; frame[0] <= 6; frame[0]++) {
+            eventBus.getScheduler().advance(frame[0], 0.0);
+        }
+
+        assertEquals(List.of(2L, 4L, 6L), frames);
+    }
+
+    @Test
+    void cancel_ShouldPreventPostAndReleasePooledEvent() {
+        eventBus.getEventPoolRegistry().register(TestEvents.PooledEvent.class, TestEvents.PooledEvent::new);
+        EventPool<TestEvents.PooledEvent> pool = eventBus.getEventPoolRegistry().get(TestEvents.PooledEvent.class);
+        List<TestEvents.PooledEvent> received = new ArrayList<>();
+        eventBus.getListenerRegistry().register(TestEvents.PooledEvent.class, received::add);
+        TestEvents.PooledEvent event = eventBus.acquire(TestEvents.PooledEvent.class);
+
+        EventSchedule schedule = eventBus.getScheduler().postAt(1, event);
+        assertTrue(schedule.isPending());
+        assertTrue(schedule.cancel());
+        assertFalse(schedule.cancel());
+        eventBus.getScheduler().advance(1, 0.0);
+
+        assertTrue(received.isEmpty());
+        assertSame(event, pool.acquire());
+    }
+
+    @Test
+    void postEvery_WithNonPositiveInterval_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> eventBus.getScheduler().postEvery(0, () -> new TestEvents.SimpleEvent("tick")));
+        assertThrows(IllegalArgumentException.class,
+                () -> eventBus.getScheduler().postEveryFrames(-1, () -> new TestEvents.SimpleEvent("tick")));
+    }
+
+    // =================================================================================================================
+    // Metrics
+    // =================================================================================================================
+
+    @Test
+    void metrics_WhenDisabled_ShouldRecordNothing() {
+        eventBus.getListenerRegistry().register(TestEvents.SimpleEvent.class, e -> {
+        });
+
+        eventBus.post(new TestEvents.SimpleEvent("test"));
+        eventBus.flush();
+
+        EventMetrics metrics = eventBus.getMetrics();
+        assertFalse(metrics.isEnabled());
+        assertEquals(0, metrics.getPostCount(TestEvents.SimpleEvent.class));
+        assertEquals(0, metrics.getFlushQueueDepth().getCount());
+        assertTrue(metrics.getListenerLatencies().isEmpty());
+    }
+
+    @Test
+    void metrics_WhenEnabled_ShouldCountPostsPerType() {
+        eventBus.getMetrics().setEnabled(true);
+
+        eventBus.post(new TestEvents.SimpleEvent("a"));
+        eventBus.post(new TestEvents.SimpleEvent("b"));
+        eventBus.post(new TestEvents.QueuedEvent(0));
+
+        EventMetrics metrics = eventBus.getMetrics();
+        assertEquals(2, metrics.getPostCount(TestEvents.SimpleEvent.class));
+        assertEquals(1, metrics.getPostCount(TestEvents.QueuedEvent.class));
+        assertEquals(2, metrics.getPostCounts().size());
+    }
+
+    @Test
+    void metrics_WhenEnabled_ShouldRecordQueueDepthAtFlush() {
+        eventBus.getMetrics().setEnabled(true);
+        for (int i = 0; i < 5; i++) {
+            eventBus.post(new TestEvents.QueuedEvent(i));
+        }
+
+        eventBus.flush();
+        eventBus.flush();
+
+        HistogramSnapshot depth = eventBus.getMetrics().getFlushQueueDepth();
+        assertEquals(2, depth.getCount());
+        assertEquals(5, depth.getMax());
+    }
+
+    @Test
+    void metrics_WhenEnabled_ShouldRecordListenerLatencySlowestFirst() {
+        EventListener<TestEvents.SimpleEvent> fast = e -> {
+        };
+        EventListener<TestEvents.SimpleEvent> slow = e -> sleep(2);
+        eventBus.getListenerRegistry().register(TestEvents.SimpleEvent.class, fast);
+        eventBus.getListenerRegistry().register(TestEvents.SimpleEvent.class, slow);
+        eventBus.getMetrics().setEnabled(true);
+
+        eventBus.post(new TestEvents.SimpleEvent("a"));
+        eventBus.post(new TestEvents.SimpleEvent("b"));
+
+        EventMetrics metrics = eventBus.getMetrics();
+        HistogramSnapshot slowLatency = metrics.getListenerLatency(TestEvents.SimpleEvent.class, slow);
+        assertEquals(2, slowLatency.getCount());
+        assertTrue(slowLatency.getValueAtPercentile(50) >= 1_000_000);
+        assertSame(slow, metrics.getListenerLatencies().get(0).listener());
+        assertEquals(2, metrics.getListenerLatencies().size());
+
+        metrics.reset();
+        assertNull(metrics.getListenerLatency(TestEvents.SimpleEvent.class, slow));
+    }
+
+    @Test
+    void metrics_ShouldReportPoolHitsAndMisses() {
+        eventBus.getEventPoolRegistry().register(TestEvents.PooledEvent.class, TestEvents.PooledEvent::new);
+
+        for (int i = 0; i < 3; i++) {
+            eventBus.publish(eventBus.acquire(TestEvents.PooledEvent.class));
+        }
+
+        assertEquals(1, eventBus.getMetrics().getPoolMissCount(TestEvents.PooledEvent.class));
+        assertEquals(2, eventBus.getMetrics().getPoolHitCount(TestEvents.PooledEvent.class));
+        assertEquals(0, eventBus.getMetrics().getPoolHitCount(TestEvents.SimpleEvent.class));
+    }
+
+    @Test
+    void metrics_WhenEnabled_ShouldSampleSteadyStateAllocationRate() {
+        eventBus.getEventPoolRegistry().register(TestEvents.PooledEvent.class, TestEvents.PooledEvent::new);
+        DefaultEventMetrics metrics = (DefaultEventMetrics) eventBus.getMetrics();
+        metrics.setEnabled(true);
+        long second = DefaultEventMetrics.SAMPLE_INTERVAL_NANOS;
+
+        metrics.samplePools(0);
+        for (int i = 0; i < 10; i++) {
+            eventBus.acquire(TestEvents.PooledEvent.class);
+        }
+        metrics.samplePools(second);
+        assertEquals(10.0, metrics.getPoolAllocationRate(TestEvents.PooledEvent.class), 1e-9);
+
+        // Once events are released again, the smoothed rate decays toward zero
+        for (int i = 0; i < 10; i++) {
+            eventBus.publish(eventBus.acquire(TestEvents.PooledEvent.class));
+        }
+        metrics.samplePools(2 * second);
+        metrics.samplePools(3 * second);
+
+        assertEquals(2.75, metrics.getPoolAllocationRate(TestEvents.PooledEvent.class), 1e-9);
+        assertEquals(0.0, metrics.getPoolAllocationRate(TestEvents.SimpleEvent.class));
+    }
+
+    @Test
+    void metrics_ShouldReportPoolDiscards() {
+        eventBus.getEventPoolRegistry().register(TestEvents.PooledEvent.class, TestEvents.PooledEvent::new, new EventPoolConfig(0, 0));
+
+        eventBus.publish(eventBus.acquire(TestEvents.PooledEvent.class));
+
+        assertEquals(1, eventBus.getMetrics().getPoolDiscardCount(TestEvents.PooledEvent.class));
+    }
+
+    private static KeyPressEvent keyPress(Key key) {
+        KeyPressEvent event = new KeyPressEvent();
+        event.set(key, Set.of());
+        return event;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
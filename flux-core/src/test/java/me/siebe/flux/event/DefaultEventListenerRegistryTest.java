@@ -1,7 +1,9 @@
 package me.siebe.flux.event;
 
+import me.siebe.flux.api.event.Event;
 import me.siebe.flux.api.event.EventListener;
 import me.siebe.flux.api.event.EventListenerRegistry;
+import me.siebe.flux.api.event.EventPriority;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -267,4 +269,122 @@ public class DefaultEventListenerRegistryTest {
         assertNotNull(registry.get(TestEvents.PooledEvent.class));
         assertNotNull(registry.get(TestEvents.QueuedEvent.class));
     }
+
+    // =================================================================================================================
+    // Dispatch tables
+    // =================================================================================================================
+
+    @Test
+    void getDispatch_ShouldIncludeSupertypeListenersAfterOwnListeners() {
+        DefaultEventListenerRegistry defaultRegistry = new DefaultEventListenerRegistry();
+        EventListener<TestEvents.ChildEvent> childListener = e -> {};
+        EventListener<TestEvents.BaseEvent> baseListener = e -> {};
+        EventListener<Event> eventListener = e -> {};
+        defaultRegistry.register(Event.class, eventListener);
+        defaultRegistry.register(TestEvents.BaseEvent.class, baseListener);
+        defaultRegistry.register(TestEvents.ChildEvent.class, childListener);
+
+        EventListener<?>[] listeners = defaultRegistry.getDispatch(TestEvents.ChildEvent.class).listeners();
+
+        assertArrayEquals(new EventListener<?>[]{childListener, baseListener, eventListener}, listeners);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getDispatch_WithListenerOnMultipleTypes_ShouldContainItOnce() {
+        DefaultEventListenerRegistry defaultRegistry = new DefaultEventListenerRegistry();
+        EventListener<Event> listener = e -> {};
+        defaultRegistry.register(Event.class, listener);
+        defaultRegistry.register(TestEvents.BaseEvent.class, (EventListener<TestEvents.BaseEvent>) (EventListener<?>) listener);
+
+        assertEquals(1, defaultRegistry.getDispatch(TestEvents.ChildEvent.class).listeners().length);
+    }
+
+    @Test
+    void getDispatch_WithNoListeners_ShouldReturnEmptyArray() {
+        DefaultEventListenerRegistry defaultRegistry = new DefaultEventListenerRegistry();
+
+        assertEquals(0, defaultRegistry.getDispatch(TestEvents.SimpleEvent.class).listeners().length);
+    }
+
+    @Test
+    void getDispatch_WithoutChanges_ShouldReuseCachedDispatch() {
+        DefaultEventListenerRegistry defaultRegistry = new DefaultEventListenerRegistry();
+        defaultRegistry.register(TestEvents.SimpleEvent.class, e -> {});
+
+        DefaultEventListenerRegistry.Dispatch first = defaultRegistry.getDispatch(TestEvents.SimpleEvent.class);
+        DefaultEventListenerRegistry.Dispatch second = defaultRegistry.getDispatch(TestEvents.SimpleEvent.class);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void getDispatch_AfterRegisterAndUnregister_ShouldBeRebuilt() {
+        DefaultEventListenerRegistry defaultRegistry = new DefaultEventListenerRegistry();
+        EventListener<TestEvents.BaseEvent> listener = e -> {};
+        assertEquals(0, defaultRegistry.getDispatch(TestEvents.ChildEvent.class).listeners().length);
+
+        defaultRegistry.register(TestEvents.BaseEvent.class, listener);
+        assertEquals(1, defaultRegistry.getDispatch(TestEvents.ChildEvent.class).listeners().length);
+
+        defaultRegistry.unregister(TestEvents.BaseEvent.class, listener);
+        assertEquals(0, defaultRegistry.getDispatch(TestEvents.ChildEvent.class).listeners().length);
+    }
+
+    // =================================================================================================================
+    // Priorities
+    // =================================================================================================================
+
+    @Test
+    void register_WithPriorities_ShouldOrderByDescendingPriority() {
+        EventListener<TestEvents.SimpleEvent> low = e -> {};
+        EventListener<TestEvents.SimpleEvent> normal = e -> {};
+        EventListener<TestEvents.SimpleEvent> high = e -> {};
+
+        registry.register(TestEvents.SimpleEvent.class, low, EventPriority.LOW);
+        registry.register(TestEvents.SimpleEvent.class, normal);
+        registry.register(TestEvents.SimpleEvent.class, high, EventPriority.HIGH);
+
+        assertEquals(List.of(high, normal, low), registry.get(TestEvents.SimpleEvent.class));
+    }
+
+    @Test
+    void register_WithEqualPriorities_ShouldKeepRegistrationOrder() {
+        EventListener<TestEvents.SimpleEvent> first = e -> {};
+        EventListener<TestEvents.SimpleEvent> second = e -> {};
+        EventListener<TestEvents.SimpleEvent> high = e -> {};
+
+        registry.register(TestEvents.SimpleEvent.class, first, EventPriority.LOW);
+        registry.register(TestEvents.SimpleEvent.class, high, EventPriority.HIGH);
+        registry.register(TestEvents.SimpleEvent.class, second, EventPriority.LOW);
+
+        assertEquals(List.of(high, first, second), registry.get(TestEvents.SimpleEvent.class));
+    }
+
+    @Test
+    void get_ShouldReturnUnmodifiableSnapshot() {
+        registry.register(TestEvents.SimpleEvent.class, e -> {});
+
+        List<EventListener<TestEvents.SimpleEvent>> listeners = registry.get(TestEvents.SimpleEvent.class);
+        registry.register(TestEvents.SimpleEvent.class, e -> {});
+
+        assertEquals(1, listeners.size());
+        assertThrows(UnsupportedOperationException.class, () -> listeners.add(e -> {}));
+    }
+
+    @Test
+    void getDispatch_ShouldSortAcrossTypeHierarchyByPriority() {
+        DefaultEventListenerRegistry defaultRegistry = new DefaultEventListenerRegistry();
+        EventListener<TestEvents.ChildEvent> childListener = e -> {};
+        EventListener<TestEvents.BaseEvent> baseListener = e -> {};
+        EventListener<Event> monitor = e -> {};
+        defaultRegistry.register(Event.class, monitor, EventPriority.MONITOR, true);
+        defaultRegistry.register(TestEvents.ChildEvent.class, childListener);
+        defaultRegistry.register(TestEvents.BaseEvent.class, baseListener, EventPriority.HIGHEST);
+
+        DefaultEventListenerRegistry.Dispatch dispatch = defaultRegistry.getDispatch(TestEvents.ChildEvent.class);
+
+        assertArrayEquals(new EventListener<?>[]{baseListener, childListener, monitor}, dispatch.listeners());
+        assertArrayEquals(new boolean[]{false, false, true}, dispatch.receiveCancelled());
+    }
 }
@@ -1,9 +1,18 @@
 package me.siebe.flux.event;
 
+import me.siebe.flux.api.event.Event;
 import me.siebe.flux.api.event.EventPool;
+import me.siebe.flux.api.event.EventPoolConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class DefaultEventPoolTest {
@@ -29,6 +38,18 @@ public class DefaultEventPoolTest {
         assertTrue(event.wasResetCalled());
     }
 
+    @Test
+    void acquire_ShouldNotResetAgainAfterRelease() {
+        TestEvents.PooledEvent event = pool.acquire();
+        event.setValue(999);
+        pool.release(event);
+        event.clearResetFlag();
+
+        assertSame(event, pool.acquire());
+        assertFalse(event.wasResetCalled());
+        assertEquals(0, event.getValue());
+    }
+
     @Test
     void release_ShouldCallReset() {
         TestEvents.PooledEvent event = pool.acquire();
@@ -171,4 +192,143 @@ public class DefaultEventPoolTest {
         assertEquals(0, reused.getValue());
         assertFalse(reused.isCancelled());
     }
+
+    @Test
+    void release_ShouldMarkEventInPoolUntilAcquired() {
+        TestEvents.PooledEvent event = pool.acquire();
+        assertFalse(event.isInPool());
+
+        pool.release(event);
+        assertTrue(event.isInPool());
+
+        assertSame(event, pool.acquire());
+        assertFalse(event.isInPool());
+    }
+
+    @Test
+    void release_ConcurrentlyForSameEvent_ShouldStoreItOnce() throws Exception {
+        for (int round = 0; round < 100; round++) {
+            TestEvents.PooledEvent event = pool.acquire();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            // Virtual threads share one magazine, so a duplicate would show up in the pool size
+            for (int i = 0; i < 8; i++) {
+                threads.add(Thread.ofVirtual().start(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    pool.release(event);
+                }));
+            }
+            start.countDown();
+            for (Thread thread : threads) thread.join();
+
+            int[] size = new int[1];
+            Thread.ofVirtual().start(() -> size[0] = pool.getPoolSize()).join();
+            assertEquals(1, size[0]);
+            assertTrue(event.isInPool());
+            Thread.ofVirtual().start(() -> assertSame(event, pool.acquire())).join();
+        }
+    }
+
+    @Test
+    void acquire_WithPrewarmedPool_ShouldNotCreateEvents() {
+        int[] created = new int[1];
+        EventPool<TestEvents.PooledEvent> prewarmed = new DefaultEventPool<>(() -> {
+            created[0]++;
+            return new TestEvents.PooledEvent();
+        }, new EventPoolConfig(100, 100));
+        assertEquals(100, created[0]);
+        assertEquals(100, prewarmed.getPoolSize());
+
+        for (int i = 0; i < 100; i++) {
+            prewarmed.acquire();
+        }
+
+        assertEquals(100, created[0]);
+        assertEquals(100, prewarmed.getHitCount());
+        assertEquals(0, prewarmed.getMissCount());
+    }
+
+    @Test
+    void release_BeyondMaxRetained_ShouldDiscardEvents() {
+        EventPool<TestEvents.PooledEvent> bounded = new DefaultEventPool<>(TestEvents.PooledEvent::new, new EventPoolConfig(0, 64));
+        List<TestEvents.PooledEvent> events = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            events.add(bounded.acquire());
+        }
+
+        events.forEach(bounded::release);
+
+        // The depot retains the maximum, and the magazine of this thread at most one magazine more
+        assertTrue(bounded.getPoolSize() <= 64 + DefaultEventPool.MAGAZINE_SIZE);
+        assertEquals(200 - bounded.getPoolSize(), bounded.getDiscardCount());
+        assertEquals(200 - bounded.getDiscardCount(), events.stream().filter(Event::isInPool).count());
+    }
+
+    @Test
+    void release_WithZeroMaxRetained_ShouldDiscardAllEvents() {
+        EventPool<TestEvents.PooledEvent> disabled = new DefaultEventPool<>(TestEvents.PooledEvent::new, new EventPoolConfig(0, 0));
+        TestEvents.PooledEvent event = disabled.acquire();
+
+        disabled.release(event);
+
+        assertEquals(1, disabled.getDiscardCount());
+        assertFalse(event.isInPool());
+        assertNotSame(event, disabled.acquire());
+    }
+
+    @Test
+    void acquire_OnOtherThread_ShouldReuseEventsReleasedThroughDepot() throws Exception {
+        List<TestEvents.PooledEvent> events = new ArrayList<>();
+        for (int i = 0; i < 4 * DefaultEventPool.MAGAZINE_SIZE; i++) {
+            events.add(pool.acquire());
+        }
+        events.forEach(pool::release);
+        long misses = pool.getMissCount();
+
+        Thread worker = new Thread(() -> {
+            for (int i = 0; i < 3 * DefaultEventPool.MAGAZINE_SIZE; i++) {
+                assertTrue(events.contains(pool.acquire()));
+            }
+        });
+        worker.start();
+        worker.join();
+
+        assertEquals(misses, pool.getMissCount());
+    }
+
+    @Test
+    void acquireAndRelease_FromManyThreads_ShouldNeverHandOutEventTwice() throws Exception {
+        Set<TestEvents.PooledEvent> inUse = ConcurrentHashMap.newKeySet();
+        AtomicInteger failures = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            // Mix platform and virtual threads, which use the shared magazine
+            Runnable task = () -> {
+                List<TestEvents.PooledEvent> held = new ArrayList<>();
+                for (int i = 0; i < 20_000; i++) {
+                    TestEvents.PooledEvent event = pool.acquire();
+                    if (!inUse.add(event)) failures.incrementAndGet();
+                    held.add(event);
+                    if (held.size() == 50 || i % 7 == 0) {
+                        for (TestEvents.PooledEvent h : held) {
+                            inUse.remove(h);
+                            pool.release(h);
+                        }
+                        held.clear();
+                    }
+                }
+            };
+            threads.add(t % 2 == 0 ? Thread.ofPlatform().start(task) : Thread.ofVirtual().start(task));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, failures.get());
+        assertEquals(8 * 20_000L, pool.getHitCount() + pool.getMissCount());
+    }
 }
@@ -0,0 +1,101 @@
+package me.siebe.flux.event;
+
+import me.siebe.flux.api.event.EventBus;
+import me.siebe.flux.api.event.EventPriority;
+
+/**
+ * Micro benchmark for dispatching events to buses with hundreds of listeners per event type.
+ * <p>
+ * Not run as part of the test suite. Run the {@link #main(String[])} method from the IDE or with
+ * {@code java -cp <test-classpath> me.siebe.flux.event.EventBusBenchmark}. Each scenario is warmed up before it is
+ * measured, and the result is reported as nanoseconds per posted event and per listener invocation. The last scenario
+ * compares posting queued events with publishing the same volume through an {@link me.siebe.flux.api.event.EventChannel}.
+ */
+public final class EventBusBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int POSTS_PER_ROUND = 20_000;
+
+    private static long sink;
+
+    private EventBusBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        for (int listenerCount : new int[]{10, 100, 500, 1000}) {
+            run("same priority      ", listenerCount, false, false);
+            run("mixed priorities   ", listenerCount, true, false);
+            run("supertype listeners", listenerCount, true, true);
+        }
+        runBulk();
+        System.out.println("(sink " + sink + ")");
+    }
+
+    private static void runBulk() {
+        EventBus bus = new DefaultEventBus(POSTS_PER_ROUND);
+        long[] counter = new long[1];
+        bus.getListenerRegistry().register(TestEvents.QueuedEvent.class, e -> counter[0] += e.getOrder());
+        var channel = bus.createChannel(TestEvents.QueuedEvent.class, () -> new TestEvents.QueuedEvent(1), POSTS_PER_ROUND);
+        channel.addHandler((entry, sequence, endOfBatch) -> counter[0] += entry.getOrder());
+
+        long queued = 0;
+        long channeled = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < POSTS_PER_ROUND; i++) {
+                bus.post(new TestEvents.QueuedEvent(1));
+            }
+            bus.flush();
+            long middle = System.nanoTime();
+            for (int i = 0; i < POSTS_PER_ROUND; i++) {
+                channel.publish(channel.next());
+            }
+            bus.flush();
+            long end = System.nanoTime();
+            if (round >= WARMUP_ROUNDS) {
+                queued += middle - start;
+                channeled += end - middle;
+            }
+        }
+        sink += counter[0];
+
+        long total = MEASURED_ROUNDS * (long) POSTS_PER_ROUND;
+        System.out.printf("bulk queued post   : %10.1f ns/event%n", (double) queued / total);
+        System.out.printf("bulk channel       : %10.1f ns/event%n", (double) channeled / total);
+    }
+
+    private static void run(String name, int listenerCount, boolean mixedPriorities, boolean onSupertype) {
+        EventBus bus = new DefaultEventBus();
+        long[] counter = new long[1];
+        for (int i = 0; i < listenerCount; i++) {
+            int priority = mixedPriorities ? (i % 5 - 2) * 100 : EventPriority.NORMAL;
+            if (onSupertype && i % 2 == 0) {
+                bus.getListenerRegistry().register(TestEvents.BaseEvent.class, e -> counter[0]++, priority);
+            } else {
+                bus.getListenerRegistry().register(TestEvents.ChildEvent.class, e -> counter[0]++, priority);
+            }
+        }
+
+        TestEvents.ChildEvent event = new TestEvents.ChildEvent();
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            postAll(bus, event);
+        }
+
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            postAll(bus, event);
+        }
+        long elapsed = System.nanoTime() - start;
+        sink += counter[0];
+
+        double perPost = (double) elapsed / (MEASURED_ROUNDS * (long) POSTS_PER_ROUND);
+        System.out.printf("%s %5d listeners: %10.1f ns/post %8.2f ns/listener%n",
+                name, listenerCount, perPost, perPost / listenerCount);
+    }
+
+    private static void postAll(EventBus bus, TestEvents.ChildEvent event) {
+        for (int i = 0; i < POSTS_PER_ROUND; i++) {
+            bus.post(event);
+        }
+    }
+}
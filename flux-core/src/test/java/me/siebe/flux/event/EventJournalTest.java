@@ -0,0 +1,231 @@
+package me.siebe.flux.event;
+
+import me.siebe.flux.api.event.EventBus;
+import me.siebe.flux.api.event.common.WindowResizeEvent;
+import me.siebe.flux.api.input.devices.keyboard.event.KeyEvent;
+import me.siebe.flux.api.input.devices.keyboard.event.KeyPressEvent;
+import me.siebe.flux.api.input.devices.keyboard.event.KeyReleaseEvent;
+import me.siebe.flux.api.input.devices.mouse.event.MouseClickEvent;
+import me.siebe.flux.api.input.enums.Key;
+import me.siebe.flux.api.input.enums.Modifier;
+import me.siebe.flux.api.input.enums.MouseButton;
+import me.siebe.flux.event.journal.EventCodec;
+import me.siebe.flux.event.journal.EventCodecs;
+import me.siebe.flux.event.journal.EventJournalReader;
+import me.siebe.flux.event.journal.EventJournalWriter;
+import me.siebe.flux.event.journal.JournalingEventBus;
+import me.siebe.flux.event.journal.ReplayEventBus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    // =================================================================================================================
+    // Writer and reader
+    // =================================================================================================================
+
+    @Test
+    void readEvents_ShouldReturnWrittenEventsWithFrames() throws Exception {
+        Path file = tempDir.resolve("events.journal");
+        try (EventJournalWriter writer = new EventJournalWriter(file, EventCodecs.engineDefaults())) {
+            KeyPressEvent press = new KeyPressEvent();
+            press.set(Key.KEY_SPACE, Set.of(Modifier.SHIFT, Modifier.CONTROL));
+            assertTrue(writer.append(press));
+
+            writer.setFrame(3);
+            WindowResizeEvent resize = new WindowResizeEvent();
+            resize.set(800, 600, 1024, 768);
+            assertTrue(writer.append(resize));
+            assertFalse(writer.append(new TestEvents.SimpleEvent("not journaled")));
+
+            MouseClickEvent click = new MouseClickEvent();
+            click.set(MouseButton.values()[0], Set.of(), 12.5f, 40f);
+            assertTrue(writer.append(click));
+            assertEquals(3, writer.getEventCount());
+        }
+
+        try (EventJournalReader reader = new EventJournalReader(file, EventCodecs.engineDefaults())) {
+            assertEquals(0, reader.peekFrame());
+            KeyPressEvent press = (KeyPressEvent) reader.next();
+            assertEquals(Key.KEY_SPACE, press.getKey());
+            assertEquals(Set.of(Modifier.SHIFT, Modifier.CONTROL), press.getModifiers());
+
+            assertEquals(3, reader.peekFrame());
+            WindowResizeEvent resize = (WindowResizeEvent) reader.next();
+            assertEquals(1024, resize.getNewWidth());
+            assertEquals(600, resize.getOldHeight());
+
+            MouseClickEvent click = (MouseClickEvent) reader.next();
+            assertEquals(MouseButton.values()[0], click.getButton());
+            assertEquals(12.5f, click.getX());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void append_BeyondInitialMapping_ShouldGrowJournal() {
+        Path file = tempDir.resolve("large.journal");
+        EventCodecs codecs = new EventCodecs().register(TestEvents.SimpleEvent.class, new SimpleEventCodec());
+        int count = 50_000;
+        try (EventJournalWriter writer = new EventJournalWriter(file, codecs)) {
+            for (int i = 0; i < count; i++) {
+                writer.setFrame(i / 100);
+                writer.append(new TestEvents.SimpleEvent("event number " + i + " with some padding text"));
+            }
+            assertTrue(writer.getSize() > 1 << 20);
+        }
+
+        try (EventJournalReader reader = new EventJournalReader(file, codecs)) {
+            for (int i = 0; i < count; i++) {
+                assertEquals(i / 100, reader.peekFrame());
+                assertEquals("event number " + i + " with some padding text", ((TestEvents.SimpleEvent) reader.next()).getMessage());
+            }
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void append_FromMultipleThreads_ShouldWriteEveryEvent() throws Exception {
+        Path file = tempDir.resolve("concurrent.journal");
+        EventCodecs codecs = new EventCodecs().register(TestEvents.SimpleEvent.class, new SimpleEventCodec());
+        int threadCount = 4;
+        int perThread = 20_000;
+        try (EventJournalWriter writer = new EventJournalWriter(file, codecs)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                int thread = t;
+                threads.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        writer.append(new TestEvents.SimpleEvent(thread + ":" + i));
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals((long) threadCount * perThread, writer.getEventCount());
+        }
+
+        int[] nextPerThread = new int[threadCount];
+        try (EventJournalReader reader = new EventJournalReader(file, codecs)) {
+            while (reader.hasNext()) {
+                String[] parts = ((TestEvents.SimpleEvent) reader.next()).getMessage().split(":");
+                int thread = Integer.parseInt(parts[0]);
+                assertEquals(nextPerThread[thread]++, Integer.parseInt(parts[1]));
+            }
+        }
+        for (int count : nextPerThread) {
+            assertEquals(perThread, count);
+        }
+    }
+
+    @Test
+    void readEvents_WithoutCodec_ShouldSkipType() {
+        Path file = tempDir.resolve("skip.journal");
+        EventCodecs codecs = EventCodecs.engineDefaults().register(TestEvents.SimpleEvent.class, new SimpleEventCodec());
+        try (EventJournalWriter writer = new EventJournalWriter(file, codecs)) {
+            writer.append(new TestEvents.SimpleEvent("skipped"));
+            WindowResizeEvent resize = new WindowResizeEvent();
+            resize.set(1, 2, 3, 4);
+            writer.append(resize);
+        }
+
+        try (EventJournalReader reader = new EventJournalReader(file, EventCodecs.engineDefaults())) {
+            assertInstanceOf(WindowResizeEvent.class, reader.next());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    void constructor_WithOtherFile_ShouldThrowException() throws Exception {
+        Path file = tempDir.resolve("other.bin");
+        Files.write(file, new byte[32]);
+
+        assertThrows(IllegalArgumentException.class, () -> new EventJournalReader(file, EventCodecs.engineDefaults()));
+    }
+
+    // =================================================================================================================
+    // Recording and replaying
+    // =================================================================================================================
+
+    @Test
+    void replay_ShouldDeliverSameEventsAtSameFrames() {
+        Path file = tempDir.resolve("session.journal");
+        EventCodecs codecs = EventCodecs.engineDefaults();
+
+        List<String> recorded = new ArrayList<>();
+        try (EventJournalWriter writer = new EventJournalWriter(file, codecs)) {
+            EventBus bus = new JournalingEventBus(createBus(), writer);
+            int[] frame = new int[1];
+            bus.getListenerRegistry().register(KeyEvent.class, e -> recorded.add(frame[0] + ":" + e.getClass().getSimpleName() + ":" + e.getKey()));
+            bus.getListenerRegistry().register(WindowResizeEvent.class, e -> recorded.add(frame[0] + ":resize:" + e.getNewWidth()));
+
+            for (frame[0] = 0; frame[0] < 10; frame[0]++) {
+                if (frame[0] == 2) postKey(bus, new KeyPressEvent(), Key.KEY_W);
+                if (frame[0] == 5) postKey(bus, new KeyReleaseEvent(), Key.KEY_W);
+                if (frame[0] == 7) {
+                    WindowResizeEvent resize = new WindowResizeEvent();
+                    resize.set(800, 600, 1280, 720);
+                    bus.post(resize);
+                }
+                bus.flush();
+            }
+        }
+
+        List<String> replayed = new ArrayList<>();
+        try (EventJournalReader reader = new EventJournalReader(file, codecs)) {
+            ReplayEventBus bus = new ReplayEventBus(createBus(), reader, codecs);
+            int[] frame = new int[1];
+            bus.getListenerRegistry().register(KeyEvent.class, e -> replayed.add(frame[0] + ":" + e.getClass().getSimpleName() + ":" + e.getKey()));
+            bus.getListenerRegistry().register(WindowResizeEvent.class, e -> replayed.add(frame[0] + ":resize:" + e.getNewWidth()));
+
+            for (frame[0] = 0; frame[0] < 10; frame[0]++) {
+                if (frame[0] == 3) postKey(bus, new KeyPressEvent(), Key.KEY_ESCAPE); // Live input is ignored
+                bus.flush();
+            }
+            assertTrue(bus.isFinished());
+            assertEquals(3, bus.getReplayedCount());
+        }
+
+        // Immediate events are delivered at the flush of their frame during replay
+        assertEquals(List.of("2:KeyPressEvent:KEY_W", "5:KeyReleaseEvent:KEY_W", "7:resize:1280"), replayed);
+        assertEquals(3, recorded.size());
+    }
+
+    private static EventBus createBus() {
+        return new DefaultEventBus();
+    }
+
+    private static void postKey(EventBus bus, KeyEvent event, Key key) {
+        event.set(key, Set.of());
+        bus.post(event);
+    }
+
+    private static class SimpleEventCodec implements EventCodec<TestEvents.SimpleEvent> {
+        @Override
+        public void write(TestEvents.SimpleEvent event, ByteBuffer buffer) {
+            byte[] bytes = event.getMessage().getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(bytes.length).put(bytes);
+        }
+
+        @Override
+        public TestEvents.SimpleEvent read(ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            return new TestEvents.SimpleEvent(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package me.siebe.flux.event;
+
+import me.siebe.flux.api.event.metrics.HistogramSnapshot;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogLinearHistogramTest {
+
+    @Test
+    void indexOf_ShouldKeepSmallValuesExact() {
+        for (int value = 0; value < 64; value++) {
+            assertEquals(value, LogLinearHistogram.highestValueAt(LogLinearHistogram.indexOf(value)));
+        }
+    }
+
+    @Test
+    void indexOf_ShouldBoundRelativeError() {
+        for (long value = 1; value < (1L << 40); value = value * 3 / 2 + 1) {
+            long highest = LogLinearHistogram.highestValueAt(LogLinearHistogram.indexOf(value));
+            assertTrue(highest >= value, "Bucket of " + value + " ends at " + highest);
+            assertTrue(highest - value <= value / 32, "Bucket of " + value + " ends at " + highest);
+        }
+    }
+
+    @Test
+    void indexOf_ShouldIncreaseMonotonically() {
+        int previous = 0;
+        for (long value = 0; value < 100_000; value++) {
+            int index = LogLinearHistogram.indexOf(value);
+            assertTrue(index >= previous);
+            previous = index;
+        }
+    }
+
+    @Test
+    void snapshot_ShouldReportCountTotalMaxAndPercentiles() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        for (int value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500_500, snapshot.getTotal());
+        assertEquals(1000, snapshot.getMax());
+        assertEquals(500.5, snapshot.getMean(), 1e-9);
+        assertEquals(500, snapshot.getValueAtPercentile(50), 500 / 32.0);
+        assertEquals(990, snapshot.getValueAtPercentile(99), 990 / 32.0);
+        assertEquals(1000, snapshot.getValueAtPercentile(100));
+    }
+
+    @Test
+    void snapshot_WhenEmpty_ShouldReportZero() {
+        HistogramSnapshot snapshot = new LogLinearHistogram().snapshot();
+
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMean());
+        assertEquals(0, snapshot.getValueAtPercentile(99));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getValueAtPercentile(101));
+    }
+
+    @Test
+    void record_WithHugeValue_ShouldUseLastBucket() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        histogram.record(Long.MAX_VALUE);
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(Long.MAX_VALUE, snapshot.getMax());
+        assertTrue(snapshot.getValueAtPercentile(50) > 0);
+    }
+}
@@ -0,0 +1,141 @@
+package me.siebe.flux.event;
+
+import me.siebe.flux.api.event.Event;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MpscEventQueueTest {
+
+    // =================================================================================================================
+    // Single threaded behavior
+    // =================================================================================================================
+
+    @Test
+    void constructor_ShouldRoundCapacityUpToPowerOfTwo() {
+        assertEquals(1, new MpscEventQueue(1).capacity());
+        assertEquals(8, new MpscEventQueue(5).capacity());
+        assertEquals(16, new MpscEventQueue(16).capacity());
+    }
+
+    @Test
+    void constructor_WithInvalidCapacity_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new MpscEventQueue(0));
+        assertThrows(IllegalArgumentException.class, () -> new MpscEventQueue(-1));
+    }
+
+    @Test
+    void poll_ShouldReturnEventsInFifoOrder() {
+        MpscEventQueue queue = new MpscEventQueue(8);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(queue.offer(new TestEvents.QueuedEvent(i)));
+        }
+
+        assertEquals(5, queue.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, ((TestEvents.QueuedEvent) queue.poll()).getOrder());
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void offer_WhenFull_ShouldDropAndCount() {
+        MpscEventQueue queue = new MpscEventQueue(2);
+        assertTrue(queue.offer(new TestEvents.QueuedEvent(0)));
+        assertTrue(queue.offer(new TestEvents.QueuedEvent(1)));
+
+        assertFalse(queue.offer(new TestEvents.QueuedEvent(2)));
+        assertFalse(queue.offer(new TestEvents.QueuedEvent(3)));
+
+        assertEquals(2, queue.size());
+        assertEquals(2, queue.getDroppedCount());
+    }
+
+    @Test
+    void offer_AfterPoll_ShouldReuseSlots() {
+        MpscEventQueue queue = new MpscEventQueue(4);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(queue.offer(new TestEvents.QueuedEvent(round * 4 + i)));
+            }
+            for (int i = 0; i < 4; i++) {
+                assertEquals(round * 4 + i, ((TestEvents.QueuedEvent) queue.poll()).getOrder());
+            }
+        }
+
+        assertEquals(0, queue.getDroppedCount());
+    }
+
+    // =================================================================================================================
+    // Concurrent producers
+    // =================================================================================================================
+
+    @Test
+    void offer_FromMultipleThreads_ShouldDeliverEveryEventInProducerOrder() throws InterruptedException {
+        int producers = 4;
+        int eventsPerProducer = 20_000;
+        MpscEventQueue queue = new MpscEventQueue(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < eventsPerProducer; i++) {
+                    ProducerEvent event = new ProducerEvent(producer, i);
+                    while (!queue.offer(event)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        int[] nextSequence = new int[producers];
+        int received = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received < producers * eventsPerProducer) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for events");
+            Event event = queue.poll();
+            if (event == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            ProducerEvent producerEvent = (ProducerEvent) event;
+            assertEquals(nextSequence[producerEvent.producer], producerEvent.sequence);
+            nextSequence[producerEvent.producer]++;
+            received++;
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(queue.isEmpty());
+        for (int p = 0; p < producers; p++) {
+            assertEquals(eventsPerProducer, nextSequence[p]);
+        }
+    }
+
+    private static class ProducerEvent extends Event {
+        final int producer;
+        final int sequence;
+
+        ProducerEvent(int producer, int sequence) {
+            this.producer = producer;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package me.siebe.flux.event;
+
+import me.siebe.flux.api.event.EventBus;
+import me.siebe.flux.api.event.EventChannel;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RingBufferEventChannelTest {
+
+    // =================================================================================================================
+    // Single threaded behavior
+    // =================================================================================================================
+
+    @Test
+    void constructor_ShouldPreallocateEntriesAndRoundCapacity() {
+        int[] created = new int[1];
+        RingBufferEventChannel<Contact> channel = new RingBufferEventChannel<>(Contact.class, () -> {
+            created[0]++;
+            return new Contact();
+        }, 5);
+
+        assertEquals(8, channel.getCapacity());
+        assertEquals(8, created[0]);
+    }
+
+    @Test
+    void constructor_WithInvalidCapacity_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferEventChannel<>(Contact.class, Contact::new, 0));
+    }
+
+    @Test
+    void process_ShouldHandlePublishedEntriesInOrderAndMarkEndOfBatch() {
+        RingBufferEventChannel<Contact> channel = new RingBufferEventChannel<>(Contact.class, Contact::new, 8);
+        List<Integer> values = new ArrayList<>();
+        List<Boolean> endOfBatch = new ArrayList<>();
+        channel.addHandler((entry, sequence, end) -> {
+            values.add(entry.value);
+            endOfBatch.add(end);
+        });
+
+        for (int i = 0; i < 3; i++) {
+            long sequence = channel.next();
+            channel.get(sequence).value = i;
+            channel.publish(sequence);
+        }
+
+        assertEquals(3, channel.process());
+        assertEquals(List.of(0, 1, 2), values);
+        assertEquals(List.of(false, false, true), endOfBatch);
+        assertEquals(0, channel.getPendingCount());
+    }
+
+    @Test
+    void process_ShouldReuseEntriesAfterWrapping() {
+        RingBufferEventChannel<Contact> channel = new RingBufferEventChannel<>(Contact.class, Contact::new, 4);
+        Set<Contact> seen = new HashSet<>();
+        int[] sum = new int[1];
+        channel.addHandler((entry, sequence, end) -> {
+            seen.add(entry);
+            sum[0] += entry.value;
+        });
+
+        for (int round = 0; round < 10; round++) {
+            long high = channel.next(4);
+            for (long sequence = high - 3; sequence <= high; sequence++) {
+                channel.get(sequence).value = 1;
+            }
+            channel.publish(high - 3, high);
+            assertEquals(4, channel.process());
+        }
+
+        assertEquals(40, sum[0]);
+        assertEquals(4, seen.size());
+    }
+
+    @Test
+    void process_ShouldStopAtUnpublishedSequence() {
+        RingBufferEventChannel<Contact> channel = new RingBufferEventChannel<>(Contact.class, Contact::new, 8);
+        List<Long> sequences = new ArrayList<>();
+        channel.addHandler((entry, sequence, end) -> sequences.add(sequence));
+
+        long first = channel.next();
+        long second = channel.next();
+        channel.publish(second);
+
+        assertEquals(0, channel.process());
+        channel.publish(first);
+        assertEquals(2, channel.process());
+        assertEquals(List.of(0L, 1L), sequences);
+    }
+
+    @Test
+    void tryNext_WhenFull_ShouldReturnMinusOne() {
+        RingBufferEventChannel<Contact> channel = new RingBufferEventChannel<>(Contact.class, Contact::new, 2);
+        channel.publish(channel.tryNext());
+        channel.publish(channel.tryNext());
+
+        assertEquals(-1, channel.tryNext());
+        channel.process();
+        assertEquals(2, channel.tryNext());
+    }
+
+    @Test
+    void process_WithMultipleHandlers_ShouldRunEachHandlerOverWholeBatch() {
+        RingBufferEventChannel<Contact> channel = new RingBufferEventChannel<>(Contact.class, Contact::new, 8);
+        List<String> calls = new ArrayList<>();
+        channel.addHandler((entry, sequence, end) -> calls.add("a" + sequence));
+        channel.addHandler((entry, sequence, end) -> calls.add("b" + sequence));
+
+        channel.publish(channel.next());
+        channel.publish(channel.next());
+        channel.process();
+
+        assertEquals(List.of("a0", "a1", "b0", "b1"), calls);
+    }
+
+    @Test
+    void process_WithThrowingHandler_ShouldContinueWithNextEntries() {
+        RingBufferEventChannel<Contact> channel = new RingBufferEventChannel<>(Contact.class, Contact::new, 8);
+        List<Long> sequences = new ArrayList<>();
+        channel.addHandler((entry, sequence, end) -> {
+            if (sequence == 0) throw new RuntimeException("Test exception");
+            sequences.add(sequence);
+        });
+
+        channel.publish(channel.next());
+        channel.publish(channel.next());
+
+        assertEquals(2, channel.process());
+        assertEquals(List.of(1L), sequences);
+    }
+
+    // =================================================================================================================
+    // Event bus integration
+    // =================================================================================================================
+
+    @Test
+    void flush_ShouldProcessChannelsOfBus() {
+        EventBus bus = new DefaultEventBus();
+        EventChannel<Contact> channel = bus.createChannel(Contact.class, Contact::new, 16);
+        int[] sum = new int[1];
+        channel.addHandler((entry, sequence, end) -> sum[0] += entry.value);
+
+        long sequence = channel.next();
+        channel.get(sequence).value = 5;
+        channel.publish(sequence);
+        assertEquals(0, sum[0]);
+
+        bus.flush();
+
+        assertEquals(5, sum[0]);
+        assertSame(channel, bus.getChannel(Contact.class));
+    }
+
+    @Test
+    void next_FromListenerOnFlushingThreadWhenFull_ShouldThrowInsteadOfWaiting() {
+        EventBus bus = new DefaultEventBus();
+        EventChannel<Contact> channel = bus.createChannel(Contact.class, Contact::new, 4);
+        int[] sum = new int[1];
+        channel.addHandler((entry, sequence, end) -> sum[0] += entry.value);
+        List<Exception> failures = new ArrayList<>();
+        bus.getListenerRegistry().register(TestEvents.QueuedEvent.class, e -> {
+            try {
+                for (int i = 0; i <= channel.getCapacity(); i++) {
+                    long sequence = channel.next();
+                    channel.get(sequence).value = 1;
+                    channel.publish(sequence);
+                }
+            } catch (IllegalStateException ex) {
+                failures.add(ex);
+            }
+        });
+
+        bus.post(new TestEvents.QueuedEvent(1));
+        assertTimeoutPreemptively(Duration.ofSeconds(5), bus::flush);
+
+        assertEquals(1, failures.size());
+        assertEquals(4, sum[0]);
+        assertEquals(0, channel.getPendingCount());
+    }
+
+    @Test
+    void createChannel_WhenAlreadyCreated_ShouldThrowException() {
+        EventBus bus = new DefaultEventBus();
+        bus.createChannel(Contact.class, Contact::new, 16);
+
+        assertThrows(IllegalStateException.class, () -> bus.createChannel(Contact.class, Contact::new, 16));
+        assertNull(bus.getChannel(String.class));
+    }
+
+    // =================================================================================================================
+    // Concurrent producers
+    // =================================================================================================================
+
+    @Test
+    void next_FromMultipleThreads_ShouldDeliverEveryEntryInProducerOrder() throws InterruptedException {
+        int producers = 4;
+        int entriesPerProducer = 50_000;
+        RingBufferEventChannel<Contact> channel = new RingBufferEventChannel<>(Contact.class, Contact::new, 1024);
+        int[] nextValue = new int[producers];
+        channel.addHandler((entry, sequence, end) -> {
+            assertEquals(nextValue[entry.producer], entry.value);
+            nextValue[entry.producer]++;
+        });
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < entriesPerProducer; i++) {
+                    long sequence = channel.next();
+                    Contact contact = channel.get(sequence);
+                    contact.producer = producer;
+                    contact.value = i;
+                    channel.publish(sequence);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        int processed = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (processed < producers * entriesPerProducer) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for entries");
+            processed += channel.process();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int p = 0; p < producers; p++) {
+            assertEquals(entriesPerProducer, nextValue[p]);
+        }
+    }
+
+    private static class Contact {
+        int producer;
+        int value;
+    }
+}
@@ -1,7 +1,9 @@
 package me.siebe.flux.event;
 
 import me.siebe.flux.api.event.Event;
+import me.siebe.flux.api.event.traits.Asynchronous;
 import me.siebe.flux.api.event.traits.Cancellable;
+import me.siebe.flux.api.event.traits.Coalescing;
 import me.siebe.flux.api.event.traits.Pooled;
 import me.siebe.flux.api.event.traits.Queued;
 
@@ -195,4 +197,90 @@ public class TestEvents {
             this.message = message;
         }
     }
+
+    // Event hierarchy
+    public abstract static class BaseEvent extends Event {
+    }
+
+    public static class ChildEvent extends BaseEvent {
+    }
+
+    public static class OtherChildEvent extends BaseEvent {
+    }
+
+    // Coalescing event, keyed by channel, summing deltas of coalesced events
+    public static class CoalescingEvent extends Event implements Queued, Pooled, Coalescing<CoalescingEvent> {
+        private int channel;
+        private int delta;
+        private int coalescedCount;
+
+        public CoalescingEvent() {
+        }
+
+        public CoalescingEvent(int channel, int delta) {
+            this.channel = channel;
+            this.delta = delta;
+        }
+
+        @Override
+        public Object getCoalescingKey() {
+            return channel;
+        }
+
+        @Override
+        public void coalesce(CoalescingEvent previous) {
+            delta += previous.delta;
+            coalescedCount += previous.coalescedCount + 1;
+        }
+
+        @Override
+        public void reset() {
+            channel = 0;
+            delta = 0;
+            coalescedCount = 0;
+        }
+
+        public void set(int channel, int delta) {
+            this.channel = channel;
+            this.delta = delta;
+        }
+
+        public int getChannel() {
+            return channel;
+        }
+
+        public int getDelta() {
+            return delta;
+        }
+
+        public int getCoalescedCount() {
+            return coalescedCount;
+        }
+    }
+
+    // Coalescing event using the default behavior, the latest event wins
+    public static class LatestWinsEvent extends Event implements Queued, Coalescing<LatestWinsEvent> {
+        private final int value;
+
+        public LatestWinsEvent(int value) {
+            this.value = value;
+        }
+
+        public int getValue() {
+            return value;
+        }
+    }
+
+    // Event whose listeners are all delivered asynchronously
+    public static class AsynchronousEvent extends Event implements Asynchronous {
+        private final int value;
+
+        public AsynchronousEvent(int value) {
+            this.value = value;
+        }
+
+        public int getValue() {
+            return value;
+        }
+    }
 }
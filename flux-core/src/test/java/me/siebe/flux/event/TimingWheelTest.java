@@ -0,0 +1,140 @@
+package me.siebe.flux.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+
+    @Test
+    void advance_ShouldExpireEntryExactlyAtItsDeadline() {
+        TimingWheel wheel = new TimingWheel(0);
+        TestEntry entry = new TestEntry(10);
+        wheel.schedule(entry);
+        List<Long> expiredAt = new ArrayList<>();
+
+        wheel.advance(9, e -> expiredAt.add(wheel.getNow()));
+        assertTrue(expiredAt.isEmpty());
+        wheel.advance(10, e -> expiredAt.add(wheel.getNow()));
+
+        assertEquals(List.of(10L), expiredAt);
+        assertFalse(entry.isScheduled());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_WithDeadlineInThePast_ShouldExpireOnNextTick() {
+        TimingWheel wheel = new TimingWheel(100);
+        TestEntry entry = new TestEntry(50);
+        wheel.schedule(entry);
+        List<Long> expiredAt = new ArrayList<>();
+
+        wheel.advance(101, e -> expiredAt.add(wheel.getNow()));
+
+        assertEquals(List.of(101L), expiredAt);
+    }
+
+    @Test
+    void advance_WithRandomDeadlinesOnAllLevels_ShouldExpireEachAtItsDeadlineInOrder() {
+        TimingWheel wheel = new TimingWheel(12345);
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            // Spread the deadlines over several levels of the wheel
+            long delay = 1 + (long) Math.pow(2, random.nextDouble() * 26);
+            wheel.schedule(new TestEntry(12345 + delay));
+        }
+        List<Long> deadlines = new ArrayList<>();
+
+        wheel.advance(12345 + (1L << 27), e -> {
+            assertEquals(e.deadline, wheel.getNow());
+            deadlines.add(e.deadline);
+        });
+
+        assertEquals(5000, deadlines.size());
+        for (int i = 1; i < deadlines.size(); i++) {
+            assertTrue(deadlines.get(i - 1) <= deadlines.get(i));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_InSmallSteps_ShouldExpireAtSameTicksAsOneBigStep() {
+        TimingWheel wheel = new TimingWheel(0);
+        long[] deadlines = {1, 63, 64, 65, 4095, 4096, 4097, 262144, 300000};
+        for (long deadline : deadlines) {
+            wheel.schedule(new TestEntry(deadline));
+        }
+        List<Long> expiredAt = new ArrayList<>();
+
+        for (long tick = 0; tick < 300000; tick += 17) {
+            wheel.advance(tick, e -> expiredAt.add(e.deadline));
+        }
+        wheel.advance(300000, e -> expiredAt.add(e.deadline));
+
+        assertEquals(deadlines.length, expiredAt.size());
+        for (int i = 0; i < deadlines.length; i++) {
+            assertEquals(deadlines[i], expiredAt.get(i));
+        }
+    }
+
+    @Test
+    void cancel_ShouldRemoveEntry() {
+        TimingWheel wheel = new TimingWheel(0);
+        TestEntry first = new TestEntry(5);
+        TestEntry second = new TestEntry(5);
+        TestEntry third = new TestEntry(5000);
+        wheel.schedule(first);
+        wheel.schedule(second);
+        wheel.schedule(third);
+
+        assertTrue(wheel.cancel(second));
+        assertTrue(wheel.cancel(third));
+        assertFalse(wheel.cancel(third));
+        List<TimingWheel.Entry> expired = new ArrayList<>();
+        wheel.advance(10000, expired::add);
+
+        assertEquals(List.of(first), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_WithDeadlineBeyondWheelRange_ShouldExpireAtDeadline() {
+        TimingWheel wheel = new TimingWheel((1L << 36) - 10);
+        TestEntry near = new TestEntry(1L << 36);
+        TestEntry far = new TestEntry((1L << 37) + 3);
+        wheel.schedule(near);
+        wheel.schedule(far);
+        List<Long> expiredAt = new ArrayList<>();
+
+        wheel.advance((1L << 37) + 3, e -> expiredAt.add(wheel.getNow()));
+
+        assertEquals(List.of(1L << 36, (1L << 37) + 3), expiredAt);
+    }
+
+    @Test
+    void advance_WhenConsumerReschedules_ShouldExpireAgainWithinSameAdvance() {
+        TimingWheel wheel = new TimingWheel(0);
+        TestEntry entry = new TestEntry(10);
+        wheel.schedule(entry);
+        List<Long> expiredAt = new ArrayList<>();
+
+        wheel.advance(35, e -> {
+            expiredAt.add(wheel.getNow());
+            e.deadline += 10;
+            wheel.schedule(e);
+        });
+
+        assertEquals(List.of(10L, 20L, 30L), expiredAt);
+        assertTrue(entry.isScheduled());
+    }
+
+    private static final class TestEntry extends TimingWheel.Entry {
+        private TestEntry(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+}
@@ -7,7 +7,6 @@ import me.siebe.flux.util.logging.Logger;
 import me.siebe.flux.util.logging.LoggerFactory;
 import me.siebe.flux.util.logging.config.LoggingCategories;
 
-import java.util.HashSet;
 import java.util.Set;
 
 import static org.lwjgl.glfw.GLFW.*;
@@ -25,9 +24,9 @@ class GlfwKeyboard extends AbstractKeyboard {
             logger.error("Invalid key received: {}. Make sure it is registered in GlfwKeyboard::toKey()", key);
             return;
         }
-        Set<Modifier> fluxMods = toModifiers(mods);
+        Set<Modifier> fluxMods = GlfwModifiers.toModifiers(mods);
 
-        logger.trace("Keycode: {}, FluxKey: {}, Action: {}, Mods: {}", key, fluxKey, action, fluxMods);
+        if (logger.isTraceEnabled()) logger.trace("Keycode: {}, FluxKey: {}, Action: {}, Mods: {}", key, fluxKey, action, fluxMods);
 
         switch (action) {
             case GLFW_PRESS -> onKeyPress(fluxKey, fluxMods);
@@ -36,17 +35,6 @@ class GlfwKeyboard extends AbstractKeyboard {
         }
     }
 
-    private Set<Modifier> toModifiers(int mods) {
-        Set<Modifier> modifiers = new HashSet<>();
-        if ((mods & GLFW_MOD_SHIFT) != 0) modifiers.add(Modifier.SHIFT);
-        if ((mods & GLFW_MOD_CONTROL) != 0) modifiers.add(Modifier.CONTROL);
-        if ((mods & GLFW_MOD_ALT) != 0) modifiers.add(Modifier.ALT);
-        if ((mods & GLFW_MOD_SUPER) != 0) modifiers.add(Modifier.SUPER);
-        if ((mods & GLFW_MOD_CAPS_LOCK) != 0) modifiers.add(Modifier.CAPS_LOCK);
-        if ((mods & GLFW_MOD_NUM_LOCK) != 0) modifiers.add(Modifier.NUM_LOCK);
-        return modifiers;
-    }
-
     private Key toKey(int keyCode) {
         return switch (keyCode) {
             case GLFW_KEY_A -> Key.KEY_A;
@@ -0,0 +1,43 @@
+package me.siebe.flux.glfw.window;
+
+import me.siebe.flux.api.input.enums.Modifier;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.lwjgl.glfw.GLFW.*;
+
+/**
+ * Maps GLFW modifier bit fields to sets of {@link Modifier Modifiers}.
+ * <p>
+ * GLFW reports six modifier bits, so all 64 combinations are created once and shared. Input callbacks therefore do not
+ * allocate a set per event. The returned sets are unmodifiable.
+ */
+final class GlfwModifiers {
+    private static final int MODIFIER_MASK = GLFW_MOD_SHIFT | GLFW_MOD_CONTROL | GLFW_MOD_ALT | GLFW_MOD_SUPER
+            | GLFW_MOD_CAPS_LOCK | GLFW_MOD_NUM_LOCK;
+
+    @SuppressWarnings("unchecked")
+    private static final Set<Modifier>[] SETS = new Set[MODIFIER_MASK + 1];
+
+    static {
+        for (int mods = 0; mods <= MODIFIER_MASK; mods++) {
+            Set<Modifier> modifiers = EnumSet.noneOf(Modifier.class);
+            if ((mods & GLFW_MOD_SHIFT) != 0) modifiers.add(Modifier.SHIFT);
+            if ((mods & GLFW_MOD_CONTROL) != 0) modifiers.add(Modifier.CONTROL);
+            if ((mods & GLFW_MOD_ALT) != 0) modifiers.add(Modifier.ALT);
+            if ((mods & GLFW_MOD_SUPER) != 0) modifiers.add(Modifier.SUPER);
+            if ((mods & GLFW_MOD_CAPS_LOCK) != 0) modifiers.add(Modifier.CAPS_LOCK);
+            if ((mods & GLFW_MOD_NUM_LOCK) != 0) modifiers.add(Modifier.NUM_LOCK);
+            SETS[mods] = Collections.unmodifiableSet(modifiers);
+        }
+    }
+
+    private GlfwModifiers() {
+    }
+
+    static Set<Modifier> toModifiers(int mods) {
+        return SETS[mods & MODIFIER_MASK];
+    }
+}
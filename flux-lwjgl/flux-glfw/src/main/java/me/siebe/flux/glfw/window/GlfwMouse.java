@@ -7,7 +7,6 @@ import me.siebe.flux.util.logging.Logger;
 import me.siebe.flux.util.logging.LoggerFactory;
 import me.siebe.flux.util.logging.config.LoggingCategories;
 
-import java.util.HashSet;
 import java.util.Set;
 
 import static org.lwjgl.glfw.GLFW.*;
@@ -32,9 +31,9 @@ public class GlfwMouse extends AbstractMouse {
             logger.error("Invalid mouse button received: {}. Make sure it is registered in GlfwMouse::toMouseButton()", button);
             return;
         }
-        Set<Modifier> fluxMods = toModifiers(mods);
+        Set<Modifier> fluxMods = GlfwModifiers.toModifiers(mods);
 
-        logger.trace("ButtonCode: {}, FluxButton: {}, Action: {}, Mods: {}", button, fluxButton, action, fluxMods);
+        if (logger.isTraceEnabled()) logger.trace("ButtonCode: {}, FluxButton: {}, Action: {}, Mods: {}", button, fluxButton, action, fluxMods);
 
         switch (action) {
             case GLFW_PRESS -> onButtonPress(fluxButton, fluxMods);
@@ -54,18 +53,6 @@ public class GlfwMouse extends AbstractMouse {
         onScroll(scrollX, scrollY);
     }
 
-    // TODO duplicate code (GlfwKeyboard)
-    private Set<Modifier> toModifiers(int mods) {
-        Set<Modifier> modifiers = new HashSet<>();
-        if ((mods & GLFW_MOD_SHIFT) != 0) modifiers.add(Modifier.SHIFT);
-        if ((mods & GLFW_MOD_CONTROL) != 0) modifiers.add(Modifier.CONTROL);
-        if ((mods & GLFW_MOD_ALT) != 0) modifiers.add(Modifier.ALT);
-        if ((mods & GLFW_MOD_SUPER) != 0) modifiers.add(Modifier.SUPER);
-        if ((mods & GLFW_MOD_CAPS_LOCK) != 0) modifiers.add(Modifier.CAPS_LOCK);
-        if ((mods & GLFW_MOD_NUM_LOCK) != 0) modifiers.add(Modifier.NUM_LOCK);
-        return modifiers;
-    }
-
     private MouseButton toMouseButton(int button) {
         return switch (button) {
             case GLFW_MOUSE_BUTTON_1 | GLFW_MOUSE_BUTTON_LEFT -> MouseButton.MOUSE_LEFT;
@@ -1,5 +1,6 @@
 package me.siebe.flux.glfw.window;
 
+import me.siebe.flux.api.event.EventBus;
 import me.siebe.flux.api.event.EventListener;
 import me.siebe.flux.api.event.common.FramebufferResizeEvent;
 import me.siebe.flux.api.event.common.WindowResizeEvent;
@@ -62,7 +63,10 @@ public class GlfwWindow implements Window {
 
     private void sendWindowResizeEvent(long windowId, int width, int height) {
         if (isValidSizeChange(width, height)) {
-            AppContext.get().getEventBus().post(WindowResizeEvent.class, e -> e.set(config.width, config.height, width, height));
+            EventBus eventBus = AppContext.get().getEventBus();
+            WindowResizeEvent event = eventBus.acquire(WindowResizeEvent.class);
+            event.set(config.width, config.height, width, height);
+            eventBus.publish(event);
         }
     }
 
@@ -73,7 +77,10 @@ public class GlfwWindow implements Window {
 
     private void sendFramebufferResizeEvent(long windowId, int width, int height) {
         if (isValidSizeChange(width, height)) {
-            AppContext.get().getEventBus().post(FramebufferResizeEvent.class, e -> e.set(config.width, config.height, width, height));
+            EventBus eventBus = AppContext.get().getEventBus();
+            FramebufferResizeEvent event = eventBus.acquire(FramebufferResizeEvent.class);
+            event.set(config.width, config.height, width, height);
+            eventBus.publish(event);
         }
     }
 
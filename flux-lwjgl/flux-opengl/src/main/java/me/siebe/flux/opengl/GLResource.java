@@ -8,9 +8,10 @@ import me.siebe.flux.util.memory.NativeTracker;
 import static org.lwjgl.opengl.GL11.GL_VERTEX_ARRAY;
 import static org.lwjgl.opengl.GL15.*;
 import static org.lwjgl.opengl.GL20.glDeleteProgram;
-import static org.lwjgl.opengl.GL20.glUseProgram;
-import static org.lwjgl.opengl.GL30.glBindVertexArray;
 import static org.lwjgl.opengl.GL30.glDeleteVertexArrays;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER;
+import static org.lwjgl.opengl.GL40.GL_DRAW_INDIRECT_BUFFER;
+import static org.lwjgl.opengl.GL43.GL_SHADER_STORAGE_BUFFER;
 
 /**
  * Base class for OpenGL resources that own a single GL object (vertex array, buffer, texture, etc.).
@@ -60,6 +61,15 @@ public abstract class GLResource {
         return glId;
     }
 
+    /**
+     * Checks if the GL object of this resource was deleted, which happens when its last reference is released.
+     *
+     * @return true if deleted
+     */
+    public boolean isDeleted() {
+        return deleted;
+    }
+
     /**
      * Returns the OpenGL binding target used for {@link #bind()} and {@link #unbind()}.
      * For example {@code GL_VERTEX_ARRAY}, {@code GL_ARRAY_BUFFER}, {@code GL_ELEMENT_ARRAY_BUFFER},
@@ -84,10 +94,10 @@ public abstract class GLResource {
         }
 
         switch (target) {
-            case GL_VERTEX_ARRAY -> glBindVertexArray(glId);
-            case GL_ARRAY_BUFFER, GL_ELEMENT_ARRAY_BUFFER -> glBindBuffer(target, glId);
-            case GL_TEXTURE_2D -> glBindTexture(target, glId);
-            case GL_PROGRAM -> glUseProgram(glId);
+            case GL_VERTEX_ARRAY -> OpenGLState.bindVertexArray(glId);
+            case GL_ARRAY_BUFFER, GL_ELEMENT_ARRAY_BUFFER, GL_UNIFORM_BUFFER, GL_DRAW_INDIRECT_BUFFER, GL_SHADER_STORAGE_BUFFER -> OpenGLState.bindBuffer(target, glId);
+            case GL_TEXTURE_2D -> OpenGLState.bindTexture(target, glId);
+            case GL_PROGRAM -> OpenGLState.useProgram(glId);
             default -> throw new IllegalArgumentException("Invalid target " + target);
         }
     }
@@ -96,10 +106,10 @@ public abstract class GLResource {
     public void unbind() {
         int target = getBindTarget();
         switch (target) {
-            case GL_VERTEX_ARRAY -> glBindVertexArray(0);
-            case GL_ARRAY_BUFFER, GL_ELEMENT_ARRAY_BUFFER -> glBindBuffer(target, 0);
-            case GL_TEXTURE_2D -> glBindTexture(target, 0);
-            case GL_PROGRAM -> glUseProgram(0);
+            case GL_VERTEX_ARRAY -> OpenGLState.bindVertexArray(0);
+            case GL_ARRAY_BUFFER, GL_ELEMENT_ARRAY_BUFFER, GL_UNIFORM_BUFFER, GL_DRAW_INDIRECT_BUFFER, GL_SHADER_STORAGE_BUFFER -> OpenGLState.bindBuffer(target, 0);
+            case GL_TEXTURE_2D -> OpenGLState.bindTexture(target, 0);
+            case GL_PROGRAM -> OpenGLState.useProgram(0);
             default -> throw new IllegalArgumentException("Invalid target " + target);
         }
     }
@@ -127,9 +137,10 @@ public abstract class GLResource {
         }
 
         logger.debug("Resource {} is being deleted", getClass().getSimpleName());
+        OpenGLState.forgetBinding(getBindTarget(), glId);
         switch (getBindTarget()) {
             case GL_VERTEX_ARRAY -> glDeleteVertexArrays(glId);
-            case GL_ELEMENT_ARRAY_BUFFER, GL_ARRAY_BUFFER -> glDeleteBuffers(glId);
+            case GL_ELEMENT_ARRAY_BUFFER, GL_ARRAY_BUFFER, GL_UNIFORM_BUFFER, GL_DRAW_INDIRECT_BUFFER, GL_SHADER_STORAGE_BUFFER -> glDeleteBuffers(glId);
             case GL_TEXTURE_2D -> glDeleteTextures(glId);
             case GL_PROGRAM -> glDeleteProgram(glId);
             default -> throw new IllegalArgumentException("Invalid target " + getBindTarget());
@@ -0,0 +1,266 @@
+package me.siebe.flux.opengl;
+
+import java.util.Arrays;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER;
+
+/**
+ * Shadow copy of the GL state that {@link OpenGLState} changes, used to skip calls that would not change anything.
+ * <p>
+ * Every method records the requested state and returns whether the GL call must be issued, which is the case when the
+ * state differs from the recorded one or when the recorded state is unknown. The cache itself never calls GL, so it
+ * can be tested without a context. State starts out unknown, and must be {@link #invalidate() invalidated} whenever
+ * GL is changed behind the back of {@link OpenGLState}, e.g. by a third-party library.
+ * <p>
+ * Only used on the thread that owns the GL context, so it is not thread-safe.
+ */
+final class GLStateCache {
+    static final int UNKNOWN = -1;
+    /** The number of texture units whose bound texture is tracked, matching the units of {@link OpenGLState#activateTexture(int)}. */
+    static final int TEXTURE_UNITS = 32;
+    /** The number of indexed uniform buffer binding points that are tracked. */
+    static final int UNIFORM_BUFFER_BINDINGS = 16;
+    /** Size recorded for a whole-buffer binding, as bound by {@code glBindBufferBase}. */
+    static final long WHOLE_BUFFER = -1;
+
+    /** The capabilities whose enabled state is tracked; any other capability is always issued. */
+    private static final int[] CAPABILITIES = {GL_DEPTH_TEST, GL_BLEND, GL_CULL_FACE};
+    private static final byte ENABLED = 1;
+    private static final byte DISABLED = 0;
+    private static final byte UNKNOWN_CAPABILITY = -1;
+
+    private final byte[] capabilities = new byte[CAPABILITIES.length];
+    private int blendSourceFactor;
+    private int blendDestinationFactor;
+    private int depthFunc;
+    private int cullFace;
+    private int frontFace;
+    private final int[] viewport = new int[4];
+
+    private int program;
+    private int vertexArray;
+    private int arrayBuffer;
+    /** The element buffer is part of the vertex array state, so it is forgotten whenever another vertex array is bound. */
+    private int elementArrayBuffer;
+    private int activeTextureUnit;
+    private final int[] textures = new int[TEXTURE_UNITS];
+    private final int[] uniformBuffers = new int[UNIFORM_BUFFER_BINDINGS];
+    private final long[] uniformBufferOffsets = new long[UNIFORM_BUFFER_BINDINGS];
+    private final long[] uniformBufferSizes = new long[UNIFORM_BUFFER_BINDINGS];
+
+    private long issuedCount;
+    private long skippedCount;
+
+    GLStateCache() {
+        invalidate();
+    }
+
+    /**
+     * Forgets all recorded state, so the next call of every kind is issued.
+     */
+    void invalidate() {
+        Arrays.fill(capabilities, UNKNOWN_CAPABILITY);
+        blendSourceFactor = UNKNOWN;
+        blendDestinationFactor = UNKNOWN;
+        depthFunc = UNKNOWN;
+        cullFace = UNKNOWN;
+        frontFace = UNKNOWN;
+        Arrays.fill(viewport, UNKNOWN);
+        program = UNKNOWN;
+        vertexArray = UNKNOWN;
+        arrayBuffer = UNKNOWN;
+        elementArrayBuffer = UNKNOWN;
+        activeTextureUnit = UNKNOWN;
+        Arrays.fill(textures, UNKNOWN);
+        Arrays.fill(uniformBuffers, UNKNOWN);
+    }
+
+    // =================================================================================================================
+    // Fixed-function state
+    // =================================================================================================================
+
+    boolean setCapability(int capability, boolean enabled) {
+        int index = capabilityIndex(capability);
+        if (index < 0) return issue();
+        byte state = enabled ? ENABLED : DISABLED;
+        if (capabilities[index] == state) return skip();
+        capabilities[index] = state;
+        return issue();
+    }
+
+    boolean setBlendFunc(int sourceFactor, int destinationFactor) {
+        if (blendSourceFactor == sourceFactor && blendDestinationFactor == destinationFactor) return skip();
+        blendSourceFactor = sourceFactor;
+        blendDestinationFactor = destinationFactor;
+        return issue();
+    }
+
+    boolean setDepthFunc(int func) {
+        if (depthFunc == func) return skip();
+        depthFunc = func;
+        return issue();
+    }
+
+    boolean setCullFace(int mode) {
+        if (cullFace == mode) return skip();
+        cullFace = mode;
+        return issue();
+    }
+
+    boolean setFrontFace(int mode) {
+        if (frontFace == mode) return skip();
+        frontFace = mode;
+        return issue();
+    }
+
+    boolean setViewport(int x, int y, int width, int height) {
+        if (viewport[0] == x && viewport[1] == y && viewport[2] == width && viewport[3] == height) return skip();
+        viewport[0] = x;
+        viewport[1] = y;
+        viewport[2] = width;
+        viewport[3] = height;
+        return issue();
+    }
+
+    // =================================================================================================================
+    // Bindings
+    // =================================================================================================================
+
+    boolean useProgram(int id) {
+        if (program == id) return skip();
+        program = id;
+        return issue();
+    }
+
+    boolean bindVertexArray(int id) {
+        if (vertexArray == id) return skip();
+        vertexArray = id;
+        elementArrayBuffer = UNKNOWN;
+        return issue();
+    }
+
+    boolean bindBuffer(int target, int id) {
+        switch (target) {
+            case GL_ARRAY_BUFFER -> {
+                if (arrayBuffer == id) return skip();
+                arrayBuffer = id;
+            }
+            case GL_ELEMENT_ARRAY_BUFFER -> {
+                if (elementArrayBuffer == id) return skip();
+                elementArrayBuffer = id;
+            }
+            default -> {
+                // Not tracked
+            }
+        }
+        return issue();
+    }
+
+    boolean setActiveTexture(int unit) {
+        if (activeTextureUnit == unit) return skip();
+        activeTextureUnit = unit >= 0 && unit < TEXTURE_UNITS ? unit : UNKNOWN;
+        return issue();
+    }
+
+    /**
+     * Records a texture bound to the active texture unit. Only 2D textures are tracked.
+     */
+    boolean bindTexture(int target, int id) {
+        if (target != GL_TEXTURE_2D || activeTextureUnit == UNKNOWN) return issue();
+        if (textures[activeTextureUnit] == id) return skip();
+        textures[activeTextureUnit] = id;
+        return issue();
+    }
+
+    /**
+     * Records a range of a buffer bound to an indexed binding point. Only uniform buffers are tracked.
+     *
+     * @param size the size of the range, or {@link #WHOLE_BUFFER} for a whole-buffer binding
+     */
+    boolean bindBufferRange(int target, int index, int id, long offset, long size) {
+        if (target != GL_UNIFORM_BUFFER || index < 0 || index >= UNIFORM_BUFFER_BINDINGS) return issue();
+        if (uniformBuffers[index] == id && uniformBufferOffsets[index] == offset && uniformBufferSizes[index] == size) {
+            return skip();
+        }
+        uniformBuffers[index] = id;
+        uniformBufferOffsets[index] = offset;
+        uniformBufferSizes[index] = size;
+        return issue();
+    }
+
+    /**
+     * Forgets every binding of a GL object that is about to be deleted, as GL may reuse its id for a new object.
+     *
+     * @param target the bind target of the object, as in {@link GLResource#getBindTarget()}
+     * @param id     the GL id of the object
+     */
+    void forget(int target, int id) {
+        switch (target) {
+            case GL_VERTEX_ARRAY -> {
+                if (vertexArray == id) {
+                    vertexArray = UNKNOWN;
+                    elementArrayBuffer = UNKNOWN;
+                }
+            }
+            case GL_ARRAY_BUFFER -> {
+                if (arrayBuffer == id) arrayBuffer = UNKNOWN;
+            }
+            case GL_ELEMENT_ARRAY_BUFFER -> {
+                if (elementArrayBuffer == id) elementArrayBuffer = UNKNOWN;
+            }
+            case GL_TEXTURE_2D -> {
+                for (int unit = 0; unit < TEXTURE_UNITS; unit++) {
+                    if (textures[unit] == id) textures[unit] = UNKNOWN;
+                }
+            }
+            case GL_UNIFORM_BUFFER -> {
+                for (int index = 0; index < UNIFORM_BUFFER_BINDINGS; index++) {
+                    if (uniformBuffers[index] == id) uniformBuffers[index] = UNKNOWN;
+                }
+            }
+            case GLResource.GL_PROGRAM -> {
+                if (program == id) program = UNKNOWN;
+            }
+            default -> {
+                // Not tracked
+            }
+        }
+    }
+
+    // =================================================================================================================
+    // Counters
+    // =================================================================================================================
+
+    long getIssuedCount() {
+        return issuedCount;
+    }
+
+    long getSkippedCount() {
+        return skippedCount;
+    }
+
+    void resetCounts() {
+        issuedCount = 0;
+        skippedCount = 0;
+    }
+
+    private boolean issue() {
+        issuedCount++;
+        return true;
+    }
+
+    private boolean skip() {
+        skippedCount++;
+        return false;
+    }
+
+    private static int capabilityIndex(int capability) {
+        for (int i = 0; i < CAPABILITIES.length; i++) {
+            if (CAPABILITIES[i] == capability) return i;
+        }
+        return -1;
+    }
+}
@@ -17,6 +17,7 @@ public class OpenGLInfoProvider implements SystemInfoProvider {
         properties.put("Max Texture Size", getMaxTextureSize());
         properties.put("Max Texture Units", getMaxTextureUnits());
         properties.put("Max Vertex Attribs", getMaxVertexAttribs());
+        properties.put("Multi-Draw Indirect", OpenGLState.supportsMultiDrawIndirect() ? "Yes" : "No");
         return new StartupBannerSection("Graphics", properties);
     }
 
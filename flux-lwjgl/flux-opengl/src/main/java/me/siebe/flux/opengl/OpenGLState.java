@@ -2,18 +2,36 @@ package me.siebe.flux.opengl;
 
 import me.siebe.flux.core.system.StartupBanner;
 import me.siebe.flux.opengl.vertex.VertexArray;
-import me.siebe.flux.opengl.vertex.VertexBuffer;
 import me.siebe.flux.util.FluxColor;
 
 import java.util.Map;
 
 import static org.lwjgl.opengl.GL.createCapabilities;
+import static org.lwjgl.opengl.GL.getCapabilities;
 import static org.lwjgl.opengl.GL11.*;
 import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
 import static org.lwjgl.opengl.GL13.glActiveTexture;
+import static org.lwjgl.opengl.GL15.glBindBuffer;
+import static org.lwjgl.opengl.GL20.glUseProgram;
+import static org.lwjgl.opengl.GL30.glBindBufferBase;
+import static org.lwjgl.opengl.GL30.glBindBufferRange;
+import static org.lwjgl.opengl.GL30.glBindVertexArray;
+import static org.lwjgl.opengl.GL31.glDrawArraysInstanced;
+import static org.lwjgl.opengl.GL31.glDrawElementsInstanced;
+import static org.lwjgl.opengl.GL43.glMultiDrawElementsIndirect;
 
+/**
+ * Entry point for changing global GL state.
+ * <p>
+ * Keeps a shadow copy of the state it changes, and skips calls that would set the state it already has: capabilities,
+ * blend, depth and cull settings, the viewport, and the bound program, vertex array, buffers and textures. Code that
+ * changes any of this state without going through this class must call {@link #invalidateStateCache()} afterward.
+ * The number of issued and skipped calls is available via {@link #getIssuedCallCount()} and
+ * {@link #getSkippedCallCount()}.
+ */
 public class OpenGLState {
     private static boolean initialized = false;
+    private static final GLStateCache cache = new GLStateCache();
 
     private OpenGLState() {
         // Utility class
@@ -25,6 +43,7 @@ public class OpenGLState {
         }
         initialized = true;
         createCapabilities();
+        cache.invalidate();
         addDataToStartupBanner();
     }
 
@@ -39,14 +58,14 @@ public class OpenGLState {
      * Enables depth testing.
      */
     public static void enableDepthTest() {
-        glEnable(GL_DEPTH_TEST);
+        setCapability(GL_DEPTH_TEST, true);
     }
 
     /**
      * Disables depth testing.
      */
     public static void disableDepthTest() {
-        glDisable(GL_DEPTH_TEST);
+        setCapability(GL_DEPTH_TEST, false);
     }
 
     /**
@@ -55,21 +74,21 @@ public class OpenGLState {
      * @param func the depth function (e.g., GL_LESS, GL_LEQUAL)
      */
     public static void setDepthFunc(int func) {
-        glDepthFunc(func);
+        if (cache.setDepthFunc(func)) glDepthFunc(func);
     }
 
     /**
      * Enables blending.
      */
     public static void enableBlend() {
-        glEnable(GL_BLEND);
+        setCapability(GL_BLEND, true);
     }
 
     /**
      * Disables blending.
      */
     public static void disableBlend() {
-        glDisable(GL_BLEND);
+        setCapability(GL_BLEND, false);
     }
 
     /**
@@ -79,7 +98,7 @@ public class OpenGLState {
      * @param dfactor the destination factor (e.g., GL_ONE_MINUS_SRC_ALPHA)
      */
     public static void setBlendFunc(int sfactor, int dfactor) {
-        glBlendFunc(sfactor, dfactor);
+        if (cache.setBlendFunc(sfactor, dfactor)) glBlendFunc(sfactor, dfactor);
     }
 
     /**
@@ -95,14 +114,14 @@ public class OpenGLState {
      * Enables face culling.
      */
     public static void enableCullFace() {
-        glEnable(GL_CULL_FACE);
+        setCapability(GL_CULL_FACE, true);
     }
 
     /**
      * Disables face culling.
      */
     public static void disableCullFace() {
-        glDisable(GL_CULL_FACE);
+        setCapability(GL_CULL_FACE, false);
     }
 
     /**
@@ -111,7 +130,7 @@ public class OpenGLState {
      * @param mode the cull mode (e.g., GL_BACK, GL_FRONT, GL_FRONT_AND_BACK)
      */
     public static void setCullFace(int mode) {
-        glCullFace(mode);
+        if (cache.setCullFace(mode)) glCullFace(mode);
     }
 
     /**
@@ -120,7 +139,7 @@ public class OpenGLState {
      * @param mode the winding order (e.g., GL_CCW, GL_CW)
      */
     public static void setFrontFace(int mode) {
-        glFrontFace(mode);
+        if (cache.setFrontFace(mode)) glFrontFace(mode);
     }
 
     /**
@@ -132,7 +151,7 @@ public class OpenGLState {
      * @param height the viewport height
      */
     public static void setViewport(int x, int y, int width, int height) {
-        glViewport(x, y, width, height);
+        if (cache.setViewport(x, y, width, height)) glViewport(x, y, width, height);
     }
 
     /**
@@ -169,7 +188,117 @@ public class OpenGLState {
      * @param textureUnit the texture unit index (0-31)
      */
     public static void activateTexture(int textureUnit) {
-        glActiveTexture(GL_TEXTURE0 + textureUnit);
+        if (cache.setActiveTexture(textureUnit)) glActiveTexture(GL_TEXTURE0 + textureUnit);
+    }
+
+    /**
+     * Makes the given program current.
+     *
+     * @param program the GL id of the program, or 0 to use no program
+     */
+    public static void useProgram(int program) {
+        if (cache.useProgram(program)) glUseProgram(program);
+    }
+
+    /**
+     * Binds the given vertex array.
+     *
+     * @param vertexArray the GL id of the vertex array, or 0 to unbind
+     */
+    public static void bindVertexArray(int vertexArray) {
+        if (cache.bindVertexArray(vertexArray)) glBindVertexArray(vertexArray);
+    }
+
+    /**
+     * Binds a buffer to the given target.
+     *
+     * @param target the buffer target (e.g., GL_ARRAY_BUFFER, GL_ELEMENT_ARRAY_BUFFER)
+     * @param buffer the GL id of the buffer, or 0 to unbind
+     */
+    public static void bindBuffer(int target, int buffer) {
+        if (cache.bindBuffer(target, buffer)) glBindBuffer(target, buffer);
+    }
+
+    /**
+     * Binds a whole buffer to an indexed binding point of the given target.
+     *
+     * @param target the indexed buffer target (e.g., GL_UNIFORM_BUFFER)
+     * @param index  the binding point
+     * @param buffer the GL id of the buffer
+     */
+    public static void bindBufferBase(int target, int index, int buffer) {
+        if (cache.bindBufferRange(target, index, buffer, 0, GLStateCache.WHOLE_BUFFER)) {
+            glBindBufferBase(target, index, buffer);
+        }
+    }
+
+    /**
+     * Binds a range of a buffer to an indexed binding point of the given target.
+     *
+     * @param target the indexed buffer target (e.g., GL_UNIFORM_BUFFER)
+     * @param index  the binding point
+     * @param buffer the GL id of the buffer
+     * @param offset the offset of the range in bytes
+     * @param size   the size of the range in bytes
+     */
+    public static void bindBufferRange(int target, int index, int buffer, long offset, long size) {
+        if (cache.bindBufferRange(target, index, buffer, offset, size)) {
+            glBindBufferRange(target, index, buffer, offset, size);
+        }
+    }
+
+    /**
+     * Binds a texture to the given target of the active texture unit.
+     *
+     * @param target  the texture target (e.g., GL_TEXTURE_2D)
+     * @param texture the GL id of the texture, or 0 to unbind
+     */
+    public static void bindTexture(int target, int texture) {
+        if (cache.bindTexture(target, texture)) glBindTexture(target, texture);
+    }
+
+    /**
+     * Forgets the bindings of a GL object that is about to be deleted, as GL may reuse its id for a new object.
+     *
+     * @param target the bind target of the object
+     * @param id     the GL id of the object
+     */
+    static void forgetBinding(int target, int id) {
+        cache.forget(target, id);
+    }
+
+    /**
+     * Forgets the cached GL state, so the next call of every kind is issued. Must be called after GL state was changed
+     * without going through this class.
+     */
+    public static void invalidateStateCache() {
+        cache.invalidate();
+    }
+
+    /**
+     * Returns the number of state changing calls that were issued to GL since the last {@link #resetCallCounts()}.
+     *
+     * @return the issued call count
+     */
+    public static long getIssuedCallCount() {
+        return cache.getIssuedCount();
+    }
+
+    /**
+     * Returns the number of state changing calls that were skipped since the last {@link #resetCallCounts()}, because
+     * GL already had the requested state.
+     *
+     * @return the skipped call count
+     */
+    public static long getSkippedCallCount() {
+        return cache.getSkippedCount();
+    }
+
+    /**
+     * Resets the issued and skipped call counts, e.g. at the start of a frame.
+     */
+    public static void resetCallCounts() {
+        cache.resetCounts();
     }
 
     /**
@@ -196,13 +325,124 @@ public class OpenGLState {
         glPolygonMode(face, mode);
     }
 
+    private static void setCapability(int capability, boolean enabled) {
+        if (!cache.setCapability(capability, enabled)) return;
+        if (enabled) {
+            glEnable(capability);
+        } else {
+            glDisable(capability);
+        }
+    }
+
     public static void drawElements(final VertexArray vao) {
         vao.bind();
+        drawBoundElements(vao);
+        vao.unbind();
+    }
+
+    /**
+     * Draws the given vertex array, which must already be bound. Leaves it bound, so consecutive draws of the same
+     * vertex array do not rebind it.
+     *
+     * @param vao the bound vertex array
+     */
+    public static void drawBoundElements(final VertexArray vao) {
         if (vao.getIndexBuffer() != null) {
             glDrawElements(GL_TRIANGLES, vao.getIndexBuffer().getCount(), GL_UNSIGNED_INT, 0);
         } else {
-            glDrawArrays(GL_TRIANGLES, 0, vao.getVertexBuffers().stream().mapToInt(VertexBuffer::getSize).sum());
+            glDrawArrays(GL_TRIANGLES, 0, vao.getVertexCount());
         }
-        vao.unbind();
+    }
+
+    /**
+     * Draws a range of the index buffer of the given vertex array, which must already be bound. Used to draw one of
+     * several index lists stored one after the other in the same index buffer, such as the levels of detail of a mesh.
+     *
+     * @param vao        the bound vertex array, which must have an index buffer
+     * @param firstIndex the first index of the range
+     * @param indexCount the number of indices in the range
+     */
+    public static void drawBoundElements(final VertexArray vao, int firstIndex, int indexCount) {
+        if (vao.getIndexBuffer() == null) {
+            throw new IllegalStateException("Cannot draw a range of indices of a vertex array without index buffer");
+        }
+        glDrawElements(GL_TRIANGLES, indexCount, GL_UNSIGNED_INT, (long) firstIndex * Integer.BYTES);
+    }
+
+    /**
+     * Draws {@code instanceCount} instances of the given vertex array, which must already be bound. Attributes with a
+     * divisor, such as the columns of an {@link me.siebe.flux.opengl.vertex.InstanceBuffer}, advance once per instance.
+     *
+     * @param vao           the bound vertex array
+     * @param instanceCount the number of instances to draw
+     */
+    public static void drawBoundElementsInstanced(final VertexArray vao, int instanceCount) {
+        if (vao.getIndexBuffer() != null) {
+            glDrawElementsInstanced(GL_TRIANGLES, vao.getIndexBuffer().getCount(), GL_UNSIGNED_INT, 0, instanceCount);
+        } else {
+            glDrawArraysInstanced(GL_TRIANGLES, 0, vao.getVertexCount(), instanceCount);
+        }
+    }
+
+    /**
+     * Draws a range of the vertices of the bound vertex array, without an index buffer. Used to draw the vertices that
+     * were written to one region of a {@link me.siebe.flux.opengl.vertex.StreamingVertexBuffer}.
+     *
+     * @param mode        the primitive type (e.g., GL_TRIANGLES, GL_LINES)
+     * @param firstVertex the first vertex of the range
+     * @param vertexCount the number of vertices in the range
+     */
+    public static void drawBoundArrays(int mode, int firstVertex, int vertexCount) {
+        glDrawArrays(mode, firstVertex, vertexCount);
+    }
+
+    /**
+     * Draws {@code instanceCount} instances of a range of the index buffer of the given vertex array, which must already
+     * be bound. Used to draw one of several index lists stored one after the other in the same index buffer, such as
+     * the levels of detail of a mesh.
+     *
+     * @param vao           the bound vertex array, which must have an index buffer
+     * @param firstIndex    the first index of the range
+     * @param indexCount    the number of indices in the range
+     * @param instanceCount the number of instances to draw
+     */
+    public static void drawBoundElementsInstanced(final VertexArray vao, int firstIndex, int indexCount, int instanceCount) {
+        if (vao.getIndexBuffer() == null) {
+            throw new IllegalStateException("Cannot draw a range of indices of a vertex array without index buffer");
+        }
+        glDrawElementsInstanced(GL_TRIANGLES, indexCount, GL_UNSIGNED_INT, (long) firstIndex * Integer.BYTES, instanceCount);
+    }
+
+    /**
+     * Checks if the context supports {@link #multiDrawElementsIndirect(long, int)} with shaders that read
+     * {@code gl_DrawID}, which requires GL 4.6. The window may be given an older context, so callers must keep a
+     * fallback.
+     *
+     * @return true if multi-draw indirect with draw ids is supported
+     */
+    public static boolean supportsMultiDrawIndirect() {
+        return getCapabilities().OpenGL46;
+    }
+
+    /**
+     * Checks if the context supports persistently mapped buffer storage, which requires GL 4.4 or
+     * {@code ARB_buffer_storage}. The window may be given an older context, so callers must keep a fallback.
+     *
+     * @return true if buffers can be persistently mapped
+     */
+    public static boolean supportsPersistentMapping() {
+        return getCapabilities().OpenGL44 || getCapabilities().GL_ARB_buffer_storage;
+    }
+
+    /**
+     * Issues a sequence of indexed draws of the bound vertex array, whose parameters are read from the bound
+     * {@code GL_DRAW_INDIRECT_BUFFER}, see {@link me.siebe.flux.opengl.buffer.IndirectBuffer}. Each draw gets its
+     * position in the sequence as {@code gl_DrawID}.
+     *
+     * @param offset    the byte offset of the first command in the indirect buffer
+     * @param drawCount the number of commands to draw
+     */
+    public static void multiDrawElementsIndirect(long offset, int drawCount) {
+        glMultiDrawElementsIndirect(GL_TRIANGLES, GL_UNSIGNED_INT, offset, drawCount, 0);
     }
 }
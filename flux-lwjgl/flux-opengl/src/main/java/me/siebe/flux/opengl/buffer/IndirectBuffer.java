@@ -0,0 +1,117 @@
+package me.siebe.flux.opengl.buffer;
+
+import me.siebe.flux.opengl.GLResource;
+import org.lwjgl.BufferUtils;
+
+import java.nio.IntBuffer;
+
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL40.GL_DRAW_INDIRECT_BUFFER;
+
+/**
+ * Buffer of {@code DrawElementsIndirectCommand} records, rewritten every frame, from which
+ * {@link me.siebe.flux.opengl.OpenGLState#multiDrawElementsIndirect(long, int)} reads the parameters of its draws.
+ * <p>
+ * The commands of all draws of a frame are written with {@link #put} and uploaded at once. A multi-draw then reads a
+ * consecutive run of them, starting at the {@link #getOffset(int) offset} of its first command.
+ * <pre>{@code
+ * commands.put(0, indexCount, 1, firstIndex, baseVertex, 0);
+ * commands.put(1, otherIndexCount, 3, otherFirstIndex, otherBaseVertex, 1);
+ * commands.upload(2);
+ * commands.bind();
+ * vertexArray.bind();
+ * OpenGLState.multiDrawElementsIndirect(commands.getOffset(0), 2);
+ * }</pre>
+ */
+public class IndirectBuffer extends GLResource {
+    /** The number of ints in a command: count, instance count, first index, base vertex and base instance. */
+    private static final int COMMAND_INTS = 5;
+    /** The size of a command in bytes. */
+    public static final int COMMAND_SIZE = COMMAND_INTS * Integer.BYTES;
+
+    private IntBuffer staging;
+
+    /**
+     * Creates an indirect buffer.
+     *
+     * @param initialCapacity the number of commands to reserve room for, grows as needed
+     */
+    public IndirectBuffer(int initialCapacity) {
+        super(glGenBuffers());
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Indirect buffer capacity must be positive, got " + initialCapacity);
+        }
+        this.staging = BufferUtils.createIntBuffer(initialCapacity * COMMAND_INTS);
+    }
+
+    @Override
+    protected int getBindTarget() {
+        return GL_DRAW_INDIRECT_BUFFER;
+    }
+
+    /**
+     * Gets the number of commands that fit in the staging buffer before it grows.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return staging.capacity() / COMMAND_INTS;
+    }
+
+    /**
+     * Writes a command to the staging buffer. Nothing is sent to GL until {@link #upload(int)}.
+     *
+     * @param index         the command index
+     * @param indexCount    the number of indices to draw
+     * @param instanceCount the number of instances to draw
+     * @param firstIndex    the first index to draw, in indices from the start of the index buffer
+     * @param baseVertex    the value added to every index before it is used to read a vertex
+     * @param baseInstance  the first instance, added to the instance index of attributes with a divisor
+     */
+    public void put(int index, int indexCount, int instanceCount, int firstIndex, int baseVertex, int baseInstance) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Command index must not be negative, got " + index);
+        }
+        ensureCapacity(index + 1);
+        int position = index * COMMAND_INTS;
+        staging.put(position, indexCount)
+                .put(position + 1, instanceCount)
+                .put(position + 2, firstIndex)
+                .put(position + 3, baseVertex)
+                .put(position + 4, baseInstance);
+    }
+
+    /**
+     * Uploads the first {@code count} commands of the staging buffer, replacing the storage of the buffer so draws of
+     * the previous frame can still read the old one.
+     *
+     * @param count the number of commands to upload
+     */
+    public void upload(int count) {
+        if (count < 0 || count > getCapacity()) {
+            throw new IllegalArgumentException("Cannot upload " + count + " commands from an indirect buffer with capacity " + getCapacity());
+        }
+        bind();
+        staging.limit(count * COMMAND_INTS).position(0);
+        glBufferData(GL_DRAW_INDIRECT_BUFFER, staging, GL_STREAM_DRAW);
+        staging.clear();
+    }
+
+    /**
+     * Gets the byte offset of a command, as passed to {@link me.siebe.flux.opengl.OpenGLState#multiDrawElementsIndirect}.
+     *
+     * @param index the command index
+     * @return the offset in bytes
+     */
+    public long getOffset(int index) {
+        return (long) index * COMMAND_SIZE;
+    }
+
+    private void ensureCapacity(int count) {
+        if (count <= getCapacity()) return;
+        IntBuffer grown = BufferUtils.createIntBuffer(Math.max(count, getCapacity() * 2) * COMMAND_INTS);
+        grown.put(staging.clear());
+        grown.clear();
+        staging = grown;
+    }
+}
@@ -0,0 +1,82 @@
+package me.siebe.flux.opengl.buffer;
+
+import me.siebe.flux.opengl.GLResource;
+import me.siebe.flux.opengl.OpenGLState;
+import org.lwjgl.BufferUtils;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL43.GL_SHADER_STORAGE_BUFFER;
+
+/**
+ * Buffer of per-draw records, rewritten every frame, that shaders read as an unsized array from a
+ * {@code std430 buffer} block.
+ * <p>
+ * Unlike a {@link UniformBuffer}, the whole buffer is bound at once and a shader picks its record by index, e.g. by
+ * {@code gl_DrawID}, so the draws of a multi-draw can each read their own data. Records are written to the
+ * {@link #getStaging(int) staging buffer} at the byte offsets of their index, and uploaded at once.
+ */
+public class ShaderStorageBuffer extends GLResource {
+    private ByteBuffer staging;
+
+    /**
+     * Creates a shader storage buffer.
+     *
+     * @param initialSize the number of bytes to reserve room for, grows as needed
+     */
+    public ShaderStorageBuffer(int initialSize) {
+        super(glGenBuffers());
+        if (initialSize <= 0) {
+            throw new IllegalArgumentException("Shader storage buffer size must be positive, got " + initialSize);
+        }
+        this.staging = BufferUtils.createByteBuffer(initialSize);
+    }
+
+    @Override
+    protected int getBindTarget() {
+        return GL_SHADER_STORAGE_BUFFER;
+    }
+
+    /**
+     * Gets the staging buffer to write records to, grown to hold at least the given number of bytes. Growing keeps the
+     * data that was already written. Nothing is sent to GL until {@link #upload(int)}.
+     *
+     * @param size the number of bytes that will be written
+     * @return the staging buffer, with native byte order
+     */
+    public ByteBuffer getStaging(int size) {
+        if (size > staging.capacity()) {
+            ByteBuffer grown = BufferUtils.createByteBuffer(Math.max(size, staging.capacity() * 2));
+            grown.put(staging.clear());
+            grown.clear();
+            staging = grown;
+        }
+        return staging;
+    }
+
+    /**
+     * Uploads the first {@code size} bytes of the staging buffer, replacing the storage of the buffer so draws of the
+     * previous frame can still read the old one.
+     *
+     * @param size the number of bytes to upload
+     */
+    public void upload(int size) {
+        if (size < 0 || size > staging.capacity()) {
+            throw new IllegalArgumentException("Cannot upload " + size + " bytes from a shader storage buffer with capacity " + staging.capacity());
+        }
+        bind();
+        staging.limit(size).position(0);
+        glBufferData(GL_SHADER_STORAGE_BUFFER, staging, GL_STREAM_DRAW);
+        staging.clear();
+    }
+
+    /**
+     * Binds the whole buffer to a shader storage block binding point.
+     *
+     * @param bindingPoint the binding point, as declared with {@code layout(binding = ...)} in the shader
+     */
+    public void bindBase(int bindingPoint) {
+        OpenGLState.bindBufferBase(GL_SHADER_STORAGE_BUFFER, bindingPoint, glId);
+    }
+}
@@ -0,0 +1,194 @@
+package me.siebe.flux.opengl.buffer;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static me.siebe.flux.util.exceptions.Validator.notNull;
+
+/**
+ * Memory layout of a uniform block with the {@code std140} layout qualifier, which has the same offsets in every shader
+ * and on every driver.
+ * <p>
+ * The members are added in the order of the block in GLSL, after which {@link #getOffset(String)} gives the byte offset
+ * to write each member at. Under {@code std140}, scalars are aligned to 4 bytes, {@code vec2} to 8 bytes, and
+ * {@code vec3}, {@code vec4}, matrices and array elements to 16 bytes. A scalar may directly follow a {@code vec3} in
+ * its last 4 bytes. The size of the block is rounded up to 16 bytes.
+ * <pre>{@code
+ * Std140Layout layout = Std140Layout.builder()
+ *         .mat4("uViewProj")
+ *         .vec3("uLightDir")
+ *         .build();
+ * }</pre>
+ */
+public final class Std140Layout {
+    private static final int VEC4_ALIGNMENT = 16;
+
+    private final Map<String, Integer> offsets;
+    private final int size;
+
+    private Std140Layout(Map<String, Integer> offsets, int size) {
+        this.offsets = Collections.unmodifiableMap(offsets);
+        this.size = size;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the byte offset of a member, from the start of the block. For an array, this is the offset of the first
+     * element, see {@link Type#getArrayStride()} for the offset between elements.
+     *
+     * @param name the member name
+     * @return the byte offset
+     * @throws IllegalArgumentException if the layout has no member with the given name
+     */
+    public int getOffset(String name) {
+        Integer offset = offsets.get(name);
+        if (offset == null) {
+            throw new IllegalArgumentException("Uniform block layout has no member '" + name + "'");
+        }
+        return offset;
+    }
+
+    /**
+     * Gets the size of the block in bytes, which is a multiple of 16.
+     *
+     * @return the size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the members of the block and their offsets, in declaration order.
+     *
+     * @return an unmodifiable map of member names to byte offsets
+     */
+    public Map<String, Integer> getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * The GLSL types that can be members of a {@code std140} block. {@code int}, {@code uint} and {@code bool} take up
+     * the same space as a {@code float}.
+     */
+    public enum Type {
+        SCALAR(4, 4),
+        VEC2(8, 8),
+        VEC3(12, 16),
+        VEC4(16, 16),
+        /** Stored as three columns of {@code vec4}. */
+        MAT3(48, 16),
+        MAT4(64, 16);
+
+        private final int size;
+        private final int alignment;
+
+        Type(int size, int alignment) {
+            this.size = size;
+            this.alignment = alignment;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getAlignment() {
+            return alignment;
+        }
+
+        /**
+         * Gets the offset between two elements of an array of this type, which is the size rounded up to 16 bytes.
+         *
+         * @return the array stride in bytes
+         */
+        public int getArrayStride() {
+            return align(size, VEC4_ALIGNMENT);
+        }
+    }
+
+    public static final class Builder {
+        private final Map<String, Integer> offsets = new LinkedHashMap<>();
+        private int offset = 0;
+
+        private Builder() {}
+
+        public Builder scalar(String name) {
+            return add(name, Type.SCALAR);
+        }
+
+        public Builder vec2(String name) {
+            return add(name, Type.VEC2);
+        }
+
+        public Builder vec3(String name) {
+            return add(name, Type.VEC3);
+        }
+
+        public Builder vec4(String name) {
+            return add(name, Type.VEC4);
+        }
+
+        public Builder mat3(String name) {
+            return add(name, Type.MAT3);
+        }
+
+        public Builder mat4(String name) {
+            return add(name, Type.MAT4);
+        }
+
+        /**
+         * Adds a member of the given type.
+         *
+         * @param name the member name
+         * @param type the member type
+         * @return this builder
+         * @throws IllegalArgumentException if a member with the same name was already added
+         */
+        public Builder add(String name, Type type) {
+            notNull(type, () -> "Type");
+            return put(name, type.getAlignment(), type.getSize());
+        }
+
+        /**
+         * Adds an array member. Every element is aligned to 16 bytes, see {@link Type#getArrayStride()}.
+         *
+         * @param name  the member name, without brackets
+         * @param type  the element type
+         * @param count the number of elements
+         * @return this builder
+         * @throws IllegalArgumentException if the count is not positive, or a member with the same name was already added
+         */
+        public Builder array(String name, Type type, int count) {
+            notNull(type, () -> "Type");
+            if (count <= 0) {
+                throw new IllegalArgumentException("Array member '" + name + "' must have at least 1 element, got " + count);
+            }
+            put(name, VEC4_ALIGNMENT, type.getArrayStride() * count);
+            // The member following an array starts at a multiple of 16 bytes
+            offset = align(offset, VEC4_ALIGNMENT);
+            return this;
+        }
+
+        public Std140Layout build() {
+            return new Std140Layout(new LinkedHashMap<>(offsets), align(offset, VEC4_ALIGNMENT));
+        }
+
+        private Builder put(String name, int alignment, int size) {
+            notNull(name, () -> "Member name");
+            if (offsets.containsKey(name)) {
+                throw new IllegalArgumentException("Uniform block layout already has a member '" + name + "'");
+            }
+            offset = align(offset, alignment);
+            offsets.put(name, offset);
+            offset += size;
+            return this;
+        }
+    }
+
+    private static int align(int value, int alignment) {
+        return (value + alignment - 1) / alignment * alignment;
+    }
+}
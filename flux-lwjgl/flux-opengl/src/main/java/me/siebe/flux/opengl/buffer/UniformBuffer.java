@@ -0,0 +1,102 @@
+package me.siebe.flux.opengl.buffer;
+
+import me.siebe.flux.opengl.GLResource;
+import me.siebe.flux.opengl.OpenGLState;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER;
+
+/**
+ * Buffer holding the data of one or more uniform blocks, see {@link Std140Layout} for the layout of a block.
+ * <p>
+ * A shader reads a block from the buffer bound to the binding point of the block, which is assigned per program with
+ * {@link me.siebe.flux.opengl.shader.ShaderProgram#bindUniformBlock(String, int)}. Binding a buffer to a binding point
+ * makes it available to every program that uses that binding point, so data shared by all programs (e.g. the camera)
+ * only needs to be bound once per frame.
+ */
+public class UniformBuffer extends GLResource {
+    private final int size;
+
+    /**
+     * Creates a uniform buffer with uninitialized storage.
+     *
+     * @param size the size in bytes
+     */
+    public UniformBuffer(int size) {
+        super(glGenBuffers());
+        if (size <= 0) {
+            throw new IllegalArgumentException("Uniform buffer size must be positive, got " + size);
+        }
+        this.size = size;
+        bind();
+        glBufferData(GL_UNIFORM_BUFFER, size, GL_DYNAMIC_DRAW);
+    }
+
+    @Override
+    protected int getBindTarget() {
+        return GL_UNIFORM_BUFFER;
+    }
+
+    /**
+     * Gets the size of the buffer in bytes.
+     *
+     * @return the size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Replaces the data at the start of the buffer with the remaining bytes of the given buffer.
+     *
+     * @param data the data, e.g. written at the offsets of a {@link Std140Layout}
+     */
+    public void setData(ByteBuffer data) {
+        setSubData(0, data);
+    }
+
+    /**
+     * Replaces part of the data of the buffer with the remaining bytes of the given buffer.
+     *
+     * @param offset the byte offset in this buffer to write at
+     * @param data   the data
+     */
+    public void setSubData(long offset, ByteBuffer data) {
+        if (offset < 0 || offset + data.remaining() > size) {
+            throw new IllegalArgumentException("Cannot write " + data.remaining() + " bytes at offset " + offset + " of uniform buffer of size " + size);
+        }
+        bind();
+        glBufferSubData(GL_UNIFORM_BUFFER, offset, data);
+    }
+
+    /**
+     * Replaces the storage of the buffer with new, uninitialized storage. Draws that were already issued keep reading
+     * the old storage, so the buffer can be rewritten without waiting for them.
+     */
+    public void orphan() {
+        bind();
+        glBufferData(GL_UNIFORM_BUFFER, size, GL_DYNAMIC_DRAW);
+    }
+
+    /**
+     * Binds the whole buffer to a uniform block binding point.
+     *
+     * @param bindingPoint the binding point
+     */
+    public void bindBase(int bindingPoint) {
+        OpenGLState.bindBufferBase(GL_UNIFORM_BUFFER, bindingPoint, glId);
+    }
+
+    /**
+     * Binds a range of the buffer to a uniform block binding point.
+     *
+     * @param bindingPoint the binding point
+     * @param offset       the byte offset of the range, a multiple of {@code GL_UNIFORM_BUFFER_OFFSET_ALIGNMENT}
+     * @param size         the size of the range in bytes
+     */
+    public void bindRange(int bindingPoint, long offset, long size) {
+        OpenGLState.bindBufferRange(GL_UNIFORM_BUFFER, bindingPoint, glId, offset, size);
+    }
+}
@@ -0,0 +1,125 @@
+package me.siebe.flux.opengl.buffer;
+
+import org.lwjgl.BufferUtils;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.opengl.GL11.glGetInteger;
+import static org.lwjgl.opengl.GL15.nglBufferSubData;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER_OFFSET_ALIGNMENT;
+import static org.lwjgl.system.MemoryUtil.memAddress;
+
+/**
+ * Large uniform buffer divided into equally sized blocks that are written once and read by the draws of a single frame,
+ * e.g. one material block per material change.
+ * <p>
+ * During a frame, blocks are {@link #allocate() allocated} one after another and written to the {@link #getStaging()
+ * staging buffer} at the returned offset. {@link #upload()} then copies all blocks of the frame to the GPU in one or two
+ * calls, after which each draw only needs to {@link #bind(int, int) bind} the range of its block. Allocation continues
+ * after the blocks of the previous frame and wraps around at the end of the buffer. When it wraps, the storage is
+ * orphaned on upload, so the draws of earlier frames are never waited for.
+ * <p>
+ * Blocks are placed at multiples of {@code GL_UNIFORM_BUFFER_OFFSET_ALIGNMENT}, so the space used per block may be
+ * larger than the block itself.
+ */
+public class UniformRingBuffer {
+    private final UniformBuffer buffer;
+    private final ByteBuffer staging;
+    private final int blockSize;
+    private final int stride;
+    private final int capacity;
+
+    /** The index of the next block to allocate. */
+    private int head = 0;
+    /** The index of the first block allocated since the last upload. */
+    private int frameStart = 0;
+    private boolean wrapped = false;
+
+    /**
+     * Creates a ring buffer of blocks of the given layout.
+     *
+     * @param layout   the layout of a block
+     * @param capacity the number of blocks, at least the number of blocks allocated in a single frame
+     */
+    public UniformRingBuffer(Std140Layout layout, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Uniform ring buffer capacity must be positive, got " + capacity);
+        }
+        int alignment = Math.max(1, glGetInteger(GL_UNIFORM_BUFFER_OFFSET_ALIGNMENT));
+        this.blockSize = layout.getSize();
+        this.stride = (blockSize + alignment - 1) / alignment * alignment;
+        this.capacity = capacity;
+        this.buffer = new UniformBuffer(stride * capacity);
+        this.staging = BufferUtils.createByteBuffer(stride * capacity);
+    }
+
+    /**
+     * Allocates a block for the current frame.
+     *
+     * @return the byte offset of the block, both in the {@link #getStaging() staging buffer} and in the GPU buffer
+     * @throws IllegalStateException if more blocks are allocated between two uploads than the ring buffer can hold
+     */
+    public int allocate() {
+        if (head == capacity) {
+            if (frameStart == 0 || wrapped) {
+                throw new IllegalStateException("Uniform ring buffer of " + capacity + " blocks is too small for a single frame");
+            }
+            head = 0;
+            wrapped = true;
+        } else if (wrapped && head == frameStart) {
+            throw new IllegalStateException("Uniform ring buffer of " + capacity + " blocks is too small for a single frame");
+        }
+        return head++ * stride;
+    }
+
+    /**
+     * Gets the CPU-side copy of the buffer that allocated blocks are written to, e.g. with
+     * {@code staging.putFloat(offset + layout.getOffset("member"), value)}.
+     *
+     * @return the staging buffer, with native byte order
+     */
+    public ByteBuffer getStaging() {
+        return staging;
+    }
+
+    /**
+     * Copies the blocks allocated since the last upload to the GPU. Must be called before the first draw that reads
+     * them.
+     */
+    public void upload() {
+        if (wrapped) {
+            buffer.orphan();
+            uploadRange(frameStart, capacity);
+            uploadRange(0, head);
+        } else {
+            uploadRange(frameStart, head);
+        }
+        frameStart = head;
+        wrapped = false;
+    }
+
+    /**
+     * Binds an uploaded block to a uniform block binding point.
+     *
+     * @param bindingPoint the binding point
+     * @param offset       the offset of the block, as returned by {@link #allocate()}
+     */
+    public void bind(int bindingPoint, int offset) {
+        buffer.bindRange(bindingPoint, offset, blockSize);
+    }
+
+    /**
+     * Deletes the GPU buffer.
+     */
+    public void delete() {
+        buffer.delete();
+    }
+
+    private void uploadRange(int fromBlock, int toBlock) {
+        if (toBlock <= fromBlock) return;
+        buffer.bind();
+        long offset = (long) fromBlock * stride;
+        nglBufferSubData(GL_UNIFORM_BUFFER, offset, (long) (toBlock - fromBlock) * stride, memAddress(staging) + offset);
+    }
+}
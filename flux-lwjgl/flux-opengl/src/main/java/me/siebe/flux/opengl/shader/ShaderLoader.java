@@ -34,8 +34,8 @@ public class ShaderLoader extends AssetPool<ShaderProgram> {
 
     /**
      * Reloads a shader from the filesystem, replacing the cached instance.
-     * The old shader is destroyed. If compilation fails, the cache is left empty
-     * and the next {@link #load(String)} will load from the classpath again.
+     * The old shader is destroyed, and its {@link UniformHandle uniform handles} move to the new shader.
+     * If compilation fails, the old shader is kept.
      * <p>
      * Must be called on the OpenGL thread.
      *
@@ -45,12 +45,12 @@ public class ShaderLoader extends AssetPool<ShaderProgram> {
      */
     boolean reload(String basePath, Path resourceRoot) {
         try {
-            ShaderProgram oldProgram = load(basePath);
+            ShaderProgram newProgram = new ShaderProgram(basePath, resourceRoot);
+            ShaderProgram oldProgram = replaceAsset(basePath, newProgram);
             if (oldProgram != null) {
+                oldProgram.replaceWith(newProgram);
                 oldProgram.delete();
             }
-            ShaderProgram newProgram = new ShaderProgram(basePath, resourceRoot);
-            putAsset(basePath, newProgram);
             logger.info("Hot-reloaded shader '{}'", basePath);
             return true;
         } catch (Exception e) {
@@ -15,8 +15,12 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiFunction;
 
 import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL31.GL_INVALID_INDEX;
+import static org.lwjgl.opengl.GL31.glGetUniformBlockIndex;
+import static org.lwjgl.opengl.GL31.glUniformBlockBinding;
 
 public class ShaderProgram extends GLResource {
     private static final Logger logger = LoggerFactory.getLogger(ShaderProgram.class, LoggingCategories.SHADER);
@@ -30,6 +34,13 @@ public class ShaderProgram extends GLResource {
     /** Tracks uniform names that have already triggered a "not found or unused" warning. */
     private final Set<String> missingUniformWarnings = new HashSet<>();
 
+    /** Typed uniform handles by uniform name, so there is a single handle, and a single cached value, per uniform. */
+    private final Map<String, UniformHandle> handles = new HashMap<>();
+    /** Binding points of uniform blocks by block name, reapplied to the program that replaces this one. */
+    private final Map<String, Integer> uniformBlockBindings = new HashMap<>();
+    /** The program that replaced this one on hot reload, if any. */
+    private ShaderProgram replacement;
+
     /**
      * Creates a new shader program from vertex and fragment shader files.
      * <p>
@@ -103,6 +114,9 @@ public class ShaderProgram extends GLResource {
             int size = sizeBuf.get(0);
             int type = typeBuf.get(0);
 
+            // Members of uniform blocks have no location, their values come from a uniform buffer
+            if (location < 0) continue;
+
             // Array uniforms always have the following format: <name>[0]. For predictability, we remove the [0] part
             if (size != 1 && name.contains("[0]")) {
                 name = name.replace("[0]", "");
@@ -123,15 +137,129 @@ public class ShaderProgram extends GLResource {
     }
 
 
+    // =================================================================================================================
+    // Typed uniform handles
+    // =================================================================================================================
+    //region
+    public UniformMat4 mat4(String name) {
+        return handle(name, UniformMat4.class, UniformMat4::new);
+    }
+
+    public UniformMat3 mat3(String name) {
+        return handle(name, UniformMat3.class, UniformMat3::new);
+    }
+
+    public UniformVec4 vec4(String name) {
+        return handle(name, UniformVec4.class, UniformVec4::new);
+    }
+
+    public UniformVec3 vec3(String name) {
+        return handle(name, UniformVec3.class, UniformVec3::new);
+    }
+
+    public UniformVec2 vec2(String name) {
+        return handle(name, UniformVec2.class, UniformVec2::new);
+    }
+
+    public UniformFloat float1(String name) {
+        return handle(name, UniformFloat.class, UniformFloat::new);
+    }
+
+    /**
+     * Gets the handle to an {@code int} uniform, or to a sampler uniform whose value is a texture slot.
+     *
+     * @param name the uniform name
+     * @return the handle
+     */
+    public UniformInt int1(String name) {
+        return handle(name, UniformInt.class, UniformInt::new);
+    }
+
+    /**
+     * Gets the typed handle to a uniform, creating and resolving it on first use. Handles keep working after this
+     * program is hot-reloaded, see {@link UniformHandle}.
+     *
+     * @throws IllegalArgumentException if the uniform has a handle of another type, or has another type in the shader
+     */
+    private <H extends UniformHandle> H handle(String name, Class<H> type, BiFunction<ShaderProgram, String, H> factory) {
+        Validator.notNull(name, () -> "Uniform name");
+        ShaderProgram latest = getLatest();
+        if (latest != this) return latest.handle(name, type, factory);
+
+        UniformHandle handle = handles.get(name);
+        if (handle == null) {
+            H created = factory.apply(this, name);
+            created.resolve();
+            handles.put(name, created);
+            return created;
+        }
+        if (!type.isInstance(handle)) {
+            throw new IllegalArgumentException("Uniform '" + name + "' already has a handle of type " + handle.getClass().getSimpleName());
+        }
+        return type.cast(handle);
+    }
+
+    /**
+     * Gets the latest version of this program, following hot reloads.
+     *
+     * @return the program that replaced this one, or this program if it was not replaced
+     */
+    ShaderProgram getLatest() {
+        ShaderProgram latest = this;
+        while (latest.replacement != null) {
+            latest = latest.replacement;
+        }
+        return latest;
+    }
+
+    /**
+     * Marks this program as replaced by a hot-reloaded version, so the handles of this program resolve against the new
+     * program from now on.
+     *
+     * @param replacement the new program
+     */
+    void replaceWith(ShaderProgram replacement) {
+        this.replacement = replacement;
+        replacement.handles.putAll(handles);
+        handles.clear();
+        uniformBlockBindings.forEach(replacement::bindUniformBlock);
+    }
+
+    void warnMissingUniform(String name) {
+        if (missingUniformWarnings.add(name)) {
+            logger.warn("Uniform {} not found or unused in {}", name, filename);
+        }
+    }
+    //endregion
+
+    /**
+     * Assigns a binding point to a uniform block, so the block reads from the uniform buffer bound to that binding
+     * point. The assignment is kept when this program is hot-reloaded.
+     *
+     * @param blockName    the name of the block in GLSL, e.g. {@code FrameBlock}
+     * @param bindingPoint the binding point
+     */
+    public void bindUniformBlock(String blockName, int bindingPoint) {
+        Validator.notNull(blockName, () -> "Uniform block name");
+        uniformBlockBindings.put(blockName, bindingPoint);
+        int blockIndex = glGetUniformBlockIndex(getGlId(), blockName);
+        if (blockIndex == GL_INVALID_INDEX) {
+            warnMissingUniform(blockName);
+            return;
+        }
+        glUniformBlockBinding(getGlId(), blockIndex, bindingPoint);
+    }
+
     public void upload(String name, Object value) {
         Validator.notNull(value);
         ShaderUniform u = getUniform(name);
         if (u == null) {
-            if (missingUniformWarnings.add(name)) {
-                logger.warn("Uniform {} not found or unused in {}", name, filename);
-            }
+            warnMissingUniform(name);
             return;
         }
+        // The value no longer matches the one cached by the handle of this uniform
+        UniformHandle handle = handles.get(name);
+        if (handle != null) handle.invalidate();
         bind();
         switch (value) {
             case Matrix4f mat4 -> u.upload(mat4);
@@ -149,11 +277,11 @@ public class ShaderProgram extends GLResource {
     public void uploadTexture(String name, int slot) {
         ShaderUniform u = getUniform(name);
         if (u == null) {
-            if (missingUniformWarnings.add(name)) {
-                logger.warn("Uniform {} not found or unused in {}", name, filename);
-            }
+            warnMissingUniform(name);
             return;
         }
+        UniformHandle handle = handles.get(name);
+        if (handle != null) handle.invalidate();
         bind();
         u.uploadTexture(slot);
     }
@@ -5,11 +5,10 @@ import me.siebe.flux.util.logging.Logger;
 import me.siebe.flux.util.logging.LoggerFactory;
 import me.siebe.flux.util.logging.config.LoggingCategories;
 import org.joml.*;
-import org.lwjgl.BufferUtils;
-
-import java.nio.FloatBuffer;
+import org.lwjgl.system.MemoryStack;
 
 import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.system.MemoryStack.stackPush;
 
 public record ShaderUniform(
         String name,
@@ -42,17 +41,17 @@ public record ShaderUniform(
     public void upload(Matrix4f mat4) {
         checkLocation(location);
         validateType(GL_FLOAT_MAT4);
-        FloatBuffer buffer = BufferUtils.createFloatBuffer(16);
-        mat4.get(buffer);
-        glUniformMatrix4fv(location, false, buffer);
+        try (MemoryStack stack = stackPush()) {
+            glUniformMatrix4fv(location, false, mat4.get(stack.mallocFloat(16)));
+        }
     }
 
     public void upload(Matrix3f mat3) {
         checkLocation(location);
         validateType(GL_FLOAT_MAT3);
-        FloatBuffer buffer = BufferUtils.createFloatBuffer(9);
-        mat3.get(buffer);
-        glUniformMatrix3fv(location, false, buffer);
+        try (MemoryStack stack = stackPush()) {
+            glUniformMatrix3fv(location, false, mat3.get(stack.mallocFloat(9)));
+        }
     }
 
     // --- Vector uploads ---
@@ -0,0 +1,26 @@
+package me.siebe.flux.opengl.shader;
+
+import static org.lwjgl.opengl.GL20.GL_FLOAT;
+import static org.lwjgl.opengl.GL20.glUniform1f;
+
+/**
+ * Handle to a {@code float} uniform, see {@link UniformHandle}.
+ */
+public final class UniformFloat extends UniformHandle {
+    private float last;
+
+    UniformFloat(ShaderProgram program, String name) {
+        super(program, name, GL_FLOAT);
+    }
+
+    /**
+     * Uploads the value, unless it equals the last uploaded one.
+     *
+     * @param value the value
+     */
+    public void set(float value) {
+        if (!resolve() || !needsUpload(Float.compare(last, value) == 0)) return;
+        last = value;
+        glUniform1f(bindForUpload(), value);
+    }
+}
@@ -0,0 +1,115 @@
+package me.siebe.flux.opengl.shader;
+
+import static org.lwjgl.opengl.GL20.GL_INT;
+import static org.lwjgl.opengl.GL20.GL_SAMPLER_2D;
+
+/**
+ * Typed handle to a uniform of a {@link ShaderProgram}, obtained via e.g. {@link ShaderProgram#mat4(String)}.
+ * <p>
+ * The location of the uniform is resolved once, instead of being looked up by name on every upload. Each handle
+ * remembers the last value it uploaded and skips uploads of the same value, which is valid because uniform values are
+ * stored per program. When the program is hot-reloaded, the handle follows it to the new program, resolves its
+ * location again and uploads the next value unconditionally.
+ * <p>
+ * Uploading to a uniform that is not active in the program (e.g. optimized out by the compiler) does nothing.
+ */
+public abstract class UniformHandle {
+    private final String name;
+    private final int glType;
+    private ShaderProgram program;
+    private int location;
+    private boolean resolved = false;
+    /** Whether the last uploaded value is known, i.e. whether uploads of the same value may be skipped. */
+    private boolean cached = false;
+
+    UniformHandle(ShaderProgram program, String name, int glType) {
+        this.program = program;
+        this.name = name;
+        this.glType = glType;
+    }
+
+    /**
+     * Gets the name of the uniform.
+     *
+     * @return the uniform name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the program this handle uploads to, which is the latest hot-reloaded version of the program it was obtained
+     * from.
+     *
+     * @return the program
+     */
+    public ShaderProgram getProgram() {
+        resolve();
+        return program;
+    }
+
+    /**
+     * Checks if the uniform is active in the program, meaning uploads reach the shader.
+     *
+     * @return true if the uniform is active
+     */
+    public boolean isActive() {
+        return resolve();
+    }
+
+    /**
+     * Forgets the last uploaded value, so the next upload is never skipped. Called when the uniform is changed without
+     * going through this handle.
+     */
+    void invalidate() {
+        cached = false;
+    }
+
+    /**
+     * Resolves the location of the uniform if needed, following the program to its latest hot-reloaded version.
+     *
+     * @return true if the uniform is active and can be uploaded to
+     * @throws IllegalArgumentException if the type of the uniform in the shader does not match the handle
+     */
+    final boolean resolve() {
+        ShaderProgram current = program.getLatest();
+        if (resolved && current == program) return location >= 0;
+
+        program = current;
+        resolved = true;
+        cached = false;
+        ShaderUniform uniform = program.getUniform(name);
+        if (uniform == null) {
+            program.warnMissingUniform(name);
+            location = -1;
+            return false;
+        }
+        if (uniform.glType() != glType && !(uniform.glType() == GL_SAMPLER_2D && glType == GL_INT)) {
+            throw new IllegalArgumentException(
+                    "Type mismatch for uniform handle '" + name + "'. Shader type=" + uniform.glType() + ", handle type=" + glType
+            );
+        }
+        location = uniform.location();
+        return location >= 0;
+    }
+
+    /**
+     * Checks if the given value differs from the last uploaded one, remembering that a value is known from now on.
+     *
+     * @param equal whether the value equals the last uploaded value
+     * @return true if the value must be uploaded
+     */
+    final boolean needsUpload(boolean equal) {
+        if (cached && equal) return false;
+        cached = true;
+        return true;
+    }
+
+    /**
+     * Binds the program and returns the location to upload to. Must only be called after a successful {@link #resolve()}.
+     */
+    final int bindForUpload() {
+        program.bind();
+        return location;
+    }
+}
@@ -0,0 +1,27 @@
+package me.siebe.flux.opengl.shader;
+
+import static org.lwjgl.opengl.GL20.GL_INT;
+import static org.lwjgl.opengl.GL20.glUniform1i;
+
+/**
+ * Handle to an {@code int} or {@code sampler2D} uniform, see {@link UniformHandle}. For a sampler, the value is the
+ * texture slot.
+ */
+public final class UniformInt extends UniformHandle {
+    private int last;
+
+    UniformInt(ShaderProgram program, String name) {
+        super(program, name, GL_INT);
+    }
+
+    /**
+     * Uploads the value, unless it equals the last uploaded one.
+     *
+     * @param value the value
+     */
+    public void set(int value) {
+        if (!resolve() || !needsUpload(last == value)) return;
+        last = value;
+        glUniform1i(bindForUpload(), value);
+    }
+}
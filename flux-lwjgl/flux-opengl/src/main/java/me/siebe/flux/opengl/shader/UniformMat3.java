@@ -0,0 +1,34 @@
+package me.siebe.flux.opengl.shader;
+
+import org.joml.Matrix3f;
+import org.joml.Matrix3fc;
+import org.lwjgl.system.MemoryStack;
+
+import static org.lwjgl.opengl.GL20.GL_FLOAT_MAT3;
+import static org.lwjgl.opengl.GL20.glUniformMatrix3fv;
+import static org.lwjgl.system.MemoryStack.stackPush;
+
+/**
+ * Handle to a {@code mat3} uniform, see {@link UniformHandle}.
+ */
+public final class UniformMat3 extends UniformHandle {
+    private final Matrix3f last = new Matrix3f();
+
+    UniformMat3(ShaderProgram program, String name) {
+        super(program, name, GL_FLOAT_MAT3);
+    }
+
+    /**
+     * Uploads the matrix, unless it equals the last uploaded one.
+     *
+     * @param value the matrix
+     */
+    public void set(Matrix3fc value) {
+        if (!resolve() || !needsUpload(last.equals(value, 0.0f))) return;
+        last.set(value);
+        int location = bindForUpload();
+        try (MemoryStack stack = stackPush()) {
+            glUniformMatrix3fv(location, false, value.get(stack.mallocFloat(9)));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package me.siebe.flux.opengl.shader;
+
+import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+import org.lwjgl.system.MemoryStack;
+
+import static org.lwjgl.opengl.GL20.GL_FLOAT_MAT4;
+import static org.lwjgl.opengl.GL20.glUniformMatrix4fv;
+import static org.lwjgl.system.MemoryStack.stackPush;
+
+/**
+ * Handle to a {@code mat4} uniform, see {@link UniformHandle}.
+ */
+public final class UniformMat4 extends UniformHandle {
+    private final Matrix4f last = new Matrix4f();
+
+    UniformMat4(ShaderProgram program, String name) {
+        super(program, name, GL_FLOAT_MAT4);
+    }
+
+    /**
+     * Uploads the matrix, unless it equals the last uploaded one.
+     *
+     * @param value the matrix
+     */
+    public void set(Matrix4fc value) {
+        if (!resolve() || !needsUpload(last.equals(value, 0.0f))) return;
+        last.set(value);
+        int location = bindForUpload();
+        try (MemoryStack stack = stackPush()) {
+            glUniformMatrix4fv(location, false, value.get(stack.mallocFloat(16)));
+        }
+    }
+}
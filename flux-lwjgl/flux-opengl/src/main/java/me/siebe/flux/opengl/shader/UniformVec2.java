@@ -0,0 +1,29 @@
+package me.siebe.flux.opengl.shader;
+
+import org.joml.Vector2f;
+import org.joml.Vector2fc;
+
+import static org.lwjgl.opengl.GL20.GL_FLOAT_VEC2;
+import static org.lwjgl.opengl.GL20.glUniform2f;
+
+/**
+ * Handle to a {@code vec2} uniform, see {@link UniformHandle}.
+ */
+public final class UniformVec2 extends UniformHandle {
+    private final Vector2f last = new Vector2f();
+
+    UniformVec2(ShaderProgram program, String name) {
+        super(program, name, GL_FLOAT_VEC2);
+    }
+
+    /**
+     * Uploads the vector, unless it equals the last uploaded one.
+     *
+     * @param value the vector
+     */
+    public void set(Vector2fc value) {
+        if (!resolve() || !needsUpload(last.x == value.x() && last.y == value.y())) return;
+        last.set(value);
+        glUniform2f(bindForUpload(), value.x(), value.y());
+    }
+}
@@ -0,0 +1,29 @@
+package me.siebe.flux.opengl.shader;
+
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+import static org.lwjgl.opengl.GL20.GL_FLOAT_VEC3;
+import static org.lwjgl.opengl.GL20.glUniform3f;
+
+/**
+ * Handle to a {@code vec3} uniform, see {@link UniformHandle}.
+ */
+public final class UniformVec3 extends UniformHandle {
+    private final Vector3f last = new Vector3f();
+
+    UniformVec3(ShaderProgram program, String name) {
+        super(program, name, GL_FLOAT_VEC3);
+    }
+
+    /**
+     * Uploads the vector, unless it equals the last uploaded one.
+     *
+     * @param value the vector
+     */
+    public void set(Vector3fc value) {
+        if (!resolve() || !needsUpload(last.x == value.x() && last.y == value.y() && last.z == value.z())) return;
+        last.set(value);
+        glUniform3f(bindForUpload(), value.x(), value.y(), value.z());
+    }
+}
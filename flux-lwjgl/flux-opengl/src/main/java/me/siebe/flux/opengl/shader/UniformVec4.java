@@ -0,0 +1,29 @@
+package me.siebe.flux.opengl.shader;
+
+import org.joml.Vector4f;
+import org.joml.Vector4fc;
+
+import static org.lwjgl.opengl.GL20.GL_FLOAT_VEC4;
+import static org.lwjgl.opengl.GL20.glUniform4f;
+
+/**
+ * Handle to a {@code vec4} uniform, see {@link UniformHandle}.
+ */
+public final class UniformVec4 extends UniformHandle {
+    private final Vector4f last = new Vector4f();
+
+    UniformVec4(ShaderProgram program, String name) {
+        super(program, name, GL_FLOAT_VEC4);
+    }
+
+    /**
+     * Uploads the vector, unless it equals the last uploaded one.
+     *
+     * @param value the vector
+     */
+    public void set(Vector4fc value) {
+        if (!resolve() || !needsUpload(last.x == value.x() && last.y == value.y() && last.z == value.z() && last.w == value.w())) return;
+        last.set(value);
+        glUniform4f(bindForUpload(), value.x(), value.y(), value.z(), value.w());
+    }
+}
@@ -1,6 +1,7 @@
 package me.siebe.flux.opengl.texture;
 
 import me.siebe.flux.opengl.GLResource;
+import me.siebe.flux.opengl.OpenGLState;
 import me.siebe.flux.util.memory.Copyable;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.stb.STBImage;
@@ -11,8 +12,6 @@ import java.nio.IntBuffer;
 
 import static org.lwjgl.opengl.GL11.*;
 import static org.lwjgl.opengl.GL12.GL_CLAMP_TO_EDGE;
-import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
-import static org.lwjgl.opengl.GL13.glActiveTexture;
 import static org.lwjgl.opengl.GL30.glGenerateMipmap;
 import static org.lwjgl.system.MemoryStack.stackPush;
 
@@ -99,12 +98,12 @@ public class Texture extends GLResource implements Copyable<Texture> {
     }
 
     public void bindToSlot(int slot) {
-        glActiveTexture(GL_TEXTURE0 + slot);
+        OpenGLState.activateTexture(slot);
         bind();
     }
 
     public void unbind() {
-        glBindTexture(target, 0);
+        OpenGLState.bindTexture(target, 0);
     }
 
     public void setFilters(int minFilter, int magFilter) {
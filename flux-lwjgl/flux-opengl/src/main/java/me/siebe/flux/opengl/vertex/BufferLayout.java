@@ -32,6 +32,25 @@ public class BufferLayout {
         return elements.stream().mapToInt(BufferElement::getComponentSize).sum();
     }
 
+    /**
+     * Checks if vertices of this layout can be stored in the same buffer as vertices of another layout, which is the
+     * case when both have the same stride and elements of the same type at the same offsets. Names are ignored.
+     *
+     * @param other the other layout
+     * @return true if both layouts describe the same vertex format
+     */
+    public boolean isCompatibleWith(BufferLayout other) {
+        if (stride != other.stride || elements.size() != other.elements.size()) return false;
+        for (int i = 0; i < elements.size(); i++) {
+            BufferElement element = elements.get(i);
+            BufferElement otherElement = other.elements.get(i);
+            if (element.type != otherElement.type || element.offset != otherElement.offset || element.normalized != otherElement.normalized) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void calculateOffsetsAndStride() {
         int offset = 0;
         this.stride = 0;
@@ -0,0 +1,194 @@
+package me.siebe.flux.opengl.vertex;
+
+import me.siebe.flux.util.exceptions.Validator;
+import me.siebe.flux.util.logging.Logger;
+import me.siebe.flux.util.logging.LoggerFactory;
+import me.siebe.flux.util.logging.config.LoggingCategories;
+
+import static org.lwjgl.opengl.GL15.GL_BUFFER_SIZE;
+import static org.lwjgl.opengl.GL45.glCopyNamedBufferSubData;
+import static org.lwjgl.opengl.GL45.glGetNamedBufferParameteri;
+
+/**
+ * Shared vertex and index buffer that the geometry of many static meshes with the same vertex format is packed into,
+ * so they can all be drawn from one vertex array, e.g. by a single multi-draw.
+ * <p>
+ * The geometry of a mesh is {@link #add(VertexArray) added} by copying its buffers on the GPU. The returned
+ * {@link Range} holds the base vertex and first index to draw it with, as the indices of a mesh stay relative to its
+ * own first vertex. When the buffers are full, they are replaced by larger ones and the {@link #getVertexArray() vertex
+ * array} changes, so callers must not keep it across additions. Geometry that is no longer drawn can be
+ * {@link #release(Range) released}, but its range is not reused; the pool only grows until it is {@link #delete()
+ * deleted}. Owners should replace a pool once {@link #isMostlyReleased() most of it is released}.
+ */
+public class GeometryPool {
+    private static final Logger logger = LoggerFactory.getLogger(GeometryPool.class, LoggingCategories.RENDERER);
+
+    /**
+     * The location of the geometry of a mesh in the pool.
+     *
+     * @param baseVertex  the index of the first vertex of the mesh in the vertex buffer
+     * @param firstIndex  the index of the first index of the mesh in the index buffer
+     * @param vertexCount the number of vertices of the mesh
+     * @param indexCount  the number of indices of the mesh
+     */
+    public record Range(int baseVertex, int firstIndex, int vertexCount, int indexCount) {
+    }
+
+    private final BufferLayout layout;
+    private VertexArray vertexArray;
+    private int vertexCapacity;
+    private int indexCapacity;
+    private int vertexCount = 0;
+    private int indexCount = 0;
+    private int releasedVertexCount = 0;
+    private int releasedIndexCount = 0;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param layout                the vertex format of the pool
+     * @param initialVertexCapacity the number of vertices to reserve room for, grows as needed
+     * @param initialIndexCapacity  the number of indices to reserve room for, grows as needed
+     */
+    public GeometryPool(BufferLayout layout, int initialVertexCapacity, int initialIndexCapacity) {
+        Validator.notNull(layout, () -> "Buffer layout");
+        if (initialVertexCapacity <= 0 || initialIndexCapacity <= 0) {
+            throw new IllegalArgumentException("Geometry pool capacity must be positive, got " + initialVertexCapacity + " vertices and " + initialIndexCapacity + " indices");
+        }
+        this.layout = layout;
+        this.vertexArray = createVertexArray(initialVertexCapacity, initialIndexCapacity);
+        this.vertexCapacity = initialVertexCapacity;
+        this.indexCapacity = initialIndexCapacity;
+    }
+
+    /**
+     * Gets the vertex array that draws from the shared buffers. It is replaced whenever the pool grows.
+     *
+     * @return the vertex array
+     */
+    public VertexArray getVertexArray() {
+        return vertexArray;
+    }
+
+    public BufferLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Checks if the geometry of a vertex array can be pooled at all, which requires an index buffer and a single
+     * {@link VertexBuffer#isStatic() static} vertex buffer with a layout. Dynamic and streaming geometry is not pooled,
+     * since the copy in the pool would not follow its changes. Its layout is the one to create a pool with when no
+     * existing pool accepts it.
+     *
+     * @param source the vertex array
+     * @return true if a pool with a compatible layout accepts it
+     */
+    public static boolean isPoolable(VertexArray source) {
+        return source.getVertexBuffers().size() == 1
+                && source.getVertexBuffers().getFirst().isStatic()
+                && source.getVertexBuffers().getFirst().getLayout() != null
+                && source.getIndexBuffer() != null;
+    }
+
+    /**
+     * Checks if the geometry of a vertex array can be added to this pool, which requires it to be
+     * {@link #isPoolable(VertexArray) poolable} with a layout {@link BufferLayout#isCompatibleWith(BufferLayout)
+     * compatible} with the pool.
+     *
+     * @param source the vertex array
+     * @return true if {@link #add(VertexArray)} accepts it
+     */
+    public boolean accepts(VertexArray source) {
+        return isPoolable(source) && source.getVertexBuffers().getFirst().getLayout().isCompatibleWith(layout);
+    }
+
+    /**
+     * Copies the vertices and indices of a vertex array to the end of the shared buffers. The source is left untouched
+     * and can be deleted afterward.
+     *
+     * @param source the vertex array to copy, see {@link #accepts(VertexArray)}
+     * @return the location of the copied geometry
+     * @throws IllegalArgumentException if the pool does not accept the vertex array
+     */
+    public Range add(VertexArray source) {
+        if (!accepts(source)) {
+            throw new IllegalArgumentException("Geometry pool only accepts vertex arrays with an index buffer and a single static vertex buffer of a compatible layout");
+        }
+        int sourceVertexBuffer = source.getVertexBuffers().getFirst().getGlId();
+        int addedVertices = glGetNamedBufferParameteri(sourceVertexBuffer, GL_BUFFER_SIZE) / layout.getStride();
+        int addedIndices = source.getIndexBuffer().getCount();
+        ensureCapacity(vertexCount + addedVertices, indexCount + addedIndices);
+
+        glCopyNamedBufferSubData(sourceVertexBuffer, getVertexBuffer().getGlId(),
+                0, (long) vertexCount * layout.getStride(), (long) addedVertices * layout.getStride());
+        glCopyNamedBufferSubData(source.getIndexBuffer().getGlId(), vertexArray.getIndexBuffer().getGlId(),
+                0, (long) indexCount * Integer.BYTES, (long) addedIndices * Integer.BYTES);
+
+        Range range = new Range(vertexCount, indexCount, addedVertices, addedIndices);
+        vertexCount += addedVertices;
+        indexCount += addedIndices;
+        return range;
+    }
+
+    /**
+     * Marks the geometry of a range as no longer drawn. The range is not reused, but counts toward
+     * {@link #isMostlyReleased()}.
+     *
+     * @param range a range returned by {@link #add(VertexArray)} of this pool, released at most once
+     */
+    public void release(Range range) {
+        releasedVertexCount += range.vertexCount();
+        releasedIndexCount += range.indexCount();
+    }
+
+    /**
+     * Checks if at least half of the vertices or indices in the pool were {@link #release(Range) released}, so
+     * copying the remaining geometry to a new pool would at least halve its size.
+     *
+     * @return true if most of the pool is released
+     */
+    public boolean isMostlyReleased() {
+        return releasedVertexCount * 2 >= vertexCount && vertexCount > 0
+                || releasedIndexCount * 2 >= indexCount && indexCount > 0;
+    }
+
+    /**
+     * Deletes the shared buffers and the vertex array.
+     */
+    public void delete() {
+        vertexArray.delete();
+    }
+
+    private VertexBuffer getVertexBuffer() {
+        return vertexArray.getVertexBuffers().getFirst();
+    }
+
+    private void ensureCapacity(int vertices, int indices) {
+        if (vertices <= vertexCapacity && indices <= indexCapacity) return;
+        int grownVertexCapacity = Math.max(vertices, vertexCapacity * 2);
+        int grownIndexCapacity = Math.max(indices, indexCapacity * 2);
+        logger.debug("Growing geometry pool to {} vertices and {} indices", grownVertexCapacity, grownIndexCapacity);
+
+        VertexArray grown = createVertexArray(grownVertexCapacity, grownIndexCapacity);
+        glCopyNamedBufferSubData(getVertexBuffer().getGlId(), grown.getVertexBuffers().getFirst().getGlId(),
+                0, 0, (long) vertexCount * layout.getStride());
+        glCopyNamedBufferSubData(vertexArray.getIndexBuffer().getGlId(), grown.getIndexBuffer().getGlId(),
+                0, 0, (long) indexCount * Integer.BYTES);
+        vertexArray.delete();
+
+        vertexArray = grown;
+        vertexCapacity = grownVertexCapacity;
+        indexCapacity = grownIndexCapacity;
+    }
+
+    private VertexArray createVertexArray(int vertices, int indices) {
+        VertexArray created = new VertexArray();
+        created.bind();
+        VertexBuffer vertexBuffer = new VertexBuffer(vertices * layout.getStride());
+        vertexBuffer.setLayout(layout);
+        created.addVertexBuffer(vertexBuffer);
+        created.setIndexBuffer(new IndexBuffer(indices));
+        created.unbind();
+        return created;
+    }
+}
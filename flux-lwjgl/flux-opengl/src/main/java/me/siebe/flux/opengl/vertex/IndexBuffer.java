@@ -28,6 +28,22 @@ public class IndexBuffer extends GLResource {
         glBufferData(GL_ARRAY_BUFFER, indices, GL_STATIC_DRAW);
     }
 
+    /**
+     * Creates a new index buffer with uninitialized storage, to be filled by copying from other buffers.
+     *
+     * @param count the number of indices to reserve room for
+     */
+    public IndexBuffer(int count) {
+        super(glCreateBuffers());
+        if (count <= 0) {
+            throw new IllegalArgumentException("Index buffer count must be positive, got " + count);
+        }
+        this.count = count;
+
+        bind(GL_ARRAY_BUFFER);
+        glBufferData(GL_ARRAY_BUFFER, (long) count * Integer.BYTES, GL_STATIC_DRAW);
+    }
+
     @Override
     protected int getBindTarget() {
         return GL_ELEMENT_ARRAY_BUFFER;
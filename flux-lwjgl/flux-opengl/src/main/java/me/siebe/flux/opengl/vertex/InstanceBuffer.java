@@ -0,0 +1,123 @@
+package me.siebe.flux.opengl.vertex;
+
+import me.siebe.flux.opengl.GLResource;
+import org.joml.Matrix4fc;
+import org.lwjgl.BufferUtils;
+
+import java.nio.FloatBuffer;
+
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL20.glEnableVertexAttribArray;
+import static org.lwjgl.opengl.GL20.glVertexAttribPointer;
+import static org.lwjgl.opengl.GL33.glVertexAttribDivisor;
+
+/**
+ * Buffer of per-instance model matrices, rewritten every frame, from which instanced draws read a {@code mat4}
+ * attribute.
+ * <p>
+ * The matrices of all instanced draws of a frame are written with {@link #put(int, Matrix4fc)} and uploaded at once.
+ * Each draw then points the attribute of the bound vertex array at its first matrix with
+ * {@link #bindAttribute(int, int)}, so a group of instances does not need its own buffer. This re-points the attribute
+ * instead of using a base instance, which requires GL 4.2.
+ * <pre>{@code
+ * instances.put(0, first);
+ * instances.put(1, second);
+ * instances.upload(2);
+ * vertexArray.bind();
+ * instances.bindAttribute(4, 0);
+ * OpenGLState.drawBoundElementsInstanced(vertexArray, 2);
+ * }</pre>
+ */
+public class InstanceBuffer extends GLResource {
+    /** The number of floats in a matrix. */
+    private static final int MATRIX_FLOATS = 16;
+    /** The size of a matrix in bytes, which is the stride of the attribute. */
+    public static final int MATRIX_SIZE = MATRIX_FLOATS * Float.BYTES;
+    /** The size of a matrix column in bytes. */
+    private static final int COLUMN_SIZE = 4 * Float.BYTES;
+
+    private FloatBuffer staging;
+
+    /**
+     * Creates an instance buffer.
+     *
+     * @param initialCapacity the number of matrices to reserve room for, grows as needed
+     */
+    public InstanceBuffer(int initialCapacity) {
+        super(glGenBuffers());
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Instance buffer capacity must be positive, got " + initialCapacity);
+        }
+        this.staging = BufferUtils.createFloatBuffer(initialCapacity * MATRIX_FLOATS);
+    }
+
+    @Override
+    protected int getBindTarget() {
+        return GL_ARRAY_BUFFER;
+    }
+
+    /**
+     * Gets the number of matrices that fit in the staging buffer before it grows.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return staging.capacity() / MATRIX_FLOATS;
+    }
+
+    /**
+     * Writes a matrix to the staging buffer. Nothing is sent to GL until {@link #upload(int)}.
+     *
+     * @param index  the instance index
+     * @param matrix the model matrix of the instance
+     */
+    public void put(int index, Matrix4fc matrix) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Instance index must not be negative, got " + index);
+        }
+        ensureCapacity(index + 1);
+        matrix.get(index * MATRIX_FLOATS, staging);
+    }
+
+    /**
+     * Uploads the first {@code count} matrices of the staging buffer, replacing the storage of the buffer so draws of
+     * the previous frame can still read the old one.
+     *
+     * @param count the number of matrices to upload
+     */
+    public void upload(int count) {
+        if (count < 0 || count > getCapacity()) {
+            throw new IllegalArgumentException("Cannot upload " + count + " matrices from an instance buffer with capacity " + getCapacity());
+        }
+        bind();
+        staging.limit(count * MATRIX_FLOATS).position(0);
+        glBufferData(GL_ARRAY_BUFFER, staging, GL_STREAM_DRAW);
+        staging.clear();
+    }
+
+    /**
+     * Points the {@code mat4} attribute at {@code location} of the bound vertex array at the matrices of this buffer,
+     * starting at the given instance. The attribute takes up four locations, one per column, and advances once per
+     * instance.
+     *
+     * @param location      the location of the first column
+     * @param firstInstance the index of the matrix of the first instance of the next draw
+     */
+    public void bindAttribute(int location, int firstInstance) {
+        bind();
+        long offset = (long) firstInstance * MATRIX_SIZE;
+        for (int column = 0; column < 4; column++) {
+            glEnableVertexAttribArray(location + column);
+            glVertexAttribPointer(location + column, 4, GL_FLOAT, false, MATRIX_SIZE, offset + (long) column * COLUMN_SIZE);
+            glVertexAttribDivisor(location + column, 1);
+        }
+    }
+
+    private void ensureCapacity(int count) {
+        if (count <= getCapacity()) return;
+        FloatBuffer grown = BufferUtils.createFloatBuffer(Math.max(count, getCapacity() * 2) * MATRIX_FLOATS);
+        grown.put(staging.clear());
+        grown.clear();
+        staging = grown;
+    }
+}
@@ -0,0 +1,173 @@
+package me.siebe.flux.opengl.vertex;
+
+/**
+ * Bookkeeping of the regions of a {@link StreamingVertexBuffer}: which region the current frame writes to, where the
+ * next vertex goes, and which bytes were written but not yet uploaded.
+ * <p>
+ * The storage is divided into a fixed number of equally sized regions that are used round-robin, one per frame. The
+ * bookkeeping never calls GL, so it can be tested without a context; the buffer issues the uploads, fences and
+ * orphaning that it decides on.
+ * <p>
+ * Only used on the thread that owns the GL context, so it is not thread-safe.
+ */
+final class StreamingRegions {
+    private final int regionCount;
+    private final int stride;
+    private final int regionSize;
+
+    private int region;
+    private boolean inFrame = false;
+    /** The byte offset of the next vertex to allocate. */
+    private int head;
+    /** The byte offset up to which the allocated vertices were flushed. */
+    private int flushed;
+
+    /**
+     * Creates the bookkeeping for a buffer of {@code regionCount * verticesPerRegion} vertices. The first frame writes
+     * to region 0.
+     *
+     * @param regionCount       the number of regions
+     * @param stride            the size of a vertex in bytes
+     * @param verticesPerRegion the maximum number of vertices written in a single frame
+     * @throws IllegalArgumentException if any argument is not positive, or the buffer would exceed 2 GiB
+     */
+    StreamingRegions(int regionCount, int stride, int verticesPerRegion) {
+        if (regionCount <= 0 || stride <= 0 || verticesPerRegion <= 0) {
+            throw new IllegalArgumentException("Streaming vertex buffer needs positive region count, stride and vertices per region, got "
+                    + regionCount + ", " + stride + " and " + verticesPerRegion);
+        }
+        long size = (long) regionCount * stride * verticesPerRegion;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Streaming vertex buffer of " + size + " bytes exceeds 2 GiB");
+        }
+        this.regionCount = regionCount;
+        this.stride = stride;
+        this.regionSize = stride * verticesPerRegion;
+        this.region = regionCount - 1;
+    }
+
+    /**
+     * Starts a frame in the next region, with nothing allocated or flushed yet.
+     *
+     * @return the region of the frame
+     * @throws IllegalStateException if the previous frame was not ended
+     */
+    int beginFrame() {
+        if (inFrame) {
+            throw new IllegalStateException("Cannot begin a frame of a streaming vertex buffer before ending the previous one");
+        }
+        region = (region + 1) % regionCount;
+        head = region * regionSize;
+        flushed = head;
+        inFrame = true;
+        return region;
+    }
+
+    /**
+     * Allocates room for vertices in the region of the current frame.
+     *
+     * @param vertexCount the number of vertices
+     * @return the byte offset of the first vertex
+     * @throws IllegalArgumentException if the vertex count is negative
+     * @throws IllegalStateException    if no frame was begun, or the frame would hold more vertices than a region
+     */
+    int allocate(int vertexCount) {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException("Cannot allocate a negative number of vertices, got " + vertexCount);
+        }
+        if (!inFrame) {
+            throw new IllegalStateException("Cannot allocate vertices of a streaming vertex buffer outside a frame");
+        }
+        long end = head + (long) vertexCount * stride;
+        if (end > (long) (region + 1) * regionSize) {
+            throw new IllegalStateException("Streaming vertex buffer of " + getVerticesPerRegion() + " vertices per region is too small for a single frame");
+        }
+        int offset = head;
+        head = (int) end;
+        return offset;
+    }
+
+    /**
+     * Gets the number of vertices that can still be allocated in the current frame.
+     *
+     * @return the remaining vertex count, or 0 outside a frame
+     */
+    int getRemainingVertices() {
+        if (!inFrame) return 0;
+        return ((region + 1) * regionSize - head) / stride;
+    }
+
+    /**
+     * Gets the byte offset of the first allocated byte that was not flushed yet.
+     *
+     * @return the byte offset
+     */
+    int getFlushOffset() {
+        return flushed;
+    }
+
+    /**
+     * Gets the number of allocated bytes that were not flushed yet.
+     *
+     * @return the byte count
+     */
+    int getUnflushedSize() {
+        return head - flushed;
+    }
+
+    /**
+     * Marks all allocated bytes as flushed.
+     */
+    void markFlushed() {
+        flushed = head;
+    }
+
+    /**
+     * Ends the current frame.
+     *
+     * @return the region of the frame
+     * @throws IllegalStateException if no frame was begun
+     */
+    int endFrame() {
+        if (!inFrame) {
+            throw new IllegalStateException("Cannot end a frame of a streaming vertex buffer that was not begun");
+        }
+        inFrame = false;
+        return region;
+    }
+
+    /**
+     * Gets the index of the vertex at a byte offset.
+     *
+     * @param offset the byte offset, as returned by {@link #allocate(int)}
+     * @return the vertex index
+     */
+    int getFirstVertex(int offset) {
+        return offset / stride;
+    }
+
+    int getRegion() {
+        return region;
+    }
+
+    int getRegionCount() {
+        return regionCount;
+    }
+
+    int getVerticesPerRegion() {
+        return regionSize / stride;
+    }
+
+    /**
+     * Gets the size of all regions together.
+     *
+     * @return the size in bytes
+     */
+    int getSize() {
+        return regionSize * regionCount;
+    }
+
+    boolean isInFrame() {
+        return inFrame;
+    }
+}
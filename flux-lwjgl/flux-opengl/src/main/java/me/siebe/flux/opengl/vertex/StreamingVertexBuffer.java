@@ -0,0 +1,247 @@
+package me.siebe.flux.opengl.vertex;
+
+import me.siebe.flux.opengl.OpenGLState;
+import me.siebe.flux.util.exceptions.Validator;
+import me.siebe.flux.util.logging.Logger;
+import me.siebe.flux.util.logging.LoggerFactory;
+import me.siebe.flux.util.logging.config.LoggingCategories;
+import org.lwjgl.BufferUtils;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL30.GL_MAP_WRITE_BIT;
+import static org.lwjgl.opengl.GL30.glMapBufferRange;
+import static org.lwjgl.opengl.GL32.*;
+import static org.lwjgl.opengl.GL44.*;
+import static org.lwjgl.system.MemoryUtil.NULL;
+import static org.lwjgl.system.MemoryUtil.memAddress;
+
+/**
+ * Vertex buffer for geometry that is rewritten every frame, such as particles, debug lines or UI, that is written
+ * without stalling on draws of earlier frames and without allocating per frame.
+ * <p>
+ * The buffer is divided into {@value #REGION_COUNT} regions, one per frame in flight. A frame writes its vertices to
+ * the next region, while the GPU may still be reading the regions of the frames before it. When the context
+ * {@link OpenGLState#supportsPersistentMapping() supports it}, the whole buffer is mapped once and written in place,
+ * and a fence placed at the end of every frame makes {@link #beginFrame()} wait only when the GPU falls a full ring
+ * behind. Otherwise, vertices are written to a CPU-side copy and uploaded by {@link #flush()}, and the storage is
+ * orphaned whenever the ring wraps around, like the {@link me.siebe.flux.opengl.buffer.UniformRingBuffer}.
+ * <p>
+ * The attributes of a vertex array point at the start of the buffer, so a draw selects the vertices of its frame by
+ * their first vertex instead of re-pointing the attributes:
+ * <pre>{@code
+ * lines.beginFrame();
+ * int offset = lines.allocate(2);
+ * lines.getData().putFloat(offset, x0) ... ;
+ * lines.flush();
+ * vertexArray.bind();
+ * OpenGLState.drawBoundArrays(GL_LINES, lines.getFirstVertex(offset), 2);
+ * lines.endFrame();
+ * }</pre>
+ * As the buffer holds all regions, its {@link #getVertexCount() vertex count} is not the number of vertices of a
+ * frame, so it must not be drawn as a whole. The region, allocation and flush bookkeeping is kept by
+ * {@link StreamingRegions}.
+ */
+public class StreamingVertexBuffer extends VertexBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(StreamingVertexBuffer.class, LoggingCategories.RENDERER);
+
+    /** The number of regions, which is the number of frames that can be in flight before writing has to wait. */
+    public static final int REGION_COUNT = 3;
+    private static final int STORAGE_FLAGS = GL_MAP_WRITE_BIT | GL_MAP_PERSISTENT_BIT | GL_MAP_COHERENT_BIT;
+    /** The time to wait for a fence per call, after which the wait is retried. */
+    private static final long FENCE_TIMEOUT_NANOS = 1_000_000_000L;
+
+    private final StreamingRegions regions;
+    private final boolean persistent;
+    /** The mapped storage when persistent, otherwise the CPU-side copy of the storage. */
+    private final ByteBuffer data;
+    /** The fence placed after the last draw of every region, or {@link org.lwjgl.system.MemoryUtil#NULL} if none. */
+    private final long[] fences = new long[REGION_COUNT];
+
+    private long stallCount = 0;
+
+    /**
+     * Creates a streaming vertex buffer, persistently mapped if the context supports it.
+     *
+     * @param layout            the layout of a vertex
+     * @param verticesPerRegion the maximum number of vertices written in a single frame
+     */
+    public StreamingVertexBuffer(BufferLayout layout, int verticesPerRegion) {
+        this(layout, verticesPerRegion, OpenGLState.supportsPersistentMapping());
+    }
+
+    /**
+     * Creates a streaming vertex buffer.
+     *
+     * @param layout            the layout of a vertex
+     * @param verticesPerRegion the maximum number of vertices written in a single frame
+     * @param persistent        whether to persistently map the buffer, which requires
+     *                          {@link OpenGLState#supportsPersistentMapping()}, or to upload and orphan instead
+     * @throws IllegalArgumentException if the number of vertices is not positive, or the buffer would exceed 2 GiB
+     */
+    public StreamingVertexBuffer(BufferLayout layout, int verticesPerRegion, boolean persistent) {
+        super();
+        Validator.notNull(layout, () -> "Buffer layout");
+        this.regions = new StreamingRegions(REGION_COUNT, layout.getStride(), verticesPerRegion);
+        setLayout(layout);
+        this.persistent = persistent;
+        this.size = regions.getSize();
+
+        bind();
+        if (persistent) {
+            glBufferStorage(GL_ARRAY_BUFFER, size, STORAGE_FLAGS);
+            ByteBuffer mapped = glMapBufferRange(GL_ARRAY_BUFFER, 0, size, STORAGE_FLAGS);
+            if (mapped == null) {
+                throw new IllegalStateException("Could not persistently map streaming vertex buffer of " + size + " bytes");
+            }
+            this.data = mapped;
+        } else {
+            glBufferData(GL_ARRAY_BUFFER, size, GL_STREAM_DRAW);
+            this.data = BufferUtils.createByteBuffer(size);
+        }
+        logger.debug("Created {} streaming vertex buffer of {} bytes", persistent ? "persistently mapped" : "orphaning", size);
+    }
+
+    /**
+     * Checks if the buffer is persistently mapped, or uploads and orphans its storage instead.
+     *
+     * @return true if persistently mapped
+     */
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    /**
+     * Starts writing the vertices of a new frame to the next region. When persistently mapped, this waits until the
+     * GPU has finished the draws that read the region {@value #REGION_COUNT} frames ago, which is only the case when
+     * it falls that far behind.
+     *
+     * @throws IllegalStateException if the previous frame was not ended
+     */
+    public void beginFrame() {
+        int region = regions.beginFrame();
+        if (persistent) {
+            waitForFence(region);
+        } else if (region == 0) {
+            // Draws of earlier frames may still read any region, so writing over them requires new storage
+            bind();
+            glBufferData(GL_ARRAY_BUFFER, size, GL_STREAM_DRAW);
+        }
+    }
+
+    /**
+     * Allocates room for vertices in the region of the current frame.
+     *
+     * @param vertexCount the number of vertices
+     * @return the byte offset of the first vertex in the {@link #getData() data}
+     * @throws IllegalArgumentException if the vertex count is negative
+     * @throws IllegalStateException    if no frame was begun, or the frame would hold more vertices than a region
+     */
+    public int allocate(int vertexCount) {
+        return regions.allocate(vertexCount);
+    }
+
+    /**
+     * Gets the number of vertices that can still be allocated in the current frame.
+     *
+     * @return the remaining vertex count, or 0 outside a frame
+     */
+    public int getRemainingVertices() {
+        return regions.getRemainingVertices();
+    }
+
+    /**
+     * Gets the buffer that allocated vertices are written to, at the offsets returned by {@link #allocate(int)}. This
+     * is the mapped storage itself when persistently mapped, so it must not be written outside allocated ranges.
+     *
+     * @return the data, with native byte order
+     */
+    public ByteBuffer getData() {
+        return data;
+    }
+
+    /**
+     * Gets the index of the vertex at a byte offset, as passed to the draw of the vertices.
+     *
+     * @param offset the byte offset, as returned by {@link #allocate(int)}
+     * @return the first vertex
+     */
+    public int getFirstVertex(int offset) {
+        return regions.getFirstVertex(offset);
+    }
+
+    /**
+     * Makes the vertices written since the last flush visible to draws. Must be called after writing and before the
+     * draws that read them. Does nothing when persistently mapped, as the mapping is coherent.
+     */
+    public void flush() {
+        if (persistent || regions.getUnflushedSize() == 0) return;
+        bind();
+        int offset = regions.getFlushOffset();
+        nglBufferSubData(GL_ARRAY_BUFFER, offset, regions.getUnflushedSize(), memAddress(data) + offset);
+        regions.markFlushed();
+    }
+
+    /**
+     * Ends the current frame. Must be called after the last draw that reads its vertices, so the region is not
+     * written again until those draws have finished.
+     *
+     * @throws IllegalStateException if no frame was begun
+     */
+    public void endFrame() {
+        int region = regions.endFrame();
+        if (persistent) {
+            fences[region] = glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+        }
+    }
+
+    /**
+     * Gets the number of times {@link #beginFrame()} had to wait for the GPU to finish reading a region. A count that
+     * keeps rising means more frames are in flight than there are regions.
+     *
+     * @return the stall count
+     */
+    public long getStallCount() {
+        return stallCount;
+    }
+
+    /**
+     * Not supported, as the storage of a streaming vertex buffer cannot be replaced. Vertices are written with
+     * {@link #allocate(int)} and {@link #getData()} instead.
+     *
+     * @throws IllegalStateException always
+     */
+    @Override
+    public void setData(float[] data) {
+        throw new IllegalStateException("Streaming vertex buffers are written through allocate() and getData()");
+    }
+
+    @Override
+    protected boolean deleteDependencies() {
+        for (int i = 0; i < REGION_COUNT; i++) {
+            if (fences[i] != NULL) {
+                glDeleteSync(fences[i]);
+                fences[i] = NULL;
+            }
+        }
+        return true;
+    }
+
+    private void waitForFence(int fenceRegion) {
+        long fence = fences[fenceRegion];
+        if (fence == NULL) return;
+        int status = glClientWaitSync(fence, 0, 0);
+        if (status == GL_TIMEOUT_EXPIRED) {
+            stallCount++;
+            do {
+                status = glClientWaitSync(fence, GL_SYNC_FLUSH_COMMANDS_BIT, FENCE_TIMEOUT_NANOS);
+            } while (status == GL_TIMEOUT_EXPIRED);
+        }
+        if (status == GL_WAIT_FAILED) {
+            logger.warn("Waiting for the fence of region {} of a streaming vertex buffer failed", fenceRegion);
+        }
+        glDeleteSync(fence);
+        fences[fenceRegion] = NULL;
+    }
+}
@@ -103,6 +103,16 @@ public class VertexArray extends GLResource implements Copyable<VertexArray> {
         vertexBuffers.add(vertexBuffer);
     }
 
+    /**
+     * Gets the number of vertices drawn when the vertex array has no index buffer, which is the vertex count of its
+     * first vertex buffer.
+     *
+     * @return the vertex count, 0 if the vertex array has no vertex buffers
+     */
+    public int getVertexCount() {
+        return vertexBuffers.isEmpty() ? 0 : vertexBuffers.getFirst().getVertexCount();
+    }
+
     public IndexBuffer getIndexBuffer() {
         return indexBuffer;
     }
@@ -4,9 +4,6 @@ import me.siebe.flux.opengl.GLResource;
 import me.siebe.flux.util.logging.Logger;
 import me.siebe.flux.util.logging.LoggerFactory;
 import me.siebe.flux.util.logging.config.LoggingCategories;
-import org.lwjgl.BufferUtils;
-
-import java.nio.FloatBuffer;
 
 import static org.lwjgl.opengl.GL15.*;
 
@@ -14,8 +11,16 @@ public class VertexBuffer extends GLResource {
     private static final Logger logger = LoggerFactory.getLogger(VertexBuffer.class, LoggingCategories.RENDERER);
 
     private BufferLayout bufferLayout;
-    private int size;
-
+    /** The size of the storage of the buffer in bytes. */
+    protected int size;
+    /** Whether the data was given on creation and never replaced. */
+    private boolean staticData;
+
+    /**
+     * Creates a vertex buffer with uninitialized storage.
+     *
+     * @param size the size in bytes
+     */
     public VertexBuffer(int size) {
         super(glGenBuffers());
         bind();
@@ -23,15 +28,24 @@ public class VertexBuffer extends GLResource {
         this.size = size;
     }
 
+    /**
+     * Creates a vertex buffer holding the given vertices.
+     *
+     * @param vertices the vertex data, interleaved as described by the {@link #setLayout(BufferLayout) layout}
+     */
     public VertexBuffer(float[] vertices) {
         super(glGenBuffers());
         bind();
+        glBufferData(GL_ARRAY_BUFFER, vertices, GL_STATIC_DRAW);
+        this.size = vertices.length * Float.BYTES;
+        this.staticData = true;
+    }
 
-        FloatBuffer buffer = BufferUtils.createFloatBuffer(vertices.length);
-        buffer.put(vertices).flip();
-
-        glBufferData(GL_ARRAY_BUFFER, buffer, GL_STATIC_DRAW);
-        this.size = vertices.length;
+    /**
+     * Creates a vertex buffer without storage, for subclasses that allocate the storage themselves.
+     */
+    protected VertexBuffer() {
+        super(glGenBuffers());
     }
 
     @Override
@@ -47,17 +61,52 @@ public class VertexBuffer extends GLResource {
         this.bufferLayout = bufferLayout;
     }
 
+    /**
+     * Replaces the data of the buffer. The storage is replaced along with it, so draws that were already issued keep
+     * reading the old storage and the buffer can be rewritten without waiting for them. The data is read straight from
+     * the array, without an intermediate buffer.
+     * <p>
+     * For geometry that changes every frame, a {@link StreamingVertexBuffer} avoids reallocating the storage.
+     *
+     * @param data the vertex data, interleaved as described by the {@link #setLayout(BufferLayout) layout}
+     */
     public void setData(float[] data) {
         bind();
+        glBufferData(GL_ARRAY_BUFFER, data, GL_DYNAMIC_DRAW);
+        this.size = data.length * Float.BYTES;
+        this.staticData = false;
+    }
 
-        FloatBuffer buffer = BufferUtils.createFloatBuffer(data.length);
-        buffer.put(data).flip();
-
-        glBufferSubData(GL_ARRAY_BUFFER, 0, data);
-        this.size = data.length;
+    /**
+     * Checks if the buffer holds static geometry: it was created with its vertices, and they were never replaced with
+     * {@link #setData(float[])}. Buffers created with uninitialized storage, like a {@link StreamingVertexBuffer}, are
+     * never static.
+     *
+     * @return true if the buffer holds static geometry
+     */
+    public boolean isStatic() {
+        return staticData;
     }
 
+    /**
+     * Gets the size of the storage of the buffer.
+     *
+     * @return the size in bytes
+     */
     public int getSize() {
         return size;
     }
+
+    /**
+     * Gets the number of vertices that fit in the buffer, according to the stride of its layout.
+     *
+     * @return the vertex count
+     * @throws IllegalStateException if the buffer has no layout
+     */
+    public int getVertexCount() {
+        if (bufferLayout == null || bufferLayout.getStride() == 0) {
+            throw new IllegalStateException("Cannot count the vertices of a vertex buffer without layout");
+        }
+        return size / bufferLayout.getStride();
+    }
 }
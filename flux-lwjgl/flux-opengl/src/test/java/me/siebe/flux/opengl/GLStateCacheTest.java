@@ -0,0 +1,132 @@
+package me.siebe.flux.opengl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL15.GL_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL15.GL_ELEMENT_ARRAY_BUFFER;
+import static org.lwjgl.opengl.GL31.GL_UNIFORM_BUFFER;
+
+public class GLStateCacheTest {
+
+    @Test
+    void setCapability_WithSameState_ShouldOnlyIssueFirstCall() {
+        GLStateCache cache = new GLStateCache();
+
+        assertTrue(cache.setCapability(GL_BLEND, true));
+        assertFalse(cache.setCapability(GL_BLEND, true));
+        assertTrue(cache.setCapability(GL_BLEND, false));
+        assertTrue(cache.setCapability(GL_CULL_FACE, false));
+
+        assertEquals(3, cache.getIssuedCount());
+        assertEquals(1, cache.getSkippedCount());
+    }
+
+    @Test
+    void setCapability_WithUntrackedCapability_ShouldAlwaysIssue() {
+        GLStateCache cache = new GLStateCache();
+
+        assertTrue(cache.setCapability(GL_SCISSOR_TEST, true));
+        assertTrue(cache.setCapability(GL_SCISSOR_TEST, true));
+    }
+
+    @Test
+    void setBlendFuncAndViewport_WithSameValues_ShouldSkip() {
+        GLStateCache cache = new GLStateCache();
+
+        assertTrue(cache.setBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA));
+        assertFalse(cache.setBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA));
+        assertTrue(cache.setBlendFunc(GL_ONE, GL_ONE_MINUS_SRC_ALPHA));
+        assertTrue(cache.setViewport(0, 0, 800, 600));
+        assertFalse(cache.setViewport(0, 0, 800, 600));
+        assertTrue(cache.setViewport(0, 0, 1024, 600));
+    }
+
+    @Test
+    void bindVertexArray_ShouldForgetElementArrayBuffer() {
+        GLStateCache cache = new GLStateCache();
+        cache.bindVertexArray(1);
+        cache.bindBuffer(GL_ELEMENT_ARRAY_BUFFER, 7);
+        cache.bindBuffer(GL_ARRAY_BUFFER, 8);
+
+        assertFalse(cache.bindBuffer(GL_ELEMENT_ARRAY_BUFFER, 7));
+        assertFalse(cache.bindVertexArray(1));
+        assertTrue(cache.bindVertexArray(2));
+        assertTrue(cache.bindBuffer(GL_ELEMENT_ARRAY_BUFFER, 7));
+        assertFalse(cache.bindBuffer(GL_ARRAY_BUFFER, 8));
+    }
+
+    @Test
+    void bindTexture_ShouldTrackEachTextureUnit() {
+        GLStateCache cache = new GLStateCache();
+
+        // The active unit is unknown, so the binding cannot be tracked yet
+        assertTrue(cache.bindTexture(GL_TEXTURE_2D, 5));
+        assertTrue(cache.bindTexture(GL_TEXTURE_2D, 5));
+
+        cache.setActiveTexture(0);
+        assertTrue(cache.bindTexture(GL_TEXTURE_2D, 5));
+        assertFalse(cache.bindTexture(GL_TEXTURE_2D, 5));
+        assertTrue(cache.setActiveTexture(1));
+        assertTrue(cache.bindTexture(GL_TEXTURE_2D, 5));
+        assertFalse(cache.setActiveTexture(1));
+        assertTrue(cache.setActiveTexture(0));
+        assertFalse(cache.bindTexture(GL_TEXTURE_2D, 5));
+    }
+
+    @Test
+    void bindBufferRange_ShouldTrackRangePerUniformBindingPoint() {
+        GLStateCache cache = new GLStateCache();
+
+        assertTrue(cache.bindBufferRange(GL_UNIFORM_BUFFER, 1, 9, 0, 80));
+        assertFalse(cache.bindBufferRange(GL_UNIFORM_BUFFER, 1, 9, 0, 80));
+        assertTrue(cache.bindBufferRange(GL_UNIFORM_BUFFER, 1, 9, 256, 80));
+        assertTrue(cache.bindBufferRange(GL_UNIFORM_BUFFER, 0, 9, 256, 80));
+        assertTrue(cache.bindBufferRange(GL_UNIFORM_BUFFER, 1, 9, 256, GLStateCache.WHOLE_BUFFER));
+
+        cache.forget(GL_UNIFORM_BUFFER, 9);
+
+        assertTrue(cache.bindBufferRange(GL_UNIFORM_BUFFER, 0, 9, 256, 80));
+    }
+
+    @Test
+    void forget_ShouldIssueNextBindOfReusedId() {
+        GLStateCache cache = new GLStateCache();
+        cache.useProgram(3);
+        cache.setActiveTexture(2);
+        cache.bindTexture(GL_TEXTURE_2D, 4);
+
+        cache.forget(GLResource.GL_PROGRAM, 3);
+        cache.forget(GL_TEXTURE_2D, 4);
+
+        assertTrue(cache.useProgram(3));
+        assertTrue(cache.bindTexture(GL_TEXTURE_2D, 4));
+    }
+
+    @Test
+    void invalidate_ShouldIssueEveryCallAgain() {
+        GLStateCache cache = new GLStateCache();
+        cache.setCapability(GL_DEPTH_TEST, true);
+        cache.useProgram(3);
+        cache.setDepthFunc(GL_LESS);
+
+        cache.invalidate();
+
+        assertTrue(cache.setCapability(GL_DEPTH_TEST, true));
+        assertTrue(cache.useProgram(3));
+        assertTrue(cache.setDepthFunc(GL_LESS));
+    }
+
+    @Test
+    void resetCounts_ShouldClearCounts() {
+        GLStateCache cache = new GLStateCache();
+        cache.useProgram(1);
+        cache.useProgram(1);
+
+        cache.resetCounts();
+
+        assertEquals(0, cache.getIssuedCount());
+        assertEquals(0, cache.getSkippedCount());
+    }
+}
@@ -0,0 +1,79 @@
+package me.siebe.flux.opengl.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Std140LayoutTest {
+
+    @Test
+    void build_WithMixedTypes_ShouldAlignMembersByStd140Rules() {
+        Std140Layout layout = Std140Layout.builder()
+                .scalar("a")
+                .vec2("b")
+                .vec3("c")
+                .scalar("d")
+                .scalar("e")
+                .mat4("f")
+                .vec4("g")
+                .mat3("h")
+                .scalar("i")
+                .build();
+
+        assertEquals(0, layout.getOffset("a"));
+        assertEquals(8, layout.getOffset("b"));
+        assertEquals(16, layout.getOffset("c"));
+        // A scalar fits in the last 4 bytes of a vec3
+        assertEquals(28, layout.getOffset("d"));
+        assertEquals(32, layout.getOffset("e"));
+        assertEquals(48, layout.getOffset("f"));
+        assertEquals(112, layout.getOffset("g"));
+        assertEquals(128, layout.getOffset("h"));
+        assertEquals(176, layout.getOffset("i"));
+        assertEquals(192, layout.getSize());
+    }
+
+    @Test
+    void array_ShouldAlignEveryElementAndFollowingMemberTo16Bytes() {
+        Std140Layout layout = Std140Layout.builder()
+                .scalar("a")
+                .array("weights", Std140Layout.Type.SCALAR, 3)
+                .scalar("b")
+                .array("matrices", Std140Layout.Type.MAT4, 2)
+                .build();
+
+        assertEquals(16, layout.getOffset("weights"));
+        assertEquals(16, Std140Layout.Type.SCALAR.getArrayStride());
+        assertEquals(64, layout.getOffset("b"));
+        assertEquals(80, layout.getOffset("matrices"));
+        assertEquals(208, layout.getSize());
+    }
+
+    @Test
+    void build_WithoutMembers_ShouldHaveZeroSize() {
+        assertEquals(0, Std140Layout.builder().build().getSize());
+    }
+
+    @Test
+    void getOffset_WithUnknownMember_ShouldThrow() {
+        Std140Layout layout = Std140Layout.builder().vec4("color").build();
+
+        assertThrows(IllegalArgumentException.class, () -> layout.getOffset("colour"));
+    }
+
+    @Test
+    void builder_WithInvalidMembers_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> Std140Layout.builder().vec4("a").scalar("a"));
+        assertThrows(IllegalArgumentException.class, () -> Std140Layout.builder().array("a", Std140Layout.Type.VEC4, 0));
+        assertThrows(NullPointerException.class, () -> Std140Layout.builder().vec4(null));
+    }
+
+    @Test
+    void getOffsets_ShouldKeepDeclarationOrder() {
+        Std140Layout layout = Std140Layout.builder().vec4("z").scalar("a").build();
+
+        assertEquals(List.of("z", "a"), List.copyOf(layout.getOffsets().keySet()));
+    }
+}
@@ -149,4 +149,39 @@ public class ShaderProgramTest {
         // Uploading a null value will throw an error
         assertThrows(NullPointerException.class, () -> correctShader.upload("intArray", null));
     }
+
+    @Test
+    @Order(3)
+    void uniformHandles_resolveOncePerUniform() {
+        UniformMat4 handle = correctShader.mat4("usedUniformInVert");
+
+        assertSame(handle, correctShader.mat4("usedUniformInVert"));
+        assertTrue(handle.isActive());
+        assertDoesNotThrow(() -> handle.set(new Matrix4f()));
+        assertDoesNotThrow(() -> correctShader.vec4("usedUniformInFrag").set(new Vector4f(1.0f)));
+
+        // A handle to a uniform that is not in the shader's uniforms does nothing
+        UniformFloat missing = correctShader.float1("someRandomUniform");
+        assertFalse(missing.isActive());
+        assertDoesNotThrow(() -> missing.set(1.0f));
+
+        // A handle whose type does not match the uniform in the shader, or another handle of the same uniform, throws
+        assertThrows(IllegalArgumentException.class, () -> correctShader.vec3("usedUniformInFrag"));
+        assertThrows(IllegalArgumentException.class, () -> correctShader.mat3("usedUniformInVert"));
+    }
+
+    @Test
+    @Order(4)
+    void uniformHandles_followReplacedProgram() {
+        UniformMat4 handle = correctShader.mat4("usedUniformInVert");
+        ShaderProgram reloaded = new ShaderProgram("shaders/correct", null);
+
+        correctShader.replaceWith(reloaded);
+
+        assertSame(reloaded, handle.getProgram());
+        assertSame(handle, reloaded.mat4("usedUniformInVert"));
+        assertSame(handle, correctShader.mat4("usedUniformInVert"));
+        assertDoesNotThrow(() -> handle.set(new Matrix4f()));
+        reloaded.delete();
+    }
 }
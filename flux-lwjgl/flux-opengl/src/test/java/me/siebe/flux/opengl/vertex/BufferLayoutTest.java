@@ -0,0 +1,58 @@
+package me.siebe.flux.opengl.vertex;
+
+import me.siebe.flux.opengl.shader.ShaderDataType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BufferLayoutTest {
+
+    @Test
+    void constructor_ShouldComputeOffsetsAndStride() {
+        BufferElement position = new BufferElement("aPos", ShaderDataType.Float3);
+        BufferElement texCoord = new BufferElement("aTexCoord", ShaderDataType.Float2);
+        BufferLayout layout = new BufferLayout(position, texCoord);
+
+        assertEquals(0, position.offset);
+        assertEquals(12, texCoord.offset);
+        assertEquals(20, layout.getStride());
+        assertEquals(5, layout.getComponentCount());
+    }
+
+    @Test
+    void isCompatibleWith_WhenOnlyNamesDiffer_ShouldBeTrue() {
+        BufferLayout layout = new BufferLayout(
+                new BufferElement("aPos", ShaderDataType.Float3),
+                new BufferElement("aNormal", ShaderDataType.Float3)
+        );
+        BufferLayout other = new BufferLayout(
+                new BufferElement("position", ShaderDataType.Float3),
+                new BufferElement("normal", ShaderDataType.Float3)
+        );
+
+        assertTrue(layout.isCompatibleWith(other));
+        assertTrue(other.isCompatibleWith(layout));
+    }
+
+    @Test
+    void isCompatibleWith_WhenTypesOrNormalizationDiffer_ShouldBeFalse() {
+        BufferLayout layout = new BufferLayout(
+                new BufferElement("aPos", ShaderDataType.Float3),
+                new BufferElement("aColor", ShaderDataType.Float4)
+        );
+        // Same stride, different element types
+        BufferLayout reordered = new BufferLayout(
+                new BufferElement("aColor", ShaderDataType.Float4),
+                new BufferElement("aPos", ShaderDataType.Float3)
+        );
+        BufferLayout normalized = new BufferLayout(
+                new BufferElement("aPos", ShaderDataType.Float3),
+                new BufferElement("aColor", ShaderDataType.Float4, true)
+        );
+        BufferLayout shorter = new BufferLayout(new BufferElement("aPos", ShaderDataType.Float3));
+
+        assertFalse(layout.isCompatibleWith(reordered));
+        assertFalse(layout.isCompatibleWith(normalized));
+        assertFalse(layout.isCompatibleWith(shorter));
+    }
+}
@@ -0,0 +1,48 @@
+package me.siebe.flux.opengl.vertex;
+
+import me.siebe.flux.opengl.shader.ShaderDataType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GeometryPoolTest {
+    private static final BufferLayout LAYOUT = new BufferLayout(new BufferElement("aPos", ShaderDataType.Float3));
+
+    @Test
+    void isPoolable_WithStaticIndexedGeometry_ShouldBeTrue() {
+        assertTrue(GeometryPool.isPoolable(vertexArray(vertexBuffer(true, LAYOUT), mock(IndexBuffer.class))));
+    }
+
+    @Test
+    void isPoolable_WithDynamicOrStreamingGeometry_ShouldBeFalse() {
+        assertFalse(GeometryPool.isPoolable(vertexArray(vertexBuffer(false, LAYOUT), mock(IndexBuffer.class))));
+
+        StreamingVertexBuffer streaming = mock(StreamingVertexBuffer.class);
+        when(streaming.getLayout()).thenReturn(LAYOUT);
+        assertFalse(GeometryPool.isPoolable(vertexArray(streaming, mock(IndexBuffer.class))));
+    }
+
+    @Test
+    void isPoolable_WithoutIndicesOrLayout_ShouldBeFalse() {
+        assertFalse(GeometryPool.isPoolable(vertexArray(vertexBuffer(true, LAYOUT), null)));
+        assertFalse(GeometryPool.isPoolable(vertexArray(vertexBuffer(true, null), mock(IndexBuffer.class))));
+    }
+
+    private static VertexBuffer vertexBuffer(boolean isStatic, BufferLayout layout) {
+        VertexBuffer vertexBuffer = mock(VertexBuffer.class);
+        when(vertexBuffer.isStatic()).thenReturn(isStatic);
+        when(vertexBuffer.getLayout()).thenReturn(layout);
+        return vertexBuffer;
+    }
+
+    private static VertexArray vertexArray(VertexBuffer vertexBuffer, IndexBuffer indexBuffer) {
+        VertexArray vertexArray = mock(VertexArray.class);
+        when(vertexArray.getVertexBuffers()).thenReturn(List.of(vertexBuffer));
+        when(vertexArray.getIndexBuffer()).thenReturn(indexBuffer);
+        return vertexArray;
+    }
+}
@@ -0,0 +1,118 @@
+package me.siebe.flux.opengl.vertex;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingRegionsTest {
+    private static final int STRIDE = 28;
+
+    @Test
+    void beginFrame_ShouldCycleThroughRegions() {
+        StreamingRegions regions = new StreamingRegions(3, STRIDE, 10);
+
+        for (int frame = 0; frame < 7; frame++) {
+            assertEquals(frame % 3, regions.beginFrame());
+            assertEquals((frame % 3) * 10 * STRIDE, regions.allocate(1));
+            assertEquals(frame % 3, regions.endFrame());
+        }
+    }
+
+    @Test
+    void allocate_ShouldReturnConsecutiveOffsetsWithinRegion() {
+        StreamingRegions regions = new StreamingRegions(3, STRIDE, 10);
+        regions.beginFrame();
+        regions.endFrame();
+        regions.beginFrame();
+
+        int first = regions.allocate(2);
+        int second = regions.allocate(3);
+
+        assertEquals(10 * STRIDE, first);
+        assertEquals(first + 2 * STRIDE, second);
+        assertEquals(10, regions.getFirstVertex(first));
+        assertEquals(12, regions.getFirstVertex(second));
+        assertEquals(5, regions.getRemainingVertices());
+    }
+
+    @Test
+    void allocate_UpToRegionSize_ShouldSucceedAndBeyondShouldThrow() {
+        StreamingRegions regions = new StreamingRegions(3, STRIDE, 10);
+        regions.beginFrame();
+
+        assertEquals(0, regions.allocate(10));
+        assertEquals(0, regions.getRemainingVertices());
+        assertEquals(10 * STRIDE, regions.allocate(0));
+        assertThrows(IllegalStateException.class, () -> regions.allocate(1));
+    }
+
+    @Test
+    void allocate_WithHugeCount_ShouldThrowInsteadOfOverflowing() {
+        StreamingRegions regions = new StreamingRegions(3, STRIDE, 10);
+        regions.beginFrame();
+
+        assertThrows(IllegalStateException.class, () -> regions.allocate(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> regions.allocate(-1));
+        assertEquals(0, regions.allocate(1));
+    }
+
+    @Test
+    void allocate_OutsideFrame_ShouldThrow() {
+        StreamingRegions regions = new StreamingRegions(3, STRIDE, 10);
+
+        assertThrows(IllegalStateException.class, () -> regions.allocate(1));
+        regions.beginFrame();
+        regions.endFrame();
+        assertThrows(IllegalStateException.class, () -> regions.allocate(1));
+        assertEquals(0, regions.getRemainingVertices());
+    }
+
+    @Test
+    void beginAndEndFrame_OutOfOrder_ShouldThrow() {
+        StreamingRegions regions = new StreamingRegions(3, STRIDE, 10);
+
+        assertThrows(IllegalStateException.class, regions::endFrame);
+        regions.beginFrame();
+        assertThrows(IllegalStateException.class, regions::beginFrame);
+        assertTrue(regions.isInFrame());
+    }
+
+    @Test
+    void markFlushed_ShouldOnlyLeaveLaterAllocationsUnflushed() {
+        StreamingRegions regions = new StreamingRegions(3, STRIDE, 10);
+        regions.beginFrame();
+        regions.endFrame();
+        regions.beginFrame();
+        assertEquals(0, regions.getUnflushedSize());
+
+        regions.allocate(2);
+        assertEquals(10 * STRIDE, regions.getFlushOffset());
+        assertEquals(2 * STRIDE, regions.getUnflushedSize());
+
+        regions.markFlushed();
+        int offset = regions.allocate(3);
+        assertEquals(offset, regions.getFlushOffset());
+        assertEquals(3 * STRIDE, regions.getUnflushedSize());
+    }
+
+    @Test
+    void beginFrame_ShouldResetFlushedRangeToNewRegion() {
+        StreamingRegions regions = new StreamingRegions(2, STRIDE, 10);
+        regions.beginFrame();
+        regions.allocate(4);
+        regions.endFrame();
+
+        regions.beginFrame();
+
+        assertEquals(10 * STRIDE, regions.getFlushOffset());
+        assertEquals(0, regions.getUnflushedSize());
+    }
+
+    @Test
+    void constructor_WithInvalidSizes_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new StreamingRegions(3, STRIDE, 0));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingRegions(0, STRIDE, 10));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingRegions(3, STRIDE, Integer.MAX_VALUE / STRIDE));
+        assertEquals(3 * 10 * STRIDE, new StreamingRegions(3, STRIDE, 10).getSize());
+    }
+}
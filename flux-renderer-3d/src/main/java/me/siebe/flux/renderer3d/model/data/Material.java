@@ -1,14 +1,68 @@
 package me.siebe.flux.renderer3d.model.data;
 
 import me.siebe.flux.opengl.OpenGLState;
+import me.siebe.flux.opengl.buffer.Std140Layout;
+import me.siebe.flux.opengl.buffer.UniformBuffer;
+import me.siebe.flux.opengl.buffer.UniformRingBuffer;
 import me.siebe.flux.opengl.shader.ShaderProgram;
 import me.siebe.flux.opengl.texture.Texture;
 import me.siebe.flux.util.FluxColor;
 import me.siebe.flux.util.ValueUtils;
 import me.siebe.flux.util.memory.Copyable;
 import org.joml.Vector3f;
+import org.lwjgl.system.MemoryStack;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.lwjgl.system.MemoryStack.stackPush;
 
 public class Material implements Copyable<Material> {
+    /** The uniform block binding point the {@code MaterialBlock} of a shader reads from. */
+    public static final int BLOCK_BINDING = 1;
+
+    /**
+     * Layout of the {@code MaterialBlock} uniform block, which must declare its members in the same order.
+     */
+    public static final Std140Layout BLOCK_LAYOUT = Std140Layout.builder()
+            .vec4("baseColor")
+            .vec3("emissiveFactor")
+            .scalar("metallicFactor")
+            .scalar("roughnessFactor")
+            .scalar("occlusionStrength")
+            .scalar("alphaCutoff")
+            .scalar("alphaMode")
+            .scalar("hasAlbedoTexture")
+            .scalar("hasNormalTexture")
+            .scalar("hasMetallicRoughnessTexture")
+            .scalar("hasEmissiveTexture")
+            .scalar("hasOcclusionTexture")
+            .build();
+    private static final int BASE_COLOR_OFFSET = BLOCK_LAYOUT.getOffset("baseColor");
+    private static final int EMISSIVE_FACTOR_OFFSET = BLOCK_LAYOUT.getOffset("emissiveFactor");
+    private static final int METALLIC_FACTOR_OFFSET = BLOCK_LAYOUT.getOffset("metallicFactor");
+    private static final int ROUGHNESS_FACTOR_OFFSET = BLOCK_LAYOUT.getOffset("roughnessFactor");
+    private static final int OCCLUSION_STRENGTH_OFFSET = BLOCK_LAYOUT.getOffset("occlusionStrength");
+    private static final int ALPHA_CUTOFF_OFFSET = BLOCK_LAYOUT.getOffset("alphaCutoff");
+    private static final int ALPHA_MODE_OFFSET = BLOCK_LAYOUT.getOffset("alphaMode");
+    private static final int HAS_ALBEDO_TEXTURE_OFFSET = BLOCK_LAYOUT.getOffset("hasAlbedoTexture");
+    private static final int HAS_NORMAL_TEXTURE_OFFSET = BLOCK_LAYOUT.getOffset("hasNormalTexture");
+    private static final int HAS_METALLIC_ROUGHNESS_TEXTURE_OFFSET = BLOCK_LAYOUT.getOffset("hasMetallicRoughnessTexture");
+    private static final int HAS_EMISSIVE_TEXTURE_OFFSET = BLOCK_LAYOUT.getOffset("hasEmissiveTexture");
+    private static final int HAS_OCCLUSION_TEXTURE_OFFSET = BLOCK_LAYOUT.getOffset("hasOcclusionTexture");
+
+    /** Buffer for the block of {@link #uploadToShader(ShaderProgram)}, created on first use on the render thread. */
+    private static UniformBuffer immediateBlock;
+
+    private static final AtomicInteger NEXT_SORT_ID = new AtomicInteger();
+
+    /**
+     * Small id that groups draws of the same material in a {@link me.siebe.flux.renderer3d.queue.RenderQueue}.
+     * Identifies the properties of the material rather than the instance: a copy keeps the id of its original, and every
+     * setter assigns a new id. Materials with the same id render the same, so their draws can be instanced together.
+     */
+    private int sortId = NEXT_SORT_ID.getAndIncrement();
+
     private String name;
 
     /**
@@ -127,6 +181,24 @@ public class Material implements Copyable<Material> {
         this.baseColor = ValueUtils.valueWithFallback(baseColor, () -> FluxColor.WHITE).copy();
     }
 
+    /**
+     * Gets the id used in the sort key of draws with this material. Two materials with the same id have the same
+     * properties, unless the color or vector returned by {@link #getBaseColor()} or {@link #getEmissiveFactor()} was
+     * modified in place instead of through a setter.
+     *
+     * @return the sort id
+     */
+    public int getSortId() {
+        return sortId;
+    }
+
+    /**
+     * Gives the material a new sort id after one of its properties changed, so it is no longer grouped with its copies.
+     */
+    private void changed() {
+        sortId = NEXT_SORT_ID.getAndIncrement();
+    }
+
     public String getName() {
         return name;
     }
@@ -153,6 +225,7 @@ public class Material implements Copyable<Material> {
      */
     public void setBaseColor(FluxColor baseColor) {
         this.baseColor = ValueUtils.valueWithFallback(baseColor, () -> FluxColor.WHITE).copy();
+        changed();
     }
 
     /**
@@ -171,6 +244,7 @@ public class Material implements Copyable<Material> {
      */
     public void setAlbedoTexture(Texture albedoTexture) {
         this.albedoTexture = albedoTexture;
+        changed();
     }
 
     public boolean hasAlbedoTexture() {
@@ -193,6 +267,7 @@ public class Material implements Copyable<Material> {
      */
     public void setNormalTexture(Texture normalTexture) {
         this.normalTexture = normalTexture;
+        changed();
     }
 
     public boolean hasNormalTexture() {
@@ -215,6 +290,7 @@ public class Material implements Copyable<Material> {
      */
     public void setMetallicRoughnessTexture(Texture metallicRoughnessTexture) {
         this.metallicRoughnessTexture = metallicRoughnessTexture;
+        changed();
     }
 
     public boolean hasMetallicRoughnessTexture() {
@@ -238,6 +314,7 @@ public class Material implements Copyable<Material> {
      */
     public void setMetallicFactor(float metallicFactor) {
         this.metallicFactor = ValueUtils.clampedValue(metallicFactor, 0.0f, 1.0f);
+        changed();
     }
 
     /**
@@ -256,6 +333,7 @@ public class Material implements Copyable<Material> {
      */
     public void setRoughnessFactor(float roughnessFactor) {
         this.roughnessFactor = ValueUtils.clampedValue(roughnessFactor, 0.0f, 1.0f);
+        changed();
     }
 
     /**
@@ -274,6 +352,7 @@ public class Material implements Copyable<Material> {
      */
     public void setEmissiveTexture(Texture emissiveTexture) {
         this.emissiveTexture = emissiveTexture;
+        changed();
     }
 
     public boolean hasEmissiveTexture() {
@@ -296,6 +375,7 @@ public class Material implements Copyable<Material> {
      */
     public void setEmissiveFactor(Vector3f emissiveFactor) {
         this.emissiveFactor = ValueUtils.valueWithFallback(emissiveFactor, () -> new Vector3f(0.0f, 0.0f, 0.0f));
+        changed();
     }
 
     /**
@@ -314,6 +394,7 @@ public class Material implements Copyable<Material> {
      */
     public void setOcclusionTexture(Texture occlusionTexture) {
         this.occlusionTexture = occlusionTexture;
+        changed();
     }
 
     public boolean hasOcclusionTexture() {
@@ -336,6 +417,7 @@ public class Material implements Copyable<Material> {
      */
     public void setOcclusionStrength(float occlusionStrength) {
         this.occlusionStrength = ValueUtils.bottomClamped(occlusionStrength, 0.0f);
+        changed();
     }
 
     /**
@@ -354,6 +436,7 @@ public class Material implements Copyable<Material> {
      */
     public void setAlphaCutoff(float alphaCutoff) {
         this.alphaCutoff = ValueUtils.clampedValue(alphaCutoff, 0.0f, 1.0f);
+        changed();
     }
 
     /**
@@ -372,6 +455,7 @@ public class Material implements Copyable<Material> {
      */
     public void setAlphaMode(AlphaMode alphaMode) {
         this.alphaMode = ValueUtils.valueWithFallback(alphaMode, () -> AlphaMode.OPAQUE);
+        changed();
     }
 
     /**
@@ -390,6 +474,7 @@ public class Material implements Copyable<Material> {
      */
     public void setDoubleSided(boolean doubleSided) {
         this.doubleSided = doubleSided;
+        changed();
     }
 
     @Override
@@ -408,6 +493,7 @@ public class Material implements Copyable<Material> {
         material.setAlphaCutoff(alphaCutoff);
         material.setAlphaMode(alphaMode);
         material.setDoubleSided(doubleSided);
+        material.sortId = sortId;
         return material;
     }
 
@@ -445,6 +531,24 @@ public class Material implements Copyable<Material> {
         }
     }
 
+    /**
+     * Checks if this material applies the same OpenGL state and binds the same textures as another one. Primitives
+     * with such materials can be drawn by one multi-draw, in which only the {@link #writeBlock(ByteBuffer, int) block}
+     * differs per draw.
+     *
+     * @param other the other material
+     * @return true if both materials only differ in the properties of their block
+     */
+    public boolean sharesStateWith(Material other) {
+        return alphaMode == other.alphaMode
+                && doubleSided == other.doubleSided
+                && albedoTexture == other.albedoTexture
+                && normalTexture == other.normalTexture
+                && metallicRoughnessTexture == other.metallicRoughnessTexture
+                && emissiveTexture == other.emissiveTexture
+                && occlusionTexture == other.occlusionTexture;
+    }
+
     /**
      * Restores default OpenGL state after rendering with a material.
      * This is called to ensure state doesn't leak between primitives.
@@ -455,9 +559,27 @@ public class Material implements Copyable<Material> {
         // In a more sophisticated renderer, you might want to track previous state
     }
 
+    /**
+     * Binds the textures of this material and writes its properties to a uniform buffer bound to
+     * {@link #BLOCK_BINDING}.
+     * <p>
+     * This uploads the block of a single draw. When drawing many primitives, write the blocks of all materials to a
+     * {@link UniformRingBuffer} with {@link #writeBlock(ByteBuffer, int)} instead, and only bind a range per draw.
+     *
+     * @param shader the shader program to upload texture uniforms to
+     */
     public void uploadToShader(ShaderProgram shader) {
         bindTextures(shader);
-        uploadUniforms(shader);
+
+        if (immediateBlock == null) {
+            immediateBlock = new UniformBuffer(BLOCK_LAYOUT.getSize());
+        }
+        try (MemoryStack stack = stackPush()) {
+            ByteBuffer data = stack.calloc(BLOCK_LAYOUT.getSize());
+            writeBlock(data, 0);
+            immediateBlock.setData(data);
+        }
+        immediateBlock.bindBase(BLOCK_BINDING);
     }
 
     /**
@@ -469,91 +591,50 @@ public class Material implements Copyable<Material> {
      * - Slot 3: Emissive texture
      * - Slot 4: Occlusion texture
      * <p>
-     * Textures are uploaded to the MaterialTextures struct in the shader.
+     * Textures are uploaded to the MaterialTextures struct in the shader. Which textures are present is part of the
+     * material block, see {@link #writeBlock(ByteBuffer, int)}.
      *
      * @param shader the shader program to upload texture uniforms to
      */
-    private void bindTextures(ShaderProgram shader) {
-        int slot = 0;
-
-        // Albedo texture (slot 0)
-        if (hasAlbedoTexture()) {
-            getAlbedoTexture().bindToSlot(slot);
-            shader.uploadTexture("uMaterialTextures.albedo", slot);
-            shader.upload("uMaterialFlags.hasAlbedoTexture", 1);
-        } else {
-            shader.upload("uMaterialFlags.hasAlbedoTexture", 0);
-        }
-        slot++;
-
-        // Normal texture (slot 1)
-        if (hasNormalTexture()) {
-            getNormalTexture().bindToSlot(slot);
-            shader.uploadTexture("uMaterialTextures.normal", slot);
-            shader.upload("uMaterialFlags.hasNormalTexture", 1);
-        } else {
-            shader.upload("uMaterialFlags.hasNormalTexture", 0);
-        }
-        slot++;
-
-
-        // Metallic-roughness texture (slot 2)
-        if (hasMetallicRoughnessTexture()) {
-            getMetallicRoughnessTexture().bindToSlot(slot);
-            shader.uploadTexture("uMaterialTextures.metallicRoughness", slot);
-            shader.upload("uMaterialFlags.hasMetallicRoughnessTexture", 1);
-        } else {
-            shader.upload("uMaterialFlags.hasMetallicRoughnessTexture", 0);
-        }
-        slot++;
-
-        // Emissive texture (slot 3)
-        if (hasEmissiveTexture()) {
-            getEmissiveTexture().bindToSlot(slot);
-            shader.uploadTexture("uMaterialTextures.emissive", slot);
-            shader.upload("uMaterialFlags.hasEmissiveTexture", 1);
-        } else {
-            shader.upload("uMaterialFlags.hasEmissiveTexture", 0);
-        }
-        slot++;
+    public void bindTextures(ShaderProgram shader) {
+        bindTexture(shader, albedoTexture, "uMaterialTextures.albedo", 0);
+        bindTexture(shader, normalTexture, "uMaterialTextures.normal", 1);
+        bindTexture(shader, metallicRoughnessTexture, "uMaterialTextures.metallicRoughness", 2);
+        bindTexture(shader, emissiveTexture, "uMaterialTextures.emissive", 3);
+        bindTexture(shader, occlusionTexture, "uMaterialTextures.occlusion", 4);
+    }
 
-        // Occlusion texture (slot 4)
-        if (hasOcclusionTexture()) {
-            getOcclusionTexture().bindToSlot(slot);
-            shader.uploadTexture("uMaterialTextures.occlusion", slot);
-            shader.upload("uMaterialFlags.hasOcclusionTexture", 1);
-        } else {
-            shader.upload("uMaterialFlags.hasOcclusionTexture", 0);
-        }
+    private static void bindTexture(ShaderProgram shader, Texture texture, String uniform, int slot) {
+        if (texture == null) return;
+        texture.bindToSlot(slot);
+        shader.int1(uniform).set(slot);
     }
 
     /**
-     * Uploads material property uniforms to the shader.
-     * This includes base color, metallic/roughness factors, emissive factor, occlusion strength,
-     * alpha cutoff, and alpha mode.
-     * <p>
-     * Properties are uploaded to the Material struct in the shader using dot notation
-     * (e.g., "uMaterial.baseColor").
+     * Writes the material block to a buffer, in the {@link #BLOCK_LAYOUT std140 layout} of the {@code MaterialBlock}
+     * uniform block in the shader. This includes base color, metallic/roughness factors, emissive factor, occlusion
+     * strength, alpha cutoff, alpha mode, and which textures are present.
      *
-     * @param shader the shader program to upload uniforms to
-     */
-    private void uploadUniforms(ShaderProgram shader) {
-        // Base color
-        shader.upload("uMaterial.baseColor", getBaseColor().asVec4());
-
-        // Metallic and roughness factors
-        shader.upload("uMaterial.metallicFactor", getMetallicFactor());
-        shader.upload("uMaterial.roughnessFactor", getRoughnessFactor());
-
-        // Emissive factor
-        Vector3f emissiveFactor = getEmissiveFactor();
-        shader.upload("uMaterial.emissiveFactor", emissiveFactor);
-
-        // Occlusion strength
-        shader.upload("uMaterial.occlusionStrength", getOcclusionStrength()); // TODO uncomment
-
-        // Alpha properties
-        shader.upload("uMaterial.alphaCutoff", getAlphaCutoff());
-        shader.upload("uMaterial.alphaMode", getAlphaMode().ordinal()); // 0=OPAQUE, 1=MASK, 2=BLEND
+     * @param buffer the buffer to write to, with native byte order
+     * @param offset the byte offset of the block in the buffer
+     */
+    public void writeBlock(ByteBuffer buffer, int offset) {
+        buffer.putFloat(offset + BASE_COLOR_OFFSET, baseColor.redFloat())
+                .putFloat(offset + BASE_COLOR_OFFSET + 4, baseColor.greenFloat())
+                .putFloat(offset + BASE_COLOR_OFFSET + 8, baseColor.blueFloat())
+                .putFloat(offset + BASE_COLOR_OFFSET + 12, baseColor.alphaFloat());
+        buffer.putFloat(offset + EMISSIVE_FACTOR_OFFSET, emissiveFactor.x)
+                .putFloat(offset + EMISSIVE_FACTOR_OFFSET + 4, emissiveFactor.y)
+                .putFloat(offset + EMISSIVE_FACTOR_OFFSET + 8, emissiveFactor.z)
+                .putFloat(offset + METALLIC_FACTOR_OFFSET, metallicFactor)
+                .putFloat(offset + ROUGHNESS_FACTOR_OFFSET, roughnessFactor)
+                .putFloat(offset + OCCLUSION_STRENGTH_OFFSET, occlusionStrength)
+                .putFloat(offset + ALPHA_CUTOFF_OFFSET, alphaCutoff)
+                .putInt(offset + ALPHA_MODE_OFFSET, alphaMode.ordinal()) // 0=OPAQUE, 1=MASK, 2=BLEND
+                .putInt(offset + HAS_ALBEDO_TEXTURE_OFFSET, hasAlbedoTexture() ? 1 : 0)
+                .putInt(offset + HAS_NORMAL_TEXTURE_OFFSET, hasNormalTexture() ? 1 : 0)
+                .putInt(offset + HAS_METALLIC_ROUGHNESS_TEXTURE_OFFSET, hasMetallicRoughnessTexture() ? 1 : 0)
+                .putInt(offset + HAS_EMISSIVE_TEXTURE_OFFSET, hasEmissiveTexture() ? 1 : 0)
+                .putInt(offset + HAS_OCCLUSION_TEXTURE_OFFSET, hasOcclusionTexture() ? 1 : 0);
     }
 }
@@ -1,5 +1,6 @@
 package me.siebe.flux.renderer3d.model.data;
 
+import me.siebe.flux.api.renderer.culling.Bounds;
 import me.siebe.flux.util.Transform;
 import me.siebe.flux.util.exceptions.Validator;
 import me.siebe.flux.util.memory.Copyable;
@@ -69,6 +70,20 @@ public class Mesh implements Copyable<Mesh> {
         return primitives.remove(primitive);
     }
 
+    /**
+     * Computes the bounds of all primitives of this mesh, in the space of the mesh (i.e. without its transform).
+     *
+     * @return the combined bounds, or null if a primitive has no bounds or the mesh has no primitives
+     */
+    public Bounds getBounds() {
+        Bounds bounds = null;
+        for (Primitive primitive : primitives) {
+            if (primitive.getBounds() == null) return null;
+            bounds = bounds == null ? primitive.getBounds() : bounds.union(primitive.getBounds());
+        }
+        return bounds;
+    }
+
     public Transform getTransform() {
         return transform;
     }
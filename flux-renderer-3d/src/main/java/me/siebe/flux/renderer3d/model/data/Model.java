@@ -1,9 +1,13 @@
 package me.siebe.flux.renderer3d.model.data;
 
+import me.siebe.flux.api.renderer.culling.Bounds;
 import me.siebe.flux.api.renderer.data.Renderable;
 import me.siebe.flux.opengl.OpenGLState;
 import me.siebe.flux.opengl.shader.ShaderProgram;
-import me.siebe.flux.opengl.vertex.IndexBuffer;
+import me.siebe.flux.opengl.vertex.VertexArray;
+import me.siebe.flux.renderer3d.model.lod.LodSelector;
+import me.siebe.flux.renderer3d.queue.RenderKey;
+import me.siebe.flux.renderer3d.queue.RenderQueue;
 import me.siebe.flux.util.FluxColor;
 import me.siebe.flux.util.Transform;
 import me.siebe.flux.util.exceptions.Validator;
@@ -12,6 +16,9 @@ import me.siebe.flux.util.logging.LoggerFactory;
 import me.siebe.flux.util.logging.config.LoggingCategories;
 import me.siebe.flux.util.memory.Copyable;
 import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -38,9 +45,17 @@ public class Model implements Renderable, Copyable<Model> {
     private String name;
 
     private Transform transform;
+    // Scratch matrix for mesh world matrices, only used on the render thread
+    private final Matrix4f meshMatrix = new Matrix4f();
+    // Scratch vector for selecting levels of detail, only used on the render thread
+    private final Vector3f lodScratch = new Vector3f();
 
     private boolean deleted = false;
 
+    /** The bounds of all meshes in model space, computed on first use, see {@link #getBounds()}. */
+    private Bounds bounds;
+    private boolean boundsValid = false;
+
     public Model() {
         this(new ArrayList<>(), null);
     }
@@ -62,6 +77,7 @@ public class Model implements Renderable, Copyable<Model> {
     public void addMesh(Mesh mesh) {
         Validator.notNull(mesh, () -> "Mesh");
         meshes.add(mesh);
+        invalidateBounds();
     }
 
     public Optional<Mesh> getMesh(String name) {
@@ -76,9 +92,44 @@ public class Model implements Renderable, Copyable<Model> {
     }
 
     public boolean removeMesh(Mesh mesh) {
+        invalidateBounds();
         return meshes.remove(mesh);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The bounds of a model enclose the bounds of all its meshes, placed by their relative transforms. They are computed
+     * once and cached, so {@link #invalidateBounds()} must be called after changing the primitives or the transform of
+     * a mesh. Returns null if any primitive has no bounds, so the model is never culled.
+     */
+    @Override
+    public Bounds getBounds() {
+        if (!boundsValid) {
+            bounds = computeBounds();
+            boundsValid = true;
+        }
+        return bounds;
+    }
+
+    /**
+     * Forgets the cached bounds of this model, so they are computed again on the next call to {@link #getBounds()}.
+     */
+    public void invalidateBounds() {
+        boundsValid = false;
+    }
+
+    private Bounds computeBounds() {
+        Bounds modelBounds = null;
+        for (Mesh mesh : meshes) {
+            Bounds meshBounds = mesh.getBounds();
+            if (meshBounds == null) return null;
+            meshBounds = meshBounds.transform(mesh.getTransform().getModelMatrix());
+            modelBounds = modelBounds == null ? meshBounds : modelBounds.union(meshBounds);
+        }
+        return modelBounds;
+    }
+
     public String getName() {
         return name;
     }
@@ -104,29 +155,49 @@ public class Model implements Renderable, Copyable<Model> {
      */
     @Override
     public void render() {
+        render(transform.getModelMatrix(meshMatrix));
+    }
+
+    /**
+     * Renders all meshes in this model using the given world matrix instead of the model's own transform.
+     * This is used when rendering from a {@link me.siebe.flux.api.renderer.RenderSnapshot}.
+     *
+     * @param worldMatrix the world matrix of this model
+     */
+    @Override
+    public void render(Matrix4fc worldMatrix) {
         if (deleted) {
             logger.warn("Cannot render model that is deleted");
             return;
         }
         for (Mesh mesh : meshes) {
-            renderMesh(mesh);
+            renderMesh(mesh, worldMatrix);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The world matrix of a model is the model matrix of its {@link Transform}.
+     */
+    @Override
+    public Matrix4f getWorldMatrix(Matrix4f dest) {
+        return transform.getModelMatrix(dest);
+    }
+
     /**
      * Renders a single mesh by rendering all its primitives.
      * This is a basic implementation that binds the vertex array and draws the elements.
      * Subclasses or render steps may override this behavior for more advanced rendering.
      * <p>
-     * The model matrix combines the Model's transform with the Mesh's relative transform.
+     * The model matrix combines the given world matrix with the Mesh's relative transform.
      *
-     * @param mesh the mesh to render
+     * @param mesh        the mesh to render
+     * @param worldMatrix the world matrix of this model
      */
-    protected void renderMesh(Mesh mesh) {
-        // Combine Model position with Mesh transform
-        Matrix4f combinedMatrix = transform.getCombinedMatrix(mesh.getTransform());
-
-        ShaderProgram.getActiveShader().upload("uModelMatrix", combinedMatrix);
+    protected void renderMesh(Mesh mesh, Matrix4fc worldMatrix) {
+        Matrix4f combinedMatrix = combineMeshMatrix(mesh, worldMatrix, meshMatrix);
+        ShaderProgram.getActiveShader().mat4("uModelMatrix").set(combinedMatrix);
         for (Primitive primitive : mesh.getPrimitives()) {
             renderPrimitive(primitive);
         }
@@ -148,16 +219,88 @@ public class Model implements Renderable, Copyable<Model> {
         // Bind textures and upload material uniforms
         material.uploadToShader(shader);
 
-        primitive.getVertexArray().bind();
-        IndexBuffer indexBuffer = primitive.getVertexArray().getIndexBuffer();
-        if (indexBuffer != null) {
-            OpenGLState.drawElements(primitive.getVertexArray());
+        VertexArray vertexArray = primitive.getVertexArray();
+        vertexArray.bind();
+        if (vertexArray.getIndexBuffer() != null) {
+            // All levels of detail share the index buffer, so only the range of the selected level is drawn
+            OpenGLState.drawBoundElements(vertexArray, primitive.getFirstIndex(), primitive.getIndexCount());
         }
-        primitive.getVertexArray().unbind();
+        vertexArray.unbind();
 
         material.restoreOpenGLState();
     }
 
+    /**
+     * Submits a draw command for every primitive in this model to the given queue instead of drawing it directly, at
+     * the most detailed level.
+     *
+     * @param queue          the queue to submit to
+     * @param worldMatrix    the world matrix of this model
+     * @param cameraPosition the camera position, used to sort by depth
+     * @param shaderId       the id of the shader program the queue is drawn with
+     * @see #submit(RenderQueue, Matrix4fc, Vector3fc, float, int)
+     */
+    public void submit(RenderQueue<Primitive> queue, Matrix4fc worldMatrix, Vector3fc cameraPosition, int shaderId) {
+        submit(queue, worldMatrix, cameraPosition, 0.0f, shaderId);
+    }
+
+    /**
+     * Submits a draw command for every primitive in this model to the given queue instead of drawing it directly.
+     * <p>
+     * Each command carries the combined world matrix of its mesh. Primitives with a {@link Material.AlphaMode#BLEND
+     * blending} material are submitted to the transparent pass, all others to the opaque pass. Primitives with levels
+     * of detail select one from the size of their bounds on the screen.
+     *
+     * @param queue           the queue to submit to
+     * @param worldMatrix     the world matrix of this model
+     * @param cameraPosition  the camera position, used to sort by depth and to select levels of detail
+     * @param projectionScale the vertical scale of the projection matrix, see {@link LodSelector#screenSize}, or 0 to
+     *                        always draw the most detailed level
+     * @param shaderId        the id of the shader program the queue is drawn with
+     */
+    public void submit(RenderQueue<Primitive> queue, Matrix4fc worldMatrix, Vector3fc cameraPosition, float projectionScale, int shaderId) {
+        if (deleted) {
+            logger.warn("Cannot render model that is deleted");
+            return;
+        }
+        for (Mesh mesh : meshes) {
+            Matrix4f combinedMatrix = combineMeshMatrix(mesh, worldMatrix, meshMatrix);
+            float distance = cameraPosition.distance(combinedMatrix.m30(), combinedMatrix.m31(), combinedMatrix.m32());
+            for (Primitive primitive : mesh.getPrimitives()) {
+                int lod = selectLod(primitive, combinedMatrix, cameraPosition, projectionScale);
+                Material material = primitive.getMaterial();
+                // The levels of one vertex array sort next to each other, so copies at the same level can be instanced
+                int geometry = primitive.getVertexArray().getGlId() * LodSelector.MAX_LEVELS + lod;
+                long key = material.getAlphaMode() == Material.AlphaMode.BLEND
+                        ? RenderKey.transparent(shaderId, material.getSortId(), geometry, distance)
+                        : RenderKey.opaque(shaderId, material.getSortId(), geometry, distance);
+                queue.submit(key, primitive).set(combinedMatrix);
+            }
+        }
+    }
+
+    private int selectLod(Primitive primitive, Matrix4fc combinedMatrix, Vector3fc cameraPosition, float projectionScale) {
+        Bounds primitiveBounds = primitive.getBounds();
+        if (projectionScale <= 0 || primitiveBounds == null) {
+            return primitive.selectLod(Float.POSITIVE_INFINITY);
+        }
+        Vector3f scale = combinedMatrix.getScale(lodScratch);
+        float radius = primitiveBounds.getSphereRadius() * Math.max(scale.x, Math.max(scale.y, scale.z));
+        Vector3f center = combinedMatrix.transformPosition(primitiveBounds.getSphereCenter(), lodScratch);
+        return primitive.selectLod(LodSelector.screenSize(radius, cameraPosition.distance(center), projectionScale));
+    }
+
+    /**
+     * Combines the given world matrix with the Mesh's relative transform.
+     */
+    private static Matrix4f combineMeshMatrix(Mesh mesh, Matrix4fc worldMatrix, Matrix4f dest) {
+        Transform meshTransform = mesh.getTransform();
+        return dest.set(worldMatrix)
+                .translate(meshTransform.getPosition())
+                .rotate(meshTransform.getRotation())
+                .scale(meshTransform.getScale());
+    }
+
     // Temporary util method to set the color for every Primitive in a single Model
     public void setBaseColor(FluxColor color) {
         getMeshes().forEach(mesh -> {
@@ -1,6 +1,9 @@
 package me.siebe.flux.renderer3d.model.data;
 
+import me.siebe.flux.api.renderer.culling.Bounds;
+import me.siebe.flux.opengl.vertex.IndexBuffer;
 import me.siebe.flux.opengl.vertex.VertexArray;
+import me.siebe.flux.renderer3d.model.lod.LodSelector;
 import me.siebe.flux.util.exceptions.Validator;
 import me.siebe.flux.util.memory.Copyable;
 
@@ -23,11 +26,59 @@ public class Primitive implements Copyable<Primitive> {
      */
     private final Material material;
 
+    /**
+     * The bounds of the geometry in the space of the mesh, or null if unknown.
+     */
+    private final Bounds bounds;
+
+    /**
+     * The first index of every level of detail in the index buffer, followed by the end of the last level, or null if
+     * the whole index buffer is the only level. All levels share the index buffer, so switching levels only changes
+     * the range that is drawn.
+     */
+    private final int[] lodOffsets;
+
+    /**
+     * The level of detail selected in the last frame, kept to apply hysteresis.
+     */
+    private int lod = 0;
+
     public Primitive(VertexArray vertexArray, Material material) {
+        this(vertexArray, material, null);
+    }
+
+    public Primitive(VertexArray vertexArray, Material material, Bounds bounds) {
+        this(vertexArray, material, bounds, null);
+    }
+
+    /**
+     * Creates a primitive with levels of detail, stored one after the other in the index buffer of the vertex array.
+     *
+     * @param vertexArray the vertex array, with an index buffer that holds all levels
+     * @param material    the material
+     * @param bounds      the bounds of the geometry, or null if unknown
+     * @param lodOffsets  the first index of every level, from the most to the least detailed, followed by the end of
+     *                    the last level, or null if the whole index buffer is the only level
+     * @throws IllegalArgumentException if there are more than {@link LodSelector#MAX_LEVELS} levels, or the offsets
+     *                                  are not ascending
+     */
+    public Primitive(VertexArray vertexArray, Material material, Bounds bounds, int[] lodOffsets) {
         Validator.notNull(vertexArray);
         Validator.notNull(material);
+        if (lodOffsets != null) {
+            if (lodOffsets.length < 2 || lodOffsets.length > LodSelector.MAX_LEVELS + 1) {
+                throw new IllegalArgumentException("Primitive must have between 1 and " + LodSelector.MAX_LEVELS + " levels of detail, got " + (lodOffsets.length - 1));
+            }
+            for (int i = 1; i < lodOffsets.length; i++) {
+                if (lodOffsets[i] < lodOffsets[i - 1]) {
+                    throw new IllegalArgumentException("Level of detail offsets must be ascending");
+                }
+            }
+        }
         this.vertexArray = vertexArray;
         this.material = material;
+        this.bounds = bounds;
+        this.lodOffsets = lodOffsets;
     }
 
     public VertexArray getVertexArray() {
@@ -38,6 +89,78 @@ public class Primitive implements Copyable<Primitive> {
         return material;
     }
 
+    /**
+     * Gets the bounds of the geometry of this primitive, in the space of its mesh.
+     *
+     * @return the bounds, or null if unknown
+     */
+    public Bounds getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Gets the number of levels of detail of this primitive.
+     *
+     * @return the level count, 1 if the primitive has no simplified levels
+     */
+    public int getLodCount() {
+        return lodOffsets == null ? 1 : lodOffsets.length - 1;
+    }
+
+    /**
+     * Gets the level of detail selected by the last call to {@link #selectLod(float)}.
+     *
+     * @return the level, 0 being the most detailed
+     */
+    public int getLod() {
+        return lod;
+    }
+
+    /**
+     * Selects the level of detail to draw this primitive at, see {@link LodSelector#select}.
+     *
+     * @param screenSize the size of this primitive on the screen, see {@link LodSelector#screenSize}
+     * @return the selected level
+     */
+    public int selectLod(float screenSize) {
+        if (lodOffsets != null) {
+            lod = LodSelector.select(lod, screenSize, getLodCount());
+        }
+        return lod;
+    }
+
+    /**
+     * Gets the first index of the selected level of detail in the index buffer.
+     *
+     * @return the first index
+     */
+    public int getFirstIndex() {
+        return lodOffsets == null ? 0 : lodOffsets[lod];
+    }
+
+    /**
+     * Gets the number of indices of the selected level of detail.
+     *
+     * @return the index count, 0 if the vertex array has no index buffer
+     */
+    public int getIndexCount() {
+        if (lodOffsets != null) return lodOffsets[lod + 1] - lodOffsets[lod];
+        IndexBuffer indexBuffer = vertexArray.getIndexBuffer();
+        return indexBuffer == null ? 0 : indexBuffer.getCount();
+    }
+
+    /**
+     * Checks if this primitive can be drawn in the same instanced draw as another one, which is the case when both
+     * share the same vertex array, have the same level of detail selected and have materials with the same properties.
+     * Copies of a primitive can be instanced together until the material of one of them is changed.
+     *
+     * @param other the other primitive
+     * @return true if both can be drawn as instances of one draw
+     */
+    public boolean canInstanceWith(Primitive other) {
+        return vertexArray == other.vertexArray && lod == other.lod && material.getSortId() == other.material.getSortId();
+    }
+
     public void delete() {
         vertexArray.delete();
         material.delete();
@@ -45,7 +168,7 @@ public class Primitive implements Copyable<Primitive> {
 
     @Override
     public Primitive copy() {
-        Primitive clone = new Primitive(vertexArray.copy(), material.copy());
+        Primitive clone = new Primitive(vertexArray.copy(), material.copy(), bounds, lodOffsets);
         return clone;
     }
 }
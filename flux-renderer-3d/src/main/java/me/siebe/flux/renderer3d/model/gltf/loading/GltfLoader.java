@@ -3,6 +3,7 @@ package me.siebe.flux.renderer3d.model.gltf.loading;
 import de.javagl.jgltf.model.*;
 import de.javagl.jgltf.model.io.GltfModelReader;
 import de.javagl.jgltf.model.v2.MaterialModelV2;
+import me.siebe.flux.api.renderer.culling.Bounds;
 import me.siebe.flux.opengl.shader.ShaderDataType;
 import me.siebe.flux.opengl.texture.Texture;
 import me.siebe.flux.opengl.vertex.*;
@@ -10,6 +11,8 @@ import me.siebe.flux.renderer3d.model.data.Material;
 import me.siebe.flux.renderer3d.model.data.Mesh;
 import me.siebe.flux.renderer3d.model.data.Model;
 import me.siebe.flux.renderer3d.model.data.Primitive;
+import me.siebe.flux.renderer3d.model.lod.LodSelector;
+import me.siebe.flux.renderer3d.model.lod.MeshSimplifier;
 import me.siebe.flux.util.FluxColor;
 import me.siebe.flux.util.assets.AssetPathResolver;
 import me.siebe.flux.util.assets.AssetPool;
@@ -28,6 +31,8 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static de.javagl.jgltf.model.GltfConstants.*;
@@ -40,6 +45,7 @@ import static de.javagl.jgltf.model.GltfConstants.*;
  * <ul>
  *   <li>Mesh geometry (positions, normals, texture coordinates, tangents)</li>
  *   <li>Indexed and non-indexed primitives</li>
+ *   <li>Levels of detail generated at load time for triangle list primitives</li>
  *   <li>PBR materials (base color, metallic-roughness, normal maps, occlusion, emissive)</li>
  *   <li>Texture loading from embedded or external image data</li>
  *   <li>Node transformations (translation, rotation, scale)</li>
@@ -113,9 +119,11 @@ public class GltfLoader extends AssetPool<Model> {
      * This method processes all nodes in the GLTF model, extracting:
      * <ul>
      *   <li>Mesh primitives with vertex attributes (position, normal, texture coordinates, tangents)</li>
-     *   <li>Index buffers for indexed rendering</li>
+     *   <li>Index buffers for indexed rendering, with simplified levels of detail</li>
      *   <li>Materials with PBR properties and textures</li>
      * </ul>
+     * The levels of detail of all primitives are generated in parallel, after which the GL resources are created on
+     * the calling thread.
      *
      * @param gltfModel the GLTF model to convert
      * @return a Model containing all converted meshes and materials
@@ -123,14 +131,19 @@ public class GltfLoader extends AssetPool<Model> {
     private Model convertToFluxModel(GltfModel gltfModel) {
         Model out = new Model();
 
+        List<Mesh> meshes = new ArrayList<>();
+        List<PrimitiveData> primitives = new ArrayList<>();
         for (NodeModel nodeModel : gltfModel.getNodeModels()) {
             Mesh mesh = getMesh(nodeModel);
+            meshes.add(mesh);
 
             for (MeshModel meshModel : nodeModel.getMeshModels()) {
                 for (MeshPrimitiveModel primitiveModel : meshModel.getMeshPrimitiveModels()) {
                     // Attributes
                     Map<String, AccessorModel> attrs = primitiveModel.getAttributes();
                     PrimitiveData primitiveData = new PrimitiveData();
+                    primitiveData.mesh = mesh;
+                    primitiveData.model = primitiveModel;
 
                     primitiveData.positions = readFloatAttribute(attrs.get("POSITION"));
                     primitiveData.normals = readFloatAttribute(attrs.get("NORMAL"));
@@ -141,13 +154,25 @@ public class GltfLoader extends AssetPool<Model> {
                     AccessorModel indicesAccessor = primitiveModel.getIndices();
                     primitiveData.indices = readIndices(indicesAccessor, primitiveData.positions);
 
-                    VertexArray vertexArray = createVertexArray(primitiveData);
-                    Material material = createMaterial(primitiveModel);
-
-                    mesh.addPrimitive(new Primitive(vertexArray, material));
+                    primitives.add(primitiveData);
                 }
             }
+        }
+
+        long start = System.nanoTime();
+        primitives.parallelStream().forEach(this::generateLods);
+        logger.debug("Generated levels of detail for {} primitives in {} ms", primitives.size(), (System.nanoTime() - start) / 1_000_000);
+
+        for (PrimitiveData primitiveData : primitives) {
+            VertexArray vertexArray = createVertexArray(primitiveData);
+            Material material = createMaterial(primitiveData.model);
+
+            Bounds bounds = Bounds.fromPositions(primitiveData.positions, 0, 3);
 
+            primitiveData.mesh.addPrimitive(new Primitive(vertexArray, material, bounds, primitiveData.lodOffsets));
+        }
+
+        for (Mesh mesh : meshes) {
             if (!mesh.getPrimitives().isEmpty()) {
                 out.addMesh(mesh);
             }
@@ -156,6 +181,34 @@ public class GltfLoader extends AssetPool<Model> {
         return out;
     }
 
+    /**
+     * Generates the levels of detail of a triangle list primitive with {@link MeshSimplifier}, and replaces its indices
+     * with those of all levels one after the other. Other primitives keep their indices as the only level.
+     *
+     * @param primitiveData the primitive data, with positions and indices
+     */
+    private void generateLods(PrimitiveData primitiveData) {
+        int[] indices = primitiveData.indices;
+        if (primitiveData.model.getMode() != GL_TRIANGLES || primitiveData.positions == null
+                || indices == null || indices.length == 0 || indices.length % 3 != 0) {
+            return;
+        }
+
+        int[][] levels = MeshSimplifier.generateLevels(primitiveData.positions, 3, indices, LodSelector.MAX_LEVELS);
+        if (levels.length == 1) return;
+
+        int[] lodOffsets = new int[levels.length + 1];
+        for (int level = 0; level < levels.length; level++) {
+            lodOffsets[level + 1] = lodOffsets[level] + levels[level].length;
+        }
+        int[] allIndices = new int[lodOffsets[levels.length]];
+        for (int level = 0; level < levels.length; level++) {
+            System.arraycopy(levels[level], 0, allIndices, lodOffsets[level], levels[level].length);
+        }
+        primitiveData.indices = allIndices;
+        primitiveData.lodOffsets = lodOffsets;
+    }
+
     /**
      * Creates a Mesh from a GLTF node model, extracting transformation properties.
      * <p>
@@ -592,6 +645,12 @@ public class GltfLoader extends AssetPool<Model> {
      * before creating the final VertexArray and Material objects.
      */
     private static class PrimitiveData {
+        /** The mesh the primitive belongs to. */
+        public Mesh mesh;
+
+        /** The GLTF primitive the data was read from. */
+        public MeshPrimitiveModel model;
+
         /** Vertex positions as a flat array of 3 floats per vertex (x, y, z). */
         public float[] positions;
 
@@ -606,5 +665,8 @@ public class GltfLoader extends AssetPool<Model> {
 
         /** Index buffer for indexed rendering. May be null for non-indexed geometry. */
         public int[] indices;
+
+        /** The first index of every level of detail in {@link #indices}, followed by the end of the last level. Null if the indices are the only level. */
+        public int[] lodOffsets;
     }
 }
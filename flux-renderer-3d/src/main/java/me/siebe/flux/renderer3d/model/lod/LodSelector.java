@@ -0,0 +1,67 @@
+package me.siebe.flux.renderer3d.model.lod;
+
+/**
+ * Picks the level of detail to draw a primitive at from the size it covers on the screen.
+ * <p>
+ * The screen size of a primitive is the diameter of its bounding sphere as a fraction of the screen height. Every level
+ * after the first is used below a screen size threshold, and the levels of {@link MeshSimplifier#generateLevels} are
+ * made to have an error of at most a few pixels at those sizes. Around every threshold, the current level is kept
+ * within a margin of {@value #HYSTERESIS} times the threshold, so an object at the threshold distance does not switch
+ * levels, and visibly pop, every frame.
+ */
+public final class LodSelector {
+    /** The screen size below which level {@code i + 1} is used instead of level {@code i}. */
+    private static final float[] SCREEN_SIZES = {0.25f, 0.1f, 0.04f};
+    /** The relative margin around every threshold in which the current level is kept. */
+    static final float HYSTERESIS = 0.1f;
+    /** The maximum number of levels of detail of a primitive. */
+    public static final int MAX_LEVELS = SCREEN_SIZES.length + 1;
+
+    private LodSelector() {
+        // Utility class
+    }
+
+    /**
+     * Computes the screen size of a bounding sphere.
+     *
+     * @param radius          the world-space radius of the sphere
+     * @param distance        the distance from the camera to the center of the sphere
+     * @param projectionScale the vertical scale of the projection matrix ({@code m11}), the cotangent of half the
+     *                        vertical field of view for a perspective projection
+     * @return the diameter of the sphere as a fraction of the screen height, infinite when the camera is inside it
+     */
+    public static float screenSize(float radius, float distance, float projectionScale) {
+        if (distance <= radius) return Float.POSITIVE_INFINITY;
+        return radius * projectionScale / distance;
+    }
+
+    /**
+     * Selects the level of detail for a screen size, starting from the level used in the previous frame.
+     *
+     * @param current    the level used in the previous frame
+     * @param screenSize the screen size, see {@link #screenSize}
+     * @param levelCount the number of levels the primitive has
+     * @return the level to draw, between 0 (inclusive) and {@code levelCount} (exclusive)
+     */
+    public static int select(int current, float screenSize, int levelCount) {
+        int maxLevel = Math.min(levelCount, MAX_LEVELS) - 1;
+        int level = Math.max(0, Math.min(current, maxLevel));
+        while (level < maxLevel && screenSize < SCREEN_SIZES[level] * (1 - HYSTERESIS)) {
+            level++;
+        }
+        while (level > 0 && screenSize > SCREEN_SIZES[level - 1] * (1 + HYSTERESIS)) {
+            level--;
+        }
+        return level;
+    }
+
+    /**
+     * Gets the screen size below which a level is used, without hysteresis.
+     *
+     * @param level the level, between 1 (inclusive) and {@link #MAX_LEVELS} (exclusive)
+     * @return the screen size threshold
+     */
+    public static float getScreenSize(int level) {
+        return SCREEN_SIZES[level - 1];
+    }
+}
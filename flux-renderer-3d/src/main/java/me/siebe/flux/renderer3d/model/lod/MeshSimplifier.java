@@ -0,0 +1,416 @@
+package me.siebe.flux.renderer3d.model.lod;
+
+import java.util.Arrays;
+
+/**
+ * Simplifies triangle meshes by collapsing edges in order of their quadric error (Garland and Heckbert).
+ * <p>
+ * Every vertex carries a quadric, the sum of the squared distances to the planes of its triangles. Collapsing an edge
+ * moves one vertex onto the other, and costs the quadric of both evaluated at the remaining vertex. Collapses never
+ * create new vertices, so a simplified index buffer draws from the vertex buffer of the original mesh.
+ * <p>
+ * Edges are collapsed in passes: every pass sorts all edges by cost and collapses the cheapest ones whose neighborhood
+ * was not changed by an earlier collapse in the same pass. Vertices on a border, i.e. on an edge of only one triangle,
+ * never move. This keeps the outline of open meshes, and the seams where vertices are split for different normals or
+ * texture coordinates. Collapses that would flip a triangle are rejected.
+ * <p>
+ * Only does math on arrays, so it does not need a GL context and can run on any thread.
+ */
+public final class MeshSimplifier {
+    /** The number of coefficients of a symmetric 4x4 quadric. */
+    private static final int QUADRIC_SIZE = 10;
+    /** A level is only kept if it has at most this fraction of the indices of the previous level. */
+    private static final float MIN_LEVEL_REDUCTION = 0.8f;
+    /** The maximum error of the first simplified level, as a fraction of the diagonal of the mesh bounds. */
+    private static final float FIRST_LEVEL_ERROR = 0.01f;
+
+    private MeshSimplifier() {
+        // Utility class
+    }
+
+    /**
+     * Generates levels of detail of a mesh, each with about half the triangles of the previous one. The error allowed
+     * per level starts at {@value #FIRST_LEVEL_ERROR} times the diagonal of the mesh bounds and doubles every level.
+     * Fewer levels are returned when a mesh cannot be simplified any further within that error.
+     *
+     * @param vertexData the vertex data, with the 3 position components at the start of every vertex
+     * @param stride     the number of floats per vertex, at least 3
+     * @param indices    the triangle list of the full-detail mesh, which is the first level
+     * @param maxLevels  the maximum number of levels, including the first
+     * @return the index buffers of the levels, from the most to the least detailed
+     * @throws IllegalArgumentException if the stride is smaller than 3, the number of indices is not a multiple of 3,
+     *                                  or the number of levels is smaller than 1
+     */
+    public static int[][] generateLevels(float[] vertexData, int stride, int[] indices, int maxLevels) {
+        if (maxLevels < 1) {
+            throw new IllegalArgumentException("Level count must be at least 1, got " + maxLevels);
+        }
+        float maxError = FIRST_LEVEL_ERROR * diagonal(vertexData, stride);
+        int[][] levels = new int[maxLevels][];
+        levels[0] = indices;
+        int levelCount = 1;
+        while (levelCount < maxLevels) {
+            int[] previous = levels[levelCount - 1];
+            int target = previous.length / 6 * 3;
+            int[] simplified = simplify(vertexData, stride, previous, target, maxError);
+            if (simplified.length > previous.length * MIN_LEVEL_REDUCTION) break;
+            levels[levelCount++] = simplified;
+            maxError *= 2;
+        }
+        return Arrays.copyOf(levels, levelCount);
+    }
+
+    /**
+     * Simplifies a mesh until it has at most the target number of indices, or no edge can be collapsed within the
+     * maximum error.
+     *
+     * @param vertexData       the vertex data, with the 3 position components at the start of every vertex
+     * @param stride           the number of floats per vertex, at least 3
+     * @param indices          the triangle list to simplify, which is not modified
+     * @param targetIndexCount the number of indices to simplify to
+     * @param maxError         the maximum distance a collapse may move the surface, in the units of the positions
+     * @return the indices of the simplified triangle list
+     * @throws IllegalArgumentException if the stride is smaller than 3 or the number of indices is not a multiple of 3
+     */
+    public static int[] simplify(float[] vertexData, int stride, int[] indices, int targetIndexCount, float maxError) {
+        if (stride < 3) {
+            throw new IllegalArgumentException("Vertex stride must be at least 3, got " + stride);
+        }
+        if (indices.length % 3 != 0) {
+            throw new IllegalArgumentException("Index count must be a multiple of 3, got " + indices.length);
+        }
+        return new Simplification(vertexData, stride, indices).run(targetIndexCount, (double) maxError * maxError);
+    }
+
+    private static float diagonal(float[] vertexData, int stride) {
+        if (stride < 3) {
+            throw new IllegalArgumentException("Vertex stride must be at least 3, got " + stride);
+        }
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i + 2 < vertexData.length; i += stride) {
+            minX = Math.min(minX, vertexData[i]);
+            minY = Math.min(minY, vertexData[i + 1]);
+            minZ = Math.min(minZ, vertexData[i + 2]);
+            maxX = Math.max(maxX, vertexData[i]);
+            maxY = Math.max(maxY, vertexData[i + 1]);
+            maxZ = Math.max(maxZ, vertexData[i + 2]);
+        }
+        if (minX > maxX) return 0.0f;
+        float x = maxX - minX, y = maxY - minY, z = maxZ - minZ;
+        return (float) Math.sqrt(x * x + y * y + z * z);
+    }
+
+    /**
+     * The state of one simplification: the current triangle list, and the quadric and border flag of every vertex.
+     */
+    private static final class Simplification {
+        private final float[] vertexData;
+        private final int stride;
+        private final int vertexCount;
+
+        private int[] indices;
+        private int indexCount;
+        private final double[] quadrics;
+        private final boolean[] locked;
+
+        // Per pass: the triangles around every vertex, as offsets into a shared array
+        private final int[] triangleStart;
+        private int[] vertexTriangles;
+        /** Vertices whose neighborhood changed in the current pass. */
+        private final boolean[] touched;
+        /** The vertex every vertex was collapsed onto in the current pass, or the vertex itself. */
+        private final int[] remap;
+
+        Simplification(float[] vertexData, int stride, int[] indices) {
+            this.vertexData = vertexData;
+            this.stride = stride;
+            this.vertexCount = vertexData.length / stride;
+            this.indices = indices.clone();
+            this.indexCount = indices.length;
+            this.quadrics = new double[vertexCount * QUADRIC_SIZE];
+            this.locked = new boolean[vertexCount];
+            this.triangleStart = new int[vertexCount + 1];
+            this.touched = new boolean[vertexCount];
+            this.remap = new int[vertexCount];
+
+            for (int i = 0; i < indexCount; i++) {
+                if (indices[i] < 0 || indices[i] >= vertexCount) {
+                    throw new IllegalArgumentException("Index " + indices[i] + " out of bounds for " + vertexCount + " vertices");
+                }
+            }
+            computeQuadrics();
+            lockBorders();
+        }
+
+        int[] run(int targetIndexCount, double maxCost) {
+            while (indexCount > targetIndexCount) {
+                if (!collapsePass(targetIndexCount, maxCost)) break;
+            }
+            return Arrays.copyOf(indices, indexCount);
+        }
+
+        // =============================================================================================================
+        // Setup
+        // =============================================================================================================
+
+        private void computeQuadrics() {
+            for (int t = 0; t < indexCount; t += 3) {
+                int a = indices[t], b = indices[t + 1], c = indices[t + 2];
+                double ax = x(a), ay = y(a), az = z(a);
+                double e1x = x(b) - ax, e1y = y(b) - ay, e1z = z(b) - az;
+                double e2x = x(c) - ax, e2y = y(c) - ay, e2z = z(c) - az;
+                double nx = e1y * e2z - e1z * e2y;
+                double ny = e1z * e2x - e1x * e2z;
+                double nz = e1x * e2y - e1y * e2x;
+                double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+                if (length == 0) continue;
+                nx /= length;
+                ny /= length;
+                nz /= length;
+                double d = -(nx * ax + ny * ay + nz * az);
+                addPlane(a, nx, ny, nz, d);
+                addPlane(b, nx, ny, nz, d);
+                addPlane(c, nx, ny, nz, d);
+            }
+        }
+
+        private void addPlane(int vertex, double a, double b, double c, double d) {
+            int q = vertex * QUADRIC_SIZE;
+            quadrics[q] += a * a;
+            quadrics[q + 1] += a * b;
+            quadrics[q + 2] += a * c;
+            quadrics[q + 3] += a * d;
+            quadrics[q + 4] += b * b;
+            quadrics[q + 5] += b * c;
+            quadrics[q + 6] += b * d;
+            quadrics[q + 7] += c * c;
+            quadrics[q + 8] += c * d;
+            quadrics[q + 9] += d * d;
+        }
+
+        /**
+         * Locks the vertices of every edge that is not shared by exactly two triangles.
+         */
+        private void lockBorders() {
+            long[] edges = new long[indexCount];
+            for (int t = 0; t < indexCount; t += 3) {
+                for (int e = 0; e < 3; e++) {
+                    edges[t + e] = edgeKey(indices[t + e], indices[t + (e + 1) % 3]);
+                }
+            }
+            Arrays.sort(edges);
+            int i = 0;
+            while (i < edges.length) {
+                int j = i + 1;
+                while (j < edges.length && edges[j] == edges[i]) j++;
+                if (j - i != 2) {
+                    locked[(int) (edges[i] >>> 32)] = true;
+                    locked[(int) edges[i]] = true;
+                }
+                i = j;
+            }
+        }
+
+        // =============================================================================================================
+        // Collapsing
+        // =============================================================================================================
+
+        /**
+         * Collapses the cheapest edges with an untouched neighborhood, and removes the triangles that became
+         * degenerate.
+         *
+         * @return true if at least one edge was collapsed
+         */
+        private boolean collapsePass(int targetIndexCount, double maxCost) {
+            buildAdjacency();
+
+            // Unique edges of the current triangles
+            long[] edges = new long[indexCount];
+            for (int t = 0; t < indexCount; t += 3) {
+                for (int e = 0; e < 3; e++) {
+                    edges[t + e] = edgeKey(indices[t + e], indices[t + (e + 1) % 3]);
+                }
+            }
+            Arrays.sort(edges);
+            int edgeCount = 0;
+            for (int i = 0; i < edges.length; i++) {
+                if (i == 0 || edges[i] != edges[i - 1]) edges[edgeCount++] = edges[i];
+            }
+
+            // Cheapest direction of every edge, sorted by cost. A non-negative float sorts like its bits, so the cost
+            // and edge index are packed into one long.
+            long[] candidates = new long[edgeCount];
+            boolean[] forward = new boolean[edgeCount];
+            int candidateCount = 0;
+            for (int i = 0; i < edgeCount; i++) {
+                int a = (int) (edges[i] >>> 32), b = (int) edges[i];
+                if (locked[a] && locked[b]) continue;
+                double costAB = locked[a] ? Double.POSITIVE_INFINITY : collapseCost(a, b);
+                double costBA = locked[b] ? Double.POSITIVE_INFINITY : collapseCost(b, a);
+                double cost = Math.min(costAB, costBA);
+                if (cost > maxCost) continue;
+                forward[i] = costAB <= costBA;
+                candidates[candidateCount++] = (long) Float.floatToRawIntBits((float) cost) << 32 | i;
+            }
+            Arrays.sort(candidates, 0, candidateCount);
+
+            Arrays.fill(touched, false);
+            for (int v = 0; v < vertexCount; v++) {
+                remap[v] = v;
+            }
+            int removedIndices = 0;
+            boolean collapsed = false;
+            for (int c = 0; c < candidateCount && indexCount - removedIndices > targetIndexCount; c++) {
+                int edge = (int) candidates[c];
+                int a = (int) (edges[edge] >>> 32), b = (int) edges[edge];
+                int source = forward[edge] ? a : b;
+                int target = forward[edge] ? b : a;
+                if (touched[source] || touched[target]) continue;
+                if (flipsTriangle(source, target)) continue;
+
+                remap[source] = target;
+                for (int q = 0; q < QUADRIC_SIZE; q++) {
+                    quadrics[target * QUADRIC_SIZE + q] += quadrics[source * QUADRIC_SIZE + q];
+                }
+                removedIndices += 3 * sharedTriangles(source, target);
+                touchNeighborhood(source);
+                touchNeighborhood(target);
+                collapsed = true;
+            }
+
+            if (collapsed) applyRemap();
+            return collapsed;
+        }
+
+        /**
+         * Computes the cost of moving a vertex onto another, the combined quadric of both evaluated at the other.
+         */
+        private double collapseCost(int source, int target) {
+            int s = source * QUADRIC_SIZE, t = target * QUADRIC_SIZE;
+            double px = x(target), py = y(target), pz = z(target);
+            double a2 = quadrics[s] + quadrics[t];
+            double ab = quadrics[s + 1] + quadrics[t + 1];
+            double ac = quadrics[s + 2] + quadrics[t + 2];
+            double ad = quadrics[s + 3] + quadrics[t + 3];
+            double b2 = quadrics[s + 4] + quadrics[t + 4];
+            double bc = quadrics[s + 5] + quadrics[t + 5];
+            double bd = quadrics[s + 6] + quadrics[t + 6];
+            double c2 = quadrics[s + 7] + quadrics[t + 7];
+            double cd = quadrics[s + 8] + quadrics[t + 8];
+            double d2 = quadrics[s + 9] + quadrics[t + 9];
+            double cost = a2 * px * px + 2 * ab * px * py + 2 * ac * px * pz + 2 * ad * px
+                    + b2 * py * py + 2 * bc * py * pz + 2 * bd * py
+                    + c2 * pz * pz + 2 * cd * pz
+                    + d2;
+            // Rounding can make the cost of a collapse within a plane slightly negative
+            return Math.max(0.0, cost);
+        }
+
+        /**
+         * Checks if moving a vertex onto another would turn a triangle around the vertex over, or make it degenerate
+         * without also containing the other vertex.
+         */
+        private boolean flipsTriangle(int source, int target) {
+            for (int i = triangleStart[source]; i < triangleStart[source + 1]; i++) {
+                int t = vertexTriangles[i];
+                int a = indices[t], b = indices[t + 1], c = indices[t + 2];
+                if (a == target || b == target || c == target) continue; // Becomes degenerate and is removed
+
+                double oldX = normalX(a, b, c), oldY = normalY(a, b, c), oldZ = normalZ(a, b, c);
+                if (a == source) a = target;
+                if (b == source) b = target;
+                if (c == source) c = target;
+                double newX = normalX(a, b, c), newY = normalY(a, b, c), newZ = normalZ(a, b, c);
+                if (oldX * newX + oldY * newY + oldZ * newZ <= 0) return true;
+            }
+            return false;
+        }
+
+        private int sharedTriangles(int source, int target) {
+            int count = 0;
+            for (int i = triangleStart[source]; i < triangleStart[source + 1]; i++) {
+                int t = vertexTriangles[i];
+                if (indices[t] == target || indices[t + 1] == target || indices[t + 2] == target) count++;
+            }
+            return count;
+        }
+
+        private void touchNeighborhood(int vertex) {
+            for (int i = triangleStart[vertex]; i < triangleStart[vertex + 1]; i++) {
+                int t = vertexTriangles[i];
+                touched[indices[t]] = true;
+                touched[indices[t + 1]] = true;
+                touched[indices[t + 2]] = true;
+            }
+        }
+
+        /**
+         * Moves collapsed vertices onto their targets, and removes the triangles that became degenerate. A target is
+         * never collapsed in the same pass, so a single lookup is enough.
+         */
+        private void applyRemap() {
+            int kept = 0;
+            for (int t = 0; t < indexCount; t += 3) {
+                int a = remap[indices[t]], b = remap[indices[t + 1]], c = remap[indices[t + 2]];
+                if (a == b || b == c || c == a) continue;
+                indices[kept++] = a;
+                indices[kept++] = b;
+                indices[kept++] = c;
+            }
+            indexCount = kept;
+        }
+
+        /**
+         * Builds the list of triangles around every vertex, as offsets of the first index of the triangle.
+         */
+        private void buildAdjacency() {
+            Arrays.fill(triangleStart, 0);
+            for (int i = 0; i < indexCount; i++) {
+                triangleStart[indices[i] + 1]++;
+            }
+            for (int v = 0; v < vertexCount; v++) {
+                triangleStart[v + 1] += triangleStart[v];
+            }
+            if (vertexTriangles == null || vertexTriangles.length < indexCount) {
+                vertexTriangles = new int[indexCount];
+            }
+            int[] next = Arrays.copyOf(triangleStart, vertexCount);
+            for (int i = 0; i < indexCount; i++) {
+                vertexTriangles[next[indices[i]]++] = i - i % 3;
+            }
+        }
+
+        // =============================================================================================================
+        // Geometry
+        // =============================================================================================================
+
+        private double x(int vertex) {
+            return vertexData[vertex * stride];
+        }
+
+        private double y(int vertex) {
+            return vertexData[vertex * stride + 1];
+        }
+
+        private double z(int vertex) {
+            return vertexData[vertex * stride + 2];
+        }
+
+        private double normalX(int a, int b, int c) {
+            return (y(b) - y(a)) * (z(c) - z(a)) - (z(b) - z(a)) * (y(c) - y(a));
+        }
+
+        private double normalY(int a, int b, int c) {
+            return (z(b) - z(a)) * (x(c) - x(a)) - (x(b) - x(a)) * (z(c) - z(a));
+        }
+
+        private double normalZ(int a, int b, int c) {
+            return (x(b) - x(a)) * (y(c) - y(a)) - (y(b) - y(a)) * (x(c) - x(a));
+        }
+    }
+
+    private static long edgeKey(int a, int b) {
+        return a < b ? (long) a << 32 | b : (long) b << 32 | a;
+    }
+}
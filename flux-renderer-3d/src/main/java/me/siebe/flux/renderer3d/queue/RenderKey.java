@@ -0,0 +1,102 @@
+package me.siebe.flux.renderer3d.queue;
+
+/**
+ * Builds the 64-bit sort keys of {@link RenderQueue} commands.
+ * <p>
+ * Sorting commands by key groups them by the state they need, so consecutive draws share as much GL state as
+ * possible. From the most to the least significant bits, a key holds:
+ * <ul>
+ *     <li>pass ({@value #PASS_BITS} bits): opaque commands are drawn before transparent ones</li>
+ *     <li>shader ({@value #SHADER_BITS} bits)</li>
+ *     <li>material ({@value #MATERIAL_BITS} bits)</li>
+ *     <li>vertex array ({@value #VERTEX_ARRAY_BITS} bits)</li>
+ *     <li>depth ({@value #DEPTH_BITS} bits): front to back, so closer opaque geometry fills the depth buffer first</li>
+ * </ul>
+ * Transparent commands must be blended back to front, so for the {@link #PASS_TRANSPARENT transparent pass} the
+ * inverted depth comes right after the pass, before the state ids. Ids are truncated to the number of bits of their
+ * field; two ids that collide only cost a redundant state change, never a wrong draw.
+ */
+public final class RenderKey {
+    public static final int PASS_BITS = 4;
+    public static final int SHADER_BITS = 12;
+    public static final int MATERIAL_BITS = 16;
+    public static final int VERTEX_ARRAY_BITS = 16;
+    public static final int DEPTH_BITS = 16;
+
+    /** Pass of opaque and alpha tested geometry. */
+    public static final int PASS_OPAQUE = 0;
+    /** Pass of alpha blended geometry, drawn after all opaque geometry. */
+    public static final int PASS_TRANSPARENT = 1;
+
+    private static final int PASS_SHIFT = 64 - PASS_BITS;
+    private static final int SHADER_SHIFT = PASS_SHIFT - SHADER_BITS;
+    private static final int MATERIAL_SHIFT = SHADER_SHIFT - MATERIAL_BITS;
+    private static final int VERTEX_ARRAY_SHIFT = MATERIAL_SHIFT - VERTEX_ARRAY_BITS;
+
+    private RenderKey() {
+        // Utility class
+    }
+
+    /**
+     * Builds the key of an opaque command, sorted by shader, material, vertex array and then front to back.
+     *
+     * @param shader      the id of the shader program
+     * @param material    the id of the material
+     * @param vertexArray the id of the vertex array
+     * @param distance    the distance from the camera to the command's geometry
+     * @return the sort key
+     */
+    public static long opaque(int shader, int material, int vertexArray, float distance) {
+        return field(PASS_OPAQUE, PASS_BITS, PASS_SHIFT)
+                | field(shader, SHADER_BITS, SHADER_SHIFT)
+                | field(material, MATERIAL_BITS, MATERIAL_SHIFT)
+                | field(vertexArray, VERTEX_ARRAY_BITS, VERTEX_ARRAY_SHIFT)
+                | quantizeDepth(distance);
+    }
+
+    /**
+     * Builds the key of a transparent command, sorted back to front and then by shader, material and vertex array.
+     *
+     * @param shader      the id of the shader program
+     * @param material    the id of the material
+     * @param vertexArray the id of the vertex array
+     * @param distance    the distance from the camera to the command's geometry
+     * @return the sort key
+     */
+    public static long transparent(int shader, int material, int vertexArray, float distance) {
+        long invertedDepth = (1L << DEPTH_BITS) - 1 - quantizeDepth(distance);
+        return field(PASS_TRANSPARENT, PASS_BITS, PASS_SHIFT)
+                | invertedDepth << (PASS_SHIFT - DEPTH_BITS)
+                | field(shader, SHADER_BITS, PASS_SHIFT - DEPTH_BITS - SHADER_BITS)
+                | field(material, MATERIAL_BITS, PASS_SHIFT - DEPTH_BITS - SHADER_BITS - MATERIAL_BITS)
+                | field(vertexArray, VERTEX_ARRAY_BITS, 0);
+    }
+
+    /**
+     * Returns the pass of a key.
+     *
+     * @param key the sort key
+     * @return the pass, e.g. {@link #PASS_OPAQUE}
+     */
+    public static int getPass(long key) {
+        return (int) (key >>> PASS_SHIFT);
+    }
+
+    /**
+     * Maps a distance to {@value #DEPTH_BITS} bits that sort in the same order.
+     * <p>
+     * The bits of a non-negative float sort like the float itself, so the highest bits below the sign bit are a
+     * quantization with a constant relative precision, which is finer close to the camera.
+     *
+     * @param distance the distance, negative values are treated as zero
+     * @return the quantized depth
+     */
+    static long quantizeDepth(float distance) {
+        if (!(distance > 0)) return 0;
+        return Float.floatToRawIntBits(distance) >>> (31 - DEPTH_BITS);
+    }
+
+    private static long field(int value, int bits, int shift) {
+        return ((long) value & ((1L << bits) - 1)) << shift;
+    }
+}
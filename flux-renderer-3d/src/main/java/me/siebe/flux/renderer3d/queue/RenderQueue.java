@@ -0,0 +1,183 @@
+package me.siebe.flux.renderer3d.queue;
+
+import org.joml.Matrix4f;
+
+import java.util.Arrays;
+
+/**
+ * Frame-local queue of draw commands, each made of a 64-bit sort key, an item to draw and a world matrix.
+ * <p>
+ * Renderables {@link #submit(long, Object) submit} their commands while the queue is filled, after which the queue is
+ * {@link #sort() sorted} by key and executed in order by a render step, which only changes GL state when it differs
+ * from the previous command. See {@link RenderKey} for the layout of the keys.
+ * <p>
+ * Sorting is a stable least significant digit radix sort on the keys, one byte per pass, that skips the passes in
+ * which all keys have the same byte. All arrays and matrices are reused, so filling and sorting the queue does not
+ * allocate once it has grown to the number of commands of a frame. The queue does not touch GL and can be used on any
+ * single thread.
+ *
+ * @param <T> the type of the items to draw, e.g. a primitive
+ */
+public final class RenderQueue<T> {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Object[] items = new Object[INITIAL_CAPACITY];
+    private Matrix4f[] matrices = new Matrix4f[INITIAL_CAPACITY];
+    private int size;
+
+    /** Command indices in sorted order. */
+    private int[] order = new int[INITIAL_CAPACITY];
+    // Scratch space of the radix sort
+    private long[] sortKeys = new long[INITIAL_CAPACITY];
+    private long[] swapKeys = new long[INITIAL_CAPACITY];
+    private int[] swapOrder = new int[INITIAL_CAPACITY];
+    private final int[] counts = new int[RADIX];
+    private boolean sorted = true;
+
+    /**
+     * Adds a command to the queue.
+     *
+     * @param key  the sort key, see {@link RenderKey}
+     * @param item the item to draw
+     * @return the world matrix of the command, reused across frames, which the caller must set
+     */
+    public Matrix4f submit(long key, T item) {
+        ensureCapacity(size + 1);
+        keys[size] = key;
+        items[size] = item;
+        order[size] = size;
+        sorted = false;
+        return matrices[size++];
+    }
+
+    /**
+     * Sorts the commands by ascending key. Commands with equal keys keep their submission order.
+     */
+    public void sort() {
+        if (sorted) return;
+        sorted = true;
+        if (size < 2) return;
+
+        // Start from the submission order, commands submitted after an earlier sort would otherwise be misplaced
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        System.arraycopy(keys, 0, sortKeys, 0, size);
+        long[] srcKeys = sortKeys;
+        int[] srcOrder = order;
+        long[] dstKeys = swapKeys;
+        int[] dstOrder = swapOrder;
+
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; i++) {
+                counts[(int) (srcKeys[i] >>> shift) & (RADIX - 1)]++;
+            }
+            // All keys have the same byte, this pass would not change the order
+            if (counts[(int) (srcKeys[0] >>> shift) & (RADIX - 1)] == size) continue;
+
+            int offset = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                int count = counts[digit];
+                counts[digit] = offset;
+                offset += count;
+            }
+            for (int i = 0; i < size; i++) {
+                int position = counts[(int) (srcKeys[i] >>> shift) & (RADIX - 1)]++;
+                dstKeys[position] = srcKeys[i];
+                dstOrder[position] = srcOrder[i];
+            }
+
+            long[] keysTemp = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = keysTemp;
+            int[] orderTemp = srcOrder;
+            srcOrder = dstOrder;
+            dstOrder = orderTemp;
+        }
+
+        // Keep the sorted order in the order array, and the other array as scratch space for the next sort
+        if (srcOrder != order) {
+            swapOrder = order;
+            order = srcOrder;
+        }
+        sortKeys = srcKeys;
+        swapKeys = dstKeys;
+    }
+
+    /**
+     * Returns the number of commands in the queue.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the key of the command at the given position in the sorted order. Before {@link #sort()} is called, the
+     * order is the submission order.
+     *
+     * @param index the position, between 0 (inclusive) and {@link #size()} (exclusive)
+     * @return the sort key
+     */
+    public long getKey(int index) {
+        return keys[order[checkIndex(index)]];
+    }
+
+    /**
+     * Returns the item of the command at the given position in the sorted order.
+     *
+     * @param index the position, between 0 (inclusive) and {@link #size()} (exclusive)
+     * @return the item
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) items[order[checkIndex(index)]];
+    }
+
+    /**
+     * Returns the world matrix of the command at the given position in the sorted order.
+     *
+     * @param index the position, between 0 (inclusive) and {@link #size()} (exclusive)
+     * @return the world matrix
+     */
+    public Matrix4f getMatrix(int index) {
+        return matrices[order[checkIndex(index)]];
+    }
+
+    /**
+     * Removes all commands, keeping the allocated memory for the next frame.
+     */
+    public void clear() {
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+        sorted = true;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            int newCapacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, newCapacity);
+            items = Arrays.copyOf(items, newCapacity);
+            matrices = Arrays.copyOf(matrices, newCapacity);
+            order = Arrays.copyOf(order, newCapacity);
+            sortKeys = new long[newCapacity];
+            swapKeys = new long[newCapacity];
+            swapOrder = new int[newCapacity];
+        }
+        if (matrices[capacity - 1] == null) {
+            matrices[capacity - 1] = new Matrix4f();
+        }
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for queue of size " + size);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,173 @@
+package me.siebe.flux.renderer3d.steps;
+
+import me.siebe.flux.api.renderer.RenderSnapshot;
+import me.siebe.flux.api.renderer.context.BaseRenderContext;
+import me.siebe.flux.api.renderer.culling.Bounds;
+import me.siebe.flux.api.renderer.pipeline.RenderStep;
+import me.siebe.flux.opengl.OpenGLState;
+import me.siebe.flux.opengl.shader.ShaderDataType;
+import me.siebe.flux.opengl.shader.ShaderLoader;
+import me.siebe.flux.opengl.shader.ShaderProgram;
+import me.siebe.flux.opengl.shader.UniformMat4;
+import me.siebe.flux.opengl.vertex.BufferElement;
+import me.siebe.flux.opengl.vertex.BufferLayout;
+import me.siebe.flux.opengl.vertex.StreamingVertexBuffer;
+import me.siebe.flux.opengl.vertex.VertexArray;
+import me.siebe.flux.util.FluxColor;
+import me.siebe.flux.util.exceptions.Validator;
+import org.joml.Matrix4fc;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+import java.nio.ByteBuffer;
+
+import static org.lwjgl.opengl.GL11.GL_LINES;
+
+/**
+ * Draws the bounds of every visible renderable as a wireframe box, to debug culling and picking.
+ * <p>
+ * The boxes are rebuilt from the {@link RenderSnapshot} every frame and written to a {@link StreamingVertexBuffer}, so
+ * they follow moving renderables without allocating or waiting on the draws of earlier frames. Renderables without
+ * bounds are skipped, and so are boxes beyond the maximum per frame.
+ */
+public class BoundsDebugStep implements RenderStep {
+    /** The default maximum number of boxes drawn per frame. */
+    public static final int DEFAULT_MAX_BOXES = 4096;
+    /** Each of the 12 edges of a box is a line of 2 vertices. */
+    static final int VERTICES_PER_BOX = 24;
+    static final int FLOATS_PER_VERTEX = 7;
+
+    private final FluxColor color;
+    private final int maxBoxes;
+    private ShaderProgram shader;
+    private UniformMat4 viewProjUniform;
+    private VertexArray vertexArray;
+    private StreamingVertexBuffer vertices;
+
+    // The 8 corners of the current box in world space, the bits of the corner index select min or max per axis
+    private final float[] corners = new float[8 * 3];
+    private final Vector3f corner = new Vector3f();
+
+    public BoundsDebugStep() {
+        this(FluxColor.LIME, DEFAULT_MAX_BOXES);
+    }
+
+    /**
+     * Creates a bounds debug step.
+     *
+     * @param color    the color of the boxes
+     * @param maxBoxes the maximum number of boxes drawn per frame
+     */
+    public BoundsDebugStep(FluxColor color, int maxBoxes) {
+        this.color = Validator.notNull(color, () -> "Bounds color");
+        if (maxBoxes <= 0) {
+            throw new IllegalArgumentException("Bounds debug step must draw at least one box, got " + maxBoxes);
+        }
+        this.maxBoxes = maxBoxes;
+    }
+
+    protected ShaderProgram getShader() {
+        return ShaderLoader.get().load("shaders/color_pos_3D");
+    }
+
+    @Override
+    public void init() {
+        shader = getShader();
+        viewProjUniform = shader.mat4("uViewProj");
+
+        vertexArray = new VertexArray();
+        vertexArray.bind();
+
+        BufferLayout bufferLayout = new BufferLayout(
+                new BufferElement("aPos", ShaderDataType.Float3, false),
+                new BufferElement("aColor", ShaderDataType.Float4, false)
+        );
+        vertices = new StreamingVertexBuffer(bufferLayout, maxBoxes * VERTICES_PER_BOX);
+        vertexArray.addVertexBuffer(vertices);
+        vertexArray.unbind();
+    }
+
+    @Override
+    public void prepare(BaseRenderContext context) {
+        this.shader = getShader();
+    }
+
+    @Override
+    public void execute(BaseRenderContext context) {
+        RenderSnapshot snapshot = context.getSnapshot();
+        vertices.beginFrame();
+        int firstOffset = -1;
+        int vertexCount = 0;
+        for (int i = 0; i < snapshot.size() && vertices.getRemainingVertices() >= VERTICES_PER_BOX; i++) {
+            if (!snapshot.isVisible(i)) continue;
+            Bounds bounds = snapshot.getRenderable(i).getBounds();
+            if (bounds == null) continue;
+
+            int offset = vertices.allocate(VERTICES_PER_BOX);
+            if (firstOffset < 0) firstOffset = offset;
+            writeBox(bounds, snapshot.getWorldMatrix(i), vertices.getData(), offset);
+            vertexCount += VERTICES_PER_BOX;
+        }
+        vertices.flush();
+
+        if (vertexCount > 0) {
+            shader.bind();
+            viewProjUniform.set(snapshot.getViewProjectionMatrix());
+            vertexArray.bind();
+            OpenGLState.drawBoundArrays(GL_LINES, vertices.getFirstVertex(firstOffset), vertexCount);
+            vertexArray.unbind();
+            shader.unbind();
+        }
+        vertices.endFrame();
+    }
+
+    @Override
+    public void destroy() {
+        shader.delete();
+        vertexArray.delete();
+    }
+
+    /**
+     * Writes the lines of the edges of a box, transformed to world space.
+     *
+     * @param bounds      the bounds in local space
+     * @param worldMatrix the world matrix of the renderable
+     * @param data        the vertex data to write to
+     * @param offset      the byte offset of the first of {@link #VERTICES_PER_BOX} vertices
+     */
+    void writeBox(Bounds bounds, Matrix4fc worldMatrix, ByteBuffer data, int offset) {
+        Vector3fc min = bounds.getMin();
+        Vector3fc max = bounds.getMax();
+        for (int c = 0; c < 8; c++) {
+            worldMatrix.transformPosition(
+                    (c & 1) == 0 ? min.x() : max.x(),
+                    (c & 2) == 0 ? min.y() : max.y(),
+                    (c & 4) == 0 ? min.z() : max.z(),
+                    corner);
+            corners[c * 3] = corner.x;
+            corners[c * 3 + 1] = corner.y;
+            corners[c * 3 + 2] = corner.z;
+        }
+
+        // An edge connects two corners that differ in a single axis
+        int position = offset;
+        for (int c = 0; c < 8; c++) {
+            for (int axis = 1; axis < 8; axis <<= 1) {
+                if ((c & axis) != 0) continue;
+                position = writeVertex(data, position, c);
+                position = writeVertex(data, position, c | axis);
+            }
+        }
+    }
+
+    private int writeVertex(ByteBuffer data, int position, int cornerIndex) {
+        data.putFloat(position, corners[cornerIndex * 3])
+                .putFloat(position + 4, corners[cornerIndex * 3 + 1])
+                .putFloat(position + 8, corners[cornerIndex * 3 + 2])
+                .putFloat(position + 12, color.redFloat())
+                .putFloat(position + 16, color.greenFloat())
+                .putFloat(position + 20, color.blueFloat())
+                .putFloat(position + 24, color.alphaFloat());
+        return position + FLOATS_PER_VERTEX * Float.BYTES;
+    }
+}
@@ -1,24 +1,161 @@
 package me.siebe.flux.renderer3d.steps;
 
+import me.siebe.flux.api.renderer.RenderSnapshot;
 import me.siebe.flux.api.renderer.context.BaseRenderContext;
-import me.siebe.flux.api.renderer.data.Renderable;
 import me.siebe.flux.api.renderer.pipeline.RenderStep;
 import me.siebe.flux.core.AppContext;
+import me.siebe.flux.api.renderer.data.Renderable;
+import me.siebe.flux.opengl.OpenGLState;
+import me.siebe.flux.opengl.buffer.IndirectBuffer;
+import me.siebe.flux.opengl.buffer.ShaderStorageBuffer;
+import me.siebe.flux.opengl.buffer.Std140Layout;
+import me.siebe.flux.opengl.buffer.UniformBuffer;
+import me.siebe.flux.opengl.buffer.UniformRingBuffer;
 import me.siebe.flux.opengl.shader.ShaderLoader;
 import me.siebe.flux.opengl.shader.ShaderProgram;
+import me.siebe.flux.opengl.shader.UniformInt;
+import me.siebe.flux.opengl.vertex.GeometryPool;
+import me.siebe.flux.opengl.vertex.InstanceBuffer;
+import me.siebe.flux.opengl.vertex.VertexArray;
+import me.siebe.flux.renderer3d.model.data.Material;
+import me.siebe.flux.renderer3d.model.data.Model;
+import me.siebe.flux.renderer3d.model.data.Primitive;
+import me.siebe.flux.renderer3d.queue.RenderQueue;
 import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.lwjgl.BufferUtils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 // TODO rename to a more generic name as it will support more than just GLTF models in the future
 public class GltfStep implements RenderStep {
+    /** The uniform block binding point the {@code FrameBlock} of a shader reads from. */
+    public static final int FRAME_BLOCK_BINDING = 0;
+
+    /**
+     * Layout of the {@code FrameBlock} uniform block, which must declare its members in the same order.
+     */
+    public static final Std140Layout FRAME_LAYOUT = Std140Layout.builder()
+            .mat4("uViewProj")
+            .vec3("uLightDir")
+            .vec3("uCameraPos")
+            .build();
+    private static final int VIEW_PROJ_OFFSET = FRAME_LAYOUT.getOffset("uViewProj");
+    private static final int LIGHT_DIR_OFFSET = FRAME_LAYOUT.getOffset("uLightDir");
+    private static final int CAMERA_POS_OFFSET = FRAME_LAYOUT.getOffset("uCameraPos");
+
+    /** The number of material blocks in the ring buffer, at least the number of material changes in a frame. */
+    private static final int MATERIAL_RING_CAPACITY = 4096;
+
+    /** The attribute location of the per-instance model matrix in the shader, which takes up this and the next 3 locations. */
+    public static final int INSTANCE_MATRIX_LOCATION = 4;
+    private static final int INITIAL_INSTANCE_CAPACITY = 1024;
+
+    /** The shader storage binding point the {@code DrawBlock} of the indirect shader reads from. */
+    public static final int DRAW_BLOCK_BINDING = 2;
+    private static final int INITIAL_DRAW_CAPACITY = 1024;
+    private static final int INITIAL_POOL_VERTICES = 1 << 16;
+    private static final int INITIAL_POOL_INDICES = 1 << 18;
+
     private ShaderProgram shader;
+    private UniformInt instancedUniform;
+    private InstanceBuffer instances;
+    private int drawCallCount;
+    private long triangleCount;
+    private final RenderQueue<Primitive> queue = new RenderQueue<>();
+    private final Vector3f lightDir = new Vector3f();
+
+    private UniformBuffer frameBuffer;
+    private final ByteBuffer frameData = BufferUtils.createByteBuffer(FRAME_LAYOUT.getSize());
+    private UniformRingBuffer materialBlocks;
+    /** Offset of the material block in the ring buffer for every command of the sorted queue. */
+    private int[] materialBlockOffsets = new int[64];
+
+    /** Whether the queue is drawn with multi-draw indirect, decided once at init from the context version. */
+    private boolean multiDrawIndirect;
+    private ShaderProgram indirectShader;
+    private UniformInt drawOffsetUniform;
+    private IndirectBuffer commands;
+    private ShaderStorageBuffer draws;
+    private final List<GeometryPool> pools = new ArrayList<>();
+    /**
+     * The pooled copy of the geometry of every live vertex array drawn so far, or null for a vertex array that cannot
+     * be pooled. Models are static, so the geometry is copied the first time it is drawn. Entries of deleted vertex
+     * arrays are dropped every frame, see {@link #prunePooledGeometry()}.
+     */
+    private final Map<VertexArray, PooledGeometry> pooledGeometry = new IdentityHashMap<>();
+    /** The index in the sorted queue of the first command of every draw, followed by the queue size. */
+    private int[] drawStarts = new int[65];
+    /**
+     * The pool every draw reads from, or null for geometry drawn from its own vertex array. The vertex array of a pool
+     * is only resolved when drawing, as pooling later geometry of the same frame can replace it.
+     */
+    private GeometryPool[] drawPools = new GeometryPool[64];
+
+    private record PooledGeometry(GeometryPool pool, GeometryPool.Range range) {
+    }
 
     protected ShaderProgram getShader() {
         return ShaderLoader.get().load("shaders/gltf");
     }
 
+    /**
+     * Gets the shader the queue is drawn with when multi-draw indirect is supported. It must read the same frame block
+     * and attributes as {@link #getShader()}, but read the material of a draw from the {@code DrawBlock} at
+     * {@link #DRAW_BLOCK_BINDING} and the model matrix only from the instance attribute.
+     *
+     * @return the indirect shader
+     */
+    protected ShaderProgram getIndirectShader() {
+        return ShaderLoader.get().load("shaders/gltf_indirect");
+    }
+
     @Override
     public void init() {
         this.shader = getShader();
+        shader.bindUniformBlock("FrameBlock", FRAME_BLOCK_BINDING);
+        shader.bindUniformBlock("MaterialBlock", Material.BLOCK_BINDING);
+        this.instancedUniform = shader.int1("uInstanced");
+
+        this.frameBuffer = new UniformBuffer(FRAME_LAYOUT.getSize());
+        this.materialBlocks = new UniformRingBuffer(Material.BLOCK_LAYOUT, MATERIAL_RING_CAPACITY);
+        this.instances = new InstanceBuffer(INITIAL_INSTANCE_CAPACITY);
+
+        this.multiDrawIndirect = OpenGLState.supportsMultiDrawIndirect();
+        if (multiDrawIndirect) {
+            this.indirectShader = getIndirectShader();
+            indirectShader.bindUniformBlock("FrameBlock", FRAME_BLOCK_BINDING);
+            this.drawOffsetUniform = indirectShader.int1("uDrawOffset");
+            this.commands = new IndirectBuffer(INITIAL_DRAW_CAPACITY);
+            this.draws = new ShaderStorageBuffer(INITIAL_DRAW_CAPACITY * Material.BLOCK_LAYOUT.getSize());
+        }
+    }
+
+    /**
+     * Gets the number of draw calls issued for the queue in the last frame. Instancing makes this the number of distinct
+     * primitive and material combinations rather than the number of drawn primitives. With multi-draw indirect, this
+     * is the number of multi-draws, one per run of primitives that share their geometry pool and material state.
+     *
+     * @return the number of draw calls
+     */
+    public int getDrawCallCount() {
+        return drawCallCount;
+    }
+
+    /**
+     * Gets the number of indexed triangles drawn for the queue in the last frame, over all instances. Levels of detail
+     * make this scale with the size of the models on the screen rather than with their number.
+     *
+     * @return the number of triangles
+     */
+    public long getTriangleCount() {
+        return triangleCount;
     }
 
     @Override
@@ -26,28 +163,338 @@ public class GltfStep implements RenderStep {
         // TODO add a check (e.g. if (this.shader.isDeleted()) and only then reload from the ShaderLoader)
         //  see GLResource class for the isDeleted() logic
         this.shader = getShader();
-        shader.upload("uViewProj", context.getCamera().getViewProjectionMatrix());
+        if (multiDrawIndirect) this.indirectShader = getIndirectShader();
+        RenderSnapshot snapshot = context.getSnapshot();
 
         float time = (float) AppContext.get().getTimer().getTotalTime();
         float radius = 10.0f;
         float x = (float) Math.cos(time) * radius;
         float z = (float) Math.sin(time) * radius;
 
-        Vector3f lightDir = new Vector3f(x, 0.0f, z).normalize();
-        shader.upload("uLightDir", lightDir);
+        lightDir.set(x, 0.0f, z).normalize();
+
+        // The frame block is shared by all draws, so it is uploaded and bound once
+        snapshot.getViewProjectionMatrix().get(VIEW_PROJ_OFFSET, frameData);
+        lightDir.get(LIGHT_DIR_OFFSET, frameData);
+        snapshot.getCameraPosition().get(CAMERA_POS_OFFSET, frameData);
+        frameBuffer.setData(frameData);
+        frameBuffer.bindBase(FRAME_BLOCK_BINDING);
     }
 
     @Override
     public void execute(BaseRenderContext context) {
         shader.bind();
 
-        context.getRenderables().forEach(Renderable::render);
+        // Models submit their primitives to the queue, any other renderable draws itself. Renderables outside the view
+        // frustum were already culled during extraction.
+        RenderSnapshot snapshot = context.getSnapshot();
+        Vector3fc cameraPosition = snapshot.getCameraPosition();
+        // Without a camera there is no screen size to select levels of detail from
+        float projectionScale = snapshot.hasCamera() ? snapshot.getProjectionMatrix().m11() : 0.0f;
+        int queueShaderId = multiDrawIndirect ? indirectShader.getGlId() : shader.getGlId();
+        queue.clear();
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (!snapshot.isVisible(i)) continue;
+            Renderable renderable = snapshot.getRenderable(i);
+            if (renderable instanceof Model model) {
+                model.submit(queue, snapshot.getWorldMatrix(i), cameraPosition, projectionScale, queueShaderId);
+            } else {
+                renderable.render(snapshot.getWorldMatrix(i));
+            }
+        }
+        queue.sort();
+        writeInstances();
+        if (multiDrawIndirect) {
+            indirectShader.bind();
+            executeQueueIndirect();
+            indirectShader.unbind();
+        } else {
+            writeMaterialBlocks();
+            executeQueue();
+            shader.unbind();
+        }
+    }
+
+    /**
+     * Writes the block of every material change in the sorted queue to the ring buffer, and uploads them all at once.
+     */
+    private void writeMaterialBlocks() {
+        if (materialBlockOffsets.length < queue.size()) {
+            materialBlockOffsets = Arrays.copyOf(materialBlockOffsets, Math.max(queue.size(), materialBlockOffsets.length * 2));
+        }
+        // Copies of a material share a sort id and a block, see Material#getSortId()
+        int previousId = -1;
+        int offset = 0;
+        for (int i = 0; i < queue.size(); i++) {
+            Material material = queue.get(i).getMaterial();
+            if (material.getSortId() != previousId) {
+                offset = materialBlocks.allocate();
+                material.writeBlock(materialBlocks.getStaging(), offset);
+                previousId = material.getSortId();
+            }
+            materialBlockOffsets[i] = offset;
+        }
+        materialBlocks.upload();
+    }
+
+    /**
+     * Writes the matrix of every command to the instance buffer at the index of the command in the sorted queue, so the
+     * matrices of a group of instances are contiguous, and uploads them all at once.
+     */
+    private void writeInstances() {
+        for (int i = 0; i < queue.size(); i++) {
+            instances.put(i, queue.getMatrix(i));
+        }
+        instances.upload(queue.size());
+    }
+
+    /**
+     * Draws the sorted queue, merging consecutive commands that {@link Primitive#canInstanceWith(Primitive) can be
+     * instanced together} into one instanced draw of the selected level of detail. A material is only applied and a vertex array only bound when it
+     * differs from the previous draw. Applying a material binds its textures and the range of its block in the ring
+     * buffer.
+     */
+    private void executeQueue() {
+        instancedUniform.set(1);
+        drawCallCount = 0;
+        triangleCount = 0;
+        Material boundMaterial = null;
+        VertexArray boundVertexArray = null;
+        int start = 0;
+        while (start < queue.size()) {
+            Primitive primitive = queue.get(start);
+            int end = start + 1;
+            while (end < queue.size() && queue.get(end).canInstanceWith(primitive)) {
+                end++;
+            }
+
+            Material material = primitive.getMaterial();
+            if (boundMaterial == null || material.getSortId() != boundMaterial.getSortId()) {
+                if (boundMaterial != null) boundMaterial.restoreOpenGLState();
+                material.applyOpenGLState();
+                material.bindTextures(shader);
+                materialBlocks.bind(Material.BLOCK_BINDING, materialBlockOffsets[start]);
+                boundMaterial = material;
+            }
+            VertexArray vertexArray = primitive.getVertexArray();
+            if (vertexArray != boundVertexArray) {
+                vertexArray.bind();
+                boundVertexArray = vertexArray;
+            }
+            instances.bindAttribute(INSTANCE_MATRIX_LOCATION, start);
+            if (primitive.getLodCount() > 1) {
+                OpenGLState.drawBoundElementsInstanced(vertexArray, primitive.getFirstIndex(), primitive.getIndexCount(), end - start);
+            } else {
+                OpenGLState.drawBoundElementsInstanced(vertexArray, end - start);
+            }
+            drawCallCount++;
+            triangleCount += (long) primitive.getIndexCount() / 3 * (end - start);
+            start = end;
+        }
+        if (boundVertexArray != null) boundVertexArray.unbind();
+        if (boundMaterial != null) boundMaterial.restoreOpenGLState();
+        // Renderables that draw themselves read the model matrix from the uniform
+        instancedUniform.set(0);
+        queue.clear();
+    }
+
+    // =================================================================================================================
+    // Multi-draw indirect
+    // =================================================================================================================
+
+    /**
+     * Draws the sorted queue with as few multi-draws as possible. Consecutive commands that can be instanced together
+     * become one draw, recorded as an indirect command whose base instance points at their matrices. Consecutive draws
+     * from the same geometry pool with materials that {@link Material#sharesStateWith(Material) share their state}
+     * become one multi-draw, in which every draw reads its material from the {@code DrawBlock} at index
+     * {@code uDrawOffset + gl_DrawID}. Geometry that cannot be pooled is drawn from its own vertex array, and geometry
+     * without indices with a regular instanced draw.
+     */
+    private void executeQueueIndirect() {
+        prunePooledGeometry();
+        int drawCount = recordDraws();
+        draws.upload(drawCount * Material.BLOCK_LAYOUT.getSize());
+        draws.bindBase(DRAW_BLOCK_BINDING);
+        commands.upload(drawCount);
+
+        drawCallCount = 0;
+        triangleCount = 0;
+        Material boundMaterial = null;
+        VertexArray boundVertexArray = null;
+        int first = 0;
+        while (first < drawCount) {
+            Material material = queue.get(drawStarts[first]).getMaterial();
+            VertexArray vertexArray = getDrawVertexArray(first);
+            boolean indexed = vertexArray.getIndexBuffer() != null;
+            int last = first + 1;
+            while (indexed && last < drawCount && getDrawVertexArray(last) == vertexArray
+                    && queue.get(drawStarts[last]).getMaterial().sharesStateWith(material)) {
+                last++;
+            }
+
+            if (boundMaterial == null || !material.sharesStateWith(boundMaterial)) {
+                if (boundMaterial != null) boundMaterial.restoreOpenGLState();
+                material.applyOpenGLState();
+                material.bindTextures(indirectShader);
+                boundMaterial = material;
+            }
+            if (vertexArray != boundVertexArray) {
+                vertexArray.bind();
+                boundVertexArray = vertexArray;
+            }
+            drawOffsetUniform.set(first);
+            if (indexed) {
+                // The base instance of every command selects its matrices
+                instances.bindAttribute(INSTANCE_MATRIX_LOCATION, 0);
+                commands.bind();
+                OpenGLState.multiDrawElementsIndirect(commands.getOffset(first), last - first);
+            } else {
+                instances.bindAttribute(INSTANCE_MATRIX_LOCATION, drawStarts[first]);
+                OpenGLState.drawBoundElementsInstanced(vertexArray, drawStarts[first + 1] - drawStarts[first]);
+            }
+            drawCallCount++;
+            for (int draw = first; draw < last; draw++) {
+                triangleCount += (long) queue.get(drawStarts[draw]).getIndexCount() / 3 * (drawStarts[draw + 1] - drawStarts[draw]);
+            }
+            first = last;
+        }
+        if (boundVertexArray != null) boundVertexArray.unbind();
+        if (boundMaterial != null) boundMaterial.restoreOpenGLState();
+        queue.clear();
+    }
+
+    /**
+     * Merges consecutive commands of the sorted queue that can be instanced together into draws, and writes the
+     * indirect command and material of every draw to the staging buffers.
+     *
+     * @return the number of draws
+     */
+    private int recordDraws() {
+        int stride = Material.BLOCK_LAYOUT.getSize();
+        int drawCount = 0;
+        int start = 0;
+        while (start < queue.size()) {
+            Primitive primitive = queue.get(start);
+            int end = start + 1;
+            while (end < queue.size() && queue.get(end).canInstanceWith(primitive)) {
+                end++;
+            }
+
+            ensureDrawCapacity(drawCount + 1);
+            PooledGeometry pooled = getPooledGeometry(primitive.getVertexArray());
+            if (pooled != null) {
+                GeometryPool.Range range = pooled.range();
+                drawPools[drawCount] = pooled.pool();
+                commands.put(drawCount, primitive.getIndexCount(), end - start, range.firstIndex() + primitive.getFirstIndex(), range.baseVertex(), start);
+            } else {
+                drawPools[drawCount] = null;
+                commands.put(drawCount, primitive.getIndexCount(), end - start, primitive.getFirstIndex(), 0, start);
+            }
+            primitive.getMaterial().writeBlock(draws.getStaging((drawCount + 1) * stride), drawCount * stride);
+            drawStarts[drawCount] = start;
+            drawCount++;
+            start = end;
+        }
+        drawStarts[drawCount] = queue.size();
+        return drawCount;
+    }
+
+    /**
+     * Gets the pooled copy of the geometry of a vertex array, copying it to a pool with a compatible layout the first
+     * time it is drawn. Only static geometry is pooled, everything else is drawn from its own vertex array.
+     *
+     * @param vertexArray the vertex array of a primitive
+     * @return the pool and range of the geometry, or null if it cannot be pooled
+     */
+    private PooledGeometry getPooledGeometry(VertexArray vertexArray) {
+        if (pooledGeometry.containsKey(vertexArray)) {
+            PooledGeometry pooled = pooledGeometry.get(vertexArray);
+            if (pooled == null || GeometryPool.isPoolable(vertexArray)) return pooled;
+            // Its data was replaced after it was pooled, so the copy is stale; draw it from its own vertex array now
+            pooled.pool().release(pooled.range());
+            pooledGeometry.put(vertexArray, null);
+            return null;
+        }
+        PooledGeometry pooled = null;
+        if (GeometryPool.isPoolable(vertexArray)) {
+            GeometryPool pool = null;
+            for (GeometryPool candidate : pools) {
+                if (candidate.accepts(vertexArray)) {
+                    pool = candidate;
+                    break;
+                }
+            }
+            if (pool == null) {
+                pool = new GeometryPool(vertexArray.getVertexBuffers().getFirst().getLayout(), INITIAL_POOL_VERTICES, INITIAL_POOL_INDICES);
+                pools.add(pool);
+            }
+            pooled = new PooledGeometry(pool, pool.add(vertexArray));
+        }
+        pooledGeometry.put(vertexArray, pooled);
+        return pooled;
+    }
+
+    /**
+     * Gets the vertex array a recorded draw reads from, the current vertex array of its pool for pooled geometry.
+     *
+     * @param draw the draw index
+     * @return the vertex array
+     */
+    private VertexArray getDrawVertexArray(int draw) {
+        GeometryPool pool = drawPools[draw];
+        return pool != null ? pool.getVertexArray() : queue.get(drawStarts[draw]).getVertexArray();
+    }
+
+    /**
+     * Drops the pooled geometry of vertex arrays that were deleted since the last frame, e.g. of destroyed models.
+     * Their ranges stay allocated in the pool, so a pool whose ranges are mostly released is deleted as a whole, and
+     * the geometry that is still drawn is copied to a new pool the next time it is drawn. This keeps every pool at
+     * most about twice the size of the geometry it is drawn for.
+     */
+    private void prunePooledGeometry() {
+        boolean released = false;
+        Iterator<Map.Entry<VertexArray, PooledGeometry>> entries = pooledGeometry.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<VertexArray, PooledGeometry> entry = entries.next();
+            if (!entry.getKey().isDeleted()) continue;
+            PooledGeometry pooled = entry.getValue();
+            if (pooled != null) {
+                pooled.pool().release(pooled.range());
+                released = true;
+            }
+            entries.remove();
+        }
+        if (!released) return;
+
+        for (Iterator<GeometryPool> iterator = pools.iterator(); iterator.hasNext(); ) {
+            GeometryPool pool = iterator.next();
+            if (!pool.isMostlyReleased()) continue;
+            pooledGeometry.values().removeIf(pooled -> pooled != null && pooled.pool() == pool);
+            pool.delete();
+            iterator.remove();
+        }
+    }
 
-        shader.unbind();
+    private void ensureDrawCapacity(int count) {
+        if (count <= drawPools.length) return;
+        int capacity = Math.max(count, drawPools.length * 2);
+        drawPools = Arrays.copyOf(drawPools, capacity);
+        drawStarts = Arrays.copyOf(drawStarts, capacity + 1);
     }
 
     @Override
     public void destroy() {
         shader.delete();
+        frameBuffer.delete();
+        materialBlocks.delete();
+        instances.delete();
+        if (multiDrawIndirect) {
+            indirectShader.delete();
+            commands.delete();
+            draws.delete();
+            pools.forEach(GeometryPool::delete);
+            pools.clear();
+            pooledGeometry.clear();
+        }
     }
 }
@@ -6,6 +6,7 @@ import me.siebe.flux.opengl.OpenGLState;
 import me.siebe.flux.opengl.shader.ShaderDataType;
 import me.siebe.flux.opengl.shader.ShaderLoader;
 import me.siebe.flux.opengl.shader.ShaderProgram;
+import me.siebe.flux.opengl.shader.UniformMat4;
 import me.siebe.flux.opengl.vertex.BufferElement;
 import me.siebe.flux.opengl.vertex.BufferLayout;
 import me.siebe.flux.opengl.vertex.VertexArray;
@@ -13,6 +14,7 @@ import me.siebe.flux.opengl.vertex.VertexBuffer;
 
 public class OriginStep implements RenderStep {
     private ShaderProgram shader;
+    private UniformMat4 viewProjUniform;
     private VertexArray vertexArray;
 
     protected ShaderProgram getShader() {
@@ -22,6 +24,7 @@ public class OriginStep implements RenderStep {
     @Override
     public void init() {
         shader = getShader();
+        viewProjUniform = shader.mat4("uViewProj");
 
         vertexArray = new VertexArray();
         vertexArray.bind();
@@ -50,7 +53,7 @@ public class OriginStep implements RenderStep {
     @Override
     public void execute(BaseRenderContext context) {
         shader.bind();
-        shader.upload("uViewProj", context.getCamera().getViewProjectionMatrix());
+        viewProjUniform.set(context.getSnapshot().getViewProjectionMatrix());
 
         OpenGLState.drawElements(vertexArray);
 
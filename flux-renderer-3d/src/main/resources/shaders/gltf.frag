@@ -8,18 +8,24 @@ in mat3 TBN;
 out vec4 FragColor;
 
 /**
- * Material properties structure.
- * Contains all material parameters for rendering.
+ * Material properties block, read from a range of a uniform buffer per draw.
+ * The members must match the layout of Material.BLOCK_LAYOUT.
  */
-struct Material {
+layout (std140) uniform MaterialBlock {
     vec4 baseColor;// Base color/albedo (RGBA)
+    vec3 emissiveFactor;// Emissive color factor
     float metallicFactor;// Metallic factor (0.0 = dielectric, 1.0 = metal)
     float roughnessFactor;// Roughness factor (0.0 = smooth, 1.0 = rough)
-    vec3 emissiveFactor;// Emissive color factor
     float occlusionStrength;// Occlusion strength factor
     float alphaCutoff;// Alpha cutoff for MASK mode
     int alphaMode;// Alpha mode: 0=OPAQUE, 1=MASK, 2=BLEND
-};
+    // Texture flags, 0 (false) or 1 (true)
+    int hasAlbedoTexture;
+    int hasNormalTexture;
+    int hasMetallicRoughnessTexture;
+    int hasEmissiveTexture;
+    int hasOcclusionTexture;
+} uMaterial;
 
 /**
  * Material textures structure.
@@ -33,34 +39,22 @@ struct MaterialTextures {
     sampler2D occlusion;// Occlusion/ambient occlusion texture
 };
 
-/**
- * Material texture flags structure.
- * Indicates which textures are present and should be sampled.
- * Values are 0 (false) or 1 (true).
- */
-struct MaterialFlags {
-    int hasAlbedoTexture;
-    int hasNormalTexture;
-    int hasMetallicRoughnessTexture;
-    int hasEmissiveTexture;
-    int hasOcclusionTexture;
-};
-
-// Material uniform
-uniform Material uMaterial;
-
 // Material textures uniform
 uniform MaterialTextures uMaterialTextures;
 
-// Material texture flags uniform
-uniform MaterialFlags uMaterialFlags;
-
-uniform vec3 uLightDir;
+/**
+ * Per-frame data, shared by all draws. The members must match the layout of GltfStep.FRAME_LAYOUT.
+ */
+layout (std140) uniform FrameBlock {
+    mat4 uViewProj;
+    vec3 uLightDir;
+    vec3 uCameraPos;
+};
 
 void main() {
     // Sample base color from texture or use uniform
     vec4 baseColor = uMaterial.baseColor;
-    if (uMaterialFlags.hasAlbedoTexture == 1) {
+    if (uMaterial.hasAlbedoTexture == 1) {
         baseColor = texture(uMaterialTextures.albedo, TexCoord) * uMaterial.baseColor;
     }
 
@@ -73,7 +67,7 @@ void main() {
 
     // Sample normal from normal map if available
     vec3 norm = normalize(Normal);
-    if (uMaterialFlags.hasNormalTexture == 1) {
+    if (uMaterial.hasNormalTexture == 1) {
         // Sample normal from texture and convert it from [0,1] -> [-1,1]
         vec3 tangentNormal = texture(uMaterialTextures.normal, TexCoord).xyz * 2.0 - 1.0;
         // Flip Y (DirectX → OpenGL)
@@ -84,7 +78,7 @@ void main() {
     // Sample metallic-roughness from texture if available
     float metallic = uMaterial.metallicFactor;
     float roughness = uMaterial.roughnessFactor;
-    if (uMaterialFlags.hasMetallicRoughnessTexture == 1) {
+    if (uMaterial.hasMetallicRoughnessTexture == 1) {
         vec4 mrSample = texture(uMaterialTextures.metallicRoughness, TexCoord);
         metallic = mrSample.r * uMaterial.metallicFactor;
         roughness = mrSample.g * uMaterial.roughnessFactor;
@@ -92,13 +86,13 @@ void main() {
 
     // Sample occlusion if available
     float occlusion = 1.0;
-    if (uMaterialFlags.hasOcclusionTexture == 1) {
+    if (uMaterial.hasOcclusionTexture == 1) {
         occlusion = mix(1.0, texture(uMaterialTextures.occlusion, TexCoord).r, uMaterial.occlusionStrength);
     }
 
     // Sample emissive if available
     vec3 emissive = uMaterial.emissiveFactor;
-    if (uMaterialFlags.hasEmissiveTexture == 1) {
+    if (uMaterial.hasEmissiveTexture == 1) {
         emissive = texture(uMaterialTextures.emissive, TexCoord).rgb * uMaterial.emissiveFactor;
     }
 
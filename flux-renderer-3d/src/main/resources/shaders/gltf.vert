@@ -4,27 +4,42 @@ layout (location = 0) in vec3 aPos;
 layout (location = 1) in vec3 aNormal;
 layout (location = 2) in vec2 aTexCoord;
 layout (location = 3) in vec4 aTangent;
+// Per-instance model matrix, occupying locations 4 to 7. Must match GltfStep.INSTANCE_MATRIX_LOCATION.
+layout (location = 4) in mat4 aInstanceMatrix;
 
 out vec3 FragPos;
 out vec3 Normal;
 out vec2 TexCoord;
 out mat3 TBN;
 
-uniform mat4 uViewProj;
+/**
+ * Per-frame data, shared by all draws. The members must match the layout of GltfStep.FRAME_LAYOUT.
+ */
+layout (std140) uniform FrameBlock {
+    mat4 uViewProj;
+    vec3 uLightDir;
+    vec3 uCameraPos;
+};
+
+// Model matrix of a single, non-instanced draw
 uniform mat4 uModelMatrix;
+// 1 if the model matrix is read per instance from aInstanceMatrix, 0 if it is read from uModelMatrix
+uniform int uInstanced;
 
 void main() {
+    mat4 modelMatrix = uInstanced != 0 ? aInstanceMatrix : uModelMatrix;
+
     // Transform position to world space
-    vec4 worldPos = uModelMatrix * vec4(aPos, 1.0);
+    vec4 worldPos = modelMatrix * vec4(aPos, 1.0);
     FragPos = worldPos.xyz;
 
     // Transform normal to world space (using normal matrix)
     // For simplicity, we'll use the model matrix's inverse transpose
     // In a production shader, you'd want to pass a precomputed normal matrix
-    mat3 normalMatrix = mat3(transpose(inverse(uModelMatrix)));
+    mat3 normalMatrix = mat3(transpose(inverse(modelMatrix)));
     // Transform normal and tangent to world space
     vec3 N = normalize(normalMatrix * aNormal);
-    vec3 T = normalize(mat3(uModelMatrix) * aTangent.xyz);
+    vec3 T = normalize(mat3(modelMatrix) * aTangent.xyz);
     // Re-orthogonalize tangent
     T = normalize(T - dot(T, N) * N);
     // Compute bitangent using handedness
@@ -0,0 +1,58 @@
+#version 460 core
+
+layout (location = 0) in vec3 aPos;
+layout (location = 1) in vec3 aNormal;
+layout (location = 2) in vec2 aTexCoord;
+layout (location = 3) in vec4 aTangent;
+// Per-instance model matrix, occupying locations 4 to 7. Must match GltfStep.INSTANCE_MATRIX_LOCATION.
+// The base instance of every draw points it at the matrices of that draw.
+layout (location = 4) in mat4 aInstanceMatrix;
+
+out vec3 FragPos;
+out vec3 Normal;
+out vec2 TexCoord;
+out mat3 TBN;
+// Index of the record of this draw in the DrawBlock of the fragment shader
+flat out int DrawIndex;
+
+/**
+ * Per-frame data, shared by all draws. The members must match the layout of GltfStep.FRAME_LAYOUT.
+ */
+layout (std140) uniform FrameBlock {
+    mat4 uViewProj;
+    vec3 uLightDir;
+    vec3 uCameraPos;
+};
+
+// Index of the record of the first draw of the multi-draw, as gl_DrawID restarts at 0 for every multi-draw
+uniform int uDrawOffset;
+
+void main() {
+    mat4 modelMatrix = aInstanceMatrix;
+    DrawIndex = uDrawOffset + gl_DrawID;
+
+    // Transform position to world space
+    vec4 worldPos = modelMatrix * vec4(aPos, 1.0);
+    FragPos = worldPos.xyz;
+
+    // Transform normal to world space (using normal matrix)
+    // For simplicity, we'll use the model matrix's inverse transpose
+    // In a production shader, you'd want to pass a precomputed normal matrix
+    mat3 normalMatrix = mat3(transpose(inverse(modelMatrix)));
+    // Transform normal and tangent to world space
+    vec3 N = normalize(normalMatrix * aNormal);
+    vec3 T = normalize(mat3(modelMatrix) * aTangent.xyz);
+    // Re-orthogonalize tangent
+    T = normalize(T - dot(T, N) * N);
+    // Compute bitangent using handedness
+    vec3 B = cross(N, T) * aTangent.w;
+    // Construct TBN matrix
+    TBN = mat3(T, B, N);
+    Normal = N;
+
+    // Pass through texture coordinates
+    TexCoord = aTexCoord;
+
+    // Transform to clip space
+    gl_Position = uViewProj * worldPos;
+}
@@ -0,0 +1,87 @@
+package me.siebe.flux.renderer3d.model.data;
+
+import me.siebe.flux.util.FluxColor;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MaterialTest {
+
+    @Test
+    void blockLayout_ShouldMatchMaterialBlockInShader() {
+        assertEquals(0, Material.BLOCK_LAYOUT.getOffset("baseColor"));
+        assertEquals(16, Material.BLOCK_LAYOUT.getOffset("emissiveFactor"));
+        assertEquals(28, Material.BLOCK_LAYOUT.getOffset("metallicFactor"));
+        assertEquals(44, Material.BLOCK_LAYOUT.getOffset("alphaMode"));
+        assertEquals(64, Material.BLOCK_LAYOUT.getOffset("hasOcclusionTexture"));
+        assertEquals(80, Material.BLOCK_LAYOUT.getSize());
+    }
+
+    @Test
+    void writeBlock_ShouldWritePropertiesAtLayoutOffsets() {
+        Material material = new Material(new FluxColor(255, 0, 0, 255));
+        material.setEmissiveFactor(new Vector3f(0.5f, 0.25f, 0.125f));
+        material.setMetallicFactor(0.75f);
+        material.setAlphaMode(Material.AlphaMode.BLEND);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256).order(ByteOrder.nativeOrder());
+
+        material.writeBlock(buffer, 128);
+
+        assertEquals(1.0f, buffer.getFloat(128));
+        assertEquals(0.0f, buffer.getFloat(128 + 4));
+        assertEquals(1.0f, buffer.getFloat(128 + 12));
+        assertEquals(0.25f, buffer.getFloat(128 + Material.BLOCK_LAYOUT.getOffset("emissiveFactor") + 4));
+        assertEquals(0.75f, buffer.getFloat(128 + Material.BLOCK_LAYOUT.getOffset("metallicFactor")));
+        assertEquals(2, buffer.getInt(128 + Material.BLOCK_LAYOUT.getOffset("alphaMode")));
+        assertEquals(0, buffer.getInt(128 + Material.BLOCK_LAYOUT.getOffset("hasAlbedoTexture")));
+        assertEquals(0, buffer.getFloat(0));
+    }
+
+    @Test
+    void writeBlock_WithHeapBuffer_ShouldWriteEmissiveFactor() {
+        Material material = new Material(new FluxColor(255, 0, 0, 255));
+        material.setEmissiveFactor(new Vector3f(0.5f, 0.25f, 0.125f));
+        ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.nativeOrder());
+
+        material.writeBlock(buffer, 64);
+
+        int emissiveOffset = 64 + Material.BLOCK_LAYOUT.getOffset("emissiveFactor");
+        assertEquals(0.5f, buffer.getFloat(emissiveOffset));
+        assertEquals(0.25f, buffer.getFloat(emissiveOffset + 4));
+        assertEquals(0.125f, buffer.getFloat(emissiveOffset + 8));
+    }
+
+    @Test
+    void copy_ShouldKeepSortIdUntilChanged() {
+        Material material = new Material();
+        material.setRoughnessFactor(0.25f);
+        Material copy = material.copy();
+
+        assertEquals(material.getSortId(), copy.getSortId());
+
+        copy.setRoughnessFactor(0.75f);
+
+        assertNotEquals(material.getSortId(), copy.getSortId());
+        assertNotEquals(material.getSortId(), new Material().getSortId());
+    }
+
+    @Test
+    void sharesStateWith_WhenOnlyBlockPropertiesDiffer_ShouldBeTrue() {
+        Material material = new Material(new FluxColor(255, 0, 0, 255));
+        Material other = new Material(new FluxColor(0, 0, 255, 255));
+        other.setMetallicFactor(1.0f);
+
+        assertTrue(material.sharesStateWith(other));
+
+        other.setDoubleSided(true);
+        assertFalse(material.sharesStateWith(other));
+
+        other.setDoubleSided(false);
+        other.setAlphaMode(Material.AlphaMode.BLEND);
+        assertFalse(material.sharesStateWith(other));
+    }
+}
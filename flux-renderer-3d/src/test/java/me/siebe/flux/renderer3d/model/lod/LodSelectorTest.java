@@ -0,0 +1,70 @@
+package me.siebe.flux.renderer3d.model.lod;
+
+import me.siebe.flux.opengl.vertex.VertexArray;
+import me.siebe.flux.renderer3d.model.data.Material;
+import me.siebe.flux.renderer3d.model.data.Primitive;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LodSelectorTest {
+
+    @Test
+    void screenSize_ShouldShrinkWithDistanceAndBeInfiniteInsideSphere() {
+        assertEquals(0.5f, LodSelector.screenSize(1, 2, 1), 1e-6f);
+        assertEquals(0.05f, LodSelector.screenSize(1, 20, 1), 1e-6f);
+        assertEquals(Float.POSITIVE_INFINITY, LodSelector.screenSize(1, 0.5f, 1));
+    }
+
+    @Test
+    void select_ShouldPickCoarserLevelsForSmallerScreenSizes() {
+        assertEquals(0, LodSelector.select(0, 1.0f, 4));
+        assertEquals(1, LodSelector.select(0, 0.2f, 4));
+        assertEquals(3, LodSelector.select(0, 0.001f, 4));
+        assertEquals(0, LodSelector.select(3, 1.0f, 4));
+        // Never more levels than the primitive has
+        assertEquals(1, LodSelector.select(0, 0.001f, 2));
+        assertEquals(0, LodSelector.select(2, 0.001f, 1));
+    }
+
+    @Test
+    void select_NearThreshold_ShouldKeepCurrentLevel() {
+        float threshold = LodSelector.getScreenSize(1);
+        float justBelow = threshold * (1 - LodSelector.HYSTERESIS / 2);
+        float justAbove = threshold * (1 + LodSelector.HYSTERESIS / 2);
+
+        assertEquals(0, LodSelector.select(0, justBelow, 4));
+        assertEquals(1, LodSelector.select(1, justAbove, 4));
+        assertEquals(1, LodSelector.select(0, threshold * (1 - LodSelector.HYSTERESIS * 2), 4));
+        assertEquals(0, LodSelector.select(1, threshold * (1 + LodSelector.HYSTERESIS * 2), 4));
+    }
+
+    @Test
+    void primitive_SelectLod_ShouldDrawRangeOfSelectedLevel() {
+        VertexArray vertexArray = mock(VertexArray.class);
+        when(vertexArray.copy()).thenReturn(vertexArray);
+        Primitive primitive = new Primitive(vertexArray, new Material(), null, new int[]{0, 300, 450, 510});
+        Primitive copy = primitive.copy();
+
+        assertEquals(3, primitive.getLodCount());
+        assertEquals(1, primitive.selectLod(0.2f));
+        assertEquals(300, primitive.getFirstIndex());
+        assertEquals(150, primitive.getIndexCount());
+        // Copies select their level on their own, and only instance together at the same level
+        assertEquals(0, copy.getLod());
+        assertFalse(primitive.canInstanceWith(copy));
+        copy.selectLod(0.2f);
+        assertTrue(primitive.canInstanceWith(copy));
+    }
+
+    @Test
+    void primitive_WithInvalidLodOffsets_ShouldThrow() {
+        VertexArray vertexArray = mock(VertexArray.class);
+
+        assertThrows(IllegalArgumentException.class, () -> new Primitive(vertexArray, new Material(), null, new int[]{0}));
+        assertThrows(IllegalArgumentException.class, () -> new Primitive(vertexArray, new Material(), null, new int[]{0, 30, 20}));
+        assertThrows(IllegalArgumentException.class, () -> new Primitive(vertexArray, new Material(), null, new int[LodSelector.MAX_LEVELS + 2]));
+    }
+}
@@ -0,0 +1,172 @@
+package me.siebe.flux.renderer3d.model.lod;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MeshSimplifierTest {
+
+    /** A flat grid of {@code size} by {@code size} quads in the XZ plane, with 5 floats per vertex. */
+    private static float[] gridVertices(int size) {
+        float[] vertices = new float[(size + 1) * (size + 1) * 5];
+        for (int z = 0; z <= size; z++) {
+            for (int x = 0; x <= size; x++) {
+                int offset = (z * (size + 1) + x) * 5;
+                vertices[offset] = x;
+                vertices[offset + 2] = z;
+                vertices[offset + 3] = 0.5f; // Texture coordinates, ignored by the simplifier
+            }
+        }
+        return vertices;
+    }
+
+    private static int[] gridIndices(int size) {
+        int[] indices = new int[size * size * 6];
+        int i = 0;
+        for (int z = 0; z < size; z++) {
+            for (int x = 0; x < size; x++) {
+                int corner = z * (size + 1) + x;
+                int below = corner + size + 1;
+                indices[i++] = corner;
+                indices[i++] = below;
+                indices[i++] = corner + 1;
+                indices[i++] = corner + 1;
+                indices[i++] = below;
+                indices[i++] = below + 1;
+            }
+        }
+        return indices;
+    }
+
+    /** A closed unit sphere without seams, so every vertex is shared by all triangles around it. */
+    private static float[] sphereVertices(int rings, int segments) {
+        float[] vertices = new float[((rings - 1) * segments + 2) * 3];
+        vertices[1] = 1;
+        vertices[vertices.length - 2] = -1;
+        for (int ring = 1; ring < rings; ring++) {
+            double theta = Math.PI * ring / rings;
+            for (int segment = 0; segment < segments; segment++) {
+                double phi = 2 * Math.PI * segment / segments;
+                int offset = (1 + (ring - 1) * segments + segment) * 3;
+                vertices[offset] = (float) (Math.sin(theta) * Math.cos(phi));
+                vertices[offset + 1] = (float) Math.cos(theta);
+                vertices[offset + 2] = (float) (Math.sin(theta) * Math.sin(phi));
+            }
+        }
+        return vertices;
+    }
+
+    private static int[] sphereIndices(int rings, int segments) {
+        int bottom = (rings - 1) * segments + 1;
+        int[] indices = new int[segments * (rings - 1) * 6];
+        int i = 0;
+        for (int segment = 0; segment < segments; segment++) {
+            int next = (segment + 1) % segments;
+            indices[i++] = 0;
+            indices[i++] = 1 + next;
+            indices[i++] = 1 + segment;
+            for (int ring = 1; ring < rings - 1; ring++) {
+                int upper = 1 + (ring - 1) * segments;
+                int lower = upper + segments;
+                indices[i++] = upper + segment;
+                indices[i++] = upper + next;
+                indices[i++] = lower + segment;
+                indices[i++] = upper + next;
+                indices[i++] = lower + next;
+                indices[i++] = lower + segment;
+            }
+            int last = 1 + (rings - 2) * segments;
+            indices[i++] = bottom;
+            indices[i++] = last + segment;
+            indices[i++] = last + next;
+        }
+        return indices;
+    }
+
+    private static float[] normal(float[] vertices, int stride, int[] indices, int triangle) {
+        int a = indices[triangle] * stride, b = indices[triangle + 1] * stride, c = indices[triangle + 2] * stride;
+        float e1x = vertices[b] - vertices[a], e1y = vertices[b + 1] - vertices[a + 1], e1z = vertices[b + 2] - vertices[a + 2];
+        float e2x = vertices[c] - vertices[a], e2y = vertices[c + 1] - vertices[a + 1], e2z = vertices[c + 2] - vertices[a + 2];
+        return new float[]{e1y * e2z - e1z * e2y, e1z * e2x - e1x * e2z, e1x * e2y - e1y * e2x};
+    }
+
+    // =================================================================================================================
+    // Simplification
+    // =================================================================================================================
+
+    @Test
+    void simplify_FlatGrid_ShouldRemoveInteriorWithoutFlippingTrianglesOrMovingBorder() {
+        float[] vertices = gridVertices(16);
+        int[] indices = gridIndices(16);
+
+        int[] simplified = MeshSimplifier.simplify(vertices, 5, indices, 0, 0.001f);
+
+        // Only the 64 border vertices are left, which takes at least 62 triangles
+        assertEquals(62 * 3, simplified.length);
+        float area = 0;
+        for (int t = 0; t < simplified.length; t += 3) {
+            float[] normal = normal(vertices, 5, simplified, t);
+            // All triangles still face up, the same way as the input
+            assertTrue(normal[1] > 0, "Triangle " + t / 3 + " is flipped or degenerate");
+            area += normal[1] * 0.5f;
+        }
+        // The border did not move, so the simplified grid still covers it exactly
+        assertEquals(16 * 16, area, 1e-3f);
+    }
+
+    @Test
+    void simplify_CurvedSurfaceWithoutAllowedError_ShouldKeepAllTriangles() {
+        float[] vertices = sphereVertices(12, 16);
+        int[] indices = sphereIndices(12, 16);
+
+        int[] simplified = MeshSimplifier.simplify(vertices, 3, indices, 0, 0);
+
+        assertArrayEquals(indices, simplified);
+    }
+
+    @Test
+    void simplify_ShouldNotModifyInput() {
+        int[] indices = gridIndices(4);
+        int[] original = indices.clone();
+
+        MeshSimplifier.simplify(gridVertices(4), 5, indices, 0, 1);
+
+        assertArrayEquals(original, indices);
+    }
+
+    @Test
+    void simplify_WithInvalidInput_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> MeshSimplifier.simplify(new float[9], 2, new int[]{0, 1, 2}, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> MeshSimplifier.simplify(new float[9], 3, new int[]{0, 1}, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> MeshSimplifier.simplify(new float[9], 3, new int[]{0, 1, 3}, 0, 1));
+    }
+
+    // =================================================================================================================
+    // Levels
+    // =================================================================================================================
+
+    @Test
+    void generateLevels_Sphere_ShouldHalveTrianglesPerLevel() {
+        float[] vertices = sphereVertices(32, 48);
+        int[] indices = sphereIndices(32, 48);
+
+        int[][] levels = MeshSimplifier.generateLevels(vertices, 3, indices, LodSelector.MAX_LEVELS);
+
+        assertTrue(levels.length > 1);
+        assertSame(indices, levels[0]);
+        for (int level = 1; level < levels.length; level++) {
+            assertTrue(levels[level].length <= levels[level - 1].length * 0.8f, "Level " + level);
+            for (int index : levels[level]) {
+                assertTrue(index >= 0 && index < vertices.length / 3);
+            }
+        }
+    }
+
+    @Test
+    void generateLevels_SingleTriangle_ShouldOnlyReturnFullDetail() {
+        int[][] levels = MeshSimplifier.generateLevels(new float[]{0, 0, 0, 1, 0, 0, 0, 1, 0}, 3, new int[]{0, 1, 2}, 4);
+
+        assertEquals(1, levels.length);
+        assertThrows(IllegalArgumentException.class, () -> MeshSimplifier.generateLevels(new float[9], 3, new int[]{0, 1, 2}, 0));
+    }
+}
@@ -0,0 +1,236 @@
+package me.siebe.flux.renderer3d.queue;
+
+import me.siebe.flux.api.renderer.culling.Bounds;
+import me.siebe.flux.opengl.vertex.VertexArray;
+import me.siebe.flux.renderer3d.model.data.Material;
+import me.siebe.flux.renderer3d.model.data.Mesh;
+import me.siebe.flux.renderer3d.model.data.Model;
+import me.siebe.flux.renderer3d.model.data.Primitive;
+import me.siebe.flux.util.FluxColor;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RenderQueueTest {
+
+    // =================================================================================================================
+    // Sorting
+    // =================================================================================================================
+
+    @Test
+    void sort_WithRandomKeys_ShouldOrderByUnsignedKeyAndKeepSubmissionOrderOfEqualKeys() {
+        RenderQueue<Integer> queue = new RenderQueue<>();
+        Random random = new Random(42);
+        long[] keys = new long[1000];
+        for (int i = 0; i < keys.length; i++) {
+            // Few distinct keys spread over all bytes, so there are many equal keys
+            keys[i] = random.nextInt(16) * 0x0101_0101_0101_0101L;
+            queue.submit(keys[i], i);
+        }
+
+        queue.sort();
+
+        assertEquals(keys.length, queue.size());
+        for (int i = 1; i < queue.size(); i++) {
+            int comparison = Long.compareUnsigned(queue.getKey(i - 1), queue.getKey(i));
+            assertTrue(comparison <= 0);
+            if (comparison == 0) {
+                assertTrue(queue.get(i - 1) < queue.get(i));
+            }
+        }
+    }
+
+    @Test
+    void sort_ShouldKeepMatrixWithItsCommand() {
+        RenderQueue<String> queue = new RenderQueue<>();
+        queue.submit(3, "c").translation(3, 0, 0);
+        queue.submit(1, "a").translation(1, 0, 0);
+        queue.submit(2, "b").translation(2, 0, 0);
+
+        queue.sort();
+
+        assertEquals(List.of("a", "b", "c"), List.of(queue.get(0), queue.get(1), queue.get(2)));
+        for (int i = 0; i < queue.size(); i++) {
+            assertEquals(i + 1, queue.getMatrix(i).m30());
+        }
+    }
+
+    @Test
+    void sort_WhenQueueGrowsAndIsReused_ShouldSortEachFrame() {
+        RenderQueue<Integer> queue = new RenderQueue<>();
+        for (int frame = 0; frame < 3; frame++) {
+            queue.clear();
+            int count = 50 + frame * 100;
+            for (int i = 0; i < count; i++) {
+                queue.submit(count - i, i);
+            }
+            queue.sort();
+
+            assertEquals(count, queue.size());
+            for (int i = 0; i < count; i++) {
+                assertEquals(i + 1, queue.getKey(i));
+                assertEquals(count - 1 - i, queue.get(i));
+            }
+        }
+    }
+
+    @Test
+    void sort_AfterSubmitToSortedQueue_ShouldSortAllCommands() {
+        RenderQueue<String> queue = new RenderQueue<>();
+        queue.submit(30, "c");
+        queue.submit(10, "a");
+        queue.submit(20, "b");
+        queue.sort();
+
+        queue.submit(15, "ab");
+        queue.submit(5, "first");
+        queue.sort();
+
+        assertEquals(5, queue.size());
+        assertEquals(List.of("first", "a", "ab", "b", "c"),
+                List.of(queue.get(0), queue.get(1), queue.get(2), queue.get(3), queue.get(4)));
+        for (int i = 1; i < queue.size(); i++) {
+            assertTrue(queue.getKey(i - 1) < queue.getKey(i));
+        }
+    }
+
+    @Test
+    void submit_ShouldReuseMatricesAcrossFrames() {
+        RenderQueue<String> queue = new RenderQueue<>();
+        Matrix4f first = queue.submit(0, "a");
+        queue.clear();
+
+        assertSame(first, queue.submit(0, "b"));
+    }
+
+    @Test
+    void get_WithIndexOutOfBounds_ShouldThrow() {
+        RenderQueue<String> queue = new RenderQueue<>();
+        queue.submit(0, "a");
+
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.getKey(-1));
+    }
+
+    // =================================================================================================================
+    // Keys
+    // =================================================================================================================
+
+    @Test
+    void opaque_ShouldSortByShaderThenMaterialThenVertexArrayThenFrontToBack() {
+        assertTrue(Long.compareUnsigned(RenderKey.opaque(1, 9, 9, 100), RenderKey.opaque(2, 0, 0, 0)) < 0);
+        assertTrue(Long.compareUnsigned(RenderKey.opaque(1, 1, 9, 100), RenderKey.opaque(1, 2, 0, 0)) < 0);
+        assertTrue(Long.compareUnsigned(RenderKey.opaque(1, 1, 1, 100), RenderKey.opaque(1, 1, 2, 0)) < 0);
+        assertTrue(Long.compareUnsigned(RenderKey.opaque(1, 1, 1, 1.5f), RenderKey.opaque(1, 1, 1, 2.5f)) < 0);
+    }
+
+    @Test
+    void transparent_ShouldSortAfterOpaqueAndBackToFront() {
+        long opaque = RenderKey.opaque(4095, 65535, 65535, Float.MAX_VALUE);
+        long far = RenderKey.transparent(2, 2, 2, 50);
+        long near = RenderKey.transparent(1, 1, 1, 5);
+
+        assertTrue(Long.compareUnsigned(opaque, far) < 0);
+        assertTrue(Long.compareUnsigned(far, near) < 0);
+        assertEquals(RenderKey.PASS_OPAQUE, RenderKey.getPass(opaque));
+        assertEquals(RenderKey.PASS_TRANSPARENT, RenderKey.getPass(near));
+    }
+
+    @Test
+    void quantizeDepth_ShouldPreserveOrderAndClampNegativeValues() {
+        assertEquals(0, RenderKey.quantizeDepth(-5));
+        assertEquals(0, RenderKey.quantizeDepth(Float.NaN));
+        assertTrue(RenderKey.quantizeDepth(0.1f) < RenderKey.quantizeDepth(1));
+        assertTrue(RenderKey.quantizeDepth(1) < RenderKey.quantizeDepth(1000));
+        assertTrue(RenderKey.quantizeDepth(Float.MAX_VALUE) < 1L << RenderKey.DEPTH_BITS);
+    }
+
+    // =================================================================================================================
+    // Model submission
+    // =================================================================================================================
+
+    @Test
+    void submit_FromModel_ShouldGroupPrimitivesByMaterialAndDrawTransparentLast() {
+        Material shared = new Material();
+        Material other = new Material();
+        Material glass = new Material();
+        glass.setAlphaMode(Material.AlphaMode.BLEND);
+        Primitive first = new Primitive(vertexArray(1), shared);
+        Primitive transparent = new Primitive(vertexArray(2), glass);
+        Primitive second = new Primitive(vertexArray(3), other);
+        Primitive third = new Primitive(vertexArray(4), shared);
+        Model model = new Model(List.of(new Mesh(List.of(first, transparent, second, third))));
+        RenderQueue<Primitive> queue = new RenderQueue<>();
+
+        model.submit(queue, new Matrix4f().translation(0, 0, -10), new Vector3f(), 1);
+        queue.sort();
+
+        assertEquals(List.of(first, third, second, transparent),
+                List.of(queue.get(0), queue.get(1), queue.get(2), queue.get(3)));
+        assertEquals(-10, queue.getMatrix(0).m32());
+    }
+
+    @Test
+    void submit_FromModelCopies_ShouldPlaceInstancablePrimitivesNextToEachOther() {
+        Material leaves = new Material();
+        Material bark = new Material();
+        Model tree = new Model(List.of(new Mesh(List.of(
+                new Primitive(vertexArray(1), leaves),
+                new Primitive(vertexArray(2), bark)
+        ))));
+        Model recolored = tree.copy();
+        recolored.setBaseColor(FluxColor.RED);
+        RenderQueue<Primitive> queue = new RenderQueue<>();
+
+        for (int i = 0; i < 3; i++) {
+            tree.copy().submit(queue, new Matrix4f().translation(0, 0, -i), new Vector3f(), 1);
+        }
+        recolored.submit(queue, new Matrix4f(), new Vector3f(), 1);
+        queue.sort();
+
+        // Runs of instancable primitives: 3 leaves, 3 barks, and the recolored leaves and bark on their own
+        int groups = 1;
+        for (int i = 1; i < queue.size(); i++) {
+            if (!queue.get(i).canInstanceWith(queue.get(i - 1))) groups++;
+        }
+        assertEquals(8, queue.size());
+        assertEquals(4, groups);
+    }
+
+    @Test
+    void submit_WithProjectionScale_ShouldSelectLodFromScreenSize() {
+        Bounds unitCube = new Bounds(new Vector3f(-0.5f), new Vector3f(0.5f));
+        Model near = new Model(List.of(new Mesh(List.of(
+                new Primitive(vertexArray(1), new Material(), unitCube, new int[]{0, 300, 450, 510})
+        ))));
+        Model far = near.copy();
+        RenderQueue<Primitive> queue = new RenderQueue<>();
+
+        near.submit(queue, new Matrix4f().translation(0, 0, -2), new Vector3f(), 1.0f, 1);
+        far.submit(queue, new Matrix4f().translation(0, 0, -200), new Vector3f(), 1.0f, 1);
+        queue.sort();
+
+        assertEquals(0, queue.get(0).getLod());
+        assertEquals(2, queue.get(1).getLod());
+        assertFalse(queue.get(0).canInstanceWith(queue.get(1)));
+
+        // Without a projection scale, everything is drawn at full detail
+        queue.clear();
+        far.submit(queue, new Matrix4f().translation(0, 0, -200), new Vector3f(), 1);
+        assertEquals(0, queue.get(0).getLod());
+    }
+
+    private static VertexArray vertexArray(int glId) {
+        VertexArray vertexArray = mock(VertexArray.class);
+        when(vertexArray.getGlId()).thenReturn(glId);
+        when(vertexArray.copy()).thenReturn(vertexArray);
+        return vertexArray;
+    }
+}
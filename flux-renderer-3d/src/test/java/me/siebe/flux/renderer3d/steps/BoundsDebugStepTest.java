@@ -0,0 +1,56 @@
+package me.siebe.flux.renderer3d.steps;
+
+import me.siebe.flux.api.renderer.culling.Bounds;
+import me.siebe.flux.util.FluxColor;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundsDebugStepTest {
+    private static final int VERTEX_SIZE = BoundsDebugStep.FLOATS_PER_VERTEX * Float.BYTES;
+
+    @Test
+    void writeBox_ShouldWriteTwelveEdgesOfTransformedBox() {
+        BoundsDebugStep step = new BoundsDebugStep(FluxColor.RED, 1);
+        Bounds bounds = new Bounds(new Vector3f(0, 0, 0), new Vector3f(1, 2, 3));
+        int offset = 2 * VERTEX_SIZE;
+        ByteBuffer data = ByteBuffer.allocate(offset + BoundsDebugStep.VERTICES_PER_BOX * VERTEX_SIZE);
+
+        step.writeBox(bounds, new Matrix4f().translation(10, 0, 0), data, offset);
+
+        int[] edgesPerAxis = new int[3];
+        for (int line = 0; line < BoundsDebugStep.VERTICES_PER_BOX / 2; line++) {
+            Vector3f from = position(data, offset + 2 * line * VERTEX_SIZE);
+            Vector3f to = position(data, offset + (2 * line + 1) * VERTEX_SIZE);
+            Vector3f edge = to.sub(from, new Vector3f());
+            // Every edge runs along a single axis, over the full size of the box on that axis
+            if (edge.x != 0) { assertEquals(new Vector3f(1, 0, 0), edge); edgesPerAxis[0]++; }
+            if (edge.y != 0) { assertEquals(new Vector3f(0, 2, 0), edge); edgesPerAxis[1]++; }
+            if (edge.z != 0) { assertEquals(new Vector3f(0, 0, 3), edge); edgesPerAxis[2]++; }
+            assertTrue(from.x == 10 || from.x == 11);
+        }
+        assertArrayEquals(new int[]{4, 4, 4}, edgesPerAxis);
+
+        for (int vertex = 0; vertex < BoundsDebugStep.VERTICES_PER_BOX; vertex++) {
+            int position = offset + vertex * VERTEX_SIZE;
+            assertEquals(1.0f, data.getFloat(position + 12));
+            assertEquals(0.0f, data.getFloat(position + 16));
+            assertEquals(1.0f, data.getFloat(position + 24));
+        }
+        // The vertices before the offset are left alone
+        assertEquals(0.0f, data.getFloat(0));
+    }
+
+    @Test
+    void constructor_WithoutRoomForBoxes_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundsDebugStep(FluxColor.RED, 0));
+    }
+
+    private static Vector3f position(ByteBuffer data, int position) {
+        return new Vector3f(data.getFloat(position), data.getFloat(position + 4), data.getFloat(position + 8));
+    }
+}
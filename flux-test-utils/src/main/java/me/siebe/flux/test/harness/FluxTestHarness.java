@@ -159,6 +159,8 @@ public final class FluxTestHarness {
             eventBus.flush();
             systemManager.update();
             if (renderEachFrame && renderer != null) {
+                renderer.extractSnapshot();
+                renderer.swapSnapshots();
                 renderer.render();
             }
         }
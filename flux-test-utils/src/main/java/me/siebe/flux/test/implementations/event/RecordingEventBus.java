@@ -2,18 +2,25 @@ package me.siebe.flux.test.implementations.event;
 
 import me.siebe.flux.api.event.Event;
 import me.siebe.flux.api.event.EventBus;
+import me.siebe.flux.api.event.EventChannel;
 import me.siebe.flux.api.event.EventListenerRegistry;
 import me.siebe.flux.api.event.EventPoolRegistry;
+import me.siebe.flux.api.event.EventScheduler;
+import me.siebe.flux.api.event.metrics.EventMetrics;
 import me.siebe.flux.api.event.traits.Pooled;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Wraps an {@link EventBus} and records every posted event (type and optional snapshot)
  * for test assertions. Use {@link #getRecordedEvents()} and {@link #clearRecordedEvents()}.
+ * <p>
+ * For long runs, or to replay the events later, use
+ * the {@code JournalingEventBus} of flux-core ({@code me.siebe.flux.event.journal}) instead.
  */
 public final class RecordingEventBus implements EventBus {
 
@@ -43,6 +50,41 @@ public final class RecordingEventBus implements EventBus {
         delegate.flush();
     }
 
+    @Override
+    public <E> EventChannel<E> createChannel(Class<E> entryType, Supplier<E> factory, int capacity) {
+        return delegate.createChannel(entryType, factory, capacity);
+    }
+
+    @Override
+    public <E> EventChannel<E> getChannel(Class<E> entryType) {
+        return delegate.getChannel(entryType);
+    }
+
+    @Override
+    public EventScheduler getScheduler() {
+        return delegate.getScheduler();
+    }
+
+    @Override
+    public EventMetrics getMetrics() {
+        return delegate.getMetrics();
+    }
+
+    @Override
+    public void awaitFrameDeliveries() {
+        delegate.awaitFrameDeliveries();
+    }
+
+    @Override
+    public int getQueuedEventCount() {
+        return delegate.getQueuedEventCount();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return delegate.getDroppedEventCount();
+    }
+
     @Override
     public EventListenerRegistry getListenerRegistry() {
         return delegate.getListenerRegistry();
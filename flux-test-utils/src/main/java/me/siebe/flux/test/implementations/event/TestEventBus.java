@@ -2,34 +2,51 @@ package me.siebe.flux.test.implementations.event;
 
 import me.siebe.flux.api.event.Event;
 import me.siebe.flux.api.event.EventBus;
+import me.siebe.flux.api.event.EventChannel;
 import me.siebe.flux.api.event.EventListener;
 import me.siebe.flux.api.event.EventListenerRegistry;
 import me.siebe.flux.api.event.EventPoolRegistry;
+import me.siebe.flux.api.event.EventScheduler;
+import me.siebe.flux.api.event.metrics.EventMetrics;
+import me.siebe.flux.api.event.traits.Coalescing;
 import me.siebe.flux.api.event.traits.Pooled;
 import me.siebe.flux.api.event.traits.Queued;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
- * Minimal event bus implementation for headless tests. Supports immediate and queued delivery
- * and pooled events so that {@link me.siebe.flux.api.input.Input#init} can be used in tests.
+ * Minimal event bus implementation for headless tests. Supports immediate and queued delivery,
+ * coalescing of queued events, event channels, scheduled events, delivery to listeners of event supertypes and to
+ * keyed listeners, and pooled events so that {@link me.siebe.flux.api.input.Input#init} can be used in tests.
  */
 public final class TestEventBus implements EventBus {
-    private final EventListenerRegistry listenerRegistry;
+    private final TestEventListenerRegistry listenerRegistry;
     private final EventPoolRegistry poolRegistry;
     private final Queue<Event> queue = new LinkedList<>();
+    private final Map<Class<?>, TestEventChannel<?>> channels = new LinkedHashMap<>();
+    private final TestEventMetrics metrics;
+    private final TestEventScheduler scheduler;
 
     public TestEventBus() {
         this.listenerRegistry = new TestEventListenerRegistry();
         this.poolRegistry = new TestEventPoolRegistry();
+        this.metrics = new TestEventMetrics(poolRegistry);
+        this.scheduler = new TestEventScheduler(this);
     }
 
     @Override
     public <E extends Event> void post(E event) {
         if (event == null) return;
+        metrics.recordPost(event.getClass());
         if (event instanceof Queued) {
             queue.offer(event);
         } else {
@@ -49,13 +66,75 @@ public final class TestEventBus implements EventBus {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void flush() {
+        // Events queued by listeners are delivered within the same flush
         while (!queue.isEmpty()) {
-            Event event = queue.poll();
-            fire(event);
+            List<Event> batch = new ArrayList<>(queue);
+            queue.clear();
+
+            // Coalesce like the default bus: the latest event per class and key absorbs the older ones
+            Map<List<Object>, Integer> latest = new HashMap<>();
+            for (int i = 0; i < batch.size(); i++) {
+                if (!(batch.get(i) instanceof Coalescing<?> coalescing)) continue;
+                Integer previous = latest.put(Arrays.asList(batch.get(i).getClass(), coalescing.getCoalescingKey()), i);
+                if (previous != null) {
+                    ((Coalescing<Event>) coalescing).coalesce(batch.get(previous));
+                    poolRegistry.release(batch.set(previous, null));
+                }
+            }
+
+            for (Event event : batch) {
+                fire(event);
+            }
+        }
+
+        for (TestEventChannel<?> channel : channels.values()) {
+            channel.process();
         }
     }
 
+    @Override
+    public <E> EventChannel<E> createChannel(Class<E> entryType, Supplier<E> factory, int capacity) {
+        if (channels.containsKey(entryType)) {
+            throw new IllegalStateException("A channel already exists for entry type " + entryType.getName());
+        }
+        TestEventChannel<E> channel = new TestEventChannel<>(entryType, factory, capacity);
+        channels.put(entryType, channel);
+        return channel;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> EventChannel<E> getChannel(Class<E> entryType) {
+        return (EventChannel<E>) channels.get(entryType);
+    }
+
+    @Override
+    public EventScheduler getScheduler() {
+        return scheduler;
+    }
+
+    @Override
+    public EventMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void awaitFrameDeliveries() {
+        // All listeners are invoked synchronously
+    }
+
+    @Override
+    public int getQueuedEventCount() {
+        return queue.size();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return 0;
+    }
+
     @Override
     public EventListenerRegistry getListenerRegistry() {
         return listenerRegistry;
@@ -69,12 +148,16 @@ public final class TestEventBus implements EventBus {
     @SuppressWarnings("unchecked")
     private <E extends Event> void fire(E event) {
         if (event == null) return;
-        Class<E> eventType = (Class<E>) event.getClass();
-        List<EventListener<E>> listeners = listenerRegistry.get(eventType);
-        if (listeners != null) {
-            for (EventListener<E> listener : listeners) {
-                listener.onEvent(event);
+        // Deliver to listeners of the event class and of its event supertypes, like the default bus
+        Class<?> type = event.getClass();
+        while (type != null && Event.class.isAssignableFrom(type)) {
+            List<EventListener<E>> listeners = listenerRegistry.get((Class<E>) type, event);
+            if (listeners != null) {
+                for (EventListener<E> listener : listeners) {
+                    listener.onEvent(event);
+                }
             }
+            type = type.getSuperclass();
         }
         if (event instanceof Pooled) {
             poolRegistry.release(event);
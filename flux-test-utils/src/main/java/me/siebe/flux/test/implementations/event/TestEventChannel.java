@@ -0,0 +1,107 @@
+package me.siebe.flux.test.implementations.event;
+
+import me.siebe.flux.api.event.EventChannel;
+import me.siebe.flux.api.event.EventChannelHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Minimal, single-threaded event channel for headless tests. Entries are preallocated like in the default channel,
+ * but since producers and the consumer share a thread, claiming a sequence of a full channel throws instead of waiting.
+ *
+ * @param <E> the entry type
+ */
+public final class TestEventChannel<E> implements EventChannel<E> {
+    private final Class<E> entryType;
+    private final List<E> entries = new ArrayList<>();
+    private final List<EventChannelHandler<? super E>> handlers = new ArrayList<>();
+    private final int capacity;
+    private long claimed = -1;
+    private long published = -1;
+    private long consumed = -1;
+
+    public TestEventChannel(Class<E> entryType, Supplier<E> factory, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Channel capacity must be positive, but was " + capacity);
+        }
+        this.entryType = entryType;
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        for (int i = 0; i < this.capacity; i++) {
+            entries.add(factory.get());
+        }
+    }
+
+    @Override
+    public Class<E> getEntryType() {
+        return entryType;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long next() {
+        return next(1);
+    }
+
+    @Override
+    public long next(int n) {
+        if (claimed + n - capacity > consumed) {
+            throw new IllegalStateException("Channel for " + entryType.getSimpleName() + " is full");
+        }
+        claimed += n;
+        return claimed;
+    }
+
+    @Override
+    public long tryNext() {
+        return claimed + 1 - capacity > consumed ? -1 : next(1);
+    }
+
+    @Override
+    public E get(long sequence) {
+        return entries.get((int) (sequence % capacity));
+    }
+
+    @Override
+    public void publish(long sequence) {
+        publish(sequence, sequence);
+    }
+
+    @Override
+    public void publish(long low, long high) {
+        published = Math.max(published, high);
+    }
+
+    @Override
+    public void addHandler(EventChannelHandler<? super E> handler) {
+        handlers.add(handler);
+    }
+
+    @Override
+    public void removeHandler(EventChannelHandler<? super E> handler) {
+        handlers.remove(handler);
+    }
+
+    @Override
+    public int process() {
+        long low = consumed + 1;
+        for (EventChannelHandler<? super E> handler : handlers) {
+            for (long sequence = low; sequence <= published; sequence++) {
+                handler.onEvent(get(sequence), sequence, sequence == published);
+            }
+        }
+        int processed = (int) (published - consumed);
+        consumed = published;
+        return processed;
+    }
+
+    @Override
+    public int getPendingCount() {
+        return (int) (claimed - consumed);
+    }
+}
@@ -1,8 +1,10 @@
 package me.siebe.flux.test.implementations.event;
 
+import me.siebe.flux.api.event.DeliveryMode;
 import me.siebe.flux.api.event.Event;
 import me.siebe.flux.api.event.EventListener;
 import me.siebe.flux.api.event.EventListenerRegistry;
+import me.siebe.flux.api.event.traits.Keyed;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -10,32 +12,82 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Minimal listener registry for headless tests.
+ * Minimal listener registry for headless tests. Keeps listeners in priority order; the receive cancelled flag is
+ * ignored since {@link TestEventBus} does not stop delivery for cancelled events, and the delivery mode is ignored since
+ * it delivers all events synchronously. Keyed listeners are kept in the same list and filtered when the event is fired.
  */
 public final class TestEventListenerRegistry implements EventListenerRegistry {
-    private final Map<Class<?>, List<EventListener<?>>> listenersByType = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<Registration>> listenersByType = new ConcurrentHashMap<>();
 
     @Override
-    @SuppressWarnings("unchecked")
-    public <E extends Event> void register(Class<E> eventType, EventListener<E> listener) {
-        listenersByType
-                .computeIfAbsent(eventType, k -> new ArrayList<>())
-                .add((EventListener<Event>) listener);
+    public <E extends Event> void register(Class<E> eventType, EventListener<E> listener, int priority, boolean receiveCancelled,
+                                           DeliveryMode deliveryMode) {
+        add(eventType, new Registration(listener, priority, null));
+    }
+
+    @Override
+    public <E extends Event & Keyed<K>, K extends Enum<K>> void register(Class<E> eventType, K key, EventListener<E> listener, int priority) {
+        add(eventType, new Registration(listener, priority, key));
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <E extends Event> void unregister(Class<E> eventType, EventListener<E> listener) {
-        List<EventListener<?>> list = listenersByType.get(eventType);
-        if (list != null) {
-            list.remove(listener);
-        }
+        remove(eventType, listener, null);
+    }
+
+    @Override
+    public <E extends Event & Keyed<K>, K extends Enum<K>> void unregister(Class<E> eventType, K key, EventListener<E> listener) {
+        remove(eventType, listener, key);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <E extends Event> List<EventListener<E>> get(Class<E> eventType) {
-        List<EventListener<?>> list = listenersByType.get(eventType);
-        return list == null ? null : (List<EventListener<E>>) (List<?>) list;
+        return get(eventType, null);
+    }
+
+    /**
+     * Gets the listeners of exactly the given type that should receive the event: those registered without a key, and
+     * those registered for the key of the event if it is {@link Keyed}.
+     *
+     * @param eventType the event type the listeners were registered for
+     * @param event     the event to deliver, or {@code null} to only get the listeners registered without a key
+     * @return the listeners in priority order, or {@code null} if none were ever registered for the type
+     */
+    @SuppressWarnings("unchecked")
+    <E extends Event> List<EventListener<E>> get(Class<E> eventType, Event event) {
+        List<Registration> list = listenersByType.get(eventType);
+        if (list == null) return null;
+        Object key = event instanceof Keyed<?> keyed ? keyed.getDispatchKey() : null;
+        List<EventListener<E>> listeners = new ArrayList<>(list.size());
+        for (Registration registration : list) {
+            if (registration.key() == null || registration.key() == key) {
+                listeners.add((EventListener<E>) registration.listener());
+            }
+        }
+        return listeners;
+    }
+
+    private void add(Class<?> eventType, Registration registration) {
+        List<Registration> list = listenersByType.computeIfAbsent(eventType, k -> new ArrayList<>());
+        int index = list.size();
+        while (index > 0 && list.get(index - 1).priority() < registration.priority()) {
+            index--;
+        }
+        list.add(index, registration);
+    }
+
+    private void remove(Class<?> eventType, EventListener<?> listener, Enum<?> key) {
+        List<Registration> list = listenersByType.get(eventType);
+        if (list != null) {
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i).listener().equals(listener) && list.get(i).key() == key) {
+                    list.remove(i);
+                    return;
+                }
+            }
+        }
+    }
+
+    private record Registration(EventListener<?> listener, int priority, Enum<?> key) {
     }
 }
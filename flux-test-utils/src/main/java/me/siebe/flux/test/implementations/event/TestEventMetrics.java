@@ -0,0 +1,120 @@
+package me.siebe.flux.test.implementations.event;
+
+import me.siebe.flux.api.event.Event;
+import me.siebe.flux.api.event.EventListener;
+import me.siebe.flux.api.event.EventPool;
+import me.siebe.flux.api.event.EventPoolRegistry;
+import me.siebe.flux.api.event.metrics.EventMetrics;
+import me.siebe.flux.api.event.metrics.HistogramSnapshot;
+import me.siebe.flux.api.event.metrics.ListenerLatency;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal event metrics for headless tests. Only post counts and pool counters are recorded; queue depths and listener
+ * latencies are always empty, and allocation rates are always zero.
+ */
+final class TestEventMetrics implements EventMetrics {
+    private static final HistogramSnapshot EMPTY = new HistogramSnapshot() {
+        @Override
+        public long getCount() {
+            return 0;
+        }
+
+        @Override
+        public long getTotal() {
+            return 0;
+        }
+
+        @Override
+        public long getMax() {
+            return 0;
+        }
+
+        @Override
+        public long getValueAtPercentile(double percentile) {
+            return 0;
+        }
+    };
+
+    private final EventPoolRegistry poolRegistry;
+    private final Map<Class<? extends Event>, Long> postCounts = new HashMap<>();
+    private boolean enabled;
+
+    TestEventMetrics(EventPoolRegistry poolRegistry) {
+        this.poolRegistry = poolRegistry;
+    }
+
+    void recordPost(Class<? extends Event> eventType) {
+        if (enabled) postCounts.merge(eventType, 1L, Long::sum);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void reset() {
+        postCounts.clear();
+    }
+
+    @Override
+    public long getPostCount(Class<? extends Event> eventType) {
+        return postCounts.getOrDefault(eventType, 0L);
+    }
+
+    @Override
+    public Map<Class<? extends Event>, Long> getPostCounts() {
+        return Collections.unmodifiableMap(new HashMap<>(postCounts));
+    }
+
+    @Override
+    public HistogramSnapshot getFlushQueueDepth() {
+        return EMPTY;
+    }
+
+    @Override
+    public HistogramSnapshot getListenerLatency(Class<? extends Event> eventType, EventListener<?> listener) {
+        return null;
+    }
+
+    @Override
+    public List<ListenerLatency> getListenerLatencies() {
+        return List.of();
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public long getPoolHitCount(Class<? extends Event> eventType) {
+        EventPool<?> pool = poolRegistry.hasPool((Class) eventType) ? poolRegistry.get((Class) eventType) : null;
+        return pool == null ? 0 : pool.getHitCount();
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public long getPoolMissCount(Class<? extends Event> eventType) {
+        EventPool<?> pool = poolRegistry.hasPool((Class) eventType) ? poolRegistry.get((Class) eventType) : null;
+        return pool == null ? 0 : pool.getMissCount();
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public long getPoolDiscardCount(Class<? extends Event> eventType) {
+        EventPool<?> pool = poolRegistry.hasPool((Class) eventType) ? poolRegistry.get((Class) eventType) : null;
+        return pool == null ? 0 : pool.getDiscardCount();
+    }
+
+    @Override
+    public double getPoolAllocationRate(Class<? extends Event> eventType) {
+        return 0;
+    }
+}
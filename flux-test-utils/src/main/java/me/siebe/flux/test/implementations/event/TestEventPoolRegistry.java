@@ -2,6 +2,7 @@ package me.siebe.flux.test.implementations.event;
 
 import me.siebe.flux.api.event.Event;
 import me.siebe.flux.api.event.EventPool;
+import me.siebe.flux.api.event.EventPoolConfig;
 import me.siebe.flux.api.event.EventPoolRegistry;
 import me.siebe.flux.api.event.traits.Pooled;
 
@@ -10,7 +11,8 @@ import java.util.Map;
 import java.util.function.Supplier;
 
 /**
- * Minimal event pool registry for headless tests. Supports registering and acquiring pooled events.
+ * Minimal event pool registry for headless tests. Supports registering and acquiring pooled events, prewarming and a
+ * maximum number of retained events. Not thread-safe.
  * <p>
  * If no pool is registered for a certain event when {@link EventPoolRegistry#get(Class)} is called,
  * it will fall back to the first no-arg constructor using reflection
@@ -20,8 +22,12 @@ public final class TestEventPoolRegistry implements EventPoolRegistry {
 
     @Override
     @SuppressWarnings("unchecked")
-    public <T extends Event & Pooled> void register(Class<T> eventType, Supplier<T> factory) {
-        pools.put(eventType, new TestEventPool<>(eventType, factory));
+    public <T extends Event & Pooled> void register(Class<T> eventType, Supplier<T> factory, EventPoolConfig config) {
+        TestEventPool<T> pool = new TestEventPool<>(eventType, factory, config.maxRetained());
+        for (int i = 0; i < config.prewarm(); i++) {
+            pool.available.offer(factory.get());
+        }
+        pools.put(eventType, pool);
     }
 
     @Override
@@ -34,7 +40,7 @@ public final class TestEventPoolRegistry implements EventPoolRegistry {
                 } catch (Exception e) {
                     throw new RuntimeException(e);
                 }
-            }));
+            }, EventPoolConfig.DEFAULT.maxRetained()));
         }
         return (EventPool<T>) pools.get(eventType);
     }
@@ -47,11 +53,16 @@ public final class TestEventPoolRegistry implements EventPoolRegistry {
     private static final class TestEventPool<T extends Event & Pooled> implements EventPool<T> {
         private final Class<T> eventType;
         private final Supplier<T> factory;
+        private final int maxRetained;
         private final java.util.Queue<T> available = new java.util.LinkedList<>();
+        private long hits;
+        private long misses;
+        private long discards;
 
-        TestEventPool(Class<T> eventType, Supplier<T> factory) {
+        TestEventPool(Class<T> eventType, Supplier<T> factory, int maxRetained) {
             this.eventType = eventType;
             this.factory = factory;
+            this.maxRetained = maxRetained;
         }
 
         @Override
@@ -59,8 +70,11 @@ public final class TestEventPoolRegistry implements EventPoolRegistry {
             T event = available.poll();
             if (event == null) {
                 event = factory.get();
+                event.reset();
+                misses++;
+            } else {
+                hits++;
             }
-            event.reset();
             return event;
         }
 
@@ -68,6 +82,10 @@ public final class TestEventPoolRegistry implements EventPoolRegistry {
         public void release(T event) {
             if (event == null) return;
             event.reset();
+            if (available.size() >= maxRetained) {
+                discards++;
+                return;
+            }
             available.offer(event);
         }
 
@@ -75,5 +93,20 @@ public final class TestEventPoolRegistry implements EventPoolRegistry {
         public int getPoolSize() {
             return available.size();
         }
+
+        @Override
+        public long getHitCount() {
+            return hits;
+        }
+
+        @Override
+        public long getMissCount() {
+            return misses;
+        }
+
+        @Override
+        public long getDiscardCount() {
+            return discards;
+        }
     }
 }
@@ -0,0 +1,112 @@
+package me.siebe.flux.test.implementations.event;
+
+import me.siebe.flux.api.event.Event;
+import me.siebe.flux.api.event.EventBus;
+import me.siebe.flux.api.event.EventSchedule;
+import me.siebe.flux.api.event.EventScheduler;
+import me.siebe.flux.api.event.traits.Pooled;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Minimal event scheduler for headless tests. Keeps all schedules in a list that is scanned on every advance, and
+ * posts due events in scheduling order rather than in order of their due frame or time. Not thread-safe.
+ */
+final class TestEventScheduler implements EventScheduler {
+    private final EventBus eventBus;
+    private final List<Schedule> schedules = new ArrayList<>();
+    private long frame;
+    private double time;
+
+    TestEventScheduler(EventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    @Override
+    public EventSchedule postAt(long frame, Event event) {
+        return add(new Schedule(true, Math.max(frame, this.frame + 1), 0, event, null));
+    }
+
+    @Override
+    public EventSchedule postAfter(double seconds, Event event) {
+        return add(new Schedule(false, time + Math.max(seconds, 0), 0, event, null));
+    }
+
+    @Override
+    public EventSchedule postEvery(double intervalSeconds, Supplier<? extends Event> factory) {
+        if (!(intervalSeconds > 0)) {
+            throw new IllegalArgumentException("Interval must be positive, got " + intervalSeconds);
+        }
+        return add(new Schedule(false, time + intervalSeconds, intervalSeconds, null, factory));
+    }
+
+    @Override
+    public EventSchedule postEveryFrames(long intervalFrames, Supplier<? extends Event> factory) {
+        if (intervalFrames <= 0) {
+            throw new IllegalArgumentException("Interval must be positive, got " + intervalFrames);
+        }
+        return add(new Schedule(true, frame + intervalFrames, intervalFrames, null, factory));
+    }
+
+    @Override
+    public void advance(long frame, double time) {
+        this.frame = frame;
+        this.time = time;
+        for (Schedule schedule : new ArrayList<>(schedules)) {
+            while (schedule.pending && schedule.deadline <= (schedule.inFrames ? frame : time)) {
+                eventBus.post(schedule.event != null ? schedule.event : schedule.factory.get());
+                if (schedule.interval > 0) {
+                    schedule.deadline += schedule.interval;
+                } else {
+                    schedule.pending = false;
+                    schedules.remove(schedule);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getScheduledCount() {
+        return schedules.size();
+    }
+
+    private Schedule add(Schedule schedule) {
+        schedules.add(schedule);
+        return schedule;
+    }
+
+    private final class Schedule implements EventSchedule {
+        private final boolean inFrames;
+        private final double interval;
+        private final Event event;
+        private final Supplier<? extends Event> factory;
+        private double deadline;
+        private boolean pending = true;
+
+        private Schedule(boolean inFrames, double deadline, double interval, Event event, Supplier<? extends Event> factory) {
+            this.inFrames = inFrames;
+            this.deadline = deadline;
+            this.interval = interval;
+            this.event = event;
+            this.factory = factory;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!pending) return false;
+            pending = false;
+            schedules.remove(this);
+            if (event instanceof Pooled) {
+                eventBus.getEventPoolRegistry().release(event);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isPending() {
+            return pending;
+        }
+    }
+}
@@ -330,6 +330,16 @@ public class Transform implements Copyable<Transform> {
         return new Matrix4f(modelMatrix.get());
     }
 
+    /**
+     * Copies the model matrix representing this transform into {@code dest}, without allocating.
+     *
+     * @param dest The matrix to store the model matrix in
+     * @return {@code dest}
+     */
+    public Matrix4f getModelMatrix(Matrix4f dest) {
+        return dest.set(modelMatrix.get());
+    }
+
     /**
      * Computes the model matrix from position, rotation, and scale.
      * <p>
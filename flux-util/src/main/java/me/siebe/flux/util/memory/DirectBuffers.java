@@ -0,0 +1,73 @@
+package me.siebe.flux.util.memory;
+
+import me.siebe.flux.util.logging.Logger;
+import me.siebe.flux.util.logging.LoggerFactory;
+import me.siebe.flux.util.logging.config.LoggingCategories;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Allocates direct buffers that can be freed explicitly, instead of waiting for the garbage collector to notice that
+ * they are unreachable. The native memory of a direct buffer is small to the collector, so buffers that are dropped
+ * regularly can pile up long before a collection runs.
+ * <p>
+ * Freeing uses the cleaner of the buffer through {@code sun.misc.Unsafe}. When that is not available, freeing does
+ * nothing and the memory is released by the garbage collector as usual.
+ */
+public final class DirectBuffers {
+    private static final Logger logger = LoggerFactory.getLogger(DirectBuffers.class, LoggingCategories.MEMORY);
+    private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+    private DirectBuffers() {}
+
+    /**
+     * Allocates a direct buffer in native byte order.
+     *
+     * @param size the size in bytes
+     * @return the buffer
+     */
+    public static ByteBuffer allocate(int size) {
+        return ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Frees the native memory of a direct buffer right away. The buffer, and every view of it, must not be used
+     * afterward.
+     *
+     * @param buffer a buffer returned by {@link ByteBuffer#allocateDirect(int)} or {@link #allocate(int)}
+     * @throws IllegalArgumentException if the buffer is not direct, or is a slice or duplicate of another buffer
+     */
+    public static void free(ByteBuffer buffer) {
+        if (buffer == null) return;
+        if (!buffer.isDirect()) {
+            throw new IllegalArgumentException("Cannot free a heap buffer");
+        }
+        if (INVOKE_CLEANER == null) return;
+        try {
+            INVOKE_CLEANER.invokeExact(buffer);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to free direct buffer", e);
+        }
+    }
+
+    private static MethodHandle findInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.warn("Direct buffers cannot be freed explicitly and are left to the garbage collector: {}", e.toString());
+            return null;
+        }
+    }
+}
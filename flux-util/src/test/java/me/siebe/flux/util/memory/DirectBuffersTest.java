@@ -0,0 +1,40 @@
+package me.siebe.flux.util.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DirectBuffersTest {
+
+    @Test
+    void allocate_ShouldReturnDirectBufferInNativeOrder() {
+        ByteBuffer buffer = DirectBuffers.allocate(64);
+
+        assertTrue(buffer.isDirect());
+        assertEquals(64, buffer.capacity());
+        assertEquals(ByteOrder.nativeOrder(), buffer.order());
+        DirectBuffers.free(buffer);
+    }
+
+    @Test
+    void free_WithAllocatedBuffer_ShouldNotThrow() {
+        assertDoesNotThrow(() -> DirectBuffers.free(DirectBuffers.allocate(1024)));
+        assertDoesNotThrow(() -> DirectBuffers.free(null));
+    }
+
+    @Test
+    void free_WithHeapBuffer_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> DirectBuffers.free(ByteBuffer.allocate(16)));
+    }
+
+    @Test
+    void free_WithSlice_ShouldThrowException() {
+        ByteBuffer buffer = DirectBuffers.allocate(16);
+
+        assertThrows(IllegalArgumentException.class, () -> DirectBuffers.free(buffer.slice(4, 8)));
+        DirectBuffers.free(buffer);
+    }
+}